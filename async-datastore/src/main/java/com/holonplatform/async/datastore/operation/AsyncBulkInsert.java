@@ -24,6 +24,11 @@ import com.holonplatform.core.datastore.operation.commons.BulkInsertOperation;
 /**
  * Asynchronous {@link BulkInsertOperation} API, using {@link CompletionStage} as execution result type to handle the
  * operation result asynchronously.
+ * <p>
+ * The values to insert can be provided lazily using a value source (see {@link #addAll(java.util.Iterator)}): the
+ * source is consumed one batch at a time, so the values are pulled from the source only when the operation execution
+ * is ready to process them.
+ * </p>
  * 
  * @since 5.2.0
  * 
@@ -83,8 +83,7 @@ public interface AsyncQueryResults
 	@Override
 	default <R> CompletionStage<Optional<R>> findOne(QueryProjection<R> projection)
 			throws QueryNonUniqueResultException {
-		return stream(projection).thenApply(
-				result -> result.collect(Collectors.collectingAndThen(Collectors.toList(), QueryUtils.uniqueResult())));
+		return stream(projection).thenApply(result -> QueryUtils.uniqueResult(result));
 	}
 
 	/**
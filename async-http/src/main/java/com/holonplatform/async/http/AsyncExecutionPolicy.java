@@ -0,0 +1,148 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.async.http;
+
+import com.holonplatform.async.http.internal.DefaultAsyncExecutionPolicy;
+import com.holonplatform.http.exceptions.RequestRejectedException;
+
+/**
+ * Execution policy of the {@link AsyncRestClient} requests.
+ * <p>
+ * The policy can be used to limit the number of concurrent requests performed against the same target host, queueing
+ * the requests which exceed the limit and rejecting them according to a {@link RejectionPolicy} when the queue is full.
+ * Furthermore, identical <code>GET</code> requests which are in flight at the same time can be coalesced into a single
+ * outgoing request, sharing the response among the callers.
+ * </p>
+ * <p>
+ * The target host of a request is identified by the scheme, host and port of the request base URI.
+ * </p>
+ * 
+ * @since 5.2.2
+ * 
+ * @see AsyncRestClient#withExecutionPolicy(AsyncExecutionPolicy)
+ */
+public interface AsyncExecutionPolicy {
+
+	/**
+	 * Get the maximum number of concurrent requests to perform against the same target host.
+	 * @return the maximum number of concurrent requests per host, <code>0</code> if not limited
+	 */
+	int getMaxConcurrentRequestsPerHost();
+
+	/**
+	 * Get the maximum number of requests which can be queued for the same target host, waiting for the number of
+	 * concurrent requests to drop below the limit.
+	 * @return the maximum number of queued requests per host
+	 */
+	int getMaxQueuedRequestsPerHost();
+
+	/**
+	 * Get the policy to apply when a request exceeds the concurrency limit and the queue is full.
+	 * @return the rejection policy
+	 */
+	RejectionPolicy getRejectionPolicy();
+
+	/**
+	 * Get whether identical in-flight <code>GET</code> requests are coalesced into a single outgoing request.
+	 * <p>
+	 * Two requests are considered identical when they have the same URI, template and query parameters, headers,
+	 * property set and expected response type. Requests which expect an {@link java.io.InputStream} response type are
+	 * never coalesced.
+	 * </p>
+	 * <p>
+	 * The coalesced callers share the response payload: it is read only once and the same payload instance is returned
+	 * to each caller, so it should be treated as read-only.
+	 * </p>
+	 * @return <code>true</code> if identical in-flight <code>GET</code> requests are coalesced
+	 */
+	boolean isDeduplicateGetRequests();
+
+	/**
+	 * Get a builder to create a new {@link AsyncExecutionPolicy}.
+	 * @return AsyncExecutionPolicy builder
+	 */
+	static Builder builder() {
+		return new DefaultAsyncExecutionPolicy.DefaultBuilder();
+	}
+
+	/**
+	 * Policy to apply to the requests which exceed the concurrency limit when the queue is full.
+	 */
+	public enum RejectionPolicy {
+
+		/**
+		 * The request is rejected, completing its {@link java.util.concurrent.CompletionStage} exceptionally with a
+		 * {@link RequestRejectedException}.
+		 */
+		FAIL,
+
+		/**
+		 * The oldest queued request is rejected with a {@link RequestRejectedException} and the new request is queued.
+		 */
+		DISCARD_OLDEST,
+
+		/**
+		 * The request is performed immediately, bypassing the concurrency limit.
+		 */
+		BYPASS
+
+	}
+
+	/**
+	 * {@link AsyncExecutionPolicy} builder.
+	 */
+	public interface Builder {
+
+		/**
+		 * Set the maximum number of concurrent requests to perform against the same target host.
+		 * @param maxConcurrentRequests Maximum number of concurrent requests per host, <code>0</code> for no limit
+		 * @return this
+		 */
+		Builder maxConcurrentRequestsPerHost(int maxConcurrentRequests);
+
+		/**
+		 * Set the maximum number of requests which can be queued for the same target host. By default, the queue is
+		 * unbounded.
+		 * @param maxQueuedRequests Maximum number of queued requests per host, <code>0</code> to never queue requests
+		 * @return this
+		 */
+		Builder maxQueuedRequestsPerHost(int maxQueuedRequests);
+
+		/**
+		 * Set the policy to apply when a request exceeds the concurrency limit and the queue is full. Default is
+		 * {@link RejectionPolicy#FAIL}.
+		 * @param rejectionPolicy The rejection policy (not null)
+		 * @return this
+		 */
+		Builder rejectionPolicy(RejectionPolicy rejectionPolicy);
+
+		/**
+		 * Set whether identical in-flight <code>GET</code> requests are coalesced into a single outgoing request.
+		 * Default is <code>false</code>.
+		 * @param deduplicate <code>true</code> to coalesce identical in-flight <code>GET</code> requests
+		 * @return this
+		 */
+		Builder deduplicateGetRequests(boolean deduplicate);
+
+		/**
+		 * Build the {@link AsyncExecutionPolicy}.
+		 * @return A new AsyncExecutionPolicy
+		 */
+		AsyncExecutionPolicy build();
+
+	}
+
+}
@@ -18,14 +18,20 @@ package com.holonplatform.async.http;
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import com.holonplatform.async.http.AsyncRestClient.AsyncRequestDefinition;
 import com.holonplatform.async.http.internal.AsyncRestClientFactoryRegistry;
 import com.holonplatform.core.internal.utils.ClassUtils;
+import com.holonplatform.core.internal.utils.ObjectUtils;
 import com.holonplatform.http.HttpMethod;
 import com.holonplatform.http.exceptions.HttpClientInvocationException;
 import com.holonplatform.http.exceptions.RestClientCreationException;
@@ -758,6 +764,64 @@ public interface AsyncRestClient extends RestClientOperations<AsyncRestClient, A
 
 	}
 
+	/**
+	 * Set the {@link AsyncExecutionPolicy} to apply to the requests built using {@link #request()}, for example to
+	 * limit the number of concurrent requests per target host or to coalesce identical in-flight <code>GET</code>
+	 * requests.
+	 * @param executionPolicy The execution policy, <code>null</code> to remove any previously configured policy
+	 * @return this
+	 */
+	AsyncRestClient withExecutionPolicy(AsyncExecutionPolicy executionPolicy);
+
+	/**
+	 * Get the {@link AsyncExecutionPolicy} applied to the requests, if configured.
+	 * @return Optional execution policy
+	 */
+	Optional<AsyncExecutionPolicy> getExecutionPolicy();
+
+	/**
+	 * Submit a batch of requests, using given <code>invocation</code> function to perform each request, and obtain a
+	 * single {@link CompletionStage} of all the results.
+	 * <p>
+	 * The results are returned in the same order of the given requests. If any request fails, the returned
+	 * {@link CompletionStage} completes exceptionally with the first failure, after all the requests have completed.
+	 * </p>
+	 * <p>
+	 * Example: <code>client.submitAll(requests, r -&gt; r.getForEntity(MyData.class))</code>.
+	 * </p>
+	 * @param <T> Result type
+	 * @param requests The request definitions to submit (not null)
+	 * @param invocation The function to use to perform each request (not null)
+	 * @return A {@link CompletionStage} to handle the list of the results
+	 */
+	default <T> CompletionStage<List<T>> submitAll(Collection<? extends AsyncRequestDefinition> requests,
+			Function<AsyncRequestDefinition, ? extends CompletionStage<T>> invocation) {
+		ObjectUtils.argumentNotNull(requests, "Requests must be not null");
+		ObjectUtils.argumentNotNull(invocation, "Invocation function must be not null");
+		final List<CompletableFuture<T>> futures = new ArrayList<>(requests.size());
+		for (AsyncRequestDefinition request : requests) {
+			futures.add(invocation.apply(request).toCompletableFuture());
+		}
+		return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[futures.size()]))
+				.thenApply(v -> futures.stream().map(CompletableFuture::join).collect(Collectors.toList()));
+	}
+
+	/**
+	 * Submit a batch of requests using the <code>GET</code> method and obtain a single {@link CompletionStage} of all
+	 * the response entity payloads, in the same order of the given requests.
+	 * @param <T> Response entity type
+	 * @param requests The request definitions to submit (not null)
+	 * @param responseType Expected response payload type
+	 * @return A {@link CompletionStage} to handle the list of the response payloads
+	 * @throws UnsuccessfulResponseException If any response status code is not a <code>2xx</code> status code, the
+	 *         returned {@link CompletionStage} completes exceptionally
+	 * @see #submitAll(Collection, Function)
+	 */
+	default <T> CompletionStage<List<Optional<T>>> getAllForEntity(
+			Collection<? extends AsyncRequestDefinition> requests, Class<T> responseType) {
+		return submitAll(requests, r -> r.getForEntity(responseType));
+	}
+
 	/**
 	 * Request message definition and response invocation.
 	 */
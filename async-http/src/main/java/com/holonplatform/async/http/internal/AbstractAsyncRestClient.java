@@ -20,13 +20,20 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 
+import com.holonplatform.async.http.AsyncExecutionPolicy;
 import com.holonplatform.async.http.AsyncRestClient;
 import com.holonplatform.core.internal.Logger;
 import com.holonplatform.core.internal.utils.ObjectUtils;
 import com.holonplatform.http.internal.HttpLogger;
+import com.holonplatform.http.rest.HttpResponseCache;
 
 /**
  * Abstract {@link AsyncRestClient} implementation.
+ * <p>
+ * Response caching is supported only by the subclasses which implement the {@link AsyncInvoker} response creation,
+ * see {@link #isResponseCreationSupported()}. Otherwise, {@link #withResponseCache(HttpResponseCache)} throws an
+ * {@link UnsupportedOperationException}.
+ * </p>
  *
  * @since 5.2.0
  */
@@ -47,6 +54,16 @@ public abstract class AbstractAsyncRestClient implements AsyncRestClient, AsyncI
 	 */
 	private final Map<String, String> defaultHeaders = new HashMap<>(4);
 
+	/**
+	 * Invoker which applies the execution policy, if any
+	 */
+	private volatile ExecutionPolicyAsyncInvoker executionPolicyInvoker;
+
+	/**
+	 * Invoker which uses the response cache, if any
+	 */
+	private volatile CachingAsyncInvoker cachingInvoker;
+
 	@Override
 	public AsyncRestClient defaultTarget(URI baseUri) {
 		this.defaultTargetURI = baseUri;
@@ -101,8 +118,77 @@ public abstract class AbstractAsyncRestClient implements AsyncRestClient, AsyncI
 		return definition;
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.async.http.AsyncRestClient#withExecutionPolicy(com.holonplatform.async.http.
+	 * AsyncExecutionPolicy)
+	 */
+	@Override
+	public AsyncRestClient withExecutionPolicy(AsyncExecutionPolicy executionPolicy) {
+		this.executionPolicyInvoker = (executionPolicy != null) ? new ExecutionPolicyAsyncInvoker(this, executionPolicy)
+				: null;
+		getResponseCache().ifPresent(c -> withResponseCache(c));
+		return this;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.async.http.AsyncRestClient#getExecutionPolicy()
+	 */
+	@Override
+	public Optional<AsyncExecutionPolicy> getExecutionPolicy() {
+		final ExecutionPolicyAsyncInvoker invoker = executionPolicyInvoker;
+		return (invoker != null) ? Optional.of(invoker.getPolicy()) : Optional.empty();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.RestClientOperations#withResponseCache(com.holonplatform.http.rest.
+	 * HttpResponseCache)
+	 */
+	@Override
+	public AsyncRestClient withResponseCache(HttpResponseCache cache) {
+		if (cache != null && !isResponseCreationSupported()) {
+			throw new UnsupportedOperationException(
+					"The RestClient [" + getClass().getName() + "] does not support response caching");
+		}
+		final ExecutionPolicyAsyncInvoker policyInvoker = executionPolicyInvoker;
+		this.cachingInvoker = (cache != null)
+				? new CachingAsyncInvoker((policyInvoker != null) ? policyInvoker : this, cache)
+				: null;
+		return this;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.RestClientOperations#getResponseCache()
+	 */
+	@Override
+	public Optional<HttpResponseCache> getResponseCache() {
+		final CachingAsyncInvoker invoker = cachingInvoker;
+		return (invoker != null) ? Optional.of(invoker.getCache()) : Optional.empty();
+	}
+
+	/**
+	 * Get the {@link AsyncInvoker} to use to perform the requests, which uses the response cache and applies the
+	 * execution policy, if configured.
+	 * <p>
+	 * The request definitions returned by {@link #buildDefinition()} should use this invoker to perform the requests.
+	 * </p>
+	 * @return The request invoker
+	 */
+	protected AsyncInvoker getRequestInvoker() {
+		final CachingAsyncInvoker caching = cachingInvoker;
+		if (caching != null) {
+			return caching;
+		}
+		final ExecutionPolicyAsyncInvoker invoker = executionPolicyInvoker;
+		return (invoker != null) ? invoker : this;
+	}
+
 	/**
-	 * Build a new {@link AsyncRequestDefinition} to be used for request configuration.
+	 * Build a new {@link AsyncRequestDefinition} to be used for request configuration, using
+	 * {@link #getRequestInvoker()} to perform the requests.
 	 * @return The request definition
 	 */
 	protected abstract AsyncRequestDefinition buildDefinition();
@@ -15,9 +15,13 @@
  */
 package com.holonplatform.async.http.internal;
 
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletionStage;
 
 import com.holonplatform.async.http.AsyncRestClient.AsyncRequestDefinition;
+import com.holonplatform.core.property.PropertySet;
 import com.holonplatform.http.HttpMethod;
 import com.holonplatform.http.exceptions.UnsuccessfulResponseException;
 import com.holonplatform.http.rest.RequestEntity;
@@ -48,4 +52,63 @@ public interface AsyncInvoker {
 	<T, R> CompletionStage<ResponseEntity<T>> invoke(AsyncRequestDefinition requestDefinition, HttpMethod method,
 			RequestEntity<R> requestEntity, ResponseType<T> responseType, boolean onlySuccessfulStatusCode);
 
+	/**
+	 * Invoke a request asynchronously using given <code>request</code> definition and the request URI already built
+	 * from it, for example to compute a response cache key.
+	 * <p>
+	 * By default, the request URI is ignored and
+	 * {@link #invoke(AsyncRequestDefinition, HttpMethod, RequestEntity, ResponseType, boolean)} is used to perform the
+	 * request. Concrete implementations can override this method to avoid building the request URI again.
+	 * </p>
+	 * @param <T> Response type
+	 * @param <R> Request entity type
+	 * @param requestDefinition Request definition
+	 * @param requestURI The request URI built from the request definition
+	 * @param method Request method
+	 * @param requestEntity Request message payload
+	 * @param responseType Expected response payload type
+	 * @param onlySuccessfulStatusCode <code>true</code> to return only <code>2xx</code> status code response and throw
+	 *        an {@link UnsuccessfulResponseException} otherwise, <code>false</code> to return any status code responses
+	 * @return A {@link CompletionStage} to handle the {@link ResponseEntity} object as the result of the request
+	 *         invocation
+	 * @since 5.2.2
+	 */
+	default <T, R> CompletionStage<ResponseEntity<T>> invoke(AsyncRequestDefinition requestDefinition, URI requestURI,
+			HttpMethod method, RequestEntity<R> requestEntity, ResponseType<T> responseType,
+			boolean onlySuccessfulStatusCode) {
+		return invoke(requestDefinition, method, requestEntity, responseType, onlySuccessfulStatusCode);
+	}
+
+	/**
+	 * Create a {@link ResponseEntity} using given response data, for example to serve a response obtained from a
+	 * response cache. The response payload is converted into the expected response type using the same conversion
+	 * strategy of the responses returned by {@link #invoke(AsyncRequestDefinition, HttpMethod, RequestEntity,
+	 * ResponseType, boolean)}.
+	 * @param <T> Response type
+	 * @param statusCode Response status code
+	 * @param headers Response headers (not null)
+	 * @param body Response payload bytes (not null)
+	 * @param responseType Expected response payload type (not null)
+	 * @param propertySet Optional property set to use to read the payload
+	 * @return The response entity
+	 * @throws UnsupportedOperationException If this invoker does not support response entity creation
+	 * @see #isResponseCreationSupported()
+	 * @since 5.2.2
+	 */
+	default <T> ResponseEntity<T> createResponse(int statusCode, Map<String, List<String>> headers, byte[] body,
+			ResponseType<T> responseType, PropertySet<?> propertySet) {
+		throw new UnsupportedOperationException("The invoker [" + this + "] does not support response creation");
+	}
+
+	/**
+	 * Get whether this invoker supports the {@link #createResponse(int, Map, byte[], ResponseType, PropertySet)}
+	 * method, which is required to serve the responses obtained from a response cache. Invokers which implement the
+	 * response creation must override this method to return <code>true</code>.
+	 * @return <code>true</code> if response creation is supported, <code>false</code> otherwise (default)
+	 * @since 5.2.2
+	 */
+	default boolean isResponseCreationSupported() {
+		return false;
+	}
+
 }
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.async.http.internal;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import com.holonplatform.async.http.AsyncRestClient.AsyncRequestDefinition;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.core.property.PropertySet;
+import com.holonplatform.http.HttpMethod;
+import com.holonplatform.http.HttpStatus;
+import com.holonplatform.http.exceptions.UnsuccessfulResponseException;
+import com.holonplatform.http.internal.rest.ResponseCacheSupport;
+import com.holonplatform.http.rest.HttpResponseCache;
+import com.holonplatform.http.rest.HttpResponseCache.CachedResponse;
+import com.holonplatform.http.rest.RequestEntity;
+import com.holonplatform.http.rest.ResponseEntity;
+import com.holonplatform.http.rest.ResponseType;
+
+/**
+ * {@link AsyncInvoker} which uses a {@link HttpResponseCache} to serve the cacheable requests, delegating the actual
+ * request invocations to a concrete {@link AsyncInvoker}.
+ * <p>
+ * The concrete invoker must support the {@link #createResponse(int, Map, byte[], ResponseType, PropertySet)} method,
+ * see {@link #isResponseCreationSupported()}.
+ * A fresh cached response is returned using an already completed {@link CompletionStage}.
+ * </p>
+ * 
+ * @since 5.2.2
+ * 
+ * @see ResponseCacheSupport
+ */
+public class CachingAsyncInvoker implements AsyncInvoker {
+
+	private final AsyncInvoker invoker;
+
+	private final ResponseCacheSupport cacheSupport;
+
+	/**
+	 * Constructor.
+	 * @param invoker Concrete invoker (not null)
+	 * @param cache Response cache (not null)
+	 */
+	public CachingAsyncInvoker(AsyncInvoker invoker, HttpResponseCache cache) {
+		super();
+		ObjectUtils.argumentNotNull(invoker, "Invoker must be not null");
+		this.invoker = invoker;
+		this.cacheSupport = new ResponseCacheSupport(cache);
+	}
+
+	/**
+	 * Get the response cache.
+	 * @return the response cache
+	 */
+	public HttpResponseCache getCache() {
+		return cacheSupport.getCache();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.async.http.internal.AsyncInvoker#invoke(com.holonplatform.async.http.AsyncRestClient.
+	 * AsyncRequestDefinition, com.holonplatform.http.HttpMethod, com.holonplatform.http.rest.RequestEntity,
+	 * com.holonplatform.http.rest.ResponseType, boolean)
+	 */
+	@Override
+	public <T, R> CompletionStage<ResponseEntity<T>> invoke(AsyncRequestDefinition requestDefinition,
+			HttpMethod method, RequestEntity<R> requestEntity, ResponseType<T> responseType,
+			boolean onlySuccessfulStatusCode) {
+		final URI requestURI = cacheSupport.getRequestURI(requestDefinition);
+		if (requestURI == null) {
+			return invoker.invoke(requestDefinition, method, requestEntity, responseType, onlySuccessfulStatusCode);
+		}
+		final String key;
+		final CachedResponse cached;
+		try {
+			if (!cacheSupport.isCacheable(requestDefinition, method, requestEntity, responseType)) {
+				return invoker.invoke(requestDefinition, requestURI, method, requestEntity, responseType,
+						onlySuccessfulStatusCode).thenApply(response -> {
+							cacheSupport.invalidate(requestURI, method, response.getStatusCode());
+							return response;
+						});
+			}
+			key = ResponseCacheSupport.getCacheKey(requestURI);
+			cached = cacheSupport.lookup(key, requestDefinition).orElse(null);
+			if (cached != null && cacheSupport.isUsable(requestDefinition, cached)) {
+				return CompletableFuture.completedFuture(
+						toResponse(cached, requestDefinition, responseType, onlySuccessfulStatusCode));
+			}
+		} catch (RuntimeException e) {
+			final CompletableFuture<ResponseEntity<T>> failed = new CompletableFuture<>();
+			failed.completeExceptionally(e);
+			return failed;
+		}
+
+		// revalidate the cached response, if possible
+		final Map<String, String> conditionalHeaders = (cached != null)
+				? ResponseCacheSupport.getConditionalHeaders(cached)
+				: Collections.emptyMap();
+		final AsyncRequestDefinition request = conditionalHeaders.isEmpty() ? requestDefinition
+				: ResponseCacheSupport.copy(requestDefinition, new DefaultAsyncRequestDefinition(invoker),
+						conditionalHeaders);
+
+		return invoker.invoke(request, requestURI, method, requestEntity, ResponseType.of(byte[].class), false)
+				.thenApply(response -> {
+					final CachedResponse served;
+					try {
+						served = cacheSupport.update(key, requestDefinition, response,
+								conditionalHeaders.isEmpty() ? null : cached);
+					} finally {
+						response.close();
+					}
+					return toResponse(served, requestDefinition, responseType, onlySuccessfulStatusCode);
+				});
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.async.http.internal.AsyncInvoker#createResponse(int, java.util.Map, byte[],
+	 * com.holonplatform.http.rest.ResponseType, com.holonplatform.core.property.PropertySet)
+	 */
+	@Override
+	public <T> ResponseEntity<T> createResponse(int statusCode, Map<String, List<String>> headers, byte[] body,
+			ResponseType<T> responseType, PropertySet<?> propertySet) {
+		return invoker.createResponse(statusCode, headers, body, responseType, propertySet);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.async.http.internal.AsyncInvoker#isResponseCreationSupported()
+	 */
+	@Override
+	public boolean isResponseCreationSupported() {
+		return invoker.isResponseCreationSupported();
+	}
+
+	/**
+	 * Convert given cached response into a {@link ResponseEntity}.
+	 * @param <T> Response type
+	 * @param cached Cached response
+	 * @param requestDefinition Request definition
+	 * @param responseType Expected response type
+	 * @param onlySuccessfulStatusCode Whether to throw an {@link UnsuccessfulResponseException} for a non
+	 *        <code>2xx</code> status code
+	 * @return The response entity
+	 */
+	private <T> ResponseEntity<T> toResponse(CachedResponse cached, AsyncRequestDefinition requestDefinition,
+			ResponseType<T> responseType, boolean onlySuccessfulStatusCode) {
+		final ResponseEntity<T> response = createResponse(cached.getStatusCode(), cached.getHeaders(),
+				cached.getBody(), responseType, requestDefinition.getPropertySet().orElse(null));
+		if (onlySuccessfulStatusCode && !HttpStatus.isSuccessStatusCode(cached.getStatusCode())) {
+			throw new UnsuccessfulResponseException(response);
+		}
+		return response;
+	}
+
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.async.http.internal;
+
+import com.holonplatform.async.http.AsyncExecutionPolicy;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+
+/**
+ * Default {@link AsyncExecutionPolicy} implementation.
+ * 
+ * @since 5.2.2
+ */
+public class DefaultAsyncExecutionPolicy implements AsyncExecutionPolicy {
+
+	private final int maxConcurrentRequestsPerHost;
+	private final int maxQueuedRequestsPerHost;
+	private final RejectionPolicy rejectionPolicy;
+	private final boolean deduplicateGetRequests;
+
+	/**
+	 * Constructor.
+	 * @param maxConcurrentRequestsPerHost Maximum number of concurrent requests per host, <code>0</code> if not limited
+	 * @param maxQueuedRequestsPerHost Maximum number of queued requests per host
+	 * @param rejectionPolicy Rejection policy (not null)
+	 * @param deduplicateGetRequests Whether to coalesce identical in-flight <code>GET</code> requests
+	 */
+	public DefaultAsyncExecutionPolicy(int maxConcurrentRequestsPerHost, int maxQueuedRequestsPerHost,
+			RejectionPolicy rejectionPolicy, boolean deduplicateGetRequests) {
+		super();
+		ObjectUtils.argumentNotNull(rejectionPolicy, "Rejection policy must be not null");
+		if (maxConcurrentRequestsPerHost < 0) {
+			throw new IllegalArgumentException("Max concurrent requests must be greater or equal to 0");
+		}
+		if (maxQueuedRequestsPerHost < 0) {
+			throw new IllegalArgumentException("Max queued requests must be greater or equal to 0");
+		}
+		this.maxConcurrentRequestsPerHost = maxConcurrentRequestsPerHost;
+		this.maxQueuedRequestsPerHost = maxQueuedRequestsPerHost;
+		this.rejectionPolicy = rejectionPolicy;
+		this.deduplicateGetRequests = deduplicateGetRequests;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.async.http.AsyncExecutionPolicy#getMaxConcurrentRequestsPerHost()
+	 */
+	@Override
+	public int getMaxConcurrentRequestsPerHost() {
+		return maxConcurrentRequestsPerHost;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.async.http.AsyncExecutionPolicy#getMaxQueuedRequestsPerHost()
+	 */
+	@Override
+	public int getMaxQueuedRequestsPerHost() {
+		return maxQueuedRequestsPerHost;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.async.http.AsyncExecutionPolicy#getRejectionPolicy()
+	 */
+	@Override
+	public RejectionPolicy getRejectionPolicy() {
+		return rejectionPolicy;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.async.http.AsyncExecutionPolicy#isDeduplicateGetRequests()
+	 */
+	@Override
+	public boolean isDeduplicateGetRequests() {
+		return deduplicateGetRequests;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "DefaultAsyncExecutionPolicy [maxConcurrentRequestsPerHost=" + maxConcurrentRequestsPerHost
+				+ ", maxQueuedRequestsPerHost=" + maxQueuedRequestsPerHost + ", rejectionPolicy=" + rejectionPolicy
+				+ ", deduplicateGetRequests=" + deduplicateGetRequests + "]";
+	}
+
+	/**
+	 * Default {@link AsyncExecutionPolicy.Builder} implementation.
+	 */
+	public static class DefaultBuilder implements AsyncExecutionPolicy.Builder {
+
+		private int maxConcurrentRequestsPerHost = 0;
+		private int maxQueuedRequestsPerHost = Integer.MAX_VALUE;
+		private RejectionPolicy rejectionPolicy = RejectionPolicy.FAIL;
+		private boolean deduplicateGetRequests = false;
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.async.http.AsyncExecutionPolicy.Builder#maxConcurrentRequestsPerHost(int)
+		 */
+		@Override
+		public AsyncExecutionPolicy.Builder maxConcurrentRequestsPerHost(int maxConcurrentRequests) {
+			this.maxConcurrentRequestsPerHost = maxConcurrentRequests;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.async.http.AsyncExecutionPolicy.Builder#maxQueuedRequestsPerHost(int)
+		 */
+		@Override
+		public AsyncExecutionPolicy.Builder maxQueuedRequestsPerHost(int maxQueuedRequests) {
+			this.maxQueuedRequestsPerHost = maxQueuedRequests;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see
+		 * com.holonplatform.async.http.AsyncExecutionPolicy.Builder#rejectionPolicy(com.holonplatform.async.http.
+		 * AsyncExecutionPolicy.RejectionPolicy)
+		 */
+		@Override
+		public AsyncExecutionPolicy.Builder rejectionPolicy(RejectionPolicy rejectionPolicy) {
+			ObjectUtils.argumentNotNull(rejectionPolicy, "Rejection policy must be not null");
+			this.rejectionPolicy = rejectionPolicy;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.async.http.AsyncExecutionPolicy.Builder#deduplicateGetRequests(boolean)
+		 */
+		@Override
+		public AsyncExecutionPolicy.Builder deduplicateGetRequests(boolean deduplicate) {
+			this.deduplicateGetRequests = deduplicate;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.async.http.AsyncExecutionPolicy.Builder#build()
+		 */
+		@Override
+		public AsyncExecutionPolicy build() {
+			return new DefaultAsyncExecutionPolicy(maxConcurrentRequestsPerHost, maxQueuedRequestsPerHost,
+					rejectionPolicy, deduplicateGetRequests);
+		}
+
+	}
+
+}
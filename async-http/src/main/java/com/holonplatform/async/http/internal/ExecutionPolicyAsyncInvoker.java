@@ -0,0 +1,590 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.async.http.internal;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+import com.holonplatform.async.http.AsyncExecutionPolicy;
+import com.holonplatform.async.http.AsyncExecutionPolicy.RejectionPolicy;
+import com.holonplatform.async.http.AsyncRestClient.AsyncRequestDefinition;
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.core.property.PropertySet;
+import com.holonplatform.http.HttpMethod;
+import com.holonplatform.http.exceptions.RequestRejectedException;
+import com.holonplatform.http.internal.HttpLogger;
+import com.holonplatform.http.rest.RequestEntity;
+import com.holonplatform.http.rest.ResponseEntity;
+import com.holonplatform.http.rest.ResponseType;
+
+/**
+ * An {@link AsyncInvoker} which performs the requests through a concrete {@link AsyncInvoker} applying an
+ * {@link AsyncExecutionPolicy}.
+ * <p>
+ * Identical in-flight <code>GET</code> requests are coalesced into a single request when the policy enables
+ * deduplication: each caller obtains its own view of the shared response, and the shared response is closed when all
+ * the views have been closed. The response payload is read only once and the same payload instance is returned to all
+ * the callers, so it must not be modified.
+ * </p>
+ * <p>
+ * The concurrency limit is applied per target host, queueing the requests which exceed the limit in FIFO order. The
+ * queued requests are started by a drain loop rather than from the completion of the previous request, so that
+ * requests which complete synchronously do not grow the call stack. The per host state is discarded when the host
+ * has no active or queued requests.
+ * </p>
+ * 
+ * @since 5.2.2
+ */
+public class ExecutionPolicyAsyncInvoker implements AsyncInvoker {
+
+	private static final Logger LOGGER = HttpLogger.create();
+
+	private final AsyncInvoker invoker;
+
+	private final AsyncExecutionPolicy policy;
+
+	private final ConcurrentMap<String, HostLimiter> limiters = new ConcurrentHashMap<>();
+
+	private final ConcurrentMap<List<Object>, InFlightRequest> inFlightRequests = new ConcurrentHashMap<>();
+
+	/**
+	 * Constructor.
+	 * @param invoker Concrete invoker (not null)
+	 * @param policy Execution policy (not null)
+	 */
+	public ExecutionPolicyAsyncInvoker(AsyncInvoker invoker, AsyncExecutionPolicy policy) {
+		super();
+		ObjectUtils.argumentNotNull(invoker, "Invoker must be not null");
+		ObjectUtils.argumentNotNull(policy, "Execution policy must be not null");
+		this.invoker = invoker;
+		this.policy = policy;
+	}
+
+	/**
+	 * Get the execution policy.
+	 * @return the execution policy
+	 */
+	public AsyncExecutionPolicy getPolicy() {
+		return policy;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.async.http.internal.AsyncInvoker#invoke(com.holonplatform.async.http.AsyncRestClient.
+	 * AsyncRequestDefinition, com.holonplatform.http.HttpMethod, com.holonplatform.http.rest.RequestEntity,
+	 * com.holonplatform.http.rest.ResponseType, boolean)
+	 */
+	@Override
+	public <T, R> CompletionStage<ResponseEntity<T>> invoke(AsyncRequestDefinition requestDefinition,
+			HttpMethod method, RequestEntity<R> requestEntity, ResponseType<T> responseType,
+			boolean onlySuccessfulStatusCode) {
+		return invoke(requestDefinition, method, requestEntity, responseType, onlySuccessfulStatusCode,
+				() -> invoker.invoke(requestDefinition, method, requestEntity, responseType, onlySuccessfulStatusCode));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.async.http.internal.AsyncInvoker#invoke(com.holonplatform.async.http.AsyncRestClient.
+	 * AsyncRequestDefinition, java.net.URI, com.holonplatform.http.HttpMethod,
+	 * com.holonplatform.http.rest.RequestEntity, com.holonplatform.http.rest.ResponseType, boolean)
+	 */
+	@Override
+	public <T, R> CompletionStage<ResponseEntity<T>> invoke(AsyncRequestDefinition requestDefinition, URI requestURI,
+			HttpMethod method, RequestEntity<R> requestEntity, ResponseType<T> responseType,
+			boolean onlySuccessfulStatusCode) {
+		return invoke(requestDefinition, method, requestEntity, responseType, onlySuccessfulStatusCode,
+				() -> invoker.invoke(requestDefinition, requestURI, method, requestEntity, responseType,
+						onlySuccessfulStatusCode));
+	}
+
+	/**
+	 * Perform given request invocation applying the execution policy.
+	 * @param <T> Response type
+	 * @param <R> Request entity type
+	 * @param requestDefinition Request definition
+	 * @param method Request method
+	 * @param requestEntity Request message payload
+	 * @param responseType Expected response payload type
+	 * @param onlySuccessfulStatusCode Whether to accept only <code>2xx</code> status code responses
+	 * @param invocation The concrete request invocation
+	 * @return A {@link CompletionStage} to handle the response
+	 */
+	private <T, R> CompletionStage<ResponseEntity<T>> invoke(AsyncRequestDefinition requestDefinition,
+			HttpMethod method, RequestEntity<R> requestEntity, ResponseType<T> responseType,
+			boolean onlySuccessfulStatusCode, Supplier<CompletionStage<ResponseEntity<T>>> invocation) {
+		final Supplier<CompletionStage<ResponseEntity<T>>> request = () -> execute(requestDefinition, invocation);
+		if (policy.isDeduplicateGetRequests() && HttpMethod.GET == method && requestEntity == null
+				&& responseType != null && InputStream.class != responseType.getType()) {
+			final List<Object> key = getRequestKey(requestDefinition, responseType, onlySuccessfulStatusCode);
+			if (key != null) {
+				return deduplicate(key, request);
+			}
+		}
+		return request.get();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.async.http.internal.AsyncInvoker#createResponse(int, java.util.Map, byte[],
+	 * com.holonplatform.http.rest.ResponseType, com.holonplatform.core.property.PropertySet)
+	 */
+	@Override
+	public <T> ResponseEntity<T> createResponse(int statusCode, Map<String, List<String>> headers, byte[] body,
+			ResponseType<T> responseType, PropertySet<?> propertySet) {
+		return invoker.createResponse(statusCode, headers, body, responseType, propertySet);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.async.http.internal.AsyncInvoker#isResponseCreationSupported()
+	 */
+	@Override
+	public boolean isResponseCreationSupported() {
+		return invoker.isResponseCreationSupported();
+	}
+
+	/**
+	 * Perform given request, applying the per host concurrency limit if configured.
+	 * @param <T> Result type
+	 * @param requestDefinition Request definition
+	 * @param request Request to perform
+	 * @return The request result
+	 */
+	private <T> CompletionStage<T> execute(AsyncRequestDefinition requestDefinition,
+			Supplier<CompletionStage<T>> request) {
+		if (policy.getMaxConcurrentRequestsPerHost() <= 0) {
+			return request.get();
+		}
+		final String host = getHostKey(requestDefinition);
+		while (true) {
+			final HostLimiter limiter = limiters.computeIfAbsent(host, h -> new HostLimiter(h));
+			final CompletionStage<T> result = limiter.submit(request);
+			if (result != null) {
+				return result;
+			}
+			// the limiter was retired concurrently
+			limiters.remove(host, limiter);
+		}
+	}
+
+	/**
+	 * Perform given request, or join an identical in-flight request if available.
+	 * @param <T> Response type
+	 * @param key Request key
+	 * @param request Request to perform
+	 * @return The response
+	 */
+	@SuppressWarnings("unchecked")
+	private <T> CompletionStage<ResponseEntity<T>> deduplicate(List<Object> key,
+			Supplier<CompletionStage<ResponseEntity<T>>> request) {
+		while (true) {
+			final InFlightRequest current = new InFlightRequest();
+			final InFlightRequest existing = inFlightRequests.putIfAbsent(key, current);
+			if (existing == null) {
+				LOGGER.debug(() -> "AsyncRestClient: performing coalesced request [" + key + "]");
+				CompletionStage<ResponseEntity<T>> stage;
+				try {
+					stage = request.get();
+				} catch (RuntimeException e) {
+					stage = failed(e);
+				}
+				stage.whenComplete((response, error) -> {
+					final int subscribers = current.complete();
+					inFlightRequests.remove(key, current);
+					if (error != null) {
+						current.future.completeExceptionally(error);
+					} else {
+						current.future.complete(new SharedResponse(response, subscribers));
+					}
+				});
+				return current.future.thenApply(shared -> (ResponseEntity<T>) new SharedResponseEntity<>(shared));
+			}
+			if (existing.join()) {
+				LOGGER.debug(() -> "AsyncRestClient: joined in-flight request [" + key + "]");
+				return existing.future.thenApply(shared -> (ResponseEntity<T>) new SharedResponseEntity<>(shared));
+			}
+			// already completed, retry
+			inFlightRequests.remove(key, existing);
+		}
+	}
+
+	/**
+	 * Get the key which identifies the target host of given request definition.
+	 * @param requestDefinition Request definition
+	 * @return The host key
+	 */
+	private static String getHostKey(AsyncRequestDefinition requestDefinition) {
+		return requestDefinition.getBaseRequestURI().map(uri -> {
+			final String scheme = (uri.getScheme() != null) ? uri.getScheme().toLowerCase() : "";
+			final String authority = (uri.getRawAuthority() != null) ? uri.getRawAuthority().toLowerCase() : "";
+			return scheme + "://" + authority;
+		}).orElse("");
+	}
+
+	/**
+	 * Get the key which identifies identical requests.
+	 * @param requestDefinition Request definition
+	 * @param responseType Response type
+	 * @param onlySuccessfulStatusCode Whether only successful responses are expected
+	 * @return The request key, or <code>null</code> if the request cannot be identified
+	 */
+	private static List<Object> getRequestKey(AsyncRequestDefinition requestDefinition, ResponseType<?> responseType,
+			boolean onlySuccessfulStatusCode) {
+		if (!requestDefinition.getBaseRequestURI().isPresent()) {
+			return null;
+		}
+		final Map<String, List<Object>> queryParameters = new HashMap<>();
+		requestDefinition.getQueryParameters().forEach(
+				(n, v) -> queryParameters.put(n, (v != null) ? Arrays.asList(v) : null));
+		return Arrays.asList(requestDefinition.getRequestURI(),
+				new HashMap<>(requestDefinition.getTemplateParameters()), queryParameters,
+				new HashMap<>(requestDefinition.getHeaders()), requestDefinition.getPropertySet().orElse(null),
+				responseType.getType(), Boolean.valueOf(onlySuccessfulStatusCode));
+	}
+
+	private static <T> CompletionStage<T> failed(Throwable error) {
+		final CompletableFuture<T> future = new CompletableFuture<>();
+		future.completeExceptionally(error);
+		return future;
+	}
+
+	/**
+	 * Get the number of hosts for which a concurrency limiter is currently active.
+	 * @return the number of active host limiters
+	 */
+	public int getActiveHostCount() {
+		return limiters.size();
+	}
+
+	/**
+	 * Per host request limiter.
+	 */
+	private final class HostLimiter {
+
+		private final String host;
+
+		private final Deque<PendingRequest<?>> queue = new ArrayDeque<>();
+
+		private final Deque<PendingRequest<?>> ready = new ArrayDeque<>();
+
+		private int active = 0;
+
+		private boolean draining = false;
+
+		private boolean retired = false;
+
+		HostLimiter(String host) {
+			super();
+			this.host = host;
+		}
+
+		/**
+		 * Submit a request.
+		 * @param <T> Result type
+		 * @param request Request to perform
+		 * @return The request result, or <code>null</code> if this limiter was retired and can no longer be used
+		 */
+		<T> CompletionStage<T> submit(Supplier<CompletionStage<T>> request) {
+			final PendingRequest<T> pending = new PendingRequest<>(request);
+			PendingRequest<?> rejected = null;
+			boolean start = false;
+			boolean bypass = false;
+			synchronized (this) {
+				if (retired) {
+					return null;
+				}
+				if (active < policy.getMaxConcurrentRequestsPerHost()) {
+					active++;
+					start = true;
+				} else if (queue.size() < policy.getMaxQueuedRequestsPerHost()) {
+					queue.addLast(pending);
+				} else if (policy.getRejectionPolicy() == RejectionPolicy.BYPASS) {
+					bypass = true;
+				} else if (policy.getRejectionPolicy() == RejectionPolicy.DISCARD_OLDEST && !queue.isEmpty()) {
+					rejected = queue.pollFirst();
+					queue.addLast(pending);
+				} else {
+					rejected = pending;
+				}
+			}
+			if (rejected != null) {
+				LOGGER.debug(() -> "AsyncRestClient: request rejected for host [" + host + "]");
+				rejected.result.completeExceptionally(new RequestRejectedException(
+						"Request rejected: the maximum number of queued requests for host [" + host + "] was reached"));
+			}
+			if (start) {
+				dispatch(pending);
+			} else if (bypass) {
+				start(pending, false);
+			}
+			return pending.result;
+		}
+
+		/**
+		 * Start given request, which already holds an active slot. If another call on the stack is already starting the
+		 * ready requests, the request is handed off to it, so that synchronously completed requests do not recurse.
+		 * @param pending The request to start
+		 */
+		private void dispatch(PendingRequest<?> pending) {
+			synchronized (this) {
+				ready.addLast(pending);
+				if (draining) {
+					return;
+				}
+				draining = true;
+			}
+			while (true) {
+				final PendingRequest<?> next;
+				synchronized (this) {
+					next = ready.pollFirst();
+					if (next == null) {
+						draining = false;
+						return;
+					}
+				}
+				start(next, true);
+			}
+		}
+
+		private <T> void start(PendingRequest<T> pending, boolean release) {
+			CompletionStage<T> stage;
+			try {
+				stage = pending.request.get();
+			} catch (RuntimeException e) {
+				stage = failed(e);
+			}
+			stage.whenComplete((result, error) -> {
+				if (release) {
+					release();
+				}
+				if (error != null) {
+					pending.result.completeExceptionally(error);
+				} else {
+					pending.result.complete(result);
+				}
+			});
+		}
+
+		private void release() {
+			PendingRequest<?> next;
+			boolean retire = false;
+			synchronized (this) {
+				do {
+					next = queue.pollFirst();
+				} while (next != null && next.result.isDone());
+				if (next == null) {
+					active--;
+					if (active == 0 && ready.isEmpty()) {
+						retired = true;
+						retire = true;
+					}
+				}
+			}
+			if (next != null) {
+				dispatch(next);
+			} else if (retire) {
+				limiters.remove(host, this);
+			}
+		}
+
+	}
+
+	/**
+	 * A request waiting to be performed.
+	 * @param <T> Result type
+	 */
+	private static final class PendingRequest<T> {
+
+		final Supplier<CompletionStage<T>> request;
+
+		final CompletableFuture<T> result = new CompletableFuture<>();
+
+		PendingRequest(Supplier<CompletionStage<T>> request) {
+			super();
+			this.request = request;
+		}
+
+	}
+
+	/**
+	 * An in-flight request which can be joined by identical requests until completed.
+	 */
+	private static final class InFlightRequest {
+
+		final CompletableFuture<SharedResponse> future = new CompletableFuture<>();
+
+		private int subscribers = 1;
+
+		private boolean completed = false;
+
+		synchronized boolean join() {
+			if (completed) {
+				return false;
+			}
+			subscribers++;
+			return true;
+		}
+
+		synchronized int complete() {
+			completed = true;
+			return subscribers;
+		}
+
+	}
+
+	/**
+	 * A response shared by a number of subscribers, closed when all the subscribers have closed it.
+	 */
+	static final class SharedResponse {
+
+		final ResponseEntity<?> response;
+
+		private int subscribers;
+
+		private Optional<?> payload;
+
+		SharedResponse(ResponseEntity<?> response, int subscribers) {
+			super();
+			this.response = response;
+			this.subscribers = subscribers;
+		}
+
+		synchronized Optional<?> getPayload() {
+			if (payload == null) {
+				payload = response.getPayload();
+			}
+			return payload;
+		}
+
+		synchronized <E> Optional<E> as(ResponseType<E> type) {
+			return response.as(type);
+		}
+
+		void release() {
+			final boolean close;
+			synchronized (this) {
+				close = --subscribers == 0;
+			}
+			if (close) {
+				response.close();
+			}
+		}
+
+	}
+
+	/**
+	 * A subscriber view of a {@link SharedResponse}.
+	 * @param <T> Response type
+	 */
+	static final class SharedResponseEntity<T> implements ResponseEntity<T> {
+
+		private final SharedResponse shared;
+
+		private boolean closed = false;
+
+		SharedResponseEntity(SharedResponse shared) {
+			super();
+			this.shared = shared;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.http.HttpResponse#getStatusCode()
+		 */
+		@Override
+		public int getStatusCode() {
+			return shared.response.getStatusCode();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.core.messaging.MessageHeaders#getHeaders()
+		 */
+		@Override
+		public Map<String, List<String>> getHeaders() {
+			return shared.response.getHeaders();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.core.messaging.Message#getPayload()
+		 */
+		@SuppressWarnings("unchecked")
+		@Override
+		public Optional<T> getPayload() throws UnsupportedOperationException {
+			return (Optional<T>) shared.getPayload();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.core.messaging.Message#getPayloadType()
+		 */
+		@SuppressWarnings("unchecked")
+		@Override
+		public Class<? extends T> getPayloadType() throws UnsupportedOperationException {
+			return (Class<? extends T>) shared.response.getPayloadType();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.http.rest.ResponseEntity#as(java.lang.Class)
+		 */
+		@Override
+		public <E> Optional<E> as(Class<E> entityType) {
+			ObjectUtils.argumentNotNull(entityType, "Entity type must be not null");
+			return shared.as(ResponseType.of(entityType));
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.http.rest.ResponseEntity#as(com.holonplatform.http.rest.ResponseType)
+		 */
+		@Override
+		public <E> Optional<E> as(ResponseType<E> entityType) {
+			return shared.as(entityType);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.http.rest.ResponseEntity#close()
+		 */
+		@Override
+		public void close() {
+			synchronized (this) {
+				if (closed) {
+					return;
+				}
+				closed = true;
+			}
+			shared.release();
+		}
+
+	}
+
+}
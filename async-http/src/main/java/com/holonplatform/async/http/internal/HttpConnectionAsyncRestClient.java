@@ -0,0 +1,184 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.async.http.internal;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.holonplatform.async.http.AsyncRestClient;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.core.property.PropertySet;
+import com.holonplatform.http.HttpMethod;
+import com.holonplatform.http.internal.rest.HttpConnectionInvoker;
+import com.holonplatform.http.internal.rest.HttpConnectionResponseEntity;
+import com.holonplatform.http.rest.RequestEntity;
+import com.holonplatform.http.rest.ResponseEntity;
+import com.holonplatform.http.rest.ResponseType;
+
+/**
+ * {@link AsyncRestClient} implementation which uses the JDK {@link java.net.HttpURLConnection} to perform the
+ * requests.
+ * <p>
+ * Each request is performed by a {@link HttpConnectionInvoker} using the configured {@link Executor}, and the returned
+ * {@link CompletionStage} is completed when the response status and headers are available. By default, a shared pool
+ * of at most {@link #DEFAULT_MAX_THREADS} daemon threads is used, and the requests exceeding the pool size are queued.
+ * </p>
+ * <p>
+ * This client is registered as a {@link com.holonplatform.async.http.AsyncRestClientFactory} with the lowest
+ * priority, so it is returned by the {@link AsyncRestClient} <code>create(...)</code> methods only when no other
+ * implementation is available. As for {@link com.holonplatform.http.internal.rest.HttpConnectionRestClient}, Java
+ * beans and {@link com.holonplatform.core.property.PropertyBox} payloads are not supported.
+ * </p>
+ * 
+ * @since 5.2.2
+ */
+public class HttpConnectionAsyncRestClient extends AbstractAsyncRestClient {
+
+	/**
+	 * Default executor max threads
+	 */
+	public static final int DEFAULT_MAX_THREADS = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+
+	/**
+	 * Default executor
+	 */
+	private static final Executor DEFAULT_EXECUTOR = createDefaultExecutor();
+
+	private final HttpConnectionInvoker invoker;
+
+	private final Executor executor;
+
+	/**
+	 * Constructor using a default {@link HttpConnectionInvoker} and the default executor.
+	 */
+	public HttpConnectionAsyncRestClient() {
+		this(new HttpConnectionInvoker(), DEFAULT_EXECUTOR);
+	}
+
+	/**
+	 * Constructor.
+	 * @param invoker The invoker to use to perform the requests (not null)
+	 * @param executor The executor to use to perform the requests (not null)
+	 */
+	public HttpConnectionAsyncRestClient(HttpConnectionInvoker invoker, Executor executor) {
+		super();
+		ObjectUtils.argumentNotNull(invoker, "Invoker must be not null");
+		ObjectUtils.argumentNotNull(executor, "Executor must be not null");
+		this.invoker = invoker;
+		this.executor = executor;
+	}
+
+	/**
+	 * Get the invoker used to perform the requests, which can be used to configure the connection timeouts.
+	 * @return the invoker
+	 */
+	public HttpConnectionInvoker getInvoker() {
+		return invoker;
+	}
+
+	/**
+	 * Get the executor used to perform the requests.
+	 * @return the executor
+	 */
+	public Executor getExecutor() {
+		return executor;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.async.http.internal.AsyncInvoker#invoke(com.holonplatform.async.http.AsyncRestClient.
+	 * AsyncRequestDefinition, com.holonplatform.http.HttpMethod, com.holonplatform.http.rest.RequestEntity,
+	 * com.holonplatform.http.rest.ResponseType, boolean)
+	 */
+	@Override
+	public <T, R> CompletionStage<ResponseEntity<T>> invoke(AsyncRequestDefinition requestDefinition,
+			HttpMethod method, RequestEntity<R> requestEntity, ResponseType<T> responseType,
+			boolean onlySuccessfulStatusCode) {
+		return CompletableFuture.supplyAsync(() -> invoker.invoke(requestDefinition, method, requestEntity,
+				responseType, onlySuccessfulStatusCode), executor);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.async.http.internal.AsyncInvoker#invoke(com.holonplatform.async.http.AsyncRestClient.
+	 * AsyncRequestDefinition, java.net.URI, com.holonplatform.http.HttpMethod,
+	 * com.holonplatform.http.rest.RequestEntity, com.holonplatform.http.rest.ResponseType, boolean)
+	 */
+	@Override
+	public <T, R> CompletionStage<ResponseEntity<T>> invoke(AsyncRequestDefinition requestDefinition, URI requestURI,
+			HttpMethod method, RequestEntity<R> requestEntity, ResponseType<T> responseType,
+			boolean onlySuccessfulStatusCode) {
+		return CompletableFuture.supplyAsync(() -> invoker.invoke(requestDefinition, requestURI, method,
+				requestEntity, responseType, onlySuccessfulStatusCode), executor);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.async.http.internal.AsyncInvoker#createResponse(int, java.util.Map, byte[],
+	 * com.holonplatform.http.rest.ResponseType, com.holonplatform.core.property.PropertySet)
+	 */
+	@Override
+	public <T> ResponseEntity<T> createResponse(int statusCode, Map<String, List<String>> headers, byte[] body,
+			ResponseType<T> responseType, PropertySet<?> propertySet) {
+		return new HttpConnectionResponseEntity<>(statusCode, headers, new ByteArrayInputStream(body), responseType,
+				propertySet);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.async.http.internal.AsyncInvoker#isResponseCreationSupported()
+	 */
+	@Override
+	public boolean isResponseCreationSupported() {
+		return true;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.async.http.internal.AbstractAsyncRestClient#buildDefinition()
+	 */
+	@Override
+	protected AsyncRequestDefinition buildDefinition() {
+		return new DefaultAsyncRequestDefinition(getRequestInvoker());
+	}
+
+	/**
+	 * Create the default executor, using at most {@link #DEFAULT_MAX_THREADS} daemon threads which are released when
+	 * idle.
+	 * @return The default executor
+	 */
+	private static Executor createDefaultExecutor() {
+		final AtomicInteger counter = new AtomicInteger(0);
+		final ThreadPoolExecutor executor = new ThreadPoolExecutor(DEFAULT_MAX_THREADS, DEFAULT_MAX_THREADS, 60L,
+				TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+					final Thread thread = new Thread(r, "holon-async-http-" + counter.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
+}
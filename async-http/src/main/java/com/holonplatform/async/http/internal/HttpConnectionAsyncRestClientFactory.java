@@ -0,0 +1,54 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.async.http.internal;
+
+import javax.annotation.Priority;
+
+import com.holonplatform.async.http.AsyncRestClient;
+import com.holonplatform.async.http.AsyncRestClientFactory;
+import com.holonplatform.http.exceptions.RestClientCreationException;
+
+/**
+ * {@link AsyncRestClientFactory} to create {@link HttpConnectionAsyncRestClient} instances.
+ * <p>
+ * This factory has the lowest priority, so that any other available {@link AsyncRestClient} implementation is
+ * preferred.
+ * </p>
+ * 
+ * @since 5.2.2
+ */
+@Priority(AsyncRestClientFactory.DEFAULT_PRIORITY + 1000)
+public class HttpConnectionAsyncRestClientFactory implements AsyncRestClientFactory {
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.async.http.AsyncRestClientFactory#getRestClientImplementationClass()
+	 */
+	@Override
+	public Class<?> getRestClientImplementationClass() {
+		return HttpConnectionAsyncRestClient.class;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.async.http.AsyncRestClientFactory#create(java.lang.ClassLoader)
+	 */
+	@Override
+	public AsyncRestClient create(ClassLoader classLoader) throws RestClientCreationException {
+		return new HttpConnectionAsyncRestClient();
+	}
+
+}
@@ -0,0 +1,292 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.async.http.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.holonplatform.async.http.AsyncExecutionPolicy;
+import com.holonplatform.async.http.AsyncExecutionPolicy.RejectionPolicy;
+import com.holonplatform.async.http.AsyncRestClient.AsyncRequestDefinition;
+import com.holonplatform.async.http.internal.AsyncInvoker;
+import com.holonplatform.async.http.internal.DefaultAsyncRequestDefinition;
+import com.holonplatform.async.http.internal.ExecutionPolicyAsyncInvoker;
+import com.holonplatform.http.HttpMethod;
+import com.holonplatform.http.exceptions.RequestRejectedException;
+import com.holonplatform.http.rest.RequestEntity;
+import com.holonplatform.http.rest.ResponseEntity;
+import com.holonplatform.http.rest.ResponseType;
+
+public class TestAsyncExecutionPolicy {
+
+	private static final URI HOST = URI.create("http://localhost:8080");
+
+	@Test
+	public void testQueueingOrder() {
+		final TestInvoker invoker = new TestInvoker();
+		final ExecutionPolicyAsyncInvoker policyInvoker = new ExecutionPolicyAsyncInvoker(invoker,
+				AsyncExecutionPolicy.builder().maxConcurrentRequestsPerHost(2).maxQueuedRequestsPerHost(10).build());
+
+		final List<CompletableFuture<ResponseEntity<String>>> results = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			results.add(get(policyInvoker, "r" + i));
+		}
+		assertEquals(Arrays.asList("r0", "r1"), invoker.started);
+
+		invoker.complete("r1");
+		assertEquals(Arrays.asList("r0", "r1", "r2"), invoker.started);
+		invoker.complete("r0");
+		invoker.complete("r2");
+		assertEquals(Arrays.asList("r0", "r1", "r2", "r3", "r4"), invoker.started);
+		invoker.complete("r3");
+		invoker.complete("r4");
+
+		for (int i = 0; i < 5; i++) {
+			assertEquals("r" + i, results.get(i).join().getPayload().orElse(null));
+		}
+		// idle host limiters are discarded
+		assertEquals(0, policyInvoker.getActiveHostCount());
+	}
+
+	@Test
+	public void testSynchronousCompletion() {
+		final TestInvoker invoker = new TestInvoker();
+		final ExecutionPolicyAsyncInvoker policyInvoker = new ExecutionPolicyAsyncInvoker(invoker, AsyncExecutionPolicy
+				.builder().maxConcurrentRequestsPerHost(1).maxQueuedRequestsPerHost(100000).build());
+
+		final CompletableFuture<ResponseEntity<String>> first = get(policyInvoker, "first");
+		invoker.completeImmediately = true;
+		final List<CompletableFuture<ResponseEntity<String>>> results = new ArrayList<>();
+		for (int i = 0; i < 50000; i++) {
+			results.add(get(policyInvoker, "r" + i));
+		}
+		assertEquals(1, invoker.started.size());
+
+		// the queued requests complete synchronously: they must not be started recursively
+		invoker.complete("first");
+		assertTrue(first.isDone());
+		assertEquals(50001, invoker.started.size());
+		assertTrue(results.stream().allMatch(r -> r.isDone() && !r.isCompletedExceptionally()));
+		assertEquals(0, policyInvoker.getActiveHostCount());
+	}
+
+	@Test
+	public void testRejectionFail() throws InterruptedException {
+		final TestInvoker invoker = new TestInvoker();
+		final ExecutionPolicyAsyncInvoker policyInvoker = new ExecutionPolicyAsyncInvoker(invoker,
+				AsyncExecutionPolicy.builder().maxConcurrentRequestsPerHost(1).maxQueuedRequestsPerHost(1)
+						.rejectionPolicy(RejectionPolicy.FAIL).build());
+
+		final CompletableFuture<ResponseEntity<String>> r0 = get(policyInvoker, "r0");
+		final CompletableFuture<ResponseEntity<String>> r1 = get(policyInvoker, "r1");
+		final CompletableFuture<ResponseEntity<String>> r2 = get(policyInvoker, "r2");
+
+		assertRejected(r2);
+		invoker.complete("r0");
+		invoker.complete("r1");
+		assertEquals(Arrays.asList("r0", "r1"), invoker.started);
+		assertEquals("r0", r0.join().getPayload().orElse(null));
+		assertEquals("r1", r1.join().getPayload().orElse(null));
+	}
+
+	@Test
+	public void testRejectionDiscardOldest() throws InterruptedException {
+		final TestInvoker invoker = new TestInvoker();
+		final ExecutionPolicyAsyncInvoker policyInvoker = new ExecutionPolicyAsyncInvoker(invoker,
+				AsyncExecutionPolicy.builder().maxConcurrentRequestsPerHost(1).maxQueuedRequestsPerHost(1)
+						.rejectionPolicy(RejectionPolicy.DISCARD_OLDEST).build());
+
+		final CompletableFuture<ResponseEntity<String>> r0 = get(policyInvoker, "r0");
+		final CompletableFuture<ResponseEntity<String>> r1 = get(policyInvoker, "r1");
+		final CompletableFuture<ResponseEntity<String>> r2 = get(policyInvoker, "r2");
+
+		assertRejected(r1);
+		invoker.complete("r0");
+		invoker.complete("r2");
+		assertEquals(Arrays.asList("r0", "r2"), invoker.started);
+		assertEquals("r0", r0.join().getPayload().orElse(null));
+		assertEquals("r2", r2.join().getPayload().orElse(null));
+	}
+
+	@Test
+	public void testRejectionBypass() {
+		final TestInvoker invoker = new TestInvoker();
+		final ExecutionPolicyAsyncInvoker policyInvoker = new ExecutionPolicyAsyncInvoker(invoker,
+				AsyncExecutionPolicy.builder().maxConcurrentRequestsPerHost(1).maxQueuedRequestsPerHost(1)
+						.rejectionPolicy(RejectionPolicy.BYPASS).build());
+
+		get(policyInvoker, "r0");
+		get(policyInvoker, "r1");
+		final CompletableFuture<ResponseEntity<String>> r2 = get(policyInvoker, "r2");
+
+		// performed immediately, bypassing the queue
+		assertEquals(Arrays.asList("r0", "r2"), invoker.started);
+		invoker.complete("r2");
+		assertEquals("r2", r2.join().getPayload().orElse(null));
+		// the bypassed request does not release a slot
+		assertEquals(Arrays.asList("r0", "r2"), invoker.started);
+		invoker.complete("r0");
+		assertEquals(Arrays.asList("r0", "r2", "r1"), invoker.started);
+	}
+
+	@Test
+	public void testCoalescing() {
+		final TestInvoker invoker = new TestInvoker();
+		final ExecutionPolicyAsyncInvoker policyInvoker = new ExecutionPolicyAsyncInvoker(invoker,
+				AsyncExecutionPolicy.builder().deduplicateGetRequests(true).build());
+
+		final CompletableFuture<ResponseEntity<String>> r1 = get(policyInvoker, "shared");
+		final CompletableFuture<ResponseEntity<String>> r2 = get(policyInvoker, "shared");
+		final CompletableFuture<ResponseEntity<String>> other = get(policyInvoker, "other");
+		assertEquals(Arrays.asList("shared", "other"), invoker.started);
+
+		final TestResponse response = invoker.complete("shared");
+		final ResponseEntity<String> v1 = r1.join();
+		final ResponseEntity<String> v2 = r2.join();
+
+		// the payload is read once and shared
+		assertSame(v1.getPayload().get(), v2.getPayload().get());
+		assertEquals(1, response.reads.get());
+
+		// the shared response is closed when all the views are closed
+		v1.close();
+		v1.close();
+		assertEquals(0, response.closed.get());
+		v2.close();
+		assertEquals(1, response.closed.get());
+
+		invoker.complete("other");
+		assertEquals("other", other.join().getPayload().orElse(null));
+
+		// a completed request is not joined
+		get(policyInvoker, "shared");
+		assertEquals(Arrays.asList("shared", "other", "shared"), invoker.started);
+	}
+
+	private static CompletableFuture<ResponseEntity<String>> get(AsyncInvoker invoker, String path) {
+		final AsyncRequestDefinition request = new DefaultAsyncRequestDefinition(invoker).target(HOST).path(path);
+		return request.get(String.class).toCompletableFuture();
+	}
+
+	private static void assertRejected(CompletableFuture<?> result) throws InterruptedException {
+		assertTrue(result.isCompletedExceptionally());
+		try {
+			result.get();
+		} catch (ExecutionException e) {
+			assertTrue(e.getCause() instanceof RequestRejectedException);
+		}
+	}
+
+	private static final class TestInvoker implements AsyncInvoker {
+
+		final List<String> started = new ArrayList<>();
+
+		final Map<String, CompletableFuture<ResponseEntity<?>>> pending = new HashMap<>();
+
+		boolean completeImmediately = false;
+
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		@Override
+		public <T, R> CompletionStage<ResponseEntity<T>> invoke(AsyncRequestDefinition requestDefinition,
+				HttpMethod method, RequestEntity<R> requestEntity, ResponseType<T> responseType,
+				boolean onlySuccessfulStatusCode) {
+			final String uri = requestDefinition.getRequestURI();
+			final String path = uri.substring(uri.lastIndexOf('/') + 1);
+			started.add(path);
+			if (completeImmediately) {
+				return CompletableFuture.completedFuture((ResponseEntity) new TestResponse(path));
+			}
+			final CompletableFuture<ResponseEntity<?>> future = new CompletableFuture<>();
+			pending.put(path, future);
+			return (CompletionStage) future;
+		}
+
+		TestResponse complete(String path) {
+			final TestResponse response = new TestResponse(path);
+			pending.remove(path).complete(response);
+			return response;
+		}
+
+	}
+
+	private static final class TestResponse implements ResponseEntity<String> {
+
+		final String payload;
+
+		final AtomicInteger reads = new AtomicInteger();
+
+		final AtomicInteger closed = new AtomicInteger();
+
+		TestResponse(String payload) {
+			super();
+			this.payload = payload;
+		}
+
+		@Override
+		public int getStatusCode() {
+			return 200;
+		}
+
+		@Override
+		public Map<String, List<String>> getHeaders() {
+			return Collections.emptyMap();
+		}
+
+		@Override
+		public Optional<String> getPayload() throws UnsupportedOperationException {
+			reads.incrementAndGet();
+			return Optional.of(new String(payload));
+		}
+
+		@Override
+		public Class<? extends String> getPayloadType() throws UnsupportedOperationException {
+			return String.class;
+		}
+
+		@Override
+		public <E> Optional<E> as(Class<E> entityType) {
+			return Optional.empty();
+		}
+
+		@Override
+		public <E> Optional<E> as(ResponseType<E> entityType) {
+			return Optional.empty();
+		}
+
+		@Override
+		public void close() {
+			closed.incrementAndGet();
+		}
+
+	}
+
+}
@@ -19,6 +19,7 @@ import java.util.Collection;
 
 import com.holonplatform.auth.Authenticator;
 import com.holonplatform.auth.jwt.internal.DefaultJwtAuthenticator;
+import com.holonplatform.auth.jwt.internal.JwtClaimsCache;
 import com.holonplatform.auth.token.BearerAuthenticationToken;
 
 /**
@@ -98,6 +99,39 @@ public interface JwtAuthenticator extends Authenticator<BearerAuthenticationToke
 			return withRequiredClaim(claim);
 		}
 
+		/**
+		 * Enable the verified claims cache, using given max size and time to live. When a token is presented again,
+		 * its claims are obtained from the cache without repeating the token signature verification and decoding.
+		 * Cached claims are evicted at the token expiration time or when the time to live elapses, whichever comes
+		 * first. The cached claims are unmodifiable.
+		 * @param maxSize Max number of cached tokens, must be greater than <code>0</code>
+		 * @param timeToLive Cached claims time to live in milliseconds, must be greater than <code>0</code>
+		 * @return this
+		 * @since 5.2.2
+		 */
+		Builder withClaimsCache(int maxSize, long timeToLive);
+
+		/**
+		 * Enable the verified claims cache, using given max size and the default time to live.
+		 * @param maxSize Max number of cached tokens, must be greater than <code>0</code>
+		 * @return this
+		 * @see #withClaimsCache(int, long)
+		 * @since 5.2.2
+		 */
+		default Builder withClaimsCache(int maxSize) {
+			return withClaimsCache(maxSize, JwtClaimsCache.DEFAULT_TIME_TO_LIVE);
+		}
+
+		/**
+		 * Enable the verified claims cache, using the default max size and time to live.
+		 * @return this
+		 * @see #withClaimsCache(int, long)
+		 * @since 5.2.2
+		 */
+		default Builder withClaimsCache() {
+			return withClaimsCache(JwtClaimsCache.DEFAULT_MAX_SIZE);
+		}
+
 		/**
 		 * Build the JwtAuthenticator
 		 * @return JwtAuthenticator
@@ -0,0 +1,246 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.auth.jwt.internal;
+
+import java.security.Key;
+import java.util.Arrays;
+import java.util.Objects;
+
+import org.apache.commons.lang3.exception.ExceptionUtils;
+
+import com.holonplatform.auth.exceptions.AuthenticationException;
+import com.holonplatform.auth.exceptions.ExpiredCredentialsException;
+import com.holonplatform.auth.exceptions.InvalidTokenException;
+import com.holonplatform.auth.exceptions.UnexpectedAuthenticationException;
+import com.holonplatform.auth.jwt.JwtConfiguration;
+import com.holonplatform.auth.jwt.JwtSignatureAlgorithm;
+import com.holonplatform.core.internal.utils.LruCache;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.SignatureException;
+
+/**
+ * A {@link JwtParser} configured once for a {@link JwtConfiguration}, i.e. with the signing key set according to the
+ * configuration signature algorithm.
+ * <p>
+ * The parser is never modified after its creation, so it can be safely shared by concurrent threads. Use
+ * {@link #of(JwtConfiguration)} to obtain the shared instance bound to a configuration.
+ * </p>
+ * <p>
+ * A {@link DefaultJwtConfiguration} holds its own parser, which is built again only when its signature algorithm or
+ * signing key is set. For any other configuration, the parser keeps a snapshot of the configuration signature
+ * algorithm and signing key it was built with, and the shared instances are cached by that snapshot rather than by
+ * configuration instance, so that a configuration whose algorithm or key changes, for example for a key rotation, is
+ * never bound to a stale parser. Use {@link #isConfiguredFor(JwtConfiguration)} to check whether a parser still
+ * matches a configuration.
+ * </p>
+ * 
+ * @since 5.2.2
+ */
+public final class ConfiguredJwtParser {
+
+	/**
+	 * Max number of shared parsers
+	 */
+	private static final int MAX_PARSERS = 64;
+
+	/**
+	 * Shared parsers, by signature algorithm and signing key
+	 */
+	private static final LruCache<ParserKey, ConfiguredJwtParser> PARSERS = new LruCache<>(MAX_PARSERS);
+
+	/*
+	 * Signature algorithm and signing key snapshot
+	 */
+	private final ParserKey key;
+
+	/*
+	 * Configured parser
+	 */
+	private final JwtParser parser;
+
+	/*
+	 * Whether the token is expected to be signed (JWS)
+	 */
+	private final boolean signed;
+
+	/**
+	 * Constructor.
+	 * @param configuration JWT configuration (not null)
+	 * @throws UnexpectedAuthenticationException If the signing key required by the configuration signature algorithm
+	 *         is not available
+	 */
+	public ConfiguredJwtParser(JwtConfiguration configuration) {
+		this(ParserKey.of(ObjectUtils.argumentNotNull(configuration, "JwtConfiguration must be not null")),
+				configuration);
+	}
+
+	/**
+	 * Constructor.
+	 * @param key Configuration signature algorithm and signing key snapshot
+	 * @param configuration JWT configuration
+	 */
+	private ConfiguredJwtParser(ParserKey key, JwtConfiguration configuration) {
+		super();
+		this.key = key;
+		JwtParser parser = Jwts.parser();
+		this.signed = key.algorithm != JwtSignatureAlgorithm.NONE;
+		if (signed) {
+			if (key.algorithm.isSymmetric()) {
+				if (key.sharedKey == null) {
+					throw new UnexpectedAuthenticationException(
+							"JWT authenticator not correctly configured: missing shared key for symmetric "
+									+ "signature algorithm [" + key.algorithm.getDescription()
+									+ "] - JWT configuration: [" + configuration + "]");
+				}
+				parser = parser.setSigningKey(key.sharedKey);
+			} else {
+				if (key.publicKey == null) {
+					throw new UnexpectedAuthenticationException(
+							"JWT authenticator not correctly configured: missing public key for asymmetric "
+									+ "signature algorithm [" + key.algorithm.getDescription()
+									+ "] - JWT configuration: [" + configuration + "]");
+				}
+				parser = parser.setSigningKey(key.publicKey);
+			}
+		}
+		this.parser = parser;
+	}
+
+	/**
+	 * Get the shared {@link ConfiguredJwtParser} for the current signature algorithm and signing key of given
+	 * configuration, creating it only once. When given configuration is a {@link DefaultJwtConfiguration}, the parser
+	 * held by the configuration is returned, without any key lookup.
+	 * @param configuration JWT configuration (not null)
+	 * @return The parser bound to given configuration
+	 * @throws UnexpectedAuthenticationException If the signing key required by the configuration signature algorithm
+	 *         is not available
+	 */
+	public static ConfiguredJwtParser of(JwtConfiguration configuration) {
+		ObjectUtils.argumentNotNull(configuration, "JwtConfiguration must be not null");
+		if (configuration instanceof DefaultJwtConfiguration) {
+			return ((DefaultJwtConfiguration) configuration).getParser();
+		}
+		return PARSERS.get(ParserKey.of(configuration), key -> new ConfiguredJwtParser(key, configuration));
+	}
+
+	/**
+	 * Checks whether this parser was built for the current signature algorithm and signing key of given configuration.
+	 * @param configuration JWT configuration (not null)
+	 * @return <code>true</code> if this parser matches the current configuration
+	 */
+	public boolean isConfiguredFor(JwtConfiguration configuration) {
+		ObjectUtils.argumentNotNull(configuration, "JwtConfiguration must be not null");
+		return key.matches(configuration);
+	}
+
+	/**
+	 * Parse and verify given JWT and get its claims.
+	 * @param jwt The JWT to parse (not null)
+	 * @return The JWT claims
+	 * @throws AuthenticationException If the JWT is expired, malformed, not correctly signed or cannot be parsed
+	 */
+	public Claims parse(String jwt) throws AuthenticationException {
+		ObjectUtils.argumentNotNull(jwt, "JWT token must be not null");
+		try {
+			return signed ? parser.parseClaimsJws(jwt).getBody() : parser.parseClaimsJwt(jwt).getBody();
+		} catch (@SuppressWarnings("unused") ExpiredJwtException eje) {
+			throw new ExpiredCredentialsException("Expired JWT token");
+		} catch (@SuppressWarnings("unused") MalformedJwtException | UnsupportedJwtException mje) {
+			throw new InvalidTokenException("Malformed or unsupported JWT token");
+		} catch (@SuppressWarnings("unused") SignatureException sje) {
+			throw new InvalidTokenException("Invalid JWT token signature");
+		} catch (Exception e) {
+			throw new UnexpectedAuthenticationException(ExceptionUtils.getRootCauseMessage(e), e);
+		}
+	}
+
+	/**
+	 * Immutable snapshot of the configuration signature algorithm and signing key.
+	 */
+	private static final class ParserKey {
+
+		final JwtSignatureAlgorithm algorithm;
+		final byte[] sharedKey;
+		final Key publicKey;
+
+		private ParserKey(JwtSignatureAlgorithm algorithm, byte[] sharedKey, Key publicKey) {
+			super();
+			this.algorithm = algorithm;
+			this.sharedKey = sharedKey;
+			this.publicKey = publicKey;
+		}
+
+		static ParserKey of(JwtConfiguration configuration) {
+			final JwtSignatureAlgorithm algorithm = configuration.getSignatureAlgorithm();
+			if (algorithm == JwtSignatureAlgorithm.NONE) {
+				return new ParserKey(algorithm, null, null);
+			}
+			if (algorithm.isSymmetric()) {
+				return new ParserKey(algorithm, configuration.getSharedKey().map(k -> k.clone()).orElse(null), null);
+			}
+			return new ParserKey(algorithm, null, configuration.getPublicKey().orElse(null));
+		}
+
+		boolean matches(JwtConfiguration configuration) {
+			final JwtSignatureAlgorithm current = configuration.getSignatureAlgorithm();
+			if (current != algorithm) {
+				return false;
+			}
+			if (algorithm == JwtSignatureAlgorithm.NONE) {
+				return true;
+			}
+			if (algorithm.isSymmetric()) {
+				return Arrays.equals(sharedKey, configuration.getSharedKey().orElse(null));
+			}
+			return Objects.equals(publicKey, configuration.getPublicKey().orElse(null));
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Object#hashCode()
+		 */
+		@Override
+		public int hashCode() {
+			return 31 * (31 * algorithm.hashCode() + Arrays.hashCode(sharedKey)) + Objects.hashCode(publicKey);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Object#equals(java.lang.Object)
+		 */
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof ParserKey)) {
+				return false;
+			}
+			final ParserKey other = (ParserKey) obj;
+			return algorithm == other.algorithm && Arrays.equals(sharedKey, other.sharedKey)
+					&& Objects.equals(publicKey, other.publicKey);
+		}
+
+	}
+
+}
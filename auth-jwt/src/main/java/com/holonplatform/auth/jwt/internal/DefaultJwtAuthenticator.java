@@ -17,30 +17,21 @@ package com.holonplatform.auth.jwt.internal;
 
 import java.util.Collection;
 import java.util.LinkedList;
-
-import org.apache.commons.lang3.exception.ExceptionUtils;
+import java.util.Optional;
 
 import com.holonplatform.auth.Authentication;
 import com.holonplatform.auth.Permission;
 import com.holonplatform.auth.exceptions.AuthenticationException;
-import com.holonplatform.auth.exceptions.ExpiredCredentialsException;
 import com.holonplatform.auth.exceptions.InvalidTokenException;
 import com.holonplatform.auth.exceptions.UnexpectedAuthenticationException;
 import com.holonplatform.auth.exceptions.UnknownAccountException;
 import com.holonplatform.auth.jwt.AuthenticationClaims;
 import com.holonplatform.auth.jwt.JwtAuthenticator;
 import com.holonplatform.auth.jwt.JwtConfiguration;
-import com.holonplatform.auth.jwt.JwtSignatureAlgorithm;
 import com.holonplatform.auth.token.BearerAuthenticationToken;
 import com.holonplatform.core.internal.utils.ObjectUtils;
 
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.ExpiredJwtException;
-import io.jsonwebtoken.JwtParser;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.MalformedJwtException;
-import io.jsonwebtoken.UnsupportedJwtException;
-import io.jsonwebtoken.security.SignatureException;
 
 /**
  * Default {@link JwtAuthenticator} implementation.
@@ -64,6 +55,16 @@ public class DefaultJwtAuthenticator implements JwtAuthenticator {
 	 */
 	private final Collection<String> requiredClaims = new LinkedList<>();
 
+	/**
+	 * Optional verified claims cache
+	 */
+	private JwtClaimsCache claimsCache;
+
+	/**
+	 * Parser bound to the current configuration
+	 */
+	private volatile ConfiguredJwtParser parser;
+
 	/**
 	 * Constructor
 	 */
@@ -93,6 +94,39 @@ public class DefaultJwtAuthenticator implements JwtAuthenticator {
 	 */
 	protected void setConfiguration(JwtConfiguration configuration) {
 		this.configuration = configuration;
+		this.parser = null;
+	}
+
+	/**
+	 * Set the verified claims cache.
+	 * @param claimsCache the claims cache to set
+	 */
+	protected void setClaimsCache(JwtClaimsCache claimsCache) {
+		this.claimsCache = claimsCache;
+	}
+
+	/**
+	 * Get the verified claims cache, if enabled.
+	 * @return Optional claims cache
+	 */
+	public Optional<JwtClaimsCache> getClaimsCache() {
+		return Optional.ofNullable(claimsCache);
+	}
+
+	/**
+	 * Get the parser bound to the current configuration, building it again only when the configuration signature
+	 * algorithm or signing key changes.
+	 * @return The configured parser
+	 * @throws UnexpectedAuthenticationException If the configuration signing key is not available
+	 */
+	private ConfiguredJwtParser getParser() {
+		final JwtConfiguration jwtConfiguration = getConfiguration();
+		ConfiguredJwtParser configuredParser = parser;
+		if (configuredParser == null || !configuredParser.isConfiguredFor(jwtConfiguration)) {
+			configuredParser = ConfiguredJwtParser.of(jwtConfiguration);
+			parser = configuredParser;
+		}
+		return configuredParser;
 	}
 
 	/*
@@ -159,41 +193,12 @@ public class DefaultJwtAuthenticator implements JwtAuthenticator {
 
 		// decode and get claims
 
-		Claims claims = null;
-
-		try {
-
-			JwtParser parser = Jwts.parser();
-
-			if (getConfiguration().getSignatureAlgorithm() != JwtSignatureAlgorithm.NONE) {
-				// Token expected to be signed (JWS)
-				if (getConfiguration().getSignatureAlgorithm().isSymmetric()) {
-					parser = parser.setSigningKey(getConfiguration().getSharedKey()
-							.orElseThrow(() -> new UnexpectedAuthenticationException(
-									"JWT authenticator not correctly configured: missing shared key for symmetric signature algorithm ["
-											+ getConfiguration().getSignatureAlgorithm().getDescription()
-											+ "] - JWT configuration: [" + getConfiguration() + "]")));
-				} else {
-					parser = parser.setSigningKey(getConfiguration().getPublicKey()
-							.orElseThrow(() -> new UnexpectedAuthenticationException(
-									"JWT authenticator not correctly configured: missing public key for asymmetric signature algorithm ["
-											+ getConfiguration().getSignatureAlgorithm().getDescription()
-											+ "] - JWT configuration: [" + getConfiguration() + "]")));
-				}
-				claims = parser.parseClaimsJws(jwt).getBody();
-			} else {
-				// not signed (JWT)
-				claims = parser.parseClaimsJwt(jwt).getBody();
+		Claims claims = (claimsCache != null) ? claimsCache.get(jwt) : null;
+		if (claims == null) {
+			claims = getParser().parse(jwt);
+			if (claimsCache != null && claims != null) {
+				claimsCache.put(jwt, claims);
 			}
-
-		} catch (@SuppressWarnings("unused") ExpiredJwtException eje) {
-			throw new ExpiredCredentialsException("Expired JWT token");
-		} catch (@SuppressWarnings("unused") MalformedJwtException | UnsupportedJwtException mje) {
-			throw new InvalidTokenException("Malformed or unsupported JWT token");
-		} catch (@SuppressWarnings("unused") SignatureException sje) {
-			throw new InvalidTokenException("Invalid JWT token signature");
-		} catch (Exception e) {
-			throw new UnexpectedAuthenticationException(ExceptionUtils.getRootCauseMessage(e), e);
 		}
 
 		// check claims
@@ -301,6 +306,16 @@ public class DefaultJwtAuthenticator implements JwtAuthenticator {
 			return this;
 		}
 
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.auth.jwt.JwtAuthenticator.Builder#withClaimsCache(int, long)
+		 */
+		@Override
+		public Builder withClaimsCache(int maxSize, long timeToLive) {
+			this.authenticator.setClaimsCache(new JwtClaimsCache(maxSize, timeToLive));
+			return this;
+		}
+
 		/*
 		 * (non-Javadoc)
 		 * @see com.holonplatform.auth.jwt.internal.JwtAuthenticatorBuilder#build()
@@ -77,6 +77,11 @@ public class DefaultJwtConfiguration implements JwtConfiguration {
 	 */
 	private boolean includePermissions;
 
+	/*
+	 * Parser bound to the current signature algorithm and signing key, lazily built
+	 */
+	private transient volatile ConfiguredJwtParser parser;
+
 	/*
 	 * (non-Javadoc)
 	 * @see com.holonplatform.jaxrs.server.jwt.JwtConfiguration#getIssuer()
@@ -158,6 +163,20 @@ public class DefaultJwtConfiguration implements JwtConfiguration {
 		return includePermissions;
 	}
 
+	/**
+	 * Get the {@link ConfiguredJwtParser} bound to this configuration, building it only once until the signature
+	 * algorithm or the signing keys are changed.
+	 * @return The configured parser
+	 */
+	ConfiguredJwtParser getParser() {
+		ConfiguredJwtParser configuredParser = parser;
+		if (configuredParser == null) {
+			configuredParser = new ConfiguredJwtParser(this);
+			parser = configuredParser;
+		}
+		return configuredParser;
+	}
+
 	/**
 	 * JWT token issuer
 	 * @param issuer the issuer to set
@@ -172,6 +191,7 @@ public class DefaultJwtConfiguration implements JwtConfiguration {
 	 */
 	public void setSignatureAlgorithm(JwtSignatureAlgorithm signatureAlgorithm) {
 		this.signatureAlgorithm = signatureAlgorithm;
+		this.parser = null;
 	}
 
 	/**
@@ -180,6 +200,7 @@ public class DefaultJwtConfiguration implements JwtConfiguration {
 	 */
 	public void setSharedKey(byte[] sharedKey) {
 		this.sharedKey = sharedKey;
+		this.parser = null;
 	}
 
 	/**
@@ -188,6 +209,7 @@ public class DefaultJwtConfiguration implements JwtConfiguration {
 	 */
 	public void setPublicKey(Key publicKey) {
 		this.publicKey = publicKey;
+		this.parser = null;
 	}
 
 	/**
@@ -17,30 +17,19 @@ package com.holonplatform.auth.jwt.internal;
 
 import java.util.Collection;
 
-import org.apache.commons.lang3.exception.ExceptionUtils;
-
 import com.holonplatform.auth.Authentication;
 import com.holonplatform.auth.Authentication.Builder;
 import com.holonplatform.auth.Permission;
 import com.holonplatform.auth.exceptions.AuthenticationException;
-import com.holonplatform.auth.exceptions.ExpiredCredentialsException;
-import com.holonplatform.auth.exceptions.InvalidTokenException;
 import com.holonplatform.auth.exceptions.UnexpectedAuthenticationException;
 import com.holonplatform.auth.exceptions.UnknownAccountException;
 import com.holonplatform.auth.jwt.AuthenticationClaims;
 import com.holonplatform.auth.jwt.JwtConfiguration;
 import com.holonplatform.auth.jwt.JwtConfiguration.InvalidJwtConfigurationException;
-import com.holonplatform.auth.jwt.JwtSignatureAlgorithm;
 import com.holonplatform.auth.jwt.JwtTokenParser;
 import com.holonplatform.core.internal.utils.ObjectUtils;
 
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.ExpiredJwtException;
-import io.jsonwebtoken.JwtParser;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.MalformedJwtException;
-import io.jsonwebtoken.UnsupportedJwtException;
-import io.jsonwebtoken.security.SignatureException;
 
 /**
  * Default {@link JwtTokenParser} implementation.
@@ -65,42 +54,7 @@ public enum DefaultJwtTokenParser implements JwtTokenParser {
 
 		// decode and get claims
 
-		Claims claims = null;
-
-		try {
-
-			JwtParser parser = Jwts.parser();
-
-			if (configuration.getSignatureAlgorithm() != JwtSignatureAlgorithm.NONE) {
-				// Token expected to be signed (JWS)
-				if (configuration.getSignatureAlgorithm().isSymmetric()) {
-					parser = parser.setSigningKey(configuration.getSharedKey()
-							.orElseThrow(() -> new UnexpectedAuthenticationException(
-									"JWT authenticator not correctly configured: missing shared key for symmetric signature algorithm ["
-											+ configuration.getSignatureAlgorithm().getDescription()
-											+ "] - JWT configuration: [" + configuration + "]")));
-				} else {
-					parser = parser.setSigningKey(configuration.getPublicKey()
-							.orElseThrow(() -> new UnexpectedAuthenticationException(
-									"JWT authenticator not correctly configured: missing public key for asymmetric signature algorithm ["
-											+ configuration.getSignatureAlgorithm().getDescription()
-											+ "] - JWT configuration: [" + configuration + "]")));
-				}
-				claims = parser.parseClaimsJws(jwt).getBody();
-			} else {
-				// not signed (JWT)
-				claims = parser.parseClaimsJwt(jwt).getBody();
-			}
-
-		} catch (@SuppressWarnings("unused") ExpiredJwtException eje) {
-			throw new ExpiredCredentialsException("Expired JWT token");
-		} catch (@SuppressWarnings("unused") MalformedJwtException | UnsupportedJwtException mje) {
-			throw new InvalidTokenException("Malformed or unsupported JWT token");
-		} catch (@SuppressWarnings("unused") SignatureException sje) {
-			throw new InvalidTokenException("Invalid JWT token signature");
-		} catch (Exception e) {
-			throw new UnexpectedAuthenticationException(ExceptionUtils.getRootCauseMessage(e), e);
-		}
+		Claims claims = ConfiguredJwtParser.of(configuration).parse(jwt);
 
 		// check claims
 		if (claims == null) {
@@ -0,0 +1,422 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.auth.jwt.internal;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.holonplatform.core.internal.utils.LruCache;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+
+/**
+ * A bounded, thread-safe cache of verified JWT {@link Claims}, keyed by the <code>SHA-256</code> digest of the token.
+ * <p>
+ * Each entry expires at the token expiration time (the <code>exp</code> claim) or when its time to live elapses,
+ * whichever comes first, so that tokens without an expiration time are not cached indefinitely. When the maximum size
+ * is reached, the least recently used entry is evicted before adding a new one.
+ * </p>
+ * <p>
+ * The cached claims are an unmodifiable copy of the verified claims, shared by all the callers which present the same
+ * token: any attempt to modify them throws an {@link UnsupportedOperationException}. The copy is shallow, so the claim
+ * values themselves are shared as well.
+ * </p>
+ * 
+ * @since 5.2.2
+ */
+public class JwtClaimsCache {
+
+	/**
+	 * Default max size
+	 */
+	public static final int DEFAULT_MAX_SIZE = 1000;
+
+	/**
+	 * Default entry time to live in milliseconds (5 minutes)
+	 */
+	public static final long DEFAULT_TIME_TO_LIVE = 5L * 60L * 1000L;
+
+	/**
+	 * Token digest algorithm
+	 */
+	private static final String DIGEST_ALGORITHM = "SHA-256";
+
+	/*
+	 * Cached claims by token digest
+	 */
+	private final LruCache<ByteBuffer, CacheEntry> entries;
+
+	/*
+	 * Max size
+	 */
+	private final int maxSize;
+
+	/*
+	 * Entry time to live in milliseconds
+	 */
+	private final long timeToLive;
+
+	/*
+	 * Statistics
+	 */
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+
+	/**
+	 * Constructor with default max size and time to live.
+	 */
+	public JwtClaimsCache() {
+		this(DEFAULT_MAX_SIZE);
+	}
+
+	/**
+	 * Constructor with default time to live.
+	 * @param maxSize Max size, must be greater than <code>0</code>
+	 */
+	public JwtClaimsCache(int maxSize) {
+		this(maxSize, DEFAULT_TIME_TO_LIVE);
+	}
+
+	/**
+	 * Constructor.
+	 * @param maxSize Max size, must be greater than <code>0</code>
+	 * @param timeToLive Entry time to live in milliseconds, must be greater than <code>0</code>
+	 */
+	public JwtClaimsCache(int maxSize, long timeToLive) {
+		super();
+		if (maxSize < 1) {
+			throw new IllegalArgumentException("Max size must be greater than 0");
+		}
+		if (timeToLive < 1) {
+			throw new IllegalArgumentException("Time to live must be greater than 0");
+		}
+		this.maxSize = maxSize;
+		this.timeToLive = timeToLive;
+		this.entries = new LruCache<>(maxSize);
+	}
+
+	/**
+	 * Get the max size.
+	 * @return the max size
+	 */
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	/**
+	 * Get the entry time to live.
+	 * @return the time to live in milliseconds
+	 */
+	public long getTimeToLive() {
+		return timeToLive;
+	}
+
+	/**
+	 * Get the verified claims of given token, if cached and not expired.
+	 * @param jwt The JWT (not null)
+	 * @return The cached unmodifiable claims, <code>null</code> if not available
+	 */
+	public Claims get(String jwt) {
+		ObjectUtils.argumentNotNull(jwt, "JWT token must be not null");
+		final ByteBuffer key = digest(jwt);
+		final CacheEntry entry = entries.get(key);
+		if (entry != null) {
+			if (!entry.isExpired(System.currentTimeMillis())) {
+				hits.incrementAndGet();
+				return entry.getClaims();
+			}
+			entries.remove(key, entry);
+		}
+		misses.incrementAndGet();
+		return null;
+	}
+
+	/**
+	 * Cache the verified claims of given token.
+	 * @param jwt The JWT (not null)
+	 * @param claims The verified token claims (not null)
+	 */
+	public void put(String jwt, Claims claims) {
+		ObjectUtils.argumentNotNull(jwt, "JWT token must be not null");
+		ObjectUtils.argumentNotNull(claims, "Claims must be not null");
+		final long now = System.currentTimeMillis();
+		final Date expiration = claims.getExpiration();
+		final long maxExpiresAt = (Long.MAX_VALUE - now > timeToLive) ? now + timeToLive : Long.MAX_VALUE;
+		final long expiresAt = (expiration != null) ? Math.min(expiration.getTime(), maxExpiresAt) : maxExpiresAt;
+		if (expiresAt <= now) {
+			return;
+		}
+		entries.put(digest(jwt), new CacheEntry(new UnmodifiableClaims(claims), expiresAt));
+	}
+
+	/**
+	 * Remove all the cached claims.
+	 */
+	public void clear() {
+		entries.clear();
+	}
+
+	/**
+	 * Get the current number of cached entries.
+	 * @return Cache size
+	 */
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Get the number of lookups which returned cached claims.
+	 * @return Hit count
+	 */
+	public long getHitCount() {
+		return hits.get();
+	}
+
+	/**
+	 * Get the number of lookups which did not return cached claims.
+	 * @return Miss count
+	 */
+	public long getMissCount() {
+		return misses.get();
+	}
+
+	/**
+	 * Compute the cache key of given token.
+	 * @param jwt The JWT
+	 * @return The token digest
+	 */
+	private static ByteBuffer digest(String jwt) {
+		try {
+			return ByteBuffer
+					.wrap(MessageDigest.getInstance(DIGEST_ALGORITHM).digest(jwt.getBytes(StandardCharsets.US_ASCII)));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("Digest algorithm not available: " + DIGEST_ALGORITHM, e);
+		}
+	}
+
+	/**
+	 * Cache entry.
+	 */
+	private static final class CacheEntry {
+
+		private final Claims claims;
+		private final long expiresAt;
+
+		CacheEntry(Claims claims, long expiresAt) {
+			super();
+			this.claims = claims;
+			this.expiresAt = expiresAt;
+		}
+
+		Claims getClaims() {
+			return claims;
+		}
+
+		boolean isExpired(long now) {
+			return now >= expiresAt;
+		}
+
+	}
+
+	/**
+	 * Unmodifiable shallow copy of verified claims.
+	 */
+	private static final class UnmodifiableClaims extends AbstractMap<String, Object> implements Claims {
+
+		private final Claims claims;
+		private final Set<Entry<String, Object>> entries;
+
+		UnmodifiableClaims(Claims claims) {
+			super();
+			this.claims = Jwts.claims(new LinkedHashMap<>(claims));
+			this.entries = Collections.unmodifiableMap(this.claims).entrySet();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.util.AbstractMap#entrySet()
+		 */
+		@Override
+		public Set<Entry<String, Object>> entrySet() {
+			return entries;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.util.AbstractMap#get(java.lang.Object)
+		 */
+		@Override
+		public Object get(Object key) {
+			return claims.get(key);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.util.AbstractMap#containsKey(java.lang.Object)
+		 */
+		@Override
+		public boolean containsKey(Object key) {
+			return claims.containsKey(key);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see io.jsonwebtoken.Claims#get(java.lang.String, java.lang.Class)
+		 */
+		@Override
+		public <T> T get(String claimName, Class<T> requiredType) {
+			return claims.get(claimName, requiredType);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see io.jsonwebtoken.Claims#getIssuer()
+		 */
+		@Override
+		public String getIssuer() {
+			return claims.getIssuer();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see io.jsonwebtoken.Claims#getSubject()
+		 */
+		@Override
+		public String getSubject() {
+			return claims.getSubject();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see io.jsonwebtoken.Claims#getAudience()
+		 */
+		@Override
+		public String getAudience() {
+			return claims.getAudience();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see io.jsonwebtoken.Claims#getExpiration()
+		 */
+		@Override
+		public Date getExpiration() {
+			return claims.getExpiration();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see io.jsonwebtoken.Claims#getNotBefore()
+		 */
+		@Override
+		public Date getNotBefore() {
+			return claims.getNotBefore();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see io.jsonwebtoken.Claims#getIssuedAt()
+		 */
+		@Override
+		public Date getIssuedAt() {
+			return claims.getIssuedAt();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see io.jsonwebtoken.Claims#getId()
+		 */
+		@Override
+		public String getId() {
+			return claims.getId();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see io.jsonwebtoken.ClaimsMutator#setIssuer(java.lang.String)
+		 */
+		@Override
+		public Claims setIssuer(String iss) {
+			throw new UnsupportedOperationException("Cached claims are unmodifiable");
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see io.jsonwebtoken.ClaimsMutator#setSubject(java.lang.String)
+		 */
+		@Override
+		public Claims setSubject(String sub) {
+			throw new UnsupportedOperationException("Cached claims are unmodifiable");
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see io.jsonwebtoken.ClaimsMutator#setAudience(java.lang.String)
+		 */
+		@Override
+		public Claims setAudience(String aud) {
+			throw new UnsupportedOperationException("Cached claims are unmodifiable");
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see io.jsonwebtoken.ClaimsMutator#setExpiration(java.util.Date)
+		 */
+		@Override
+		public Claims setExpiration(Date exp) {
+			throw new UnsupportedOperationException("Cached claims are unmodifiable");
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see io.jsonwebtoken.ClaimsMutator#setNotBefore(java.util.Date)
+		 */
+		@Override
+		public Claims setNotBefore(Date nbf) {
+			throw new UnsupportedOperationException("Cached claims are unmodifiable");
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see io.jsonwebtoken.ClaimsMutator#setIssuedAt(java.util.Date)
+		 */
+		@Override
+		public Claims setIssuedAt(Date iat) {
+			throw new UnsupportedOperationException("Cached claims are unmodifiable");
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see io.jsonwebtoken.ClaimsMutator#setId(java.lang.String)
+		 */
+		@Override
+		public Claims setId(String jti) {
+			throw new UnsupportedOperationException("Cached claims are unmodifiable");
+		}
+
+	}
+
+}
@@ -19,6 +19,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -53,6 +54,10 @@ import com.holonplatform.auth.jwt.JwtSignatureAlgorithm;
 import com.holonplatform.auth.jwt.JwtTokenBuilder;
 import com.holonplatform.auth.jwt.JwtTokenParser;
 import com.holonplatform.auth.jwt.internal.AuthenticationClaimsImpl;
+import com.holonplatform.auth.jwt.internal.ConfiguredJwtParser;
+import com.holonplatform.auth.jwt.internal.DefaultJwtAuthenticator;
+import com.holonplatform.auth.jwt.internal.DefaultJwtConfiguration;
+import com.holonplatform.auth.jwt.internal.JwtClaimsCache;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtParser;
@@ -410,6 +415,118 @@ public class TestJwt {
 
 	}
 
+	@Test
+	public void testClaimsCache() throws Exception {
+
+		SecretKey key = Keys.secretKeyFor(SignatureAlgorithm.HS256);
+
+		JwtConfiguration cfg = JwtConfiguration.builder().signatureAlgorithm(JwtSignatureAlgorithm.HS256)
+				.sharedKey(key.getEncoded()).build();
+
+		final JwtAuthenticator authenticator = JwtAuthenticator.builder().configuration(cfg).issuer("TestUnit")
+				.withClaimsCache(10).build();
+
+		final JwtClaimsCache cache = ((DefaultJwtAuthenticator) authenticator).getClaimsCache().orElse(null);
+		assertNotNull(cache);
+		assertEquals(10, cache.getMaxSize());
+
+		final Authentication authc = Authentication.builder("testuser").build();
+
+		String jwt = JwtTokenBuilder.get().buildJwt(
+				JwtConfiguration.builder().issuer("TestUnit").expireTime(20000L)
+						.signatureAlgorithm(JwtSignatureAlgorithm.HS256).sharedKey(key.getEncoded()).build(),
+				authc);
+
+		Authentication authenticated = authenticator.authenticate(AuthenticationToken.bearer(jwt));
+		assertEquals(authc, authenticated);
+		assertEquals(1, cache.size());
+		assertEquals(1, cache.getMissCount());
+
+		authenticated = authenticator.authenticate(AuthenticationToken.bearer(jwt));
+		assertEquals(authc, authenticated);
+		assertEquals(1, cache.getHitCount());
+
+		// issuer is checked on cached claims too
+		final JwtAuthenticator other = JwtAuthenticator.builder().configuration(cfg).issuer("Other")
+				.withClaimsCache().build();
+		assertThrows(InvalidTokenException.class, () -> other.authenticate(AuthenticationToken.bearer(jwt)));
+
+		// expiration
+		String expiring = JwtTokenBuilder.get().buildJwt(
+				JwtConfiguration.builder().issuer("TestUnit").expireTime(2000L)
+						.signatureAlgorithm(JwtSignatureAlgorithm.HS256).sharedKey(key.getEncoded()).build(),
+				authc);
+		assertNotNull(authenticator.authenticate(AuthenticationToken.bearer(expiring)));
+		assertEquals(2, cache.size());
+		Thread.sleep(2100L);
+		assertThrows(ExpiredCredentialsException.class,
+				() -> authenticator.authenticate(AuthenticationToken.bearer(expiring)));
+		assertEquals(1, cache.size());
+
+		assertThrows(IllegalArgumentException.class, () -> JwtAuthenticator.builder().withClaimsCache(0));
+		assertThrows(IllegalArgumentException.class, () -> JwtAuthenticator.builder().withClaimsCache(10, 0L));
+
+	}
+
+	@Test
+	public void testClaimsCacheEntries() throws Exception {
+
+		final JwtClaimsCache cache = new JwtClaimsCache(10, 500L);
+		assertEquals(500L, cache.getTimeToLive());
+
+		final Claims claims = Jwts.claims().setSubject("testuser");
+		claims.put("custom", "value");
+		cache.put("token", claims);
+
+		// cached claims are an unmodifiable copy
+		final Claims cached = cache.get("token");
+		assertNotNull(cached);
+		assertEquals("testuser", cached.getSubject());
+		assertEquals("value", cached.get("custom"));
+		assertEquals("value", cached.get("custom", String.class));
+		assertThrows(UnsupportedOperationException.class, () -> cached.setSubject("other"));
+		assertThrows(UnsupportedOperationException.class, () -> cached.put("custom", "other"));
+		assertThrows(UnsupportedOperationException.class, () -> cached.remove("custom"));
+		claims.put("custom", "changed");
+		assertEquals("value", cache.get("token").get("custom"));
+
+		// tokens without expiration are evicted when the time to live elapses
+		Thread.sleep(600L);
+		assertNull(cache.get("token"));
+		assertEquals(0, cache.size());
+
+	}
+
+	@Test
+	public void testParserKeyRotation() throws Exception {
+
+		final byte[] key1 = Keys.secretKeyFor(SignatureAlgorithm.HS256).getEncoded();
+		final byte[] key2 = Keys.secretKeyFor(SignatureAlgorithm.HS256).getEncoded();
+
+		final DefaultJwtConfiguration cfg = (DefaultJwtConfiguration) JwtConfiguration.builder()
+				.signatureAlgorithm(JwtSignatureAlgorithm.HS256).sharedKey(key1).build();
+
+		final ConfiguredJwtParser parser = ConfiguredJwtParser.of(cfg);
+		assertTrue(parser.isConfiguredFor(cfg));
+		assertSame(parser, ConfiguredJwtParser.of(cfg));
+
+		final JwtAuthenticator authenticator = JwtAuthenticator.builder().configuration(cfg).build();
+		final Authentication authc = Authentication.builder("testuser").build();
+
+		final String jwt1 = JwtTokenBuilder.get().buildJwt(cfg, authc);
+		assertEquals(authc, authenticator.authenticate(AuthenticationToken.bearer(jwt1)));
+
+		// rotate the key
+		cfg.setSharedKey(key2);
+		assertFalse(parser.isConfiguredFor(cfg));
+		assertTrue(ConfiguredJwtParser.of(cfg).isConfiguredFor(cfg));
+
+		final String jwt2 = JwtTokenBuilder.get().buildJwt(cfg, authc);
+		assertEquals(authc, authenticator.authenticate(AuthenticationToken.bearer(jwt2)));
+		assertThrows(InvalidTokenException.class, () -> authenticator.authenticate(AuthenticationToken.bearer(jwt1)));
+
+	}
+
 	private static byte[] generateKey() throws Exception {
 		return Base64.getEncoder().encode(Keys.secretKeyFor(SignatureAlgorithm.HS256).getEncoded());
 	}
@@ -121,6 +121,23 @@ public interface Account extends CredentialsContainer, Serializable {
 		return new AccountAuthenticator(accountProvider, credentialsMatcher);
 	}
 
+	/**
+	 * Build an {@link Authenticator} using {@link AccountProvider} to load {@link Account} data and accepting
+	 * {@link AccountCredentialsToken} as credentials, caching the successful authentications using given
+	 * {@link AuthenticationCache}.
+	 * @param accountProvider {@link AccountProvider} to load {@link Account} data
+	 * @param credentialsMatcher {@link CredentialsMatcher} to use for AuthenticationToken credentials validation. If
+	 *        <code>null</code>, the default matcher is used
+	 * @param authenticationCache Authentication cache (not null)
+	 * @return Authenticator
+	 * @since 5.2.2
+	 */
+	static Authenticator<AccountCredentialsToken> authenticator(AccountProvider accountProvider,
+			CredentialsMatcher credentialsMatcher, AuthenticationCache authenticationCache) {
+		ObjectUtils.argumentNotNull(authenticationCache, "AuthenticationCache must be not null");
+		return new AccountAuthenticator(accountProvider, credentialsMatcher, authenticationCache);
+	}
+
 	/**
 	 * Create a new {@link AccountCredentialsToken} with given account id and secret.
 	 * @param accountId Account id
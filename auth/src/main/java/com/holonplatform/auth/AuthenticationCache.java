@@ -0,0 +1,183 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.auth;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import com.holonplatform.auth.Account.AccountProvider;
+import com.holonplatform.auth.internal.DefaultAuthenticationCache;
+
+/**
+ * A bounded cache of successful {@link Authentication}s, used to skip the {@link Account} loading and the credentials
+ * matching when the same account credentials are presented again.
+ * <p>
+ * Cache entries are keyed by the account id and a keyed digest (HMAC) of the presented secret, so the secret itself is
+ * never stored and an entry is only returned when exactly the same secret is presented. Entries expire after a
+ * configurable time to live and the least recently used entries are evicted when the cache maximum size is reached.
+ * </p>
+ * <p>
+ * When account data changes (for example the account password, the enabled/locked state or the permissions), the
+ * {@link #invalidate(String)} method should be invoked to discard any cached authentication for the account.
+ * </p>
+ * 
+ * @since 5.2.2
+ * 
+ * @see Account#authenticator(AccountProvider, com.holonplatform.auth.CredentialsContainer.CredentialsMatcher,
+ *      AuthenticationCache)
+ * @see Realm.Builder#withAuthenticationCache(AuthenticationCache)
+ */
+public interface AuthenticationCache {
+
+	/**
+	 * Default cache maximum size
+	 */
+	public static final int DEFAULT_MAX_SIZE = 1000;
+
+	/**
+	 * Default cache entries time to live, in seconds
+	 */
+	public static final long DEFAULT_TIME_TO_LIVE = 300;
+
+	/**
+	 * Get the cached {@link Authentication} for given account id and secret, if available and not expired.
+	 * @param accountId Account id (not null)
+	 * @param secret Presented secret
+	 * @return The cached Authentication, or an empty Optional if not available
+	 */
+	Optional<Authentication> get(String accountId, byte[] secret);
+
+	/**
+	 * Cache the {@link Authentication} obtained from given account id and secret, replacing any previously cached
+	 * authentication for the same account.
+	 * @param accountId Account id (not null)
+	 * @param secret Presented secret
+	 * @param authentication Authentication to cache (not null)
+	 */
+	void put(String accountId, byte[] secret, Authentication authentication);
+
+	/**
+	 * Discard any cached {@link Authentication} for given account id. Should be invoked when the account data changes.
+	 * @param accountId Account id
+	 */
+	void invalidate(String accountId);
+
+	/**
+	 * Discard all the cached authentications.
+	 */
+	void invalidateAll();
+
+	/**
+	 * Get the current number of cached entries, including any expired entry not yet purged.
+	 * @return Cache size
+	 */
+	int size();
+
+	/**
+	 * Get the cache statistics.
+	 * @return Cache statistics
+	 */
+	Statistics getStatistics();
+
+	/**
+	 * Create a new {@link AuthenticationCache} with default maximum size and time to live.
+	 * @return A new AuthenticationCache
+	 * @see #DEFAULT_MAX_SIZE
+	 * @see #DEFAULT_TIME_TO_LIVE
+	 */
+	static AuthenticationCache create() {
+		return builder().build();
+	}
+
+	/**
+	 * Get a builder to create and configure a new {@link AuthenticationCache}.
+	 * @return AuthenticationCache builder
+	 */
+	static Builder builder() {
+		return new DefaultAuthenticationCache.DefaultBuilder();
+	}
+
+	/**
+	 * Authentication cache statistics.
+	 */
+	public interface Statistics {
+
+		/**
+		 * Get the number of lookups which returned a cached authentication.
+		 * @return Hit count
+		 */
+		long getHitCount();
+
+		/**
+		 * Get the number of lookups which did not return a cached authentication.
+		 * @return Miss count
+		 */
+		long getMissCount();
+
+		/**
+		 * Get the number of entries evicted because expired or because the cache maximum size was reached.
+		 * @return Eviction count
+		 */
+		long getEvictionCount();
+
+		/**
+		 * Get the ratio of lookups which returned a cached authentication.
+		 * @return Hit ratio, from <code>0</code> to <code>1</code>
+		 */
+		default double getHitRatio() {
+			final long lookups = getHitCount() + getMissCount();
+			return (lookups == 0) ? 0d : ((double) getHitCount()) / lookups;
+		}
+
+	}
+
+	/**
+	 * {@link AuthenticationCache} builder.
+	 */
+	public interface Builder {
+
+		/**
+		 * Set the maximum number of cached entries.
+		 * @param maxSize Maximum size, must be greater than <code>0</code>
+		 * @return this
+		 */
+		Builder maxSize(int maxSize);
+
+		/**
+		 * Set the time to live of cached entries.
+		 * @param timeToLive Time to live, must be greater than <code>0</code>
+		 * @param unit Time unit (not null)
+		 * @return this
+		 */
+		Builder timeToLive(long timeToLive, TimeUnit unit);
+
+		/**
+		 * Set the key to use to compute the secrets digest. If not provided, a random key is generated for each cache
+		 * instance.
+		 * @param key Digest key (not null and not empty)
+		 * @return this
+		 */
+		Builder digestKey(byte[] key);
+
+		/**
+		 * Build the {@link AuthenticationCache}.
+		 * @return A new AuthenticationCache
+		 */
+		AuthenticationCache build();
+
+	}
+
+}
@@ -117,7 +117,23 @@ public interface Authorizer<P extends Permission> {
 	 * @see DefaultAuthorizer
 	 */
 	static Authorizer<Permission> create() {
-		return new DefaultAuthorizer();
+		return new DefaultAuthorizer(false, true);
+	}
+
+	/**
+	 * Create an Authorizer which supports <em>wildcard</em> permissions.
+	 * <p>
+	 * This Authorizer behaves like the default Authorizer (see {@link #create()}), but a granted permission whose String
+	 * representation declares one or more <code>*</code> parts, separated by the <code>:</code> character, grants any
+	 * permission with the same number of parts and the same non-wildcard parts. For example, the
+	 * <code>orders:*:read</code> granted permission grants the <code>orders:123:read</code> permission.
+	 * </p>
+	 * @return Authorizer
+	 * @see DefaultAuthorizer
+	 * @since 5.2.2
+	 */
+	static Authorizer<Permission> wildcard() {
+		return new DefaultAuthorizer(true, true);
 	}
 
 }
@@ -64,11 +64,15 @@ public interface Permission extends Serializable {
 	/**
 	 * Create a default Permission implementation, using given <code>permission</code> String to represent permission
 	 * authority.
+	 * <p>
+	 * Since permissions are immutable, the returned instance may be shared with other callers which requested the same
+	 * permission.
+	 * </p>
 	 * @param permission String representation of the permission. Must be not <code>null</code>.
 	 * @return Permission instance
 	 */
 	static Permission create(String permission) {
-		return new DefaultPermission(permission);
+		return DefaultPermission.intern(permission);
 	}
 
 }
@@ -22,6 +22,7 @@ import com.holonplatform.auth.Authentication.AuthenticationNotifier;
 import com.holonplatform.auth.AuthenticationToken.AuthenticationTokenResolver;
 import com.holonplatform.auth.Authenticator.MessageAuthenticator;
 import com.holonplatform.auth.internal.DefaultRealm;
+import com.holonplatform.auth.token.AccountCredentialsToken;
 import com.holonplatform.core.Context;
 import com.holonplatform.core.messaging.Message;
 
@@ -243,6 +244,24 @@ public interface Realm extends Authenticator<AuthenticationToken>, Authorizer<Pe
 		 */
 		Builder withAuthenticationListener(AuthenticationListener authenticationListener);
 
+		/**
+		 * Set the {@link AuthenticationCache} to use to cache the successful authentications performed using an
+		 * {@link AccountCredentialsToken}. When the same account credentials are presented again, the cached
+		 * authentication is returned without invoking the Realm authenticators.
+		 * <p>
+		 * {@link AuthenticationListener}s are notified for cached authentications too.
+		 * </p>
+		 * <p>
+		 * The default implementation ignores the cache, since it only affects the authentication performance.
+		 * </p>
+		 * @param authenticationCache The authentication cache (not null)
+		 * @return this
+		 * @since 5.2.2
+		 */
+		default Builder withAuthenticationCache(AuthenticationCache authenticationCache) {
+			return this;
+		}
+
 		/**
 		 * Register an {@link AuthenticationListener} for authentication events
 		 * @param authenticationListener The AuthenticationListener to register
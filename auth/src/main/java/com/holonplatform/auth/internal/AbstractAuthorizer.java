@@ -15,9 +15,10 @@
  */
 package com.holonplatform.auth.internal;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.LinkedList;
+import java.util.Collections;
 
 import com.holonplatform.auth.Authentication;
 import com.holonplatform.auth.Authorizer;
@@ -61,11 +62,12 @@ public abstract class AbstractAuthorizer<P extends Permission> implements Author
 	 * @return Permission objects collection
 	 */
 	protected Collection<P> convertPermissions(String... permissions) {
-		Collection<P> ps = new LinkedList<>();
-		if (permissions != null) {
-			for (String permission : permissions) {
-				ps.add(permissionFromString(permission));
-			}
+		if (permissions == null || permissions.length == 0) {
+			return Collections.emptyList();
+		}
+		final Collection<P> ps = new ArrayList<>(permissions.length);
+		for (String permission : permissions) {
+			ps.add(permissionFromString(permission));
 		}
 		return ps;
 	}
@@ -15,9 +15,12 @@
  */
 package com.holonplatform.auth.internal;
 
+import java.util.Optional;
+
 import com.holonplatform.auth.Account;
 import com.holonplatform.auth.Account.AccountProvider;
 import com.holonplatform.auth.Authentication;
+import com.holonplatform.auth.AuthenticationCache;
 import com.holonplatform.auth.AuthenticationToken;
 import com.holonplatform.auth.Authenticator;
 import com.holonplatform.auth.CredentialsContainer;
@@ -30,6 +33,7 @@ import com.holonplatform.auth.exceptions.LockedAccountException;
 import com.holonplatform.auth.exceptions.UnexpectedAuthenticationException;
 import com.holonplatform.auth.exceptions.UnknownAccountException;
 import com.holonplatform.auth.token.AccountCredentialsToken;
+import com.holonplatform.core.internal.utils.ConversionUtils;
 import com.holonplatform.core.internal.utils.ObjectUtils;
 
 /**
@@ -39,6 +43,10 @@ import com.holonplatform.core.internal.utils.ObjectUtils;
  * <p>
  * This Authenticator supports {@link AccountCredentialsToken} token type.
  * </p>
+ * <p>
+ * When an {@link AuthenticationCache} is configured, successful authentications are cached and the account loading and
+ * credentials matching are skipped when the same account credentials are presented again.
+ * </p>
  * 
  * @since 5.0.0
  */
@@ -54,6 +62,11 @@ public class AccountAuthenticator implements Authenticator<AccountCredentialsTok
 	 */
 	private final CredentialsMatcher credentialsMatcher;
 
+	/*
+	 * Optional authentication cache
+	 */
+	private final AuthenticationCache authenticationCache;
+
 	/**
 	 * Constructor using default {@link CredentialsMatcher}
 	 * @param accountService Account service to load {@link Account} data (not null)
@@ -68,11 +81,24 @@ public class AccountAuthenticator implements Authenticator<AccountCredentialsTok
 	 * @param credentialsMatcher CredentialsMatcher to use for AuthenticationToken credentials validation
 	 */
 	public AccountAuthenticator(AccountProvider accountService, CredentialsMatcher credentialsMatcher) {
+		this(accountService, credentialsMatcher, null);
+	}
+
+	/**
+	 * Constructor with authentication cache.
+	 * @param accountService Account service to load {@link Account} data (not null)
+	 * @param credentialsMatcher CredentialsMatcher to use for AuthenticationToken credentials validation
+	 * @param authenticationCache Optional cache of successful authentications
+	 * @since 5.2.2
+	 */
+	public AccountAuthenticator(AccountProvider accountService, CredentialsMatcher credentialsMatcher,
+			AuthenticationCache authenticationCache) {
 		super();
 		ObjectUtils.argumentNotNull(accountService, "AccountService must be not null");
 		this.accountService = accountService;
 		this.credentialsMatcher = (credentialsMatcher != null) ? credentialsMatcher
 				: CredentialsContainer.defaultMatcher();
+		this.authenticationCache = authenticationCache;
 	}
 
 	/**
@@ -91,6 +117,15 @@ public class AccountAuthenticator implements Authenticator<AccountCredentialsTok
 		return credentialsMatcher;
 	}
 
+	/**
+	 * Get the cache of successful authentications, if configured.
+	 * @return Optional authentication cache
+	 * @since 5.2.2
+	 */
+	public Optional<AuthenticationCache> getAuthenticationCache() {
+		return Optional.ofNullable(authenticationCache);
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see com.holonplatform.auth.Authenticator#getTokenType()
@@ -121,6 +156,15 @@ public class AccountAuthenticator implements Authenticator<AccountCredentialsTok
 			throw new InvalidCredentialsException("Null account id");
 		}
 
+		// check cache
+		final byte[] secret = (authenticationCache != null) ? getSecret(authenticationToken) : null;
+		if (authenticationCache != null) {
+			Optional<Authentication> cached = authenticationCache.get(accountId, secret);
+			if (cached.isPresent()) {
+				return cached.get();
+			}
+		}
+
 		try {
 
 			// load account
@@ -154,7 +198,13 @@ public class AccountAuthenticator implements Authenticator<AccountCredentialsTok
 
 			processAuthentication(authc, account);
 
-			return authc.build();
+			final Authentication authentication = authc.build();
+
+			if (authenticationCache != null) {
+				authenticationCache.put(accountId, secret, authentication);
+			}
+
+			return authentication;
 
 		} catch (AuthenticationException e) {
 			throw e;
@@ -164,6 +214,19 @@ public class AccountAuthenticator implements Authenticator<AccountCredentialsTok
 
 	}
 
+	/**
+	 * Get the secret bytes presented with given token, used as authentication cache key.
+	 * @param authenticationToken Authentication token
+	 * @return The secret bytes, <code>null</code> if none
+	 */
+	private static byte[] getSecret(AccountCredentialsToken authenticationToken) {
+		final Object credentials = authenticationToken.getCredentials();
+		if (credentials instanceof byte[]) {
+			return (byte[]) credentials;
+		}
+		return (credentials != null) ? ConversionUtils.toBytes(credentials.toString()) : null;
+	}
+
 	/**
 	 * Get an {@link Authentication.Builder} instance to renturn from {@link #authenticate(AuthenticationToken)} method
 	 * when account loading a credentials matching were successful.
@@ -15,8 +15,9 @@
  */
 package com.holonplatform.auth.internal;
 
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.LinkedList;
+import java.util.Collections;
 import java.util.Optional;
 
 import com.holonplatform.auth.Authentication;
@@ -53,7 +54,12 @@ public class DefaultAuthentication extends DefaultParameterSet implements Authen
 	/**
 	 * Permissions
 	 */
-	private final Collection<Permission> permissions = new LinkedList<>();
+	private final Collection<Permission> permissions = new ArrayList<>();
+
+	/**
+	 * Permissions index, lazily built
+	 */
+	private transient volatile PermissionIndex permissionIndex;
 
 	/**
 	 * Authentication scheme
@@ -114,13 +120,38 @@ public class DefaultAuthentication extends DefaultParameterSet implements Authen
 		this.root = root;
 	}
 
-	/*
-	 * (non-Javadoc)
-	 * @see com.holonplatform.auth.Authentication#getPermissions()
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Since version 5.2.2, the returned collection is unmodifiable, so that the permissions index (see
+	 * {@link #getPermissionIndex()}) is always consistent with the granted permissions. Use
+	 * {@link #addPermission(Permission)} to grant a permission.
+	 * </p>
 	 */
 	@Override
 	public Collection<Permission> getPermissions() {
-		return permissions;
+		return Collections.unmodifiableCollection(permissions);
+	}
+
+	/**
+	 * Get the {@link PermissionIndex} of the granted permissions.
+	 * <p>
+	 * The index is built at first invocation and reused until the granted permissions change.
+	 * </p>
+	 * @return The granted permissions index
+	 */
+	public PermissionIndex getPermissionIndex() {
+		PermissionIndex index = permissionIndex;
+		if (index == null) {
+			synchronized (permissions) {
+				index = permissionIndex;
+				if (index == null) {
+					index = PermissionIndex.create(permissions);
+					permissionIndex = index;
+				}
+			}
+		}
+		return index;
 	}
 
 	/**
@@ -148,8 +179,11 @@ public class DefaultAuthentication extends DefaultParameterSet implements Authen
 	 * @param permission Permission to add
 	 */
 	protected void addPermission(Permission permission) {
-		if (!permissions.contains(permission)) {
-			permissions.add(permission);
+		synchronized (permissions) {
+			if (!permissions.contains(permission)) {
+				permissions.add(permission);
+				permissionIndex = null;
+			}
 		}
 	}
 
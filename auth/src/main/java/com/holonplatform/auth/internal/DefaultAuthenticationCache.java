@@ -0,0 +1,385 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.auth.internal;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import com.holonplatform.auth.Authentication;
+import com.holonplatform.auth.AuthenticationCache;
+import com.holonplatform.core.internal.utils.LruCache;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+
+/**
+ * Default {@link AuthenticationCache} implementation.
+ * <p>
+ * Uses a {@link LruCache} to evict the least recently used entries when the maximum size is reached and an
+ * <code>HmacSHA256</code> digest of the account id and secret, computed using the cache digest key, to match the
+ * presented secret against the cached one.
+ * </p>
+ * 
+ * @since 5.2.2
+ */
+public class DefaultAuthenticationCache implements AuthenticationCache {
+
+	/**
+	 * Digest algorithm
+	 */
+	private static final String DIGEST_ALGORITHM = "HmacSHA256";
+
+	/*
+	 * Cached entries by account id
+	 */
+	private final LruCache<String, CacheEntry> entries;
+
+	/*
+	 * Max size
+	 */
+	private final int maxSize;
+
+	/*
+	 * Time to live in nanoseconds
+	 */
+	private final long timeToLiveNanos;
+
+	/*
+	 * Time source in nanoseconds
+	 */
+	private final LongSupplier nanoClock;
+
+	/*
+	 * Digest key
+	 */
+	private final SecretKeySpec digestKey;
+
+	/*
+	 * Digest Mac, Mac instances are not thread-safe
+	 */
+	private final ThreadLocal<Mac> mac;
+
+	/*
+	 * Statistics
+	 */
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+	private final AtomicLong evictions = new AtomicLong();
+
+	/**
+	 * Constructor.
+	 * @param maxSize Max size, must be greater than <code>0</code>
+	 * @param timeToLive Time to live, must be greater than <code>0</code>
+	 * @param unit Time to live unit (not null)
+	 * @param digestKey Secrets digest key. If <code>null</code>, a random key is generated
+	 */
+	public DefaultAuthenticationCache(int maxSize, long timeToLive, TimeUnit unit, byte[] digestKey) {
+		this(maxSize, timeToLive, unit, digestKey, System::nanoTime);
+	}
+
+	/**
+	 * Constructor.
+	 * @param maxSize Max size, must be greater than <code>0</code>
+	 * @param timeToLive Time to live, must be greater than <code>0</code>
+	 * @param unit Time to live unit (not null)
+	 * @param digestKey Secrets digest key. If <code>null</code>, a random key is generated
+	 * @param nanoClock The time source to use to check the entries expiration, in nanoseconds (not null)
+	 */
+	public DefaultAuthenticationCache(int maxSize, long timeToLive, TimeUnit unit, byte[] digestKey,
+			LongSupplier nanoClock) {
+		super();
+		ObjectUtils.argumentNotNull(unit, "Time unit must be not null");
+		ObjectUtils.argumentNotNull(nanoClock, "Clock must be not null");
+		if (maxSize < 1) {
+			throw new IllegalArgumentException("Max size must be greater than 0");
+		}
+		if (timeToLive < 1) {
+			throw new IllegalArgumentException("Time to live must be greater than 0");
+		}
+		this.maxSize = maxSize;
+		this.timeToLiveNanos = unit.toNanos(timeToLive);
+		this.nanoClock = nanoClock;
+		this.entries = new LruCache<>(maxSize, e -> evictions.incrementAndGet());
+		this.digestKey = new SecretKeySpec((digestKey != null) ? digestKey.clone() : randomKey(), DIGEST_ALGORITHM);
+		this.mac = ThreadLocal.withInitial(() -> {
+			try {
+				Mac m = Mac.getInstance(DIGEST_ALGORITHM);
+				m.init(this.digestKey);
+				return m;
+			} catch (GeneralSecurityException e) {
+				throw new IllegalStateException("Failed to init the authentication cache digest", e);
+			}
+		});
+	}
+
+	/**
+	 * Get the max size.
+	 * @return the max size
+	 */
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	/**
+	 * Get the time to live.
+	 * @param unit Time unit (not null)
+	 * @return the time to live in given unit
+	 */
+	public long getTimeToLive(TimeUnit unit) {
+		return unit.convert(timeToLiveNanos, TimeUnit.NANOSECONDS);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.auth.AuthenticationCache#get(java.lang.String, byte[])
+	 */
+	@Override
+	public Optional<Authentication> get(String accountId, byte[] secret) {
+		ObjectUtils.argumentNotNull(accountId, "Account id must be not null");
+		final CacheEntry entry = entries.get(accountId);
+		if (entry != null) {
+			if (entry.isExpired(nanoClock.getAsLong())) {
+				if (entries.remove(accountId, entry)) {
+					evictions.incrementAndGet();
+				}
+			} else if (MessageDigest.isEqual(entry.getDigest(), digest(accountId, secret))) {
+				hits.incrementAndGet();
+				return Optional.of(entry.getAuthentication());
+			}
+		}
+		misses.incrementAndGet();
+		return Optional.empty();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.auth.AuthenticationCache#put(java.lang.String, byte[],
+	 * com.holonplatform.auth.Authentication)
+	 */
+	@Override
+	public void put(String accountId, byte[] secret, Authentication authentication) {
+		ObjectUtils.argumentNotNull(accountId, "Account id must be not null");
+		ObjectUtils.argumentNotNull(authentication, "Authentication must be not null");
+		entries.put(accountId,
+				new CacheEntry(digest(accountId, secret), authentication, nanoClock.getAsLong() + timeToLiveNanos));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.auth.AuthenticationCache#invalidate(java.lang.String)
+	 */
+	@Override
+	public void invalidate(String accountId) {
+		if (accountId != null) {
+			entries.remove(accountId);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.auth.AuthenticationCache#invalidateAll()
+	 */
+	@Override
+	public void invalidateAll() {
+		entries.clear();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.auth.AuthenticationCache#size()
+	 */
+	@Override
+	public int size() {
+		return entries.size();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.auth.AuthenticationCache#getStatistics()
+	 */
+	@Override
+	public Statistics getStatistics() {
+		return new DefaultStatistics(hits.get(), misses.get(), evictions.get());
+	}
+
+	/**
+	 * Compute the keyed digest of given account id and secret.
+	 * @param accountId Account id
+	 * @param secret Secret
+	 * @return The digest bytes
+	 */
+	private byte[] digest(String accountId, byte[] secret) {
+		final Mac m = mac.get();
+		m.update(accountId.getBytes(StandardCharsets.UTF_8));
+		m.update((byte) 0);
+		if (secret != null) {
+			m.update(secret);
+		}
+		return m.doFinal();
+	}
+
+	/**
+	 * Generate a random digest key.
+	 * @return Random key bytes
+	 */
+	private static byte[] randomKey() {
+		final byte[] key = new byte[32];
+		new SecureRandom().nextBytes(key);
+		return key;
+	}
+
+	/**
+	 * Cache entry.
+	 */
+	private static final class CacheEntry {
+
+		private final byte[] digest;
+		private final Authentication authentication;
+		private final long expiresAt;
+
+		CacheEntry(byte[] digest, Authentication authentication, long expiresAt) {
+			super();
+			this.digest = digest;
+			this.authentication = authentication;
+			this.expiresAt = expiresAt;
+		}
+
+		byte[] getDigest() {
+			return digest;
+		}
+
+		Authentication getAuthentication() {
+			return authentication;
+		}
+
+		boolean isExpired(long now) {
+			return now - expiresAt >= 0;
+		}
+
+	}
+
+	/**
+	 * Default {@link Statistics} implementation.
+	 */
+	private static final class DefaultStatistics implements Statistics {
+
+		private final long hitCount;
+		private final long missCount;
+		private final long evictionCount;
+
+		DefaultStatistics(long hitCount, long missCount, long evictionCount) {
+			super();
+			this.hitCount = hitCount;
+			this.missCount = missCount;
+			this.evictionCount = evictionCount;
+		}
+
+		@Override
+		public long getHitCount() {
+			return hitCount;
+		}
+
+		@Override
+		public long getMissCount() {
+			return missCount;
+		}
+
+		@Override
+		public long getEvictionCount() {
+			return evictionCount;
+		}
+
+		@Override
+		public String toString() {
+			return "AuthenticationCache statistics [hits=" + hitCount + ", misses=" + missCount + ", evictions="
+					+ evictionCount + "]";
+		}
+
+	}
+
+	// Builder
+
+	/**
+	 * Default {@link AuthenticationCache.Builder} implementation.
+	 */
+	public static class DefaultBuilder implements AuthenticationCache.Builder {
+
+		private int maxSize = DEFAULT_MAX_SIZE;
+		private long timeToLive = DEFAULT_TIME_TO_LIVE;
+		private TimeUnit timeToLiveUnit = TimeUnit.SECONDS;
+		private byte[] digestKey;
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.auth.AuthenticationCache.Builder#maxSize(int)
+		 */
+		@Override
+		public AuthenticationCache.Builder maxSize(int maxSize) {
+			if (maxSize < 1) {
+				throw new IllegalArgumentException("Max size must be greater than 0");
+			}
+			this.maxSize = maxSize;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.auth.AuthenticationCache.Builder#timeToLive(long, java.util.concurrent.TimeUnit)
+		 */
+		@Override
+		public AuthenticationCache.Builder timeToLive(long timeToLive, TimeUnit unit) {
+			ObjectUtils.argumentNotNull(unit, "Time unit must be not null");
+			if (timeToLive < 1) {
+				throw new IllegalArgumentException("Time to live must be greater than 0");
+			}
+			this.timeToLive = timeToLive;
+			this.timeToLiveUnit = unit;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.auth.AuthenticationCache.Builder#digestKey(byte[])
+		 */
+		@Override
+		public AuthenticationCache.Builder digestKey(byte[] key) {
+			ObjectUtils.argumentNotNull(key, "Digest key must be not null");
+			if (key.length == 0) {
+				throw new IllegalArgumentException("Digest key must be not empty");
+			}
+			this.digestKey = key;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.auth.AuthenticationCache.Builder#build()
+		 */
+		@Override
+		public AuthenticationCache build() {
+			return new DefaultAuthenticationCache(maxSize, timeToLive, timeToLiveUnit, digestKey);
+		}
+
+	}
+
+}
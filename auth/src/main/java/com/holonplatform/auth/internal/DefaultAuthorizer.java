@@ -20,6 +20,7 @@ import java.util.Collection;
 import com.holonplatform.auth.Authentication;
 import com.holonplatform.auth.Authorizer;
 import com.holonplatform.auth.Permission;
+import com.holonplatform.core.internal.utils.ObjectUtils;
 
 /**
  * Default {@link Authorizer} implementation.
@@ -34,11 +35,66 @@ import com.holonplatform.auth.Permission;
  * <li>For other cases, permission checking is performed comparing Authentication granted permission with requested
  * permissions using {@link Permission#equals(Object)} to compare a single permission to another</li>
  * </ul>
- *
+ * <p>
+ * The granted permissions are checked through the {@link PermissionIndex} of the Authentication, so each check costs a
+ * hashed lookup, regardless of the number of granted permissions. When wildcard permissions support is enabled, the
+ * granted permissions with wildcard parts are matched too (see {@link PermissionIndex}). The String permissions are
+ * converted into permissions using {@link #permissionFromString(String)} and checked as such, unless the String
+ * permissions check is enabled at construction time: in that case, they are checked by String representation.
+ * </p>
+ * 
  * @since 5.0.0
  */
 public class DefaultAuthorizer extends AbstractAuthorizer<Permission> {
 
+	/**
+	 * Whether to match wildcard permissions
+	 */
+	private final boolean wildcards;
+
+	/**
+	 * Whether String permissions can be checked by String representation
+	 */
+	private final boolean checkByString;
+
+	/**
+	 * Default constructor, which does not support wildcard permissions.
+	 */
+	public DefaultAuthorizer() {
+		this(false);
+	}
+
+	/**
+	 * Constructor.
+	 * @param wildcards Whether to support wildcard permissions (see {@link PermissionIndex})
+	 * @since 5.2.2
+	 */
+	public DefaultAuthorizer(boolean wildcards) {
+		this(wildcards, false);
+	}
+
+	/**
+	 * Constructor.
+	 * @param wildcards Whether to support wildcard permissions (see {@link PermissionIndex})
+	 * @param checkByString Whether to check the String permissions by String representation, without converting them
+	 *        into permissions. Must be <code>false</code> if {@link #permissionFromString(String)} is overridden
+	 * @since 5.2.2
+	 */
+	public DefaultAuthorizer(boolean wildcards, boolean checkByString) {
+		super();
+		this.wildcards = wildcards;
+		this.checkByString = checkByString;
+	}
+
+	/**
+	 * Get whether wildcard permissions are supported.
+	 * @return <code>true</code> if wildcard permissions are supported
+	 * @since 5.2.2
+	 */
+	public boolean isWildcards() {
+		return wildcards;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see com.holonplatform.auth.Authorizer#getPermissionType()
@@ -57,6 +113,32 @@ public class DefaultAuthorizer extends AbstractAuthorizer<Permission> {
 		return Permission.create(permission);
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.auth.internal.AbstractAuthorizer#isPermitted(com.holonplatform.auth.Authentication,
+	 * java.lang.String[])
+	 */
+	@Override
+	public boolean isPermitted(Authentication authentication, String... permissions) {
+		if (!checkByString) {
+			return super.isPermitted(authentication, permissions);
+		}
+		return checkPermitted(authentication, permissions, true);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.auth.internal.AbstractAuthorizer#isPermittedAny(com.holonplatform.auth.Authentication,
+	 * java.lang.String[])
+	 */
+	@Override
+	public boolean isPermittedAny(Authentication authentication, String... permissions) {
+		if (!checkByString) {
+			return super.isPermittedAny(authentication, permissions);
+		}
+		return checkPermitted(authentication, permissions, false);
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see com.holonplatform.auth.authz.AbstractAuthorizer#checkPermitted(com.holonplatform.auth.Authentication,
@@ -69,17 +151,41 @@ public class DefaultAuthorizer extends AbstractAuthorizer<Permission> {
 			return true;
 		}
 		if (authentication != null && permissions != null && !permissions.isEmpty()) {
-			Collection<Permission> granted = authentication.getPermissions();
-			if (granted != null && !granted.isEmpty()) {
-				if (all) {
-					return granted.containsAll(permissions);
-				} else {
-					for (Permission p : permissions) {
-						if (granted.contains(p)) {
-							return true;
-						}
+			final PermissionIndex granted = PermissionIndex.of(authentication);
+			if (!granted.isEmpty()) {
+				for (Permission p : permissions) {
+					if (granted.implies(p, wildcards) != all) {
+						return !all;
+					}
+				}
+				return all;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Check permissions for given Authentication, using the permissions String representations.
+	 * @param authentication Authentication subject
+	 * @param permissions Permissions String representations to control
+	 * @param all <code>true</code> if all permissions must be granted to Authentication, <code>false</code> if at least
+	 *        one
+	 * @return <code>true</code> if permissions check was successful
+	 */
+	protected boolean checkPermitted(Authentication authentication, String[] permissions, boolean all) {
+		if (authentication != null && authentication.isRoot()) {
+			return true;
+		}
+		if (authentication != null && permissions != null && permissions.length > 0) {
+			final PermissionIndex granted = PermissionIndex.of(authentication);
+			if (!granted.isEmpty()) {
+				for (String p : permissions) {
+					ObjectUtils.argumentNotNull(p, "Permission string must be not null");
+					if (granted.implies(p, wildcards) != all) {
+						return !all;
 					}
 				}
+				return all;
 			}
 		}
 		return false;
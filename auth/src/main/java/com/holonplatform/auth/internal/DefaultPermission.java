@@ -16,6 +16,8 @@
 package com.holonplatform.auth.internal;
 
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import com.holonplatform.auth.Permission;
 import com.holonplatform.core.internal.utils.ObjectUtils;
@@ -29,6 +31,16 @@ public class DefaultPermission implements Permission {
 
 	private static final long serialVersionUID = -6300515775575638564L;
 
+	/**
+	 * Max number of interned permissions
+	 */
+	private static final int MAX_INTERNED = 8192;
+
+	/**
+	 * Interned permissions
+	 */
+	private static final ConcurrentMap<String, Permission> INTERNED = new ConcurrentHashMap<>(64);
+
 	/*
 	 * Permission String representation (immutable)
 	 */
@@ -44,6 +56,30 @@ public class DefaultPermission implements Permission {
 		this.permission = permission;
 	}
 
+	/**
+	 * Get the canonical {@link Permission} instance for given permission String representation.
+	 * <p>
+	 * Permissions are immutable, so the same instance can be shared for the same String representation, avoiding to
+	 * create a new Permission for each permission check. The number of interned permissions is bounded: when the limit
+	 * is reached, new permission instances are created without interning them.
+	 * </p>
+	 * @param permission String representation of the permission (not null)
+	 * @return The interned Permission instance
+	 */
+	public static Permission intern(String permission) {
+		ObjectUtils.argumentNotNull(permission, "Permission string must be not null");
+		final Permission interned = INTERNED.get(permission);
+		if (interned != null) {
+			return interned;
+		}
+		final Permission created = new DefaultPermission(permission);
+		if (INTERNED.size() >= MAX_INTERNED) {
+			return created;
+		}
+		final Permission existing = INTERNED.putIfAbsent(permission, created);
+		return (existing != null) ? existing : created;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see com.holonplatform.auth.Permission#getPermission()
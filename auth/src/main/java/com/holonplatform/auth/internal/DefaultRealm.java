@@ -23,6 +23,7 @@ import java.util.Optional;
 
 import com.holonplatform.auth.Authentication;
 import com.holonplatform.auth.Authentication.AuthenticationListener;
+import com.holonplatform.auth.AuthenticationCache;
 import com.holonplatform.auth.AuthenticationToken;
 import com.holonplatform.auth.AuthenticationToken.AuthenticationTokenResolver;
 import com.holonplatform.auth.Authenticator;
@@ -34,6 +35,7 @@ import com.holonplatform.auth.exceptions.UnexpectedAuthenticationException;
 import com.holonplatform.auth.exceptions.UnsupportedMessageException;
 import com.holonplatform.auth.exceptions.UnsupportedPermissionException;
 import com.holonplatform.auth.exceptions.UnsupportedTokenException;
+import com.holonplatform.auth.token.AccountCredentialsToken;
 import com.holonplatform.core.internal.utils.ObjectUtils;
 import com.holonplatform.core.internal.utils.TypeUtils;
 import com.holonplatform.core.messaging.Message;
@@ -73,6 +75,11 @@ public class DefaultRealm implements Realm {
 	 */
 	private List<AuthenticationListener> authenticationListeners;
 
+	/*
+	 * Authentication cache
+	 */
+	private AuthenticationCache authenticationCache;
+
 	/**
 	 * Constructor
 	 */
@@ -106,6 +113,24 @@ public class DefaultRealm implements Realm {
 		this.name = name;
 	}
 
+	/**
+	 * Get the cache of successful {@link AccountCredentialsToken} authentications, if configured.
+	 * @return Optional authentication cache
+	 * @since 5.2.2
+	 */
+	public Optional<AuthenticationCache> getAuthenticationCache() {
+		return Optional.ofNullable(authenticationCache);
+	}
+
+	/**
+	 * Set the cache of successful {@link AccountCredentialsToken} authentications.
+	 * @param authenticationCache the authentication cache to set
+	 * @since 5.2.2
+	 */
+	public void setAuthenticationCache(AuthenticationCache authenticationCache) {
+		this.authenticationCache = authenticationCache;
+	}
+
 	/**
 	 * Available Authenticators
 	 * @return Authenticators
@@ -201,6 +226,19 @@ public class DefaultRealm implements Realm {
 			throw new UnexpectedAuthenticationException("Null AuthenticationToken");
 		}
 
+		// check cache
+		final AccountCredentialsToken cacheableToken = (authenticationCache != null
+				&& authenticationToken instanceof AccountCredentialsToken
+				&& authenticationToken.getPrincipal() != null) ? (AccountCredentialsToken) authenticationToken : null;
+		if (cacheableToken != null) {
+			Optional<Authentication> cached = authenticationCache.get((String) cacheableToken.getPrincipal(),
+					(byte[]) cacheableToken.getCredentials());
+			if (cached.isPresent()) {
+				fireAuthenticationListeners(cached.get());
+				return cached.get();
+			}
+		}
+
 		// get suitable Authenticator
 
 		List<Authenticator> authenticators = getAuthenticators();
@@ -230,6 +268,11 @@ public class DefaultRealm implements Realm {
 					+ " returned a null Authentication for token: " + authenticationToken.getClass().getName());
 		}
 
+		if (cacheableToken != null) {
+			authenticationCache.put((String) cacheableToken.getPrincipal(), (byte[]) cacheableToken.getCredentials(),
+					authc);
+		}
+
 		// fire listeners
 		fireAuthenticationListeners(authc);
 
@@ -622,6 +665,17 @@ public class DefaultRealm implements Realm {
 			return this;
 		}
 
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.auth.Realm.Builder#withAuthenticationCache(com.holonplatform.auth.AuthenticationCache)
+		 */
+		@Override
+		public Builder withAuthenticationCache(AuthenticationCache authenticationCache) {
+			ObjectUtils.argumentNotNull(authenticationCache, "AuthenticationCache must be not null");
+			this.realm.setAuthenticationCache(authenticationCache);
+			return this;
+		}
+
 		/*
 		 * (non-Javadoc)
 		 * @see com.holonplatform.auth.internal.RealmBuilder#build()
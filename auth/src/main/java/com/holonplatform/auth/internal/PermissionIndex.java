@@ -0,0 +1,288 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.auth.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.holonplatform.auth.Authentication;
+import com.holonplatform.auth.Permission;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+
+/**
+ * An index of granted {@link Permission}s, which allows to check whether a permission is granted without scanning the
+ * whole granted permissions collection.
+ * <p>
+ * Exact permission matches are resolved using hashed lookups, both by {@link Permission} instance and by the permission
+ * String representation. The String representation lookup is used only for {@link DefaultPermission}s, whose equality
+ * is based on the String representation. For any other permission type, if the hashed lookup fails the granted
+ * permissions are scanned using {@link Permission#equals(Object)}, so that the permission types whose
+ * {@link Object#hashCode()} is not consistent with {@link Object#equals(Object)} are still supported.
+ * </p>
+ * <p>
+ * Furthermore, the permissions whose String representation declares one or more {@link #WILDCARD} parts are organized
+ * in a trie, so that a <em>wildcard</em> permission like <code>orders:*:read</code> can be matched by any permission
+ * with the same number of parts and the same non-wildcard parts, such as <code>orders:123:read</code>. The
+ * permission parts are separated by the {@link #PART_SEPARATOR} character and each wildcard part matches exactly one
+ * part.
+ * </p>
+ * <p>
+ * The index is immutable and safe for concurrent use. Use {@link #of(Authentication)} to obtain the index of the
+ * permissions granted to an {@link Authentication}: when supported, the index is built only once and cached by the
+ * Authentication itself.
+ * </p>
+ * 
+ * @since 5.2.2
+ */
+public final class PermissionIndex {
+
+	/**
+	 * Permission parts separator
+	 */
+	public static final char PART_SEPARATOR = ':';
+
+	/**
+	 * Wildcard permission part
+	 */
+	public static final String WILDCARD = "*";
+
+	/**
+	 * Empty index
+	 */
+	private static final PermissionIndex EMPTY = new PermissionIndex(Collections.emptyList());
+
+	/**
+	 * Granted permissions
+	 */
+	private final List<Permission> granted;
+
+	/**
+	 * Granted permissions, for hashed lookups
+	 */
+	private final Set<Permission> permissions;
+
+	/**
+	 * Granted permission String representations
+	 */
+	private final Set<String> names;
+
+	/**
+	 * Wildcard permissions trie root, <code>null</code> if none
+	 */
+	private final Node wildcards;
+
+	/**
+	 * Constructor.
+	 * @param granted Granted permissions
+	 */
+	private PermissionIndex(Collection<? extends Permission> granted) {
+		super();
+		this.granted = new ArrayList<>(granted);
+		this.permissions = new HashSet<>(granted);
+		this.names = new HashSet<>(granted.size());
+		Node root = null;
+		for (Permission permission : granted) {
+			final String name = permission.getPermission().orElse(null);
+			if (name != null) {
+				names.add(name);
+				if (isWildcard(name)) {
+					if (root == null) {
+						root = new Node();
+					}
+					root.add(name);
+				}
+			}
+		}
+		this.wildcards = root;
+	}
+
+	/**
+	 * Create a new {@link PermissionIndex} for given granted permissions.
+	 * @param granted Granted permissions
+	 * @return A new {@link PermissionIndex}
+	 */
+	public static PermissionIndex create(Collection<? extends Permission> granted) {
+		return (granted == null || granted.isEmpty()) ? EMPTY : new PermissionIndex(granted);
+	}
+
+	/**
+	 * Get the {@link PermissionIndex} of the permissions granted to given {@link Authentication}.
+	 * <p>
+	 * If the Authentication is a {@link DefaultAuthentication}, the index cached by the Authentication is returned.
+	 * Otherwise, a new index is built.
+	 * </p>
+	 * @param authentication Authentication (not null)
+	 * @return The Authentication permissions index
+	 */
+	public static PermissionIndex of(Authentication authentication) {
+		ObjectUtils.argumentNotNull(authentication, "Authentication must be not null");
+		if (authentication instanceof DefaultAuthentication) {
+			return ((DefaultAuthentication) authentication).getPermissionIndex();
+		}
+		return create(authentication.getPermissions());
+	}
+
+	/**
+	 * Get whether the index contains no granted permission.
+	 * @return <code>true</code> if no permission is granted
+	 */
+	public boolean isEmpty() {
+		return granted.isEmpty();
+	}
+
+	/**
+	 * Get whether any granted permission declares a {@link #WILDCARD} part.
+	 * @return <code>true</code> if the index contains wildcard permissions
+	 */
+	public boolean hasWildcards() {
+		return wildcards != null;
+	}
+
+	/**
+	 * Check whether given permission is granted.
+	 * @param permission The permission to check
+	 * @param matchWildcards Whether to match the granted wildcard permissions, besides exact matches
+	 * @return <code>true</code> if given permission is granted
+	 */
+	public boolean implies(Permission permission, boolean matchWildcards) {
+		if (permission == null) {
+			return false;
+		}
+		if (permission.getClass() == DefaultPermission.class) {
+			return implies(permission.getPermission().orElse(null), matchWildcards);
+		}
+		if (permissions.contains(permission)) {
+			return true;
+		}
+		for (Permission p : granted) {
+			if (permission.equals(p)) {
+				return true;
+			}
+		}
+		if (matchWildcards && wildcards != null) {
+			final String name = permission.getPermission().orElse(null);
+			return name != null && wildcards.matches(name, 0);
+		}
+		return false;
+	}
+
+	/**
+	 * Check whether the permission with given String representation is granted, i.e. whether a granted permission has
+	 * the same String representation, consistently with the {@link DefaultPermission} equality.
+	 * @param permission The permission String representation to check
+	 * @param matchWildcards Whether to match the granted wildcard permissions, besides exact matches
+	 * @return <code>true</code> if given permission is granted
+	 */
+	public boolean implies(String permission, boolean matchWildcards) {
+		if (permission == null) {
+			return false;
+		}
+		if (names.contains(permission)) {
+			return true;
+		}
+		return matchWildcards && wildcards != null && wildcards.matches(permission, 0);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "PermissionIndex [permissions=" + granted.size() + ", wildcards=" + hasWildcards() + "]";
+	}
+
+	/**
+	 * Checks whether given permission String representation declares at least one {@link #WILDCARD} part.
+	 * @param permission Permission String representation
+	 * @return <code>true</code> if the permission is a wildcard permission
+	 */
+	private static boolean isWildcard(String permission) {
+		int start = 0;
+		while (start <= permission.length()) {
+			int end = permission.indexOf(PART_SEPARATOR, start);
+			if (end < 0) {
+				end = permission.length();
+			}
+			if (end - start == 1 && permission.charAt(start) == '*') {
+				return true;
+			}
+			start = end + 1;
+		}
+		return false;
+	}
+
+	/**
+	 * Wildcard permissions trie node.
+	 */
+	private static final class Node {
+
+		private final Map<String, Node> children = new HashMap<>(4);
+		private Node any;
+		private boolean terminal;
+
+		/**
+		 * Add given permission to the trie.
+		 * @param permission Permission String representation
+		 */
+		void add(String permission) {
+			Node node = this;
+			int start = 0;
+			while (true) {
+				int end = permission.indexOf(PART_SEPARATOR, start);
+				final String part = permission.substring(start, (end < 0) ? permission.length() : end);
+				if (WILDCARD.equals(part)) {
+					if (node.any == null) {
+						node.any = new Node();
+					}
+					node = node.any;
+				} else {
+					node = node.children.computeIfAbsent(part, p -> new Node());
+				}
+				if (end < 0) {
+					node.terminal = true;
+					return;
+				}
+				start = end + 1;
+			}
+		}
+
+		/**
+		 * Check whether given permission, starting from given part index, is matched by this node.
+		 * @param permission Permission String representation
+		 * @param start Current part start index
+		 * @return <code>true</code> if matches
+		 */
+		boolean matches(String permission, int start) {
+			final int end = permission.indexOf(PART_SEPARATOR, start);
+			final Node child = children.isEmpty() ? null
+					: children.get(permission.substring(start, (end < 0) ? permission.length() : end));
+			if (end < 0) {
+				return (child != null && child.terminal) || (any != null && any.terminal);
+			}
+			return (child != null && child.matches(permission, end + 1))
+					|| (any != null && any.matches(permission, end + 1));
+		}
+
+	}
+
+}
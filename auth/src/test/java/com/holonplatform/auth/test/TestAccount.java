@@ -30,17 +30,21 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.junit.jupiter.api.Test;
 
 import com.holonplatform.auth.Account;
 import com.holonplatform.auth.Account.AccountProvider;
 import com.holonplatform.auth.Authentication;
+import com.holonplatform.auth.AuthenticationCache;
 import com.holonplatform.auth.Authenticator;
 import com.holonplatform.auth.Credentials;
 import com.holonplatform.auth.CredentialsContainer;
 import com.holonplatform.auth.Permission;
+import com.holonplatform.auth.Realm;
 import com.holonplatform.auth.exceptions.DisabledAccountException;
 import com.holonplatform.auth.exceptions.ExpiredCredentialsException;
 import com.holonplatform.auth.exceptions.InvalidCredentialsException;
@@ -49,7 +53,9 @@ import com.holonplatform.auth.exceptions.UnexpectedAuthenticationException;
 import com.holonplatform.auth.exceptions.UnknownAccountException;
 import com.holonplatform.auth.internal.AccountAuthenticator;
 import com.holonplatform.auth.internal.DefaultAccount;
+import com.holonplatform.auth.internal.DefaultAuthenticationCache;
 import com.holonplatform.auth.token.AccountCredentialsToken;
+import com.holonplatform.core.internal.utils.ConversionUtils;
 import com.holonplatform.core.internal.utils.Hash;
 
 public class TestAccount {
@@ -247,4 +253,77 @@ public class TestAccount {
 
 	}
 
+	@Test
+	public void testAuthenticationCache() {
+
+		final AtomicInteger loads = new AtomicInteger(0);
+
+		final Account act = Account.builder("test").withPermission("p1")
+				.credentials(Credentials.builder().secret("testpwd").build()).build();
+
+		final AccountProvider service = id -> {
+			loads.incrementAndGet();
+			return "test".equals(id) ? Optional.of(act) : Optional.empty();
+		};
+
+		final AuthenticationCache cache = AuthenticationCache.builder().maxSize(2).timeToLive(1, TimeUnit.HOURS)
+				.build();
+
+		final Authenticator<AccountCredentialsToken> aa = Account.authenticator(service, null, cache);
+
+		Authentication authc = aa.authenticate(new AccountCredentialsToken("test", "testpwd"));
+		assertNotNull(authc);
+		assertEquals(1, loads.get());
+		assertEquals(1, cache.size());
+		assertEquals(0, cache.getStatistics().getHitCount());
+		assertEquals(1, cache.getStatistics().getMissCount());
+
+		assertEquals(authc, aa.authenticate(new AccountCredentialsToken("test", "testpwd")));
+		assertEquals(1, loads.get());
+		assertEquals(1, cache.getStatistics().getHitCount());
+		assertEquals(0.5d, cache.getStatistics().getHitRatio(), 0.001d);
+
+		assertThrows(InvalidCredentialsException.class, () -> {
+			aa.authenticate(new AccountCredentialsToken("test", "wrong"));
+		});
+		assertEquals(2, loads.get());
+
+		cache.invalidate("test");
+		assertEquals(0, cache.size());
+		assertNotNull(aa.authenticate(new AccountCredentialsToken("test", "testpwd")));
+		assertEquals(3, loads.get());
+
+		// eviction
+		cache.put("u1", ConversionUtils.toBytes("s1"), Authentication.builder("u1").build());
+		cache.put("u2", ConversionUtils.toBytes("s2"), Authentication.builder("u2").build());
+		assertEquals(2, cache.size());
+		assertEquals(1, cache.getStatistics().getEvictionCount());
+		assertFalse(cache.get("test", ConversionUtils.toBytes("testpwd")).isPresent());
+		assertTrue(cache.get("u2", ConversionUtils.toBytes("s2")).isPresent());
+
+		cache.invalidateAll();
+		assertEquals(0, cache.size());
+
+		// expiration
+		final AtomicLong now = new AtomicLong();
+		final AuthenticationCache expiring = new DefaultAuthenticationCache(16, 20, TimeUnit.MILLISECONDS, null,
+				now::get);
+		expiring.put("u1", ConversionUtils.toBytes("s1"), Authentication.builder("u1").build());
+		now.addAndGet(TimeUnit.MILLISECONDS.toNanos(19));
+		assertTrue(expiring.get("u1", ConversionUtils.toBytes("s1")).isPresent());
+		now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+		assertFalse(expiring.get("u1", ConversionUtils.toBytes("s1")).isPresent());
+		assertEquals(0, expiring.size());
+		assertEquals(1, expiring.getStatistics().getEvictionCount());
+
+		// realm
+		loads.set(0);
+		final Realm realm = Realm.builder().withAuthenticator(Account.authenticator(service))
+				.withAuthenticationCache(AuthenticationCache.create()).build();
+		realm.authenticate(new AccountCredentialsToken("test", "testpwd"));
+		realm.authenticate(new AccountCredentialsToken("test", "testpwd"));
+		assertEquals(1, loads.get());
+
+	}
+
 }
@@ -19,11 +19,13 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.Optional;
 import java.util.Set;
 
 import org.junit.jupiter.api.Test;
@@ -31,6 +33,7 @@ import org.junit.jupiter.api.Test;
 import com.holonplatform.auth.Authentication;
 import com.holonplatform.auth.Authorizer;
 import com.holonplatform.auth.Permission;
+import com.holonplatform.auth.internal.DefaultAuthorizer;
 
 public class TestAuthz {
 
@@ -121,4 +124,90 @@ public class TestAuthz {
 
 	}
 
+	@Test
+	public void testWildcardAuthorizer() {
+
+		assertSame(Permission.create("orders:read"), Permission.create("orders:read"));
+
+		final Authentication authc = Authentication.builder("test").withPermission("orders:*:read")
+				.withPermission("users:*").withPermission("*:admin:*").withPermission("reports").build();
+
+		final Authorizer<Permission> authz = Authorizer.wildcard();
+
+		assertTrue(authz.isPermitted(authc, "orders:*:read"));
+		assertTrue(authz.isPermitted(authc, "orders:123:read"));
+		assertTrue(authz.isPermitted(authc, Permission.create("orders:456:read")));
+		assertFalse(authz.isPermitted(authc, "orders:123:write"));
+		assertFalse(authz.isPermitted(authc, "orders:123"));
+		assertFalse(authz.isPermitted(authc, "orders:123:read:all"));
+		assertTrue(authz.isPermitted(authc, "users:1"));
+		assertFalse(authz.isPermitted(authc, "users"));
+		assertTrue(authz.isPermitted(authc, "shop:admin:delete"));
+		assertTrue(authz.isPermitted(authc, "reports"));
+		assertFalse(authz.isPermitted(authc, "reports:daily"));
+
+		assertTrue(authz.isPermitted(authc, "orders:1:read", "users:2", "reports"));
+		assertFalse(authz.isPermitted(authc, "orders:1:read", "users:2", "other"));
+		assertTrue(authz.isPermittedAny(authc, "other", "orders:1:read"));
+		assertFalse(authz.isPermittedAny(authc, "other", "orders:1:write"));
+
+		// exact matches only with the default authorizer
+		assertTrue(Authorizer.create().isPermitted(authc, "orders:*:read"));
+		assertFalse(Authorizer.create().isPermitted(authc, "orders:123:read"));
+
+		assertThrows(UnsupportedOperationException.class,
+				() -> authc.getPermissions().add(Permission.create("other")));
+	}
+
+	@Test
+	public void testCustomPermissionEquality() {
+
+		// equals overridden without hashCode
+		final Authentication authc = Authentication.builder("test").withPermission(new CodePermission("c1"))
+				.withPermission(new CodePermission("c2")).withPermission("p1").build();
+		assertEquals(3, authc.getPermissions().size());
+
+		final Authorizer<Permission> authz = Authorizer.create();
+		assertTrue(authz.isPermitted(authc, new CodePermission("c1")));
+		assertTrue(authz.isPermitted(authc, new CodePermission("c1"), new CodePermission("c2")));
+		assertFalse(authz.isPermitted(authc, new CodePermission("c3")));
+		assertTrue(authz.isPermittedAny(authc, new CodePermission("c3"), new CodePermission("c2")));
+
+		// String permissions are converted using the overridden permissionFromString
+		final DefaultAuthorizer codes = new DefaultAuthorizer() {
+
+			@Override
+			protected Permission permissionFromString(String permission) {
+				return new CodePermission(permission);
+			}
+
+		};
+		assertTrue(codes.isPermitted(authc, "c1", "c2"));
+		assertFalse(codes.isPermitted(authc, "p1"));
+		assertTrue(codes.isPermittedAny(authc, "p1", "c2"));
+	}
+
+	@SuppressWarnings("serial")
+	private static final class CodePermission implements Permission {
+
+		private final String code;
+
+		CodePermission(String code) {
+			super();
+			this.code = code;
+		}
+
+		@Override
+		public Optional<String> getPermission() {
+			return Optional.of(code);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof CodePermission && code.equals(((CodePermission) obj).code);
+		}
+
+	}
+
+
 }
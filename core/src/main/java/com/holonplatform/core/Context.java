@@ -15,6 +15,7 @@
  */
 package com.holonplatform.core;
 
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.Callable;
 
@@ -197,7 +198,8 @@ public interface Context {
 	 * Execute given {@link Runnable} <code>operation</code>, binding given {@link Context} resource key and value to
 	 * current Thread, and removing the binding after operation execution.
 	 * <p>
-	 * The {@link #THREAD_SCOPE_NAME} context scope is used.
+	 * The {@link #THREAD_SCOPE_NAME} context scope is used. If it is a {@link StructuredContextScope}, the resource is
+	 * bound using {@link StructuredContextScope#execute(String, Object, Callable)}.
 	 * </p>
 	 * @param resourceKey Context resource key (not null)
 	 * @param resource Context resource value to bind to current Thread (not null)
@@ -206,24 +208,19 @@ public interface Context {
 	 */
 	default void executeThreadBound(final String resourceKey, final Object resource, final Runnable operation)
 			throws RuntimeException {
-		ObjectUtils.argumentNotNull(resourceKey, "Resource key must be not null");
-		ObjectUtils.argumentNotNull(resource, "Resource value must be not null");
 		ObjectUtils.argumentNotNull(operation, "Runnable operation must be not null");
-		try {
-			threadScope().map((s) -> s.put(resourceKey, resource));
+		executeThreadBound(resourceKey, resource, () -> {
 			operation.run();
-		} catch (Exception e) {
-			throw new RuntimeException(e);
-		} finally {
-			threadScope().map((s) -> s.remove(resourceKey));
-		}
+			return null;
+		});
 	}
 
 	/**
 	 * Execute given {@link Callable} <code>operation</code>, binding given {@link Context} resource key and value to
 	 * current Thread, and removing the binding after operation execution.
 	 * <p>
-	 * The {@link #THREAD_SCOPE_NAME} context scope is used.
+	 * The {@link #THREAD_SCOPE_NAME} context scope is used. If it is a {@link StructuredContextScope}, the resource is
+	 * bound using {@link StructuredContextScope#execute(String, Object, Callable)}.
 	 * </p>
 	 * @param resourceKey Context resource key (not null)
 	 * @param resource Context resource value to bind to current Thread (not null)
@@ -237,13 +234,102 @@ public interface Context {
 		ObjectUtils.argumentNotNull(resourceKey, "Resource key must be not null");
 		ObjectUtils.argumentNotNull(resource, "Resource value must be not null");
 		ObjectUtils.argumentNotNull(operation, "Runnable operation must be not null");
+		final Optional<ContextScope> threadScope = threadScope();
+		if (threadScope.isPresent() && threadScope.get() instanceof StructuredContextScope) {
+			try {
+				return ((StructuredContextScope) threadScope.get()).execute(resourceKey, resource, operation);
+			} catch (Exception e) {
+				throw new RuntimeException(e);
+			}
+		}
+		try {
+			threadScope.map((s) -> s.put(resourceKey, resource));
+			return operation.call();
+		} catch (Exception e) {
+			throw new RuntimeException(e);
+		} finally {
+			threadScope.map((s) -> s.remove(resourceKey));
+		}
+	}
+
+	/**
+	 * Execute given {@link Callable} <code>operation</code>, binding given {@link Context} resource keys and values to
+	 * current Thread, and removing the bindings after operation execution.
+	 * <p>
+	 * The {@link #THREAD_SCOPE_NAME} context scope is used. If it is a {@link StructuredContextScope}, the resources
+	 * are bound using {@link StructuredContextScope#execute(String, Object, String, Object, Callable)}.
+	 * </p>
+	 * @param resourceKey1 First context resource key (not null)
+	 * @param resource1 First context resource value to bind to current Thread (not null)
+	 * @param resourceKey2 Second context resource key (not null)
+	 * @param resource2 Second context resource value to bind to current Thread (not null)
+	 * @param operation Operation to execute
+	 * @param <V> Operation result type
+	 * @return Operation result
+	 * @throws RuntimeException Exception during operation execution
+	 * @since 5.2.2
+	 */
+	default <V> V executeThreadBound(final String resourceKey1, final Object resource1, final String resourceKey2,
+			final Object resource2, final Callable<V> operation) throws RuntimeException {
+		ObjectUtils.argumentNotNull(resourceKey1, "Resource key must be not null");
+		ObjectUtils.argumentNotNull(resource1, "Resource value must be not null");
+		ObjectUtils.argumentNotNull(resourceKey2, "Resource key must be not null");
+		ObjectUtils.argumentNotNull(resource2, "Resource value must be not null");
+		ObjectUtils.argumentNotNull(operation, "Runnable operation must be not null");
+		final Optional<ContextScope> threadScope = threadScope();
+		if (threadScope.isPresent() && threadScope.get() instanceof StructuredContextScope) {
+			try {
+				return ((StructuredContextScope) threadScope.get()).execute(resourceKey1, resource1, resourceKey2,
+						resource2, operation);
+			} catch (Exception e) {
+				throw new RuntimeException(e);
+			}
+		}
+		try {
+			threadScope.map((s) -> s.put(resourceKey1, resource1));
+			threadScope.map((s) -> s.put(resourceKey2, resource2));
+			return operation.call();
+		} catch (Exception e) {
+			throw new RuntimeException(e);
+		} finally {
+			threadScope.map((s) -> s.remove(resourceKey2));
+			threadScope.map((s) -> s.remove(resourceKey1));
+		}
+	}
+
+	/**
+	 * Execute given {@link Callable} <code>operation</code>, binding given {@link Context} resources to current
+	 * Thread, and removing the bindings after operation execution.
+	 * <p>
+	 * The {@link #THREAD_SCOPE_NAME} context scope is used. If it is a {@link StructuredContextScope}, the resources
+	 * are bound using {@link StructuredContextScope#execute(Map, Callable)}.
+	 * </p>
+	 * @param resources Context resources to bind to current Thread, by resource key (not null)
+	 * @param operation Operation to execute
+	 * @param <V> Operation result type
+	 * @return Operation result
+	 * @throws RuntimeException Exception during operation execution
+	 * @since 5.2.2
+	 */
+	default <V> V executeThreadBound(final Map<String, ?> resources, final Callable<V> operation)
+			throws RuntimeException {
+		ObjectUtils.argumentNotNull(resources, "Resources must be not null");
+		ObjectUtils.argumentNotNull(operation, "Runnable operation must be not null");
+		final Optional<ContextScope> threadScope = threadScope();
+		if (threadScope.isPresent() && threadScope.get() instanceof StructuredContextScope) {
+			try {
+				return ((StructuredContextScope) threadScope.get()).execute(resources, operation);
+			} catch (Exception e) {
+				throw new RuntimeException(e);
+			}
+		}
 		try {
-			threadScope().map((s) -> s.put(resourceKey, resource));
+			resources.forEach((k, v) -> threadScope.map((s) -> s.put(k, v)));
 			return operation.call();
 		} catch (Exception e) {
 			throw new RuntimeException(e);
 		} finally {
-			threadScope().map((s) -> s.remove(resourceKey));
+			resources.keySet().forEach(k -> threadScope.map((s) -> s.remove(k)));
 		}
 	}
 
@@ -28,6 +28,28 @@ import com.holonplatform.core.internal.DefaultExpressionResolverRegistry;
  */
 public interface ExpressionResolverRegistry extends ExpressionResolverSupport, ExpressionResolverHandler, Serializable {
 
+	/**
+	 * Freeze this registry: any further attempt to add or remove an {@link ExpressionResolver} will throw an
+	 * {@link IllegalStateException}.
+	 * <p>
+	 * Freezing is an optional operation: the default implementation throws an {@link UnsupportedOperationException}.
+	 * </p>
+	 * @throws UnsupportedOperationException If the registry does not support freezing
+	 * @since 5.2.2
+	 */
+	default void freeze() {
+		throw new UnsupportedOperationException("The registry [" + this + "] does not support freezing");
+	}
+
+	/**
+	 * Get whether this registry is frozen.
+	 * @return <code>true</code> if this registry is frozen and no resolver can be added or removed
+	 * @since 5.2.2
+	 */
+	default boolean isFrozen() {
+		return false;
+	}
+
 	/**
 	 * Create a new {@link ExpressionResolverRegistry}.
 	 * @return A new {@link ExpressionResolverRegistry} instance
@@ -42,7 +64,7 @@ public interface ExpressionResolverRegistry extends ExpressionResolverSupport, E
 	 * @return A new {@link ExpressionResolverRegistry} instance
 	 */
 	static ExpressionResolverRegistry create(boolean cacheEnabled) {
-		return new DefaultExpressionResolverRegistry();
+		return new DefaultExpressionResolverRegistry(cacheEnabled);
 	}
 
 }
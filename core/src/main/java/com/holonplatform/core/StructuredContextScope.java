@@ -0,0 +1,73 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * A {@link ContextScope} which supports <em>structured</em> resource bindings, i.e. resources which are bound only for
+ * the duration of an operation execution and automatically released when the operation ends, either normally or
+ * exceptionally.
+ * <p>
+ * Nested executions can shadow the resources bound by the enclosing ones, which become visible again when the nested
+ * execution ends.
+ * </p>
+ * <p>
+ * When the {@link Context#THREAD_SCOPE_NAME} scope is a {@link StructuredContextScope}, the
+ * {@link Context#executeThreadBound(String, Object, Callable)} methods use the structured bindings.
+ * </p>
+ *
+ * @since 5.2.2
+ */
+public interface StructuredContextScope extends ContextScope {
+
+	/**
+	 * Execute given <code>operation</code>, binding given resource to the scope for the operation duration.
+	 * @param <V> Operation result type
+	 * @param resourceKey Resource key (not null)
+	 * @param resource Resource value (not null)
+	 * @param operation Operation to execute (not null)
+	 * @return Operation result
+	 * @throws Exception Exception thrown by the operation
+	 */
+	<V> V execute(String resourceKey, Object resource, Callable<V> operation) throws Exception;
+
+	/**
+	 * Execute given <code>operation</code>, binding given resources to the scope for the operation duration.
+	 * @param <V> Operation result type
+	 * @param resourceKey1 First resource key (not null)
+	 * @param resource1 First resource value (not null)
+	 * @param resourceKey2 Second resource key (not null)
+	 * @param resource2 Second resource value (not null)
+	 * @param operation Operation to execute (not null)
+	 * @return Operation result
+	 * @throws Exception Exception thrown by the operation
+	 */
+	<V> V execute(String resourceKey1, Object resource1, String resourceKey2, Object resource2,
+			Callable<V> operation) throws Exception;
+
+	/**
+	 * Execute given <code>operation</code>, binding given resources to the scope for the operation duration.
+	 * @param <V> Operation result type
+	 * @param resources Resources to bind, by resource key (not null)
+	 * @param operation Operation to execute (not null)
+	 * @return Operation result
+	 * @throws Exception Exception thrown by the operation
+	 */
+	<V> V execute(Map<String, ?> resources, Callable<V> operation) throws Exception;
+
+}
@@ -40,6 +40,7 @@ import com.holonplatform.core.internal.ValidatorDescriptor;
 import com.holonplatform.core.internal.utils.CalendarUtils;
 import com.holonplatform.core.internal.utils.FormatUtils;
 import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.core.internal.utils.PatternCache;
 import com.holonplatform.core.internal.utils.TypeUtils;
 
 /**
@@ -726,12 +727,13 @@ public interface Validator<T> extends Serializable {
 	static <T extends CharSequence> Validator<T> pattern(String regex, String message, String messageCode,
 			PatternFlag... flags) {
 		ObjectUtils.argumentNotNull(regex, "Regular expression must be not null");
+		final Pattern pattern = PatternCache.compile(regex, PatternFlag.asBitValue(flags));
 		return new BuiltinValidator<T>() {
 
 			@Override
 			public void validate(T v) throws ValidationException {
 				if (v != null) {
-					if (!Pattern.compile(regex, PatternFlag.asBitValue(flags)).matcher(v).matches()) {
+					if (!pattern.matcher(v).matches()) {
 						throw new ValidationException(message, messageCode);
 					}
 				}
@@ -1532,12 +1534,13 @@ public interface Validator<T> extends Serializable {
 	 */
 	@SuppressWarnings("serial")
 	static <T extends CharSequence> Validator<T> email(String message, String messageCode) {
+		final Pattern pattern = PatternCache.compile(FormatUtils.EMAIL_RFC822_REGEXP_PATTERN);
 		return new BuiltinValidator<T>() {
 
 			@Override
 			public void validate(T v) throws ValidationException {
 				if (v != null) {
-					if (!Pattern.compile(FormatUtils.EMAIL_RFC822_REGEXP_PATTERN).matcher(v).matches()) {
+					if (!pattern.matcher(v).matches()) {
 						throw new ValidationException(message, messageCode);
 					}
 				}
@@ -37,6 +37,25 @@ public interface BeanConfigProperties extends ConfigPropertySet {
 	public static final ConfigProperty<Boolean> BEAN_INTROSPECTOR_CACHE_ENABLED = ConfigProperty
 			.create("introspector-cache-enabled", Boolean.class);
 
+	/**
+	 * Maximum number of bean property sets cached by a {@link BeanIntrospector}. When the limit is reached, the least
+	 * recently introspected bean classes are evicted first. A value <code>&lt;= 0</code> means unbounded, which is the
+	 * default.
+	 * @since 5.2.2
+	 */
+	public static final ConfigProperty<Integer> BEAN_INTROSPECTOR_CACHE_MAX_SIZE = ConfigProperty
+			.create("introspector-cache-max-size", Integer.class);
+
+	/**
+	 * Enable or disable the generated bean property accessors, which use {@link java.lang.invoke.LambdaMetafactory} or
+	 * {@link java.lang.invoke.MethodHandle}s instead of reflection to read and write the bean property values. This
+	 * setting is used as default by the {@link BeanPropertySet}s which do not declare the
+	 * {@link BeanPropertySet#GENERATED_ACCESSORS} configuration parameter.
+	 * @since 5.2.2
+	 */
+	public static final ConfigProperty<Boolean> BEAN_GENERATED_ACCESSORS_ENABLED = ConfigProperty
+			.create("generated-accessors-enabled", Boolean.class);
+
 	@Override
 	default String getName() {
 		return NAME;
@@ -51,6 +70,26 @@ public interface BeanConfigProperties extends ConfigPropertySet {
 		return getConfigPropertyValue(BEAN_INTROSPECTOR_CACHE_ENABLED, Boolean.TRUE);
 	}
 
+	/**
+	 * Gets the {@link BeanIntrospector} cache maximum size.
+	 * @return The cache maximum size, <code>0</code> (unbounded) by default
+	 * @see #BEAN_INTROSPECTOR_CACHE_MAX_SIZE
+	 * @since 5.2.2
+	 */
+	default int getBeanIntrospectorCacheMaxSize() {
+		return getConfigPropertyValue(BEAN_INTROSPECTOR_CACHE_MAX_SIZE, 0);
+	}
+
+	/**
+	 * Gets whether the generated bean property accessors are enabled by default.
+	 * @return <code>true</code> if the generated bean property accessors are enabled, <code>false</code> by default
+	 * @see #BEAN_GENERATED_ACCESSORS_ENABLED
+	 * @since 5.2.2
+	 */
+	default boolean isBeanGeneratedAccessorsEnabled() {
+		return getConfigPropertyValue(BEAN_GENERATED_ACCESSORS_ENABLED, Boolean.FALSE);
+	}
+
 	/**
 	 * Builder to create property set instances bound to a property data source
 	 * @return ConfigPropertySet builder
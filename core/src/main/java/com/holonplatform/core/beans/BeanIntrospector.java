@@ -15,6 +15,8 @@
  */
 package com.holonplatform.core.beans;
 
+import java.util.Optional;
+
 import com.holonplatform.core.Context;
 import com.holonplatform.core.Path;
 import com.holonplatform.core.Path.FinalPath;
@@ -218,6 +220,15 @@ public interface BeanIntrospector {
 	 */
 	boolean clearCache();
 
+	/**
+	 * If caching is supported, get the introspection cache statistics.
+	 * @return Optional introspection cache statistics, empty if caching is not supported
+	 * @since 5.2.2
+	 */
+	default Optional<CacheStatistics> getCacheStatistics() {
+		return Optional.empty();
+	}
+
 	// ------- Accessors
 
 	/**
@@ -258,6 +269,66 @@ public interface BeanIntrospector {
 		return DefaultBeanIntrospector.getDefault(null);
 	}
 
+	// ------- Statistics
+
+	/**
+	 * {@link BeanIntrospector} cache statistics snapshot.
+	 * 
+	 * @since 5.2.2
+	 */
+	public interface CacheStatistics {
+
+		/**
+		 * Get the number of bean property set requests which were served by the cache.
+		 * @return The cache hit count
+		 */
+		long getHitCount();
+
+		/**
+		 * Get the number of bean property set requests which required a bean class introspection.
+		 * @return The cache miss count
+		 */
+		long getMissCount();
+
+		/**
+		 * Get the number of bean property sets which were evicted from the cache because the maximum cache size was
+		 * reached.
+		 * @return The cache eviction count
+		 */
+		long getEvictionCount();
+
+		/**
+		 * Get the total time spent introspecting bean classes, in nanoseconds.
+		 * @return The total load time in nanoseconds
+		 */
+		long getTotalLoadTime();
+
+		/**
+		 * Get the current number of cached bean property sets.
+		 * @return The cache size
+		 */
+		int getSize();
+
+		/**
+		 * Get the ratio of requests which were served by the cache.
+		 * @return The cache hit rate, <code>1.0</code> if no request was performed
+		 */
+		default double getHitRate() {
+			final long requests = getHitCount() + getMissCount();
+			return (requests == 0) ? 1.0 : (double) getHitCount() / requests;
+		}
+
+		/**
+		 * Get the average time spent introspecting a bean class, in nanoseconds.
+		 * @return The average load time in nanoseconds
+		 */
+		default double getAverageLoadTime() {
+			final long loads = getMissCount();
+			return (loads == 0) ? 0.0 : (double) getTotalLoadTime() / loads;
+		}
+
+	}
+
 	// ------- Exceptions
 
 	/**
@@ -43,6 +43,17 @@ import com.holonplatform.core.property.PropertyValueConverter;
  */
 public interface BeanPropertySet<T> extends PropertySet<PathProperty<?>>, BeanPropertyInspector, DataMappable {
 
+	/**
+	 * Configuration parameter which can be used to enable or disable the generated bean property accessors for a
+	 * {@link BeanPropertySet}. When enabled, the bean property values are read and written using
+	 * {@link java.lang.invoke.LambdaMetafactory} generated functions or {@link java.lang.invoke.MethodHandle}s rather
+	 * than reflection. When not specified, the {@link BeanConfigProperties#BEAN_GENERATED_ACCESSORS_ENABLED} setting is
+	 * used.
+	 * @since 5.2.2
+	 */
+	public static final ConfigProperty<Boolean> GENERATED_ACCESSORS = ConfigProperty
+			.create("holon.beans.generated-accessors-enabled", Boolean.class);
+
 	/**
 	 * Get the bean class to which this property set refers.
 	 * @return the bean class
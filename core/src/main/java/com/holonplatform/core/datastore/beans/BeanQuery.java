@@ -59,7 +59,7 @@ public interface BeanQuery<T> extends BeanQueryBuilder<BeanQuery<T>> {
 	 * @throws DataAccessException Error in query execution
 	 */
 	default Optional<T> findOne() throws QueryNonUniqueResultException {
-		return stream().collect(Collectors.collectingAndThen(Collectors.toList(), QueryUtils.uniqueResult()));
+		return QueryUtils.uniqueResult(stream());
 	}
 
 	/**
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.datastore.memory;
+
+import com.holonplatform.core.Path;
+import com.holonplatform.core.datastore.DataTarget;
+import com.holonplatform.core.datastore.Datastore;
+import com.holonplatform.core.datastore.DatastoreOperations;
+import com.holonplatform.core.internal.datastore.memory.DefaultInMemoryDatastore;
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.core.property.PropertySet;
+
+/**
+ * A {@link Datastore} which stores the data in memory.
+ * <p>
+ * Data is organized by {@link DataTarget} name: each data target is bound to a table which stores the values
+ * column-wise, using the {@link Path} relative name as column name. Tables are created on demand.
+ * </p>
+ * <p>
+ * The {@link PropertySet} identifier properties are used to identify a {@link PropertyBox} value for the
+ * <code>update</code>, <code>save</code>, <code>delete</code> and <code>refresh</code> operations.
+ * </p>
+ * <p>
+ * Hash and sorted secondary indexes can be declared on a data target {@link Path}, and they are used to select the
+ * candidate rows when a query or operation filter is an equality, <code>in</code> or range restriction on the indexed
+ * path. When none of the identifier paths is indexed, a hash index is automatically created on the first identifier
+ * path at the first <code>insert</code>, <code>update</code>, <code>save</code> or <code>delete</code> operation.
+ * </p>
+ * <p>
+ * This Datastore is safe for concurrent use. Relational features, such as joins, are not supported.
+ * </p>
+ *
+ * @since 5.2.2
+ */
+public interface InMemoryDatastore extends Datastore {
+
+	/**
+	 * Create a secondary index on given data target path. If an index is already defined on the same path, it is
+	 * replaced.
+	 * @param target Data target (not null)
+	 * @param path Path to index (not null)
+	 * @param type Index type (not null)
+	 */
+	void createIndex(DataTarget<?> target, Path<?> path, IndexType type);
+
+	/**
+	 * Remove the secondary index defined on given data target path, if any.
+	 * @param target Data target (not null)
+	 * @param path Indexed path (not null)
+	 * @return <code>true</code> if an index was removed
+	 */
+	boolean dropIndex(DataTarget<?> target, Path<?> path);
+
+	/**
+	 * Remove all the data bound to given data target. Any secondary index definition is preserved.
+	 * @param target Data target (not null)
+	 */
+	void clear(DataTarget<?> target);
+
+	/**
+	 * Secondary index types.
+	 */
+	public enum IndexType {
+
+		/**
+		 * Hash index, which supports equality and <code>in</code> restrictions.
+		 */
+		HASH,
+
+		/**
+		 * Sorted index, which supports equality, <code>in</code> and range restrictions. Indexed values must be
+		 * {@link Comparable}.
+		 */
+		SORTED
+
+	}
+
+	// Builder
+
+	/**
+	 * Get a builder to create a {@link InMemoryDatastore} instance.
+	 * @return Datastore builder
+	 */
+	static Builder builder() {
+		return new DefaultInMemoryDatastore.DefaultBuilder();
+	}
+
+	/**
+	 * {@link InMemoryDatastore} builder.
+	 */
+	public interface Builder extends DatastoreOperations.Builder<InMemoryDatastore, Builder> {
+
+		/**
+		 * Declare a secondary index on given data target path.
+		 * @param target Data target (not null)
+		 * @param path Path to index (not null)
+		 * @param type Index type (not null)
+		 * @return this
+		 */
+		Builder withIndex(DataTarget<?> target, Path<?> path, IndexType type);
+
+	}
+
+}
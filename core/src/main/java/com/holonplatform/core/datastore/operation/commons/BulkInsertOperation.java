@@ -15,9 +15,12 @@
  */
 package com.holonplatform.core.datastore.operation.commons;
 
+import java.util.Iterator;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import com.holonplatform.core.Path;
+import com.holonplatform.core.internal.utils.ObjectUtils;
 import com.holonplatform.core.property.Property;
 import com.holonplatform.core.property.PropertyBox;
 import com.holonplatform.core.property.PropertySet;
@@ -60,6 +63,75 @@ public interface BulkInsertOperation<R, O extends BulkInsertOperation<R, O>>
 	 */
 	O add(PropertyBox propertyBox);
 
+	/**
+	 * Add a source of {@link PropertyBox} values to insert.
+	 * <p>
+	 * The values are read lazily at operation execution time and flushed in batches, so that only one batch of values
+	 * at a time has to be held in memory. See {@link #batchSize(int)}.
+	 * </p>
+	 * <p>
+	 * The default implementation eagerly adds each value using {@link #add(PropertyBox)}.
+	 * </p>
+	 * @param values The values iterator (not null)
+	 * @return this
+	 * @since 5.2.2
+	 */
+	@SuppressWarnings("unchecked")
+	default O addAll(Iterator<PropertyBox> values) {
+		ObjectUtils.argumentNotNull(values, "Values must be not null");
+		while (values.hasNext()) {
+			add(values.next());
+		}
+		return (O) this;
+	}
+
+	/**
+	 * Add a source of {@link PropertyBox} values to insert.
+	 * <p>
+	 * The values are read lazily at operation execution time and flushed in batches, so that only one batch of values
+	 * at a time has to be held in memory. See {@link #batchSize(int)}.
+	 * </p>
+	 * @param values The values to add (not null)
+	 * @return this
+	 * @since 5.2.2
+	 */
+	default O addAll(Iterable<PropertyBox> values) {
+		return addAll(values.iterator());
+	}
+
+	/**
+	 * Add a {@link Stream} of {@link PropertyBox} values to insert.
+	 * <p>
+	 * The stream is consumed lazily at operation execution time and the values are flushed in batches, so that only one
+	 * batch of values at a time has to be held in memory. See {@link #batchSize(int)}. The stream is not closed by the
+	 * operation.
+	 * </p>
+	 * @param values The values stream (not null)
+	 * @return this
+	 * @since 5.2.2
+	 */
+	default O addAll(Stream<PropertyBox> values) {
+		return addAll(values.iterator());
+	}
+
+	/**
+	 * Set the maximum number of values to insert in each operation batch.
+	 * <p>
+	 * If not specified, the {@link BulkInsertOperationConfiguration#DEFAULT_BATCH_SIZE} is used. The default
+	 * implementation ignores the batch size, which is only a hint for the operation execution.
+	 * </p>
+	 * @param batchSize The batch size (must be greater than 0)
+	 * @return this
+	 * @since 5.2.2
+	 */
+	@SuppressWarnings("unchecked")
+	default O batchSize(int batchSize) {
+		if (batchSize < 1) {
+			throw new IllegalArgumentException("Batch size must be greater than 0");
+		}
+		return (O) this;
+	}
+
 	/**
 	 * Add a path - value map to insert.
 	 * @param values Value map to add to the bulk insert operation (not null)
@@ -15,9 +15,12 @@
  */
 package com.holonplatform.core.datastore.operation.commons;
 
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 
+import com.holonplatform.core.internal.datastore.operation.common.BulkInsertBatchIterator;
 import com.holonplatform.core.property.PropertyBox;
 import com.holonplatform.core.property.PropertySet;
 
@@ -29,11 +32,55 @@ import com.holonplatform.core.property.PropertySet;
 public interface BulkInsertOperationConfiguration extends DatastoreOperationConfiguration {
 
 	/**
-	 * Get the values to insert.
+	 * Default batch size, used when a batch size is not explicitly configured.
+	 */
+	static final int DEFAULT_BATCH_SIZE = 1000;
+
+	/**
+	 * Get all the values to insert.
+	 * <p>
+	 * Since version 5.2.2, the values provided by the operation value sources (see {@link #getValueSources()}) are
+	 * included too: the value sources are consumed by this method and all their values are held in memory. Use
+	 * {@link #batches()} to process the values lazily, one batch at a time.
+	 * </p>
 	 * @return The operation values, an empty List if none
 	 */
 	List<PropertyBox> getValues();
 
+	/**
+	 * Get the operation value sources, i.e. the {@link Iterator}s which lazily provide the values to insert.
+	 * <p>
+	 * Each value source can be consumed only once.
+	 * </p>
+	 * @return The operation value sources, an empty List if none
+	 * @since 5.2.2
+	 */
+	default List<Iterator<PropertyBox>> getValueSources() {
+		return Collections.emptyList();
+	}
+
+	/**
+	 * Get the maximum number of values to include in each operation batch.
+	 * @return The batch size, <code>0</code> if not configured (the {@link #DEFAULT_BATCH_SIZE} will be used)
+	 * @since 5.2.2
+	 */
+	default int getBatchSize() {
+		return 0;
+	}
+
+	/**
+	 * Get an {@link Iterator} over the operation values, split into batches according to the configured batch size.
+	 * <p>
+	 * The explicitly added values are provided first, followed by the values of each value source, in the order they
+	 * were added. The value sources are consumed lazily, so only one batch at a time is held in memory.
+	 * </p>
+	 * @return The operation values batches iterator
+	 * @since 5.2.2
+	 */
+	default Iterator<List<PropertyBox>> batches() {
+		return new BulkInsertBatchIterator(this);
+	}
+
 	/**
 	 * Get the operation property set.
 	 * @return Optional operation property set
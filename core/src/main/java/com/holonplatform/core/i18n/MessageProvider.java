@@ -108,6 +108,36 @@ public interface MessageProvider extends Serializable {
 		 */
 		PropertiesMessageProviderBuilder classLoader(ClassLoader classLoader);
 
+		/**
+		 * Set whether to merge all the messages available for a {@link Locale} into a single, precomputed map, with
+		 * the basenames and locale fallback chain already applied. The map is built the first time a Locale is
+		 * requested, and each message lookup is then performed using a single hash probe.
+		 * <p>
+		 * The default implementation ignores the setting, since it only affects the lookup performance.
+		 * </p>
+		 * @param flattened <code>true</code> to use the flattened messages maps
+		 * @return this
+		 * @since 5.2.2
+		 */
+		default PropertiesMessageProviderBuilder flattened(boolean flattened) {
+			return this;
+		}
+
+		/**
+		 * Set the interval, in milliseconds, at which the properties files modification time is checked to reload the
+		 * messages in background. Has effect only when {@link #flattened(boolean)} is enabled.
+		 * <p>
+		 * The default implementation ignores the setting, since it has effect only for flattened messages maps.
+		 * </p>
+		 * @param reloadCheckInterval The reload check interval in milliseconds, a value <code>&lt;= 0</code> disables
+		 *        reloading (default)
+		 * @return this
+		 * @since 5.2.2
+		 */
+		default PropertiesMessageProviderBuilder reloadCheckInterval(long reloadCheckInterval) {
+			return this;
+		}
+
 		/**
 		 * Build {@link MessageProvider}
 		 * @return MessageProvider
@@ -15,19 +15,19 @@
  */
 package com.holonplatform.core.internal;
 
+import java.lang.ref.WeakReference;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashSet;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.ServiceLoader;
-import java.util.Set;
 import java.util.WeakHashMap;
 
 import com.holonplatform.core.Context;
@@ -158,8 +158,22 @@ public final class ContextManager {
 		return SCOPES.getScope(name, classLoader);
 	}
 
+	/**
+	 * Gets the ordered {@link ContextScope} chain for given <code>classLoader</code>, as an array which must not be
+	 * modified.
+	 * @param classLoader ClassLoader. If <code>null</code>, {@link #getDefaultClassLoader()} will be used
+	 * @return ContextScopes array, preserving the order defined using {@link ContextScope#getOrder()}
+	 */
+	static ContextScope[] getScopeChain(ClassLoader classLoader) {
+		return SCOPES.getScopeChain(classLoader).scopes;
+	}
+
 	/**
 	 * {@link ContextScope}s registry by {@link ClassLoader}.
+	 * <p>
+	 * Scope registration is synchronized, while scope resolution is lock-free: for each ClassLoader an immutable
+	 * {@link ScopeChain} snapshot is built on first access and reused until the registry is modified.
+	 * </p>
 	 */
 	private static class ScopeRegistry {
 
@@ -168,7 +182,23 @@ public final class ContextManager {
 		 */
 		private final WeakHashMap<ClassLoader, LinkedHashMap<String, ContextScope>> scopes;
 
-		private boolean useClassLoaderHierarchy = true;
+		/**
+		 * Scope chain snapshots, one for each ClassLoader. Replaced as a whole when a snapshot is added, so it can be
+		 * scanned without locking.
+		 */
+		private volatile ScopeChain[] chains;
+
+		/**
+		 * Last resolved scope chain
+		 */
+		private volatile ScopeChain lastChain;
+
+		/**
+		 * Registry version, incremented at each registry modification to invalidate the scope chain snapshots
+		 */
+		private volatile int version;
+
+		private volatile boolean useClassLoaderHierarchy = true;
 
 		/**
 		 * The default {@link ClassLoader}. When <code>null</code>, the {@link Thread#getContextClassLoader()} will be
@@ -179,6 +209,7 @@ public final class ContextManager {
 		public ScopeRegistry() {
 			super();
 			this.scopes = new WeakHashMap<>(4);
+			this.chains = new ScopeChain[0];
 			this.classLoader = null;
 		}
 
@@ -196,8 +227,9 @@ public final class ContextManager {
 		 * @param useClassLoaderHierarchy <code>true</code> to scan the ClassLoader hierarchy when looking for available
 		 *        context scopes, <code>false</code> if only the current ClassLoader must be taken into account
 		 */
-		public void setUseClassLoaderHierarchy(boolean useClassLoaderHierarchy) {
+		public synchronized void setUseClassLoaderHierarchy(boolean useClassLoaderHierarchy) {
 			this.useClassLoaderHierarchy = useClassLoaderHierarchy;
+			invalidate();
 		}
 
 		/**
@@ -246,6 +278,7 @@ public final class ContextManager {
 			LinkedHashMap<String, ContextScope> contextScopes = ensureInited(cl);
 			contextScopes.put(scope.getName(), scope);
 			sortScopes(contextScopes);
+			invalidate();
 
 			LOGGER.debug(() -> "Registered scope [" + scope + "] with name [" + scope.getName() + "] for classloader ["
 					+ cl + "]");
@@ -266,6 +299,7 @@ public final class ContextManager {
 			LinkedHashMap<String, ContextScope> contextScopes = ensureInited(cl);
 			if (contextScopes.containsKey(name)) {
 				contextScopes.remove(name);
+				invalidate();
 				removed = true;
 			} else {
 				removed = false;
@@ -290,42 +324,8 @@ public final class ContextManager {
 		 * @param classLoader ClassLoader
 		 * @return ContextScopes iterator, preserving the order defined using {@link ContextScope#getOrder()}
 		 */
-		public synchronized Iterable<ContextScope> getScopes(ClassLoader classLoader) {
-			ClassLoader cl = classLoader == null ? getDefaultClassLoader() : classLoader;
-
-			if (isUseClassLoaderHierarchy()) {
-
-				final Set<String> scopeNames = new HashSet<>();
-				final List<ContextScope> scopes = new LinkedList<>();
-
-				while (cl != null) {
-					getScopesForClassLoader(cl).forEach(scope -> {
-						if (!scopeNames.contains(scope.getName())) {
-							scopes.add(scope);
-						}
-					});
-
-					// get parent ClassLoader
-					try {
-						final ClassLoader currentClassLoader = cl;
-						cl = AccessController.doPrivileged(new PrivilegedAction<ClassLoader>() {
-
-							@Override
-							public ClassLoader run() {
-								return currentClassLoader.getParent();
-							}
-
-						});
-					} catch (Exception e) {
-						LOGGER.debug(() -> "Failed to obtain parent ClassLoader", e);
-					}
-				}
-
-				return scopes;
-
-			}
-
-			return getScopesForClassLoader(cl);
+		public Iterable<ContextScope> getScopes(ClassLoader classLoader) {
+			return getScopeChain(classLoader).scopeList;
 		}
 
 		/**
@@ -343,39 +343,111 @@ public final class ContextManager {
 		 * @param classLoader ClassLoader
 		 * @return ContextScope, or <code>null</code> if not registered
 		 */
-		public synchronized ContextScope getScope(String name, ClassLoader classLoader) {
+		public ContextScope getScope(String name, ClassLoader classLoader) {
 			ObjectUtils.argumentNotNull(name, "Scope name must be not null");
+			return getScopeChain(classLoader).scopesByName.get(name);
+		}
 
-			ClassLoader cl = classLoader == null ? getDefaultClassLoader() : classLoader;
+		/**
+		 * Gets the current {@link ScopeChain} snapshot for given <code>classLoader</code>, building it if not available
+		 * or no longer valid.
+		 * @param classLoader ClassLoader
+		 * @return The scope chain
+		 */
+		ScopeChain getScopeChain(ClassLoader classLoader) {
+			final ClassLoader cl = classLoader == null ? getDefaultClassLoader() : classLoader;
+			final int currentVersion = version;
+			// fast path
+			ScopeChain chain = lastChain;
+			if (chain != null && chain.version == currentVersion && chain.classLoader.get() == cl) {
+				return chain;
+			}
+			chain = findScopeChain(cl);
+			if (chain == null || chain.version != currentVersion) {
+				chain = buildScopeChain(cl);
+			}
+			if (lastChain != chain) {
+				lastChain = chain;
+			}
+			return chain;
+		}
 
-			ContextScope scope = null;
+		/**
+		 * Find the {@link ScopeChain} snapshot bound to given ClassLoader, comparing ClassLoaders by identity.
+		 * @param cl ClassLoader
+		 * @return The scope chain, <code>null</code> if none
+		 */
+		private ScopeChain findScopeChain(ClassLoader cl) {
+			for (ScopeChain chain : chains) {
+				if (chain.classLoader.get() == cl) {
+					return chain;
+				}
+			}
+			return null;
+		}
 
-			while (cl != null) {
-				scope = getScopeForClassLoader(name, cl);
-				if (scope != null) {
-					break;
+		/**
+		 * Build and register the {@link ScopeChain} snapshot for given ClassLoader.
+		 * @param cl ClassLoader
+		 * @return The scope chain
+		 */
+		private synchronized ScopeChain buildScopeChain(ClassLoader cl) {
+			final ScopeChain existing = findScopeChain(cl);
+			if (existing != null && existing.version == version) {
+				return existing;
+			}
+
+			final LinkedHashMap<String, ContextScope> chainScopes = new LinkedHashMap<>();
+			ClassLoader current = cl;
+			while (current != null) {
+				for (ContextScope scope : getScopesForClassLoader(current)) {
+					chainScopes.putIfAbsent(scope.getName(), scope);
 				}
-				if (isUseClassLoaderHierarchy()) {
-					// get parent ClassLoader
-					try {
-						final ClassLoader currentClassLoader = cl;
-						cl = AccessController.doPrivileged(new PrivilegedAction<ClassLoader>() {
+				current = isUseClassLoaderHierarchy() ? getParent(current) : null;
+			}
 
-							@Override
-							public ClassLoader run() {
-								return currentClassLoader.getParent();
-							}
+			final ScopeChain chain = new ScopeChain(cl, version, chainScopes);
 
-						});
-					} catch (Exception e) {
-						LOGGER.debug(() -> "Failed to obtain parent ClassLoader", e);
-					}
-				} else {
-					cl = null;
+			// replace the ClassLoader snapshot, discarding the ones bound to garbage collected ClassLoaders
+			final List<ScopeChain> snapshots = new ArrayList<>(chains.length + 1);
+			for (ScopeChain snapshot : chains) {
+				final ClassLoader snapshotClassLoader = snapshot.classLoader.get();
+				if (snapshotClassLoader != null && snapshotClassLoader != cl) {
+					snapshots.add(snapshot);
 				}
 			}
+			snapshots.add(chain);
+			chains = snapshots.toArray(new ScopeChain[snapshots.size()]);
+			return chain;
+		}
+
+		/**
+		 * Invalidate all the scope chain snapshots.
+		 */
+		private void invalidate() {
+			version++;
+			lastChain = null;
+		}
 
-			return scope;
+		/**
+		 * Get the parent of given ClassLoader.
+		 * @param cl The ClassLoader
+		 * @return The parent ClassLoader, <code>null</code> if none or not available
+		 */
+		private static ClassLoader getParent(final ClassLoader cl) {
+			try {
+				return AccessController.doPrivileged(new PrivilegedAction<ClassLoader>() {
+
+					@Override
+					public ClassLoader run() {
+						return cl.getParent();
+					}
+
+				});
+			} catch (Exception e) {
+				LOGGER.debug(() -> "Failed to obtain parent ClassLoader", e);
+				return null;
+			}
 		}
 
 		/**
@@ -394,21 +466,6 @@ public final class ContextManager {
 			return Collections.emptyList();
 		}
 
-		/**
-		 * Get the context scope with given <code>name</code> registered with given ClassLoader, ensuring scopes are
-		 * inited using service loaders.
-		 * @param name Scope name
-		 * @param cl The ClassLoader
-		 * @return The {@link ContextScope} with given name, or <code>null</code> if not found
-		 */
-		private ContextScope getScopeForClassLoader(String name, ClassLoader cl) {
-			if (cl != null) {
-				LinkedHashMap<String, ContextScope> contextScopes = ensureInited(cl);
-				return contextScopes.get(name);
-			}
-			return null;
-		}
-
 		/**
 		 * Ensure scopes registry inited using {@link ServiceLoader}
 		 * @param classLoader ClassLoader
@@ -462,4 +519,30 @@ public final class ContextManager {
 
 	}
 
+	/**
+	 * Immutable snapshot of the ordered {@link ContextScope} chain available for a ClassLoader.
+	 */
+	private static final class ScopeChain {
+
+		final WeakReference<ClassLoader> classLoader;
+
+		final int version;
+
+		final ContextScope[] scopes;
+
+		final List<ContextScope> scopeList;
+
+		final Map<String, ContextScope> scopesByName;
+
+		ScopeChain(ClassLoader classLoader, int version, LinkedHashMap<String, ContextScope> scopes) {
+			super();
+			this.classLoader = new WeakReference<>(classLoader);
+			this.version = version;
+			this.scopes = scopes.values().toArray(new ContextScope[scopes.size()]);
+			this.scopeList = Collections.unmodifiableList(Arrays.asList(this.scopes));
+			this.scopesByName = new HashMap<>(scopes);
+		}
+
+	}
+
 }
@@ -44,7 +44,7 @@ public enum DefaultContext implements Context {
 	 */
 	@Override
 	public <T> Optional<T> resource(String resourceKey, Class<T> resourceType, ClassLoader classLoader) {
-		for (ContextScope scope : ContextManager.getScopes(classLoader)) {
+		for (ContextScope scope : ContextManager.getScopeChain(classLoader)) {
 			Optional<T> value = scope.get(resourceKey, resourceType);
 			if (value.isPresent()) {
 				return value;
@@ -15,13 +15,13 @@
  */
 package com.holonplatform.core.internal;
 
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
-import java.util.WeakHashMap;
-import java.util.stream.Collectors;
 
 import javax.annotation.Priority;
 
@@ -30,10 +30,17 @@ import com.holonplatform.core.Expression.InvalidExpressionException;
 import com.holonplatform.core.ExpressionResolver;
 import com.holonplatform.core.ExpressionResolver.ResolutionContext;
 import com.holonplatform.core.ExpressionResolverRegistry;
+import com.holonplatform.core.internal.Logger.Level;
 import com.holonplatform.core.internal.utils.ObjectUtils;
 
 /**
  * Default {@link ExpressionResolverRegistry} implementation.
+ * <p>
+ * The suitable resolvers for each expression type and resolution type pair are collected in a dispatch table, which is
+ * safe for concurrent use, weakly bound to the expression and resolution type classes and replaced atomically when a
+ * resolver is added or removed. The registry can be {@link #freeze() frozen} once configured, preventing any further
+ * modification.
+ * </p>
  *
  * @since 5.0.0
  */
@@ -48,9 +55,9 @@ public class DefaultExpressionResolverRegistry implements ExpressionResolverRegi
 	private static final Logger LOGGER = CoreLogger.create();
 
 	/**
-	 * Expression resolvers cache
+	 * Empty resolvers array
 	 */
-	private final WeakHashMap<Class<?>, WeakHashMap<Class<?>, List<ExpressionResolver>>> cache;
+	private static final ExpressionResolver[] NO_RESOLVERS = new ExpressionResolver[0];
 
 	/**
 	 * {@link ExpressionResolver} comparator using {@link Priority} annotation.
@@ -60,9 +67,24 @@ public class DefaultExpressionResolverRegistry implements ExpressionResolverRegi
 					: ExpressionResolver.DEFAULT_PRIORITY);
 
 	/**
-	 * Registered resolvers.
+	 * Whether the dispatch table cache is enabled
 	 */
-	private final List<ExpressionResolver> resolvers = new ArrayList<>();
+	private final boolean cacheEnabled;
+
+	/**
+	 * Registered resolvers, in registration order.
+	 */
+	private volatile ExpressionResolver[] resolvers = NO_RESOLVERS;
+
+	/**
+	 * Current dispatch table
+	 */
+	private transient volatile DispatchTable dispatchTable;
+
+	/**
+	 * Whether the registry is frozen
+	 */
+	private volatile boolean frozen = false;
 
 	/**
 	 * Contructor with cache enabled by default.
@@ -77,7 +99,7 @@ public class DefaultExpressionResolverRegistry implements ExpressionResolverRegi
 	 */
 	public DefaultExpressionResolverRegistry(boolean cacheEnabled) {
 		super();
-		cache = cacheEnabled ? new WeakHashMap<>() : null;
+		this.cacheEnabled = cacheEnabled;
 	}
 
 	/*
@@ -86,10 +108,15 @@ public class DefaultExpressionResolverRegistry implements ExpressionResolverRegi
 	 * ExpressionResolver)
 	 */
 	@Override
-	public <E extends Expression, R extends Expression> void addExpressionResolver(
+	public synchronized <E extends Expression, R extends Expression> void addExpressionResolver(
 			ExpressionResolver<E, R> expressionResolver) {
 		ObjectUtils.argumentNotNull(expressionResolver, "ExpressionResolver to add must be not null");
-		resolvers.add(expressionResolver);
+		checkNotFrozen();
+		final ExpressionResolver[] current = resolvers;
+		final ExpressionResolver[] updated = Arrays.copyOf(current, current.length + 1);
+		updated[current.length] = expressionResolver;
+		resolvers = updated;
+		dispatchTable = null;
 		LOGGER.debug(() -> "Added ExpressionResolver [" + expressionResolver + "] to registry [" + this + "]");
 	}
 
@@ -99,10 +126,21 @@ public class DefaultExpressionResolverRegistry implements ExpressionResolverRegi
 	 * ExpressionResolver)
 	 */
 	@Override
-	public <E extends Expression, R extends Expression> void removeExpressionResolver(
+	public synchronized <E extends Expression, R extends Expression> void removeExpressionResolver(
 			ExpressionResolver<E, R> expressionResolver) {
 		ObjectUtils.argumentNotNull(expressionResolver, "ExpressionResolver to remove must be not null");
-		resolvers.remove(expressionResolver);
+		checkNotFrozen();
+		final ExpressionResolver[] current = resolvers;
+		for (int i = 0; i < current.length; i++) {
+			if (expressionResolver.equals(current[i])) {
+				final ExpressionResolver[] updated = new ExpressionResolver[current.length - 1];
+				System.arraycopy(current, 0, updated, 0, i);
+				System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+				resolvers = updated;
+				dispatchTable = null;
+				break;
+			}
+		}
 		LOGGER.debug(() -> "Removed ExpressionResolver [" + expressionResolver + "] from registry [" + this + "]");
 	}
 
@@ -112,7 +150,26 @@ public class DefaultExpressionResolverRegistry implements ExpressionResolverRegi
 	 */
 	@Override
 	public Iterable<ExpressionResolver> getExpressionResolvers() {
-		return Collections.unmodifiableList(resolvers);
+		return Collections.unmodifiableList(Arrays.asList(resolvers));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.ExpressionResolverRegistry#freeze()
+	 */
+	@Override
+	public void freeze() {
+		frozen = true;
+		LOGGER.debug(() -> "Registry [" + this + "] frozen");
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.ExpressionResolverRegistry#isFrozen()
+	 */
+	@Override
+	public boolean isFrozen() {
+		return frozen;
 	}
 
 	/*
@@ -121,78 +178,196 @@ public class DefaultExpressionResolverRegistry implements ExpressionResolverRegi
 	 * com.holonplatform.core.ExpressionResolver.ExpressionResolverHandler#resolve(com.holonplatform.core.Expression,
 	 * java.lang.Class, com.holonplatform.core.ExpressionResolver.ResolutionContext)
 	 */
+	@SuppressWarnings("unchecked")
 	@Override
 	public <E extends Expression, R extends Expression> Optional<R> resolve(final E expression,
 			final Class<R> resolutionType, ResolutionContext context) throws InvalidExpressionException {
 		ObjectUtils.argumentNotNull(expression, "Expression to resolve must be not null");
 		ObjectUtils.argumentNotNull(resolutionType, "Resolution type must be not null");
 
-		LOGGER.debug(() -> "Resolving expression [" + expression + "] for type [" + resolutionType + "] using context ["
-				+ context + "]...");
+		final boolean debug = LOGGER.isEnabled(Level.DEBUG);
+
+		if (debug) {
+			LOGGER.log(Level.DEBUG, "Resolving expression [" + expression + "] for type [" + resolutionType
+					+ "] using context [" + context + "]...");
+		}
 
-		final Optional<R> resolved = resolveExpression(
-				getResolversForExpressionType(expression.getClass(), resolutionType), expression, context);
+		final ExpressionResolver[] typeConsistentResolvers = getResolversForExpressionType(expression.getClass(),
+				resolutionType);
 
-		LOGGER.debug(() -> "Expression [" + expression + "] for type [" + resolutionType + "] "
-				+ (resolved.isPresent() ? " was resolved into [" + resolved.get() + "]" : "was not resolved"));
+		// validate
+		expression.validate();
+
+		Optional<R> resolved = Optional.empty();
+		for (ExpressionResolver resolver : typeConsistentResolvers) {
+			resolved = resolver.resolve(expression, context);
+			if (resolved.isPresent()) {
+				if (debug) {
+					LOGGER.log(Level.DEBUG, "Expression [" + expression + "] was resolved by [" + resolver + "]");
+				}
+				break;
+			}
+		}
+
+		if (debug) {
+			LOGGER.log(Level.DEBUG, "Expression [" + expression + "] for type [" + resolutionType + "] "
+					+ (resolved.isPresent() ? " was resolved into [" + resolved.get() + "]" : "was not resolved"));
+		}
 
 		return resolved;
 	}
 
 	/**
-	 * Get a priority-ordered list of the suitable {@link ExpressionResolver} for given expression and resolution type.
+	 * Get a priority-ordered array of the suitable {@link ExpressionResolver} for given expression and resolution
+	 * type.
 	 * @param expressionType Expression type
 	 * @param resolvedType Resolution type
-	 * @return Expression resolvers list, empty if none
+	 * @return Expression resolvers array, empty if none
 	 */
-	@SuppressWarnings("unchecked")
-	private List<ExpressionResolver> getResolversForExpressionType(Class<?> expressionType, Class<?> resolvedType) {
+	private ExpressionResolver[] getResolversForExpressionType(Class<?> expressionType, Class<?> resolvedType) {
+		if (!cacheEnabled) {
+			return collectResolvers(resolvers, expressionType, resolvedType);
+		}
+		DispatchTable table = dispatchTable;
+		if (table == null) {
+			table = getOrCreateDispatchTable();
+		}
+		return table.get(expressionType, resolvedType);
+	}
 
-		// check cache
-		if (cache != null && cache.containsKey(expressionType) && cache.get(expressionType).containsKey(resolvedType)) {
-			return cache.get(expressionType).get(resolvedType);
+	/**
+	 * Get the current dispatch table, creating it if not available.
+	 * @return The dispatch table
+	 */
+	private synchronized DispatchTable getOrCreateDispatchTable() {
+		DispatchTable table = dispatchTable;
+		if (table == null) {
+			table = new DispatchTable(resolvers);
+			dispatchTable = table;
 		}
+		return table;
+	}
 
-		List<ExpressionResolver> expressionResolvers = resolvers.stream().filter(
-				r -> r.getExpressionType().isAssignableFrom(expressionType) && r.getResolvedType() == resolvedType)
-				.sorted(PRIORITY_COMPARATOR).collect(Collectors.toList());
+	/**
+	 * Check this registry is not frozen.
+	 * @throws IllegalStateException If the registry is frozen
+	 */
+	private void checkNotFrozen() {
+		if (frozen) {
+			throw new IllegalStateException("The expression resolver registry [" + this + "] is frozen");
+		}
+	}
+
+	/**
+	 * Collect the suitable resolvers for given expression and resolution type, ordered by priority.
+	 * @param resolvers Available resolvers, in registration order
+	 * @param expressionType Expression type
+	 * @param resolvedType Resolution type
+	 * @return Expression resolvers array, empty if none
+	 */
+	private static ExpressionResolver[] collectResolvers(ExpressionResolver[] resolvers, Class<?> expressionType,
+			Class<?> resolvedType) {
+		return Arrays.stream(resolvers).filter(r -> isSuitable(r, expressionType, resolvedType))
+				.sorted(PRIORITY_COMPARATOR).toArray(ExpressionResolver[]::new);
+	}
+
+	/**
+	 * Check whether given resolver is suitable for given expression and resolution type.
+	 * @param resolver The resolver
+	 * @param expressionType Expression type
+	 * @param resolvedType Resolution type
+	 * @return <code>true</code> if the resolver is suitable
+	 */
+	private static boolean isSuitable(ExpressionResolver<?, ?> resolver, Class<?> expressionType,
+			Class<?> resolvedType) {
+		return resolver.getExpressionType().isAssignableFrom(expressionType)
+				&& resolver.getResolvedType() == resolvedType;
+	}
+
+	/**
+	 * Immutable view of the registered resolvers, which lazily collects and caches the suitable resolvers for each
+	 * expression type and resolution type pair.
+	 * <p>
+	 * The cache is bound to the expression type classes through a {@link ClassValue}, and the resolution types are
+	 * weakly referenced, so the table never prevents a class from being unloaded.
+	 * </p>
+	 */
+	private static final class DispatchTable {
+
+		private final ExpressionResolver[] resolvers;
+
+		private final ClassValue<ResolvedTypes> table = new ClassValue<ResolvedTypes>() {
+
+			@Override
+			protected ResolvedTypes computeValue(Class<?> type) {
+				return new ResolvedTypes();
+			}
 
-		// cache resolvers
-		if (cache != null) {
-			cache.computeIfAbsent(expressionType, k -> new WeakHashMap<>()).put(resolvedType, expressionResolvers);
+		};
+
+		DispatchTable(ExpressionResolver[] resolvers) {
+			super();
+			this.resolvers = resolvers;
+		}
+
+		ExpressionResolver[] get(Class<?> expressionType, Class<?> resolvedType) {
+			final ResolvedTypes resolvedTypes = table.get(expressionType);
+			ExpressionResolver[] expressionResolvers = resolvedTypes.get(resolvedType);
+			if (expressionResolvers == null) {
+				expressionResolvers = collectResolvers(resolvers, expressionType, resolvedType);
+				resolvedTypes.put(resolvedType, expressionResolvers);
+			}
+			return expressionResolvers;
 		}
 
-		return expressionResolvers;
 	}
 
 	/**
-	 * Resolve given expression using provided expression resolvers.
-	 * @param <R> Expresion result type
-	 * @param typeConsistentResolvers Expression resolvers to use
-	 * @param expression Expression to resolve
-	 * @param context Resolution context
-	 * @return Optional resolution result
-	 * @throws InvalidExpressionException If expression validation failed
+	 * Copy-on-write list of the suitable resolvers for an expression type, by weakly referenced resolution type.
+	 * <p>
+	 * The number of resolution types requested for an expression type is usually very small, so a linear scan is used.
+	 * </p>
 	 */
-	@SuppressWarnings("unchecked")
-	private static <R extends Expression> Optional<R> resolveExpression(
-			List<ExpressionResolver> typeConsistentResolvers, final Expression expression, ResolutionContext context)
-			throws InvalidExpressionException {
+	private static final class ResolvedTypes {
 
-		// validate
-		expression.validate();
+		private volatile ResolvedType[] entries = new ResolvedType[0];
 
-		Optional<R> resolved = Optional.empty();
+		ExpressionResolver[] get(Class<?> resolvedType) {
+			for (ResolvedType entry : entries) {
+				if (entry.type.get() == resolvedType) {
+					return entry.resolvers;
+				}
+			}
+			return null;
+		}
 
-		for (ExpressionResolver resolver : typeConsistentResolvers) {
-			resolved = resolver.resolve(expression, context);
-			if (resolved.isPresent()) {
-				LOGGER.debug(() -> "Expression [" + expression + "] was resolved by [" + resolver + "]");
-				break;
+		synchronized void put(Class<?> resolvedType, ExpressionResolver[] resolvers) {
+			final List<ResolvedType> updated = new ArrayList<>(entries.length + 1);
+			for (ResolvedType entry : entries) {
+				final Class<?> type = entry.type.get();
+				// skip collected types
+				if (type != null && type != resolvedType) {
+					updated.add(entry);
+				}
 			}
+			updated.add(new ResolvedType(resolvedType, resolvers));
+			entries = updated.toArray(new ResolvedType[updated.size()]);
+		}
+
+	}
+
+	private static final class ResolvedType {
+
+		final WeakReference<Class<?>> type;
+
+		final ExpressionResolver[] resolvers;
+
+		ResolvedType(Class<?> type, ExpressionResolver[] resolvers) {
+			super();
+			this.type = new WeakReference<>(type);
+			this.resolvers = resolvers;
 		}
 
-		return resolved;
 	}
 
 }
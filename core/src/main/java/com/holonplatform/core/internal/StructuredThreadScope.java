@@ -0,0 +1,280 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal;
+
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+
+import com.holonplatform.core.Context;
+import com.holonplatform.core.ContextScope;
+import com.holonplatform.core.StructuredContextScope;
+import com.holonplatform.core.exceptions.TypeMismatchException;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.core.internal.utils.TypeUtils;
+
+/**
+ * A {@link StructuredContextScope} to handle Thread-bound context resources, which can be used in place of the default
+ * {@link ThreadScope}, registering it using the {@link Context#THREAD_SCOPE_NAME} name through
+ * {@link ContextManager#registerScope(ClassLoader, ContextScope)}.
+ * <p>
+ * Resources are stored as an immutable chain of bindings in a plain (not inheritable) {@link ThreadLocal}, so binding
+ * one or two resources does not allocate any map and no resource is copied to child threads. The bindings performed
+ * through the <code>execute</code> methods are released when the operation ends, restoring the previous bindings and
+ * clearing the {@link ThreadLocal} when no binding is left, so pooled threads do not leak resources.
+ * </p>
+ * <p>
+ * The unstructured {@link #put(String, Object)}, {@link #putIfAbsent(String, Object)} and {@link #remove(String)}
+ * operations are supported too: resources bound this way within an <code>execute</code> operation are released when
+ * the operation ends.
+ * </p>
+ *
+ * @since 5.2.2
+ */
+public final class StructuredThreadScope implements StructuredContextScope {
+
+	/**
+	 * Logger
+	 */
+	private static final Logger LOGGER = CoreLogger.create();
+
+	/**
+	 * Resource bindings
+	 */
+	private final ThreadLocal<Binding> bindings = new ThreadLocal<>();
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.ContextScope#getName()
+	 */
+	@Override
+	public String getName() {
+		return Context.THREAD_SCOPE_NAME;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.ContextScope#getOrder()
+	 */
+	@Override
+	public int getOrder() {
+		return ThreadScope.DEFAULT_ORDER;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.ContextScope#get(java.lang.String, java.lang.Class)
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> Optional<T> get(String resourceKey, Class<T> resourceType) throws TypeMismatchException {
+		ObjectUtils.argumentNotNull(resourceKey, "Resource key must be not null");
+		ObjectUtils.argumentNotNull(resourceType, "Resource type must be not null");
+		final Binding binding = Binding.find(bindings.get(), resourceKey);
+		if (binding == null) {
+			return Optional.empty();
+		}
+		if (!TypeUtils.isAssignable(binding.value.getClass(), resourceType)) {
+			throw new TypeMismatchException("<" + getName() + "> Actual resource type ["
+					+ binding.value.getClass().getName() + "] and required resource type [" + resourceType.getName()
+					+ "] mismatch");
+		}
+		return Optional.of((T) binding.value);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.ContextScope#put(java.lang.String, java.lang.Object)
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> Optional<T> put(String resourceKey, T value) throws UnsupportedOperationException {
+		ObjectUtils.argumentNotNull(resourceKey, "Resource key must be not null");
+		final Binding current = bindings.get();
+		final Binding previous = Binding.find(current, resourceKey);
+		final Binding updated = Binding.without(current, resourceKey);
+		set((value != null) ? new Binding(resourceKey, value, updated) : updated);
+		LOGGER.debug(() -> "Put resource with key [" + resourceKey + "]: [" + value + "]");
+		return (previous != null) ? Optional.of((T) previous.value) : Optional.empty();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.ContextScope#putIfAbsent(java.lang.String, java.lang.Object)
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> Optional<T> putIfAbsent(String resourceKey, T value) throws UnsupportedOperationException {
+		ObjectUtils.argumentNotNull(resourceKey, "Resource key must be not null");
+		final Binding current = bindings.get();
+		final Binding previous = Binding.find(current, resourceKey);
+		if (previous != null) {
+			return Optional.of((T) previous.value);
+		}
+		if (value != null) {
+			set(new Binding(resourceKey, value, current));
+			LOGGER.debug(() -> "Put resource if absent with key [" + resourceKey + "]: [" + value + "]");
+		}
+		return Optional.empty();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.ContextScope#remove(java.lang.String)
+	 */
+	@Override
+	public boolean remove(String resourceKey) throws UnsupportedOperationException {
+		ObjectUtils.argumentNotNull(resourceKey, "Resource key must be not null");
+		final Binding current = bindings.get();
+		if (Binding.find(current, resourceKey) == null) {
+			return false;
+		}
+		set(Binding.without(current, resourceKey));
+		LOGGER.debug(() -> "Removed resource with key [" + resourceKey + "]");
+		return true;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.StructuredContextScope#execute(java.lang.String, java.lang.Object,
+	 * java.util.concurrent.Callable)
+	 */
+	@Override
+	public <V> V execute(String resourceKey, Object resource, Callable<V> operation) throws Exception {
+		ObjectUtils.argumentNotNull(resourceKey, "Resource key must be not null");
+		ObjectUtils.argumentNotNull(resource, "Resource value must be not null");
+		final Binding previous = bindings.get();
+		return execute(previous, new Binding(resourceKey, resource, previous), operation);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.StructuredContextScope#execute(java.lang.String, java.lang.Object,
+	 * java.lang.String, java.lang.Object, java.util.concurrent.Callable)
+	 */
+	@Override
+	public <V> V execute(String resourceKey1, Object resource1, String resourceKey2, Object resource2,
+			Callable<V> operation) throws Exception {
+		ObjectUtils.argumentNotNull(resourceKey1, "Resource key must be not null");
+		ObjectUtils.argumentNotNull(resource1, "Resource value must be not null");
+		ObjectUtils.argumentNotNull(resourceKey2, "Resource key must be not null");
+		ObjectUtils.argumentNotNull(resource2, "Resource value must be not null");
+		final Binding previous = bindings.get();
+		return execute(previous,
+				new Binding(resourceKey2, resource2, new Binding(resourceKey1, resource1, previous)), operation);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.StructuredContextScope#execute(java.util.Map, java.util.concurrent.Callable)
+	 */
+	@Override
+	public <V> V execute(Map<String, ?> resources, Callable<V> operation) throws Exception {
+		ObjectUtils.argumentNotNull(resources, "Resources must be not null");
+		final Binding previous = bindings.get();
+		Binding binding = previous;
+		for (Entry<String, ?> entry : resources.entrySet()) {
+			ObjectUtils.argumentNotNull(entry.getKey(), "Resource key must be not null");
+			ObjectUtils.argumentNotNull(entry.getValue(), "Resource value must be not null");
+			binding = new Binding(entry.getKey(), entry.getValue(), binding);
+		}
+		return execute(previous, binding, operation);
+	}
+
+	/**
+	 * Execute given operation using given bindings, restoring the previous bindings when the operation ends.
+	 * @param previous Previous bindings
+	 * @param binding Bindings to use
+	 * @param operation Operation to execute
+	 * @return Operation result
+	 * @throws Exception Operation exception
+	 */
+	private <V> V execute(Binding previous, Binding binding, Callable<V> operation) throws Exception {
+		ObjectUtils.argumentNotNull(operation, "Operation must be not null");
+		bindings.set(binding);
+		try {
+			return operation.call();
+		} finally {
+			set(previous);
+		}
+	}
+
+	/**
+	 * Set the current bindings, removing the {@link ThreadLocal} value if <code>null</code>.
+	 * @param binding The bindings to set
+	 */
+	private void set(Binding binding) {
+		if (binding != null) {
+			bindings.set(binding);
+		} else {
+			bindings.remove();
+		}
+	}
+
+	/**
+	 * Immutable resource binding, linked to the enclosing bindings.
+	 */
+	private static final class Binding {
+
+		final String key;
+		final Object value;
+		final Binding parent;
+
+		Binding(String key, Object value, Binding parent) {
+			super();
+			this.key = key;
+			this.value = value;
+			this.parent = parent;
+		}
+
+		/**
+		 * Find the innermost binding with given key.
+		 * @param binding Bindings chain
+		 * @param key Resource key
+		 * @return The binding, <code>null</code> if not found
+		 */
+		static Binding find(Binding binding, String key) {
+			Binding current = binding;
+			while (current != null) {
+				if (key.equals(current.key)) {
+					return current;
+				}
+				current = current.parent;
+			}
+			return null;
+		}
+
+		/**
+		 * Get a bindings chain which does not contain the given resource key.
+		 * @param binding Bindings chain
+		 * @param key Resource key
+		 * @return The bindings chain without the given key
+		 */
+		static Binding without(Binding binding, String key) {
+			if (binding == null) {
+				return null;
+			}
+			final Binding parent = without(binding.parent, key);
+			if (key.equals(binding.key)) {
+				return parent;
+			}
+			return (parent == binding.parent) ? binding : new Binding(binding.key, binding.value, parent);
+		}
+
+	}
+
+}
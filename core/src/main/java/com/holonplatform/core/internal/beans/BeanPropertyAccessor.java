@@ -0,0 +1,509 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.beans;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import org.apache.commons.lang3.reflect.FieldUtils;
+
+import com.holonplatform.core.beans.BeanProperty;
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.core.property.Property.PropertyAccessException;
+import com.holonplatform.core.property.Property.PropertyReadException;
+import com.holonplatform.core.property.Property.PropertyWriteException;
+
+/**
+ * Resolved read and write accessors for a {@link BeanProperty}, including the precomputed property hierarchy.
+ * <p>
+ * Two accessor backends are supported: the <em>reflection</em> backend, which uses {@link Method#invoke(Object,
+ * Object...)} and reflective field access, and the <em>generated</em> backend, which uses {@link LambdaMetafactory}
+ * generated functions when the bean class is visible from this class ClassLoader, falling back to
+ * {@link MethodHandle}s otherwise.
+ * </p>
+ * 
+ * @since 5.2.2
+ */
+final class BeanPropertyAccessor {
+
+	/**
+	 * Logger
+	 */
+	private static final Logger LOGGER = BeanLogger.create();
+
+	/**
+	 * Lookup
+	 */
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+	/**
+	 * Bean property
+	 */
+	private final BeanProperty<?> property;
+
+	/**
+	 * Property hierarchy, starting from the root hierarchy property and ending with this accessor
+	 */
+	private final BeanPropertyAccessor[] hierarchy;
+
+	/**
+	 * Whether the generated backend is used
+	 */
+	private final boolean generated;
+
+	/**
+	 * Generated read function (may be null)
+	 */
+	private final Function<Object, Object> reader;
+
+	/**
+	 * Generated write function (may be null)
+	 */
+	private final BiConsumer<Object, Object> writer;
+
+	/**
+	 * Type of the value to write
+	 */
+	private final Class<?> writeType;
+
+	/**
+	 * Constructor.
+	 * @param property Bean property (not null)
+	 * @param generated Whether to use the generated accessors backend
+	 */
+	private BeanPropertyAccessor(BeanProperty<?> property, boolean generated) {
+		super();
+		ObjectUtils.argumentNotNull(property, "Property must be not null");
+		this.property = property;
+		this.generated = generated;
+		this.reader = generated ? generateReader(property) : null;
+		this.writer = generated ? generateWriter(property) : null;
+		this.writeType = property.getWriteMethod().<Class<?>> map(m -> m.getParameterTypes()[0])
+				.orElse(property.getField().<Class<?>> map(f -> f.getType()).orElse(null));
+		// hierarchy
+		final List<BeanPropertyAccessor> parents = new ArrayList<>(2);
+		BeanProperty<?> parent = property.getParentProperty().orElse(null);
+		while (parent != null) {
+			parents.add(0, new BeanPropertyAccessor(parent, generated));
+			parent = parent.getParentProperty().orElse(null);
+		}
+		this.hierarchy = new BeanPropertyAccessor[parents.size() + 1];
+		for (int i = 0; i < parents.size(); i++) {
+			this.hierarchy[i] = parents.get(i);
+		}
+		this.hierarchy[parents.size()] = this;
+	}
+
+	/**
+	 * Create a new {@link BeanPropertyAccessor} for given bean property.
+	 * @param property Bean property (not null)
+	 * @param generated <code>true</code> to use the generated accessors backend, <code>false</code> to use reflection
+	 * @return A new {@link BeanPropertyAccessor}
+	 */
+	static BeanPropertyAccessor create(BeanProperty<?> property, boolean generated) {
+		return new BeanPropertyAccessor(property, generated);
+	}
+
+	/**
+	 * Get the bean property.
+	 * @return the bean property
+	 */
+	BeanProperty<?> getProperty() {
+		return property;
+	}
+
+	/**
+	 * Get whether this accessor uses the generated accessors backend.
+	 * @return <code>true</code> if the generated accessors backend is used
+	 */
+	boolean isGenerated() {
+		return generated;
+	}
+
+	/**
+	 * Get the property hierarchy, starting from root hierarchy property and ending with this accessor.
+	 * @return the property hierarchy accessors
+	 */
+	BeanPropertyAccessor[] getHierarchy() {
+		return hierarchy;
+	}
+
+	/**
+	 * Read the property value from given instance (if not null), using the read method or the field, if available.
+	 * @param instance Instance to read from
+	 * @return Property value
+	 * @throws PropertyReadException If an error occurred
+	 */
+	Object read(Object instance) throws PropertyReadException {
+		if (instance == null) {
+			return null;
+		}
+		if (generated) {
+			if (reader == null) {
+				throw new PropertyReadException(property,
+						"No read method and no accessible field available to read property [" + property
+								+ "] on bean class [" + instance.getClass().getName() + "]");
+			}
+			try {
+				return reader.apply(instance);
+			} catch (PropertyAccessException e) {
+				throw e;
+			} catch (RuntimeException e) {
+				throw new PropertyReadException(property,
+						"Failed to read bean property [" + property + "] from instance [" + instance + "]", e);
+			}
+		}
+		return readValue(property, instance);
+	}
+
+	/**
+	 * Write the property value into given instance, using the write method or the field, if available.
+	 * @param instance Instance to write
+	 * @param value Value to write
+	 * @return Written value
+	 * @throws PropertyWriteException If an error occurred
+	 */
+	Object write(Object instance, Object value) throws PropertyWriteException {
+		if (generated) {
+			if (writer == null) {
+				throw new PropertyReadException(property,
+						"No write method and no accessible field available to write property [" + property
+								+ "] on bean class [" + instance.getClass().getName() + "]");
+			}
+			try {
+				writer.accept(instance, getValueToWrite(writeType, value));
+			} catch (PropertyAccessException e) {
+				throw e;
+			} catch (RuntimeException e) {
+				throw new PropertyWriteException(property,
+						"Cannot write property [" + property + "] value of type ["
+								+ ((value != null) ? value.getClass().getName() : "null") + "] on bean instance ["
+								+ instance + "]",
+						e);
+			}
+			return value;
+		}
+		return writeValue(property, value, instance);
+	}
+
+	// ------- Reflection backend
+
+	/**
+	 * Read the <code>property</code> value from given instance using reflection.
+	 * @param property Property to read
+	 * @param instance Instance to read from
+	 * @return Property value
+	 */
+	private static Object readValue(BeanProperty<?> property, Object instance) {
+		final Object value;
+
+		if (property.getReadMethod().isPresent()) {
+			try {
+				value = property.getReadMethod().get().invoke(instance);
+
+				LOGGER.debug(() -> "BeanPropertySet: read property [" + property + "] value [" + value
+						+ "] from instance [" + instance + "] using method [" + property.getReadMethod() + "]");
+
+			} catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
+				throw new PropertyReadException(property, "Failed to read bean property [" + property
+						+ "] from instance [" + instance + "] using method [" + property.getReadMethod() + "]", e);
+			}
+		} else {
+			Field field = property.getField()
+					.orElseThrow(() -> new PropertyReadException(property,
+							"No read method and no accessible field available to read property [" + property
+									+ "] on bean class [" + instance.getClass().getName() + "]"));
+			try {
+				value = FieldUtils.readField(field, instance, true);
+
+				LOGGER.debug(() -> "BeanPropertySet: read property [" + property + "] value [" + value
+						+ "] from instance [" + instance + "] using field [" + field + "]");
+
+			} catch (IllegalAccessException e) {
+				throw new PropertyReadException(property, "Failed to read bean property [" + property
+						+ "] from instance [" + instance + "] using field [" + field + "]", e);
+			}
+
+		}
+
+		return value;
+	}
+
+	/**
+	 * Write the <code>property</code> value into given instance using reflection.
+	 * @param property Property to write
+	 * @param value Value to write
+	 * @param instance Instance to write
+	 * @return Written value
+	 */
+	private static Object writeValue(BeanProperty<?> property, Object value, Object instance) {
+		if (property.getWriteMethod().isPresent()) {
+			try {
+				property.getWriteMethod().get().invoke(instance, new Object[] {
+						getValueToWrite(property.getWriteMethod().get().getParameterTypes()[0], value) });
+
+				LOGGER.debug(() -> "BeanPropertySet: written property [" + property + "] value [" + value
+						+ "] from instance [" + instance + "] using method [" + property.getWriteMethod() + "]");
+
+			} catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
+				throw new PropertyWriteException(property,
+						"Cannot write property [" + property + "] value of type ["
+								+ ((value != null) ? value.getClass().getName() : "null") + "] on bean instance ["
+								+ instance + "]",
+						e);
+			}
+		} else {
+			Field field = property.getField()
+					.orElseThrow(() -> new PropertyReadException(property,
+							"No write method and no accessible field available to write property [" + property
+									+ "] on bean class [" + instance.getClass().getName() + "]"));
+			try {
+				FieldUtils.writeField(field, instance, getValueToWrite(field.getType(), value), true);
+
+				LOGGER.debug(() -> "BeanPropertySet: read property [" + property + "] value [" + value
+						+ "] from instance [" + instance + "] using field [" + field + "]");
+
+			} catch (IllegalAccessException e) {
+				throw new PropertyWriteException(property, e);
+			}
+		}
+
+		return value;
+	}
+
+	/**
+	 * Get the value to write on bean property, converting <code>null</code> values to <code>false</code> or
+	 * <code>0</code> for primitive types.
+	 * @param valueType Value type
+	 * @param value Value to write
+	 * @return Actual value
+	 */
+	private static Object getValueToWrite(Class<?> valueType, Object value) {
+		if (value == null) {
+			// check primitive types
+			if (valueType != null && valueType.isPrimitive()) {
+				if (boolean.class == valueType) {
+					return false;
+				}
+				if (char.class == valueType) {
+					return Character.valueOf((char) 0);
+				}
+				return 0;
+			}
+		}
+		return value;
+	}
+
+	// ------- Generated backend
+
+	/**
+	 * Generate the read function for given property.
+	 * @param property Bean property
+	 * @return The read function, or <code>null</code> if the property is not readable
+	 */
+	private static Function<Object, Object> generateReader(BeanProperty<?> property) {
+		try {
+			if (property.getReadMethod().isPresent()) {
+				final Method method = property.getReadMethod().get();
+				final Function<Object, Object> lambda = generateLambdaReader(method);
+				if (lambda != null) {
+					return lambda;
+				}
+				method.setAccessible(true);
+				return handleReader(LOOKUP.unreflect(method));
+			}
+			if (property.getField().isPresent()) {
+				final Field field = property.getField().get();
+				field.setAccessible(true);
+				return handleReader(LOOKUP.unreflectGetter(field));
+			}
+			return null;
+		} catch (Exception e) {
+			LOGGER.debug(() -> "Failed to generate read accessor for property [" + property
+					+ "], falling back to reflection", e);
+			return instance -> readValue(property, instance);
+		}
+	}
+
+	/**
+	 * Generate the write function for given property.
+	 * @param property Bean property
+	 * @return The write function, or <code>null</code> if the property is not writable
+	 */
+	private static BiConsumer<Object, Object> generateWriter(BeanProperty<?> property) {
+		try {
+			if (property.getWriteMethod().isPresent()) {
+				final Method method = property.getWriteMethod().get();
+				final BiConsumer<Object, Object> lambda = generateLambdaWriter(method);
+				if (lambda != null) {
+					return lambda;
+				}
+				method.setAccessible(true);
+				return handleWriter(LOOKUP.unreflect(method));
+			}
+			if (property.getField().isPresent()) {
+				final Field field = property.getField().get();
+				if (Modifier.isFinal(field.getModifiers())) {
+					return (instance, value) -> writeValue(property, value, instance);
+				}
+				field.setAccessible(true);
+				return handleWriter(LOOKUP.unreflectSetter(field));
+			}
+			return null;
+		} catch (Exception e) {
+			LOGGER.debug(() -> "Failed to generate write accessor for property [" + property
+					+ "], falling back to reflection", e);
+			return (instance, value) -> writeValue(property, value, instance);
+		}
+	}
+
+	/**
+	 * Build a read function which invokes given getter {@link MethodHandle}.
+	 * @param handle Getter method handle
+	 * @return The read function
+	 */
+	private static Function<Object, Object> handleReader(MethodHandle handle) {
+		final MethodHandle mh = handle.asType(MethodType.methodType(Object.class, Object.class));
+		return instance -> {
+			try {
+				return mh.invokeExact(instance);
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable t) {
+				throw new IllegalStateException(t);
+			}
+		};
+	}
+
+	/**
+	 * Build a write function which invokes given setter {@link MethodHandle}.
+	 * @param handle Setter method handle
+	 * @return The write function
+	 */
+	private static BiConsumer<Object, Object> handleWriter(MethodHandle handle) {
+		final MethodHandle mh = handle.asType(MethodType.methodType(void.class, Object.class, Object.class));
+		return (instance, value) -> {
+			try {
+				mh.invokeExact(instance, value);
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable t) {
+				throw new IllegalStateException(t);
+			}
+		};
+	}
+
+	/**
+	 * Generate a {@link LambdaMetafactory} read function for given getter method, if the method is publicly accessible
+	 * and its declaring class is visible from this class ClassLoader.
+	 * @param method Getter method
+	 * @return The read function, or <code>null</code> if it cannot be generated
+	 * @throws Exception If an error occurred
+	 */
+	@SuppressWarnings("unchecked")
+	private static Function<Object, Object> generateLambdaReader(Method method) throws Exception {
+		if (!isLambdaAccessible(method)) {
+			return null;
+		}
+		final MethodHandle handle = LOOKUP.unreflect(method);
+		final Class<?> returnType = method.getReturnType().isPrimitive() ? wrap(method.getReturnType())
+				: method.getReturnType();
+		try {
+			final CallSite site = LambdaMetafactory.metafactory(LOOKUP, "apply", MethodType.methodType(Function.class),
+					MethodType.methodType(Object.class, Object.class), handle,
+					MethodType.methodType(returnType, method.getDeclaringClass()));
+			return (Function<Object, Object>) site.getTarget().invoke();
+		} catch (Exception e) {
+			throw e;
+		} catch (Throwable t) {
+			throw new IllegalStateException(t);
+		}
+	}
+
+	/**
+	 * Generate a {@link LambdaMetafactory} write function for given setter method, if the method is publicly
+	 * accessible, its declaring class is visible from this class ClassLoader and the parameter is not of primitive type.
+	 * @param method Setter method
+	 * @return The write function, or <code>null</code> if it cannot be generated
+	 * @throws Exception If an error occurred
+	 */
+	@SuppressWarnings("unchecked")
+	private static BiConsumer<Object, Object> generateLambdaWriter(Method method) throws Exception {
+		// primitive parameters are left to method handles, which support widening conversions
+		if (!isLambdaAccessible(method) || method.getParameterTypes()[0].isPrimitive()) {
+			return null;
+		}
+		final MethodHandle handle = LOOKUP.unreflect(method);
+		try {
+			final CallSite site = LambdaMetafactory.metafactory(LOOKUP, "accept",
+					MethodType.methodType(BiConsumer.class),
+					MethodType.methodType(void.class, Object.class, Object.class), handle,
+					MethodType.methodType(void.class, method.getDeclaringClass(), method.getParameterTypes()[0]));
+			return (BiConsumer<Object, Object>) site.getTarget().invoke();
+		} catch (Exception e) {
+			throw e;
+		} catch (Throwable t) {
+			throw new IllegalStateException(t);
+		}
+	}
+
+	/**
+	 * Checks whether a {@link LambdaMetafactory} function can be generated for given method.
+	 * @param method Method
+	 * @return <code>true</code> if the method is public, it is declared by a public class and the declaring class is
+	 *         visible from this class ClassLoader
+	 */
+	private static boolean isLambdaAccessible(Method method) {
+		if (!Modifier.isPublic(method.getModifiers()) || Modifier.isStatic(method.getModifiers())) {
+			return false;
+		}
+		Class<?> cls = method.getDeclaringClass();
+		while (cls != null) {
+			if (!Modifier.isPublic(cls.getModifiers())) {
+				return false;
+			}
+			cls = cls.getEnclosingClass();
+		}
+		try {
+			return Class.forName(method.getDeclaringClass().getName(), false,
+					BeanPropertyAccessor.class.getClassLoader()) == method.getDeclaringClass();
+		} catch (ClassNotFoundException | LinkageError e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Get the wrapper type of given primitive type.
+	 * @param type Primitive type
+	 * @return Wrapper type
+	 */
+	private static Class<?> wrap(Class<?> type) {
+		return MethodType.methodType(type).wrap().returnType();
+	}
+
+}
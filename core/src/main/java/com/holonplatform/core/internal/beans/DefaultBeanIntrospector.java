@@ -19,6 +19,9 @@ import java.beans.IntrospectionException;
 import java.beans.Introspector;
 import java.beans.PropertyDescriptor;
 import java.lang.annotation.Annotation;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Field;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
@@ -30,8 +33,13 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.ServiceLoader;
 import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 import javax.annotation.Priority;
 
@@ -61,7 +69,12 @@ import com.holonplatform.core.property.PropertyBox;
  * 
  * <p>
  * Cache is supported and active by default. Use {@link BeanConfigProperties#BEAN_INTROSPECTOR_CACHE_ENABLED} to disable
- * cache in the case of memory consumption issues.
+ * cache in the case of memory consumption issues, or {@link BeanConfigProperties#BEAN_INTROSPECTOR_CACHE_MAX_SIZE} to
+ * bound the cache size.
+ * </p>
+ * <p>
+ * The cache does not rely on a global lock: each bean class is introspected only once, and concurrent requests for
+ * different bean classes do not block each other.
  * </p>
  * 
  * @since 5.0.0
@@ -142,34 +155,54 @@ public class DefaultBeanIntrospector implements BeanIntrospector {
 	 */
 	private static boolean CACHE_ENABLED = true;
 
+	/**
+	 * Default cache maximum size
+	 */
+	private static int CACHE_MAX_SIZE = 0;
+
 	static {
 		try {
-			CACHE_ENABLED = BeanConfigProperties.builder().withDefaultPropertySources().build()
-					.isBeanIntrospectorCacheEnabled();
-			LOGGER.debug(() -> "Cache enabled: " + CACHE_ENABLED);
+			final BeanConfigProperties configuration = BeanConfigProperties.builder().withDefaultPropertySources()
+					.build();
+			CACHE_ENABLED = configuration.isBeanIntrospectorCacheEnabled();
+			CACHE_MAX_SIZE = configuration.getBeanIntrospectorCacheMaxSize();
+			LOGGER.debug(() -> "Cache enabled: " + CACHE_ENABLED + " - max size: " + CACHE_MAX_SIZE);
 		} catch (Exception e) {
 			CACHE_ENABLED = true;
-			LOGGER.warn("Failed to read bean introspection cache enabled configuration property", e);
+			CACHE_MAX_SIZE = 0;
+			LOGGER.warn("Failed to read bean introspection cache configuration properties", e);
 		}
 	}
 
 	/**
 	 * Property set post processors
 	 */
-	private final List<BeanPropertySetPostProcessor> propertySetPostProcessors = new LinkedList<>();
+	private final List<BeanPropertySetPostProcessor> propertySetPostProcessors = new CopyOnWriteArrayList<>();
 
 	/**
 	 * Property post processors
 	 */
-	private final List<BeanPropertyPostProcessor> propertyPostProcessors = new LinkedList<>();
+	private final List<BeanPropertyPostProcessor> propertyPostProcessors = new CopyOnWriteArrayList<>();
 
 	/**
 	 * Constructor
 	 * @param classLoader ClassLoader to use
 	 */
 	public DefaultBeanIntrospector(ClassLoader classLoader) {
+		this(classLoader, CACHE_MAX_SIZE);
+	}
+
+	/**
+	 * Constructor
+	 * @param classLoader ClassLoader to use
+	 * @param cacheMaxSize Maximum number of cached bean property sets, <code>&lt;= 0</code> for unbounded
+	 * @since 5.2.2
+	 */
+	public DefaultBeanIntrospector(ClassLoader classLoader, int cacheMaxSize) {
 		super();
 		ObjectUtils.argumentNotNull(classLoader, "ClassLoader must be not null");
+		this.cacheMaxSize = cacheMaxSize;
+		this.cache = new IntrospectionCache(cacheMaxSize);
 		init(classLoader);
 	}
 
@@ -314,25 +347,49 @@ public class DefaultBeanIntrospector implements BeanIntrospector {
 	@Override
 	public boolean clearCache() {
 		LOGGER.debug(() -> "Clear cache");
-		synchronized (cache) {
-			cache.clear();
-		}
+		cache = new IntrospectionCache(cacheMaxSize);
 		return true;
 	}
 
 	/**
-	 * Get the current cache size
+	 * Get the current cache size.
+	 * <p>
+	 * When the cache is unbounded, the introspected bean classes are not tracked and the size is the number of bean
+	 * classes introspected since the last cache clear.
+	 * </p>
 	 * @return Cache size
 	 */
 	public int getCacheSize() {
-		return cache.size();
+		return cache.size.get();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.beans.BeanIntrospector#getCacheStatistics()
+	 */
+	@Override
+	public Optional<CacheStatistics> getCacheStatistics() {
+		return Optional.of(new DefaultBeanIntrospectorCacheStatistics(cacheHits.sum(), cacheMisses.sum(),
+				cacheEvictions.sum(), cacheLoadTime.sum(), getCacheSize()));
 	}
 
 	/**
-	 * Cache: bean class <-> BeanPropertyContext
+	 * Cache maximum size, <code>&lt;= 0</code> for unbounded
 	 */
-	@SuppressWarnings("rawtypes")
-	private final Map<Class<?>, BeanPropertySet> cache = new WeakHashMap<>(16, 0.9f);
+	private final int cacheMaxSize;
+
+	/**
+	 * Cache: bean class <-> BeanPropertySet
+	 */
+	private volatile IntrospectionCache cache;
+
+	/**
+	 * Cache statistics
+	 */
+	private final LongAdder cacheHits = new LongAdder();
+	private final LongAdder cacheMisses = new LongAdder();
+	private final LongAdder cacheEvictions = new LongAdder();
+	private final LongAdder cacheLoadTime = new LongAdder();
 
 	/*
 	 * (non-Javadoc)
@@ -388,11 +445,42 @@ public class DefaultBeanIntrospector implements BeanIntrospector {
 	public <T> BeanPropertySet<T> getPropertySet(Class<? extends T> beanClass) {
 		ObjectUtils.argumentNotNull(beanClass, "Bean class must be not null");
 		LOGGER.debug(() -> "Get BeanPropertySet for bean class [" + beanClass + "]");
-		synchronized (cache) {
-			if (CACHE_ENABLED && cache.containsKey(beanClass)) {
-				return cache.get(beanClass);
+		if (!CACHE_ENABLED) {
+			return loadBeanPropertySet(beanClass);
+		}
+		final IntrospectionCache currentCache = cache;
+		final CacheSlot slot = currentCache.slots.get(beanClass);
+		BeanPropertySet propertySet = slot.propertySet;
+		if (propertySet == null) {
+			// introspect once, locking only the bean class slot
+			boolean loaded = false;
+			synchronized (slot) {
+				propertySet = slot.propertySet;
+				if (propertySet == null) {
+					propertySet = loadBeanPropertySet(beanClass);
+					slot.propertySet = propertySet;
+					loaded = true;
+				}
 			}
+			if (loaded) {
+				// register outside the slot lock, since eviction locks the evicted bean class slots
+				currentCache.loaded(beanClass, cacheEvictions);
+				return propertySet;
+			}
+		}
+		cacheHits.increment();
+		return propertySet;
+	}
 
+	/**
+	 * Introspect given bean class and build the {@link BeanPropertySet}, updating the cache statistics.
+	 * @param beanClass Bean class to introspect
+	 * @return The bean class property set
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private <T> BeanPropertySet<T> loadBeanPropertySet(Class<? extends T> beanClass) {
+		final long start = System.nanoTime();
+		try {
 			// get bean path
 			final FinalPathBuilder<T> rootBeanPath = FinalPath.of(beanClass.getName(), beanClass);
 
@@ -401,11 +489,10 @@ public class DefaultBeanIntrospector implements BeanIntrospector {
 			// check data path
 			((BeanPropertySet<?>) beanPropertySet).getDataPath().ifPresent(dp -> rootBeanPath.dataPath(dp));
 
-			if (CACHE_ENABLED) {
-				BeanPropertySet existing = cache.putIfAbsent(beanClass, beanPropertySet);
-				return (existing != null ? existing : beanPropertySet);
-			}
 			return beanPropertySet;
+		} finally {
+			cacheMisses.increment();
+			cacheLoadTime.add(System.nanoTime() - start);
 		}
 	}
 
@@ -626,4 +713,118 @@ public class DefaultBeanIntrospector implements BeanIntrospector {
 
 	}
 
+	// ------- Cache
+
+	/**
+	 * Bean class cache slot, which holds the bean property set once the bean class has been introspected.
+	 */
+	@SuppressWarnings("rawtypes")
+	private static final class CacheSlot {
+
+		volatile BeanPropertySet propertySet;
+
+	}
+
+	/**
+	 * Introspection cache, which binds a {@link CacheSlot} to each bean class using a {@link ClassValue}, so no global
+	 * lock is required and bean classes are not strongly referenced by the cache.
+	 */
+	private static final class IntrospectionCache {
+
+		/**
+		 * Bean class slots
+		 */
+		final ClassValue<CacheSlot> slots = new ClassValue<CacheSlot>() {
+
+			@Override
+			protected CacheSlot computeValue(Class<?> type) {
+				return new CacheSlot();
+			}
+
+		};
+
+		/**
+		 * Introspected bean classes, in load order. Tracked only when the cache is bounded.
+		 */
+		final Queue<WeakReference<Class<?>>> loaded = new ConcurrentLinkedQueue<>();
+
+		/**
+		 * Queue of the tracked bean class references cleared by the garbage collector
+		 */
+		final ReferenceQueue<Class<?>> cleared = new ReferenceQueue<>();
+
+		/**
+		 * Cache size
+		 */
+		final AtomicInteger size = new AtomicInteger();
+
+		/**
+		 * Max size
+		 */
+		final int maxSize;
+
+		IntrospectionCache(int maxSize) {
+			super();
+			this.maxSize = maxSize;
+		}
+
+		/**
+		 * Register a loaded bean class, evicting the least recently introspected bean classes if the maximum size was
+		 * exceeded.
+		 * @param beanClass Loaded bean class
+		 * @param evictions Eviction counter
+		 */
+		void loaded(Class<?> beanClass, LongAdder evictions) {
+			if (maxSize <= 0) {
+				size.incrementAndGet();
+				return;
+			}
+			drainCleared();
+			loaded.add(new WeakReference<>(beanClass, cleared));
+			if (size.incrementAndGet() > maxSize) {
+				while (size.get() > maxSize) {
+					final WeakReference<Class<?>> eldest = loaded.poll();
+					if (eldest == null) {
+						break;
+					}
+					size.decrementAndGet();
+					final Class<?> evicted = eldest.get();
+					if (evicted != null && evict(evicted)) {
+						evictions.increment();
+						LOGGER.debug(() -> "Evicted bean class [" + evicted + "] from cache");
+					}
+				}
+			}
+		}
+
+		/**
+		 * Evict given bean class, clearing its slot under the slot lock, so a slot which is being populated by another
+		 * thread is never cleared half-way.
+		 * @param beanClass Bean class to evict
+		 * @return <code>true</code> if the bean class property set was cached and has been evicted
+		 */
+		private boolean evict(Class<?> beanClass) {
+			final CacheSlot slot = slots.get(beanClass);
+			synchronized (slot) {
+				if (slot.propertySet != null) {
+					slot.propertySet = null;
+					return true;
+				}
+			}
+			return false;
+		}
+
+		/**
+		 * Remove the bean class references cleared by the garbage collector from the tracked bean classes.
+		 */
+		private void drainCleared() {
+			Reference<? extends Class<?>> reference;
+			while ((reference = cleared.poll()) != null) {
+				if (loaded.remove(reference)) {
+					size.decrementAndGet();
+				}
+			}
+		}
+	}
+
 }
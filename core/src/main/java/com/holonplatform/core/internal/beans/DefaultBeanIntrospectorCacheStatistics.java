@@ -0,0 +1,106 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.beans;
+
+import com.holonplatform.core.beans.BeanIntrospector.CacheStatistics;
+
+/**
+ * Default {@link CacheStatistics} implementation.
+ *
+ * @since 5.2.2
+ */
+public class DefaultBeanIntrospectorCacheStatistics implements CacheStatistics {
+
+	private final long hitCount;
+	private final long missCount;
+	private final long evictionCount;
+	private final long totalLoadTime;
+	private final int size;
+
+	/**
+	 * Constructor.
+	 * @param hitCount Cache hit count
+	 * @param missCount Cache miss count
+	 * @param evictionCount Cache eviction count
+	 * @param totalLoadTime Total load time in nanoseconds
+	 * @param size Cache size
+	 */
+	public DefaultBeanIntrospectorCacheStatistics(long hitCount, long missCount, long evictionCount,
+			long totalLoadTime, int size) {
+		super();
+		this.hitCount = hitCount;
+		this.missCount = missCount;
+		this.evictionCount = evictionCount;
+		this.totalLoadTime = totalLoadTime;
+		this.size = size;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.beans.BeanIntrospector.CacheStatistics#getHitCount()
+	 */
+	@Override
+	public long getHitCount() {
+		return hitCount;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.beans.BeanIntrospector.CacheStatistics#getMissCount()
+	 */
+	@Override
+	public long getMissCount() {
+		return missCount;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.beans.BeanIntrospector.CacheStatistics#getEvictionCount()
+	 */
+	@Override
+	public long getEvictionCount() {
+		return evictionCount;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.beans.BeanIntrospector.CacheStatistics#getTotalLoadTime()
+	 */
+	@Override
+	public long getTotalLoadTime() {
+		return totalLoadTime;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.beans.BeanIntrospector.CacheStatistics#getSize()
+	 */
+	@Override
+	public int getSize() {
+		return size;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "CacheStatistics [hitCount=" + hitCount + ", missCount=" + missCount + ", evictionCount="
+				+ evictionCount + ", totalLoadTime=" + totalLoadTime + ", size=" + size + "]";
+	}
+
+}
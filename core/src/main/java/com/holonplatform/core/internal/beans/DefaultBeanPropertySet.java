@@ -16,19 +16,17 @@
 package com.holonplatform.core.internal.beans;
 
 import java.lang.ref.WeakReference;
-import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
-import org.apache.commons.lang3.reflect.FieldUtils;
-
 import com.holonplatform.core.ParameterSet;
 import com.holonplatform.core.Path;
+import com.holonplatform.core.beans.BeanConfigProperties;
 import com.holonplatform.core.beans.BeanProperty;
 import com.holonplatform.core.beans.BeanPropertySet;
 import com.holonplatform.core.exceptions.TypeMismatchException;
@@ -64,11 +62,26 @@ public class DefaultBeanPropertySet<T> extends DefaultPropertySet<PathProperty<?
 	 */
 	private static final Logger LOGGER = BeanLogger.create();
 
+	/**
+	 * Default generated accessors mode
+	 */
+	private static final boolean GENERATED_ACCESSORS_DEFAULT = readGeneratedAccessorsDefault();
+
 	/**
 	 * Bean class to which this property set refers
 	 */
 	private final WeakReference<Class<? extends T>> beanClass;
 
+	/**
+	 * Property name index
+	 */
+	private transient volatile NameIndex nameIndex;
+
+	/**
+	 * Generated accessors mode, lazily read from the property set configuration
+	 */
+	private transient volatile Boolean generatedAccessors;
+
 	/**
 	 * Constructor.
 	 * @param <P> Actual property type
@@ -104,7 +117,7 @@ public class DefaultBeanPropertySet<T> extends DefaultPropertySet<PathProperty<?
 	@Override
 	public boolean contains(String propertyName) {
 		ObjectUtils.argumentNotNull(propertyName, "Property name must be not null");
-		return stream().filter(p -> propertyName.equals(p.relativeName())).findAny().isPresent();
+		return getPropertyEntry(propertyName) != null;
 	}
 
 	/*
@@ -115,7 +128,7 @@ public class DefaultBeanPropertySet<T> extends DefaultPropertySet<PathProperty<?
 	@Override
 	public <PT> Optional<PathProperty<PT>> getProperty(String propertyName) {
 		ObjectUtils.argumentNotNull(propertyName, "Property name must be not null");
-		return stream().filter(p -> propertyName.equals(p.relativeName())).findFirst().map(p -> (PathProperty<PT>) p);
+		return findProperty(propertyName).map(p -> (PathProperty<PT>) p);
 	}
 
 	/*
@@ -126,7 +139,7 @@ public class DefaultBeanPropertySet<T> extends DefaultPropertySet<PathProperty<?
 	public <PT> Optional<PathProperty<PT>> getProperty(String propertyName, Class<PT> type) {
 		ObjectUtils.argumentNotNull(propertyName, "Property name must be not null");
 		ObjectUtils.argumentNotNull(type, "Property type must be not null");
-		return stream().filter(p -> propertyName.equals(p.relativeName())).findFirst()
+		return findProperty(propertyName)
 				.map(p -> checkPropertyType(p, type));
 	}
 
@@ -137,7 +150,7 @@ public class DefaultBeanPropertySet<T> extends DefaultPropertySet<PathProperty<?
 	@Override
 	public Optional<StringProperty> getPropertyString(String propertyName) {
 		ObjectUtils.argumentNotNull(propertyName, "Property name must be not null");
-		return stream().filter(p -> propertyName.equals(p.relativeName())).findFirst()
+		return findProperty(propertyName)
 				.map(p -> checkPathPropertyType(p, StringProperty.class));
 	}
 
@@ -148,7 +161,7 @@ public class DefaultBeanPropertySet<T> extends DefaultPropertySet<PathProperty<?
 	@Override
 	public Optional<BooleanProperty> getPropertyBoolean(String propertyName) {
 		ObjectUtils.argumentNotNull(propertyName, "Property name must be not null");
-		return stream().filter(p -> propertyName.equals(p.relativeName())).findFirst()
+		return findProperty(propertyName)
 				.map(p -> checkPathPropertyType(p, BooleanProperty.class));
 	}
 
@@ -160,7 +173,7 @@ public class DefaultBeanPropertySet<T> extends DefaultPropertySet<PathProperty<?
 	@Override
 	public <N extends Number> Optional<NumericProperty<N>> getPropertyNumeric(String propertyName) {
 		ObjectUtils.argumentNotNull(propertyName, "Property name must be not null");
-		return stream().filter(p -> propertyName.equals(p.relativeName())).findFirst()
+		return findProperty(propertyName)
 				.map(p -> checkPathPropertyType(p, NumericProperty.class));
 	}
 
@@ -173,7 +186,7 @@ public class DefaultBeanPropertySet<T> extends DefaultPropertySet<PathProperty<?
 	public <N extends Number> Optional<NumericProperty<N>> getPropertyNumeric(String propertyName, Class<N> type) {
 		ObjectUtils.argumentNotNull(propertyName, "Property name must be not null");
 		ObjectUtils.argumentNotNull(type, "Property type must be not null");
-		return stream().filter(p -> propertyName.equals(p.relativeName())).findFirst()
+		return findProperty(propertyName)
 				.map(p -> checkPropertyType(p, type)).map(p -> checkPathPropertyType(p, NumericProperty.class));
 	}
 
@@ -185,7 +198,7 @@ public class DefaultBeanPropertySet<T> extends DefaultPropertySet<PathProperty<?
 	@Override
 	public <X> Optional<TemporalProperty<X>> getPropertyTemporal(String propertyName) {
 		ObjectUtils.argumentNotNull(propertyName, "Property name must be not null");
-		return stream().filter(p -> propertyName.equals(p.relativeName())).findFirst()
+		return findProperty(propertyName)
 				.map(p -> checkPathPropertyType(p, TemporalProperty.class));
 	}
 
@@ -198,7 +211,7 @@ public class DefaultBeanPropertySet<T> extends DefaultPropertySet<PathProperty<?
 	public <X> Optional<TemporalProperty<X>> getPropertyTemporal(String propertyName, Class<X> type) {
 		ObjectUtils.argumentNotNull(propertyName, "Property name must be not null");
 		ObjectUtils.argumentNotNull(type, "Property type must be not null");
-		return stream().filter(p -> propertyName.equals(p.relativeName())).findFirst()
+		return findProperty(propertyName)
 				.map(p -> checkPropertyType(p, type)).map(p -> checkPathPropertyType(p, TemporalProperty.class));
 	}
 
@@ -305,8 +318,9 @@ public class DefaultBeanPropertySet<T> extends DefaultPropertySet<PathProperty<?
 		ObjectUtils.argumentNotNull(propertyName, "Property name must be not null");
 		ObjectUtils.argumentNotNull(instance, "Bean instance must be not null");
 
-		final BeanProperty<?> property = (BeanProperty<?>) property(propertyName);
-		final Object value = read(property, instance, null);
+		final PropertyEntry entry = requirePropertyEntry(propertyName);
+		final BeanProperty<?> property = entry.getBeanProperty();
+		final Object value = read(entry, instance, null);
 
 		// check type
 		if (value != null && !TypeUtils.isAssignable(value.getClass(), property.getType())) {
@@ -326,8 +340,7 @@ public class DefaultBeanPropertySet<T> extends DefaultPropertySet<PathProperty<?
 		ObjectUtils.argumentNotNull(path, "Path must be not null");
 		ObjectUtils.argumentNotNull(instance, "Bean instance must be not null");
 
-		final BeanProperty<?> property = (BeanProperty<?>) property(path.relativeName());
-		return read(property, instance, path.getType());
+		return read(requirePropertyEntry(path.relativeName()), instance, path.getType());
 	}
 
 	/*
@@ -339,8 +352,7 @@ public class DefaultBeanPropertySet<T> extends DefaultPropertySet<PathProperty<?
 		ObjectUtils.argumentNotNull(propertyName, "Property name must be not null");
 		ObjectUtils.argumentNotNull(instance, "Bean instance must be not null");
 
-		final BeanProperty<?> property = (BeanProperty<?>) property(propertyName);
-		write(property, null, value, instance);
+		write(requirePropertyEntry(propertyName), null, value, instance);
 	}
 
 	/*
@@ -353,8 +365,7 @@ public class DefaultBeanPropertySet<T> extends DefaultPropertySet<PathProperty<?
 		ObjectUtils.argumentNotNull(path, "Path must be not null");
 		ObjectUtils.argumentNotNull(instance, "Bean instance must be not null");
 
-		final BeanProperty<?> property = (BeanProperty<?>) property(path.relativeName());
-		write(property, path.getType(), value, instance);
+		write(requirePropertyEntry(path.relativeName()), path.getType(), value, instance);
 	}
 
 	/*
@@ -370,8 +381,10 @@ public class DefaultBeanPropertySet<T> extends DefaultPropertySet<PathProperty<?
 
 		propertyBox.stream().filter(p -> !p.isReadOnly()).filter(p -> Path.class.isAssignableFrom(p.getClass()))
 				.map(p -> (Path<?>) p).forEach(p -> {
-					getProperty(p, ignoreMissing).ifPresent(
-							bp -> propertyBox.setValue((Property) p, read(bp, instance, (Class<Object>) p.getType())));
+					final PropertyEntry entry = getPropertyEntry(p, ignoreMissing);
+					if (entry != null) {
+						propertyBox.setValue((Property) p, read(entry, instance, (Class<Object>) p.getType()));
+					}
 				});
 
 		return propertyBox;
@@ -390,7 +403,9 @@ public class DefaultBeanPropertySet<T> extends DefaultPropertySet<PathProperty<?
 
 		propertyBox.stream().filter(p -> !p.isReadOnly()).filter(p -> Path.class.isAssignableFrom(p.getClass()))
 				.map(p -> (Path<?>) p).forEach(p -> {
-					getProperty(p, ignoreMissing).ifPresent(bp -> {
+					final PropertyEntry entry = getPropertyEntry(p, ignoreMissing);
+					if (entry != null) {
+						final BeanProperty<?> bp = entry.getBeanProperty();
 						final Property<Object> property = ((Property) p);
 						final Object boxValue = propertyBox.getValue(property);
 						Object value = boxValue;
@@ -401,22 +416,25 @@ public class DefaultBeanPropertySet<T> extends DefaultPropertySet<PathProperty<?
 									.map(c -> ((PropertyValueConverter) c).toModel(boxValue, property))
 									.orElse(boxValue);
 						}
-						write(bp, p.getType(), value, instance);
-					});
+						write(entry, p.getType(), value, instance);
+					}
 				});
 
 		return instance;
 	}
 
 	@SuppressWarnings({ "unchecked", "rawtypes" })
-	private <V> V read(BeanProperty<?> property, T instance, Class<V> expectedType) {
-		ObjectUtils.argumentNotNull(property, "Property must be not null");
+	private <V> V read(PropertyEntry entry, T instance, Class<V> expectedType) {
+		ObjectUtils.argumentNotNull(entry, "Property must be not null");
 		ObjectUtils.argumentNotNull(instance, "Bean instance must be not null");
 
+		final BeanPropertyAccessor accessor = entry.getAccessor(isGeneratedAccessors());
+		final BeanProperty<?> property = accessor.getProperty();
+
 		Object value = null;
 		Object currentInstance = instance;
-		for (BeanProperty<?> p : getPropertyHierarchy(property)) {
-			currentInstance = value = readValue(p, currentInstance);
+		for (BeanPropertyAccessor a : accessor.getHierarchy()) {
+			currentInstance = value = a.read(currentInstance);
 		}
 
 		final Object readValue = value;
@@ -432,195 +450,200 @@ public class DefaultBeanPropertySet<T> extends DefaultPropertySet<PathProperty<?
 		return propertyValue;
 	}
 
-	/**
-	 * Read the <code>property</code> value from given instance (if not null), using BeanProperty configuration read
-	 * method or field, if available.
-	 * @param property Property to read
-	 * @param instance Instance to read from
-	 * @return Property value
-	 */
-	private static Object readValue(BeanProperty<?> property, Object instance) {
-
-		ObjectUtils.argumentNotNull(property, "Property must be not null");
-
-		if (instance == null) {
-			return null;
-		}
-
-		final Object value;
-
-		if (property.getReadMethod().isPresent()) {
-			try {
-				value = property.getReadMethod().get().invoke(instance);
-
-				LOGGER.debug(() -> "BeanPropertySet: read property [" + property + "] value [" + value
-						+ "] from instance [" + instance + "] using method [" + property.getReadMethod() + "]");
-
-			} catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
-				throw new PropertyReadException(property, "Failed to read bean property [" + property
-						+ "] from instance [" + instance + "] using method [" + property.getReadMethod() + "]", e);
-			}
-		} else {
-			Field field = property.getField()
-					.orElseThrow(() -> new PropertyReadException(property,
-							"No read method and no accessible field available to read property [" + property
-									+ "] on bean class [" + instance.getClass().getName() + "]"));
-			try {
-				value = FieldUtils.readField(field, instance, true);
-
-				LOGGER.debug(() -> "BeanPropertySet: read property [" + property + "] value [" + value
-						+ "] from instance [" + instance + "] using field [" + field + "]");
-
-			} catch (IllegalAccessException e) {
-				throw new PropertyReadException(property, "Failed to read bean property [" + property
-						+ "] from instance [" + instance + "] using field [" + field + "]", e);
-			}
-
-		}
-
-		return value;
-
-	}
-
 	/**
 	 * Write the <code>value</code> of the given property on given bean instance.
-	 * @param property Property to write
+	 * @param entry Property entry to write
 	 * @param valueType Value type (may be null)
 	 * @param value Property value to write
 	 * @param instance Bean instance to write into
 	 */
 	@SuppressWarnings({ "rawtypes", "unchecked" })
-	private void write(BeanProperty<?> property, Class<?> valueType, Object value, T instance) {
-		ObjectUtils.argumentNotNull(property, "Property must be not null");
+	private void write(PropertyEntry entry, Class<?> valueType, Object value, T instance) {
+		ObjectUtils.argumentNotNull(entry, "Property must be not null");
 		ObjectUtils.argumentNotNull(instance, "Bean instance must be not null");
 
-		List<BeanProperty<?>> hiearchy = getPropertyHierarchy(property);
+		final BeanPropertyAccessor accessor = entry.getAccessor(isGeneratedAccessors());
+		final BeanProperty<?> property = accessor.getProperty();
+		final BeanPropertyAccessor[] hiearchy = accessor.getHierarchy();
 
 		Object instanceToWrite = instance;
-		if (hiearchy.size() > 1) {
-			for (int i = 0; i < hiearchy.size() - 1; i++) {
-				BeanProperty<?> p = hiearchy.get(i);
-				Object read = readValue(p, instanceToWrite);
-				if (read == null) {
-					try {
-						// try to istantiate
-						read = writeValue(p, p.getType().newInstance(), instanceToWrite);
-					} catch (Exception e) {
-						throw new PropertyWriteException(property,
-								"Failed to istantiate nested class " + p.getType().getName(), e);
-					}
+		for (int i = 0; i < hiearchy.length - 1; i++) {
+			BeanPropertyAccessor p = hiearchy[i];
+			Object read = p.read(instanceToWrite);
+			if (read == null) {
+				try {
+					// try to istantiate
+					read = p.write(instanceToWrite, p.getProperty().getType().newInstance());
+				} catch (Exception e) {
+					throw new PropertyWriteException(property,
+							"Failed to istantiate nested class " + p.getProperty().getType().getName(), e);
 				}
-				instanceToWrite = read;
 			}
+			instanceToWrite = read;
 		}
 
 		// actual write
 		final Class<?> type = (valueType != null) ? valueType : ((value != null) ? value.getClass() : null);
 
-		writeValue(property,
+		accessor.write(instanceToWrite,
 				property.getConverter().filter(c -> (type != null && TypeUtils.isAssignable(type, c.getModelType())))
-						.map(cv -> ((PropertyValueConverter) cv).fromModel(value, property)).orElse(value),
-				instanceToWrite);
+						.map(cv -> ((PropertyValueConverter) cv).fromModel(value, property)).orElse(value));
 	}
 
 	/**
-	 * Write the <code>property</code> value into given instance using given value, using BeanProperty configuration
-	 * write method or field, if available.
-	 * @param property Property to write
-	 * @param value Value to write
-	 * @param instance Instance to write
-	 * @return Written value
-	 */
-	private static Object writeValue(BeanProperty<?> property, Object value, Object instance) {
-		ObjectUtils.argumentNotNull(property, "Property must be not null");
-
-		if (property.getWriteMethod().isPresent()) {
-			try {
-				property.getWriteMethod().get().invoke(instance, new Object[] {
-						getValueToWrite(property.getWriteMethod().get().getParameters()[0].getType(), value) });
-
-				LOGGER.debug(() -> "BeanPropertySet: written property [" + property + "] value [" + value
-						+ "] from instance [" + instance + "] using method [" + property.getWriteMethod() + "]");
-
-			} catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
-				throw new PropertyWriteException(property,
-						"Cannot write property [" + property + "] value of type ["
-								+ ((value != null) ? value.getClass().getName() : "null") + "] on bean instance ["
-								+ instance + "]",
-						e);
-			}
-		} else {
-			Field field = property.getField()
-					.orElseThrow(() -> new PropertyReadException(property,
-							"No write method and no accessible field available to write property [" + property
-									+ "] on bean class [" + instance.getClass().getName() + "]"));
-			try {
-				FieldUtils.writeField(field, instance, getValueToWrite(field.getType(), value), true);
-
-				LOGGER.debug(() -> "BeanPropertySet: read property [" + property + "] value [" + value
-						+ "] from instance [" + instance + "] using field [" + field + "]");
-
-			} catch (IllegalAccessException e) {
-				throw new PropertyWriteException(property, e);
-			}
+	 * Get whether to use the generated bean property accessors.
+	 * @return <code>true</code> if the generated bean property accessors are enabled
+	 * @see BeanPropertySet#GENERATED_ACCESSORS
+	 */
+	private boolean isGeneratedAccessors() {
+		Boolean generated = generatedAccessors;
+		if (generated == null) {
+			generated = getConfiguration().getParameter(GENERATED_ACCESSORS, GENERATED_ACCESSORS_DEFAULT);
+			generatedAccessors = generated;
 		}
+		return generated.booleanValue();
+	}
 
-		return value;
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.internal.property.DefaultPropertySet#addConfigurationParameter(java.lang.String,
+	 * java.lang.Object)
+	 */
+	@Override
+	protected void addConfigurationParameter(String name, Object value) {
+		super.addConfigurationParameter(name, value);
+		generatedAccessors = null;
 	}
 
 	/**
-	 * Get the value to write on bean property, converting <code>null</code> values to <code>false</code> or
-	 * <code>0</code> for primitive types.
-	 * @param valueType Value type
-	 * @param value Value to write
-	 * @return Actual value
-	 */
-	private static Object getValueToWrite(Class<?> valueType, Object value) {
-		if (value == null) {
-			// check primitive types
-			if (valueType != null && valueType.isPrimitive()) {
-				if (boolean.class == valueType) {
-					return false;
-				}
-				return 0;
-			}
+	 * Read the default generated accessors mode from the {@link BeanConfigProperties}.
+	 * @return The default generated accessors mode, <code>false</code> if the configuration cannot be read
+	 */
+	private static boolean readGeneratedAccessorsDefault() {
+		try {
+			return BeanConfigProperties.builder().withDefaultPropertySources().build()
+					.isBeanGeneratedAccessorsEnabled();
+		} catch (Exception e) {
+			LOGGER.warn("Failed to read bean generated accessors enabled configuration property", e);
+			return false;
 		}
-		return value;
 	}
 
 	/**
-	 * Get the property with given <code>propertyPath</code> from bean property set using the properties full name as
-	 * matching rule.
+	 * Find the property with given <code>propertyName</code>.
+	 * @param propertyName Property name (not null)
+	 * @return Optional matching property
+	 */
+	private Optional<PathProperty<?>> findProperty(String propertyName) {
+		final PropertyEntry entry = getPropertyEntry(propertyName);
+		return (entry != null) ? Optional.of(entry.getProperty()) : Optional.empty();
+	}
+
+	/**
+	 * Get the property entry with given <code>propertyName</code> from the name index, rebuilding the index if the
+	 * property set was modified.
+	 * @param propertyName Property name
+	 * @return Property entry, <code>null</code> if not found
+	 */
+	private PropertyEntry getPropertyEntry(String propertyName) {
+		NameIndex index = this.nameIndex;
+		if (index == null || index.modCount != modCount) {
+			index = new NameIndex(this, modCount);
+			this.nameIndex = index;
+		}
+		return index.entries.get(propertyName);
+	}
+
+	/**
+	 * Get the property entry with given <code>propertyName</code>, throwing a {@link PropertyNotFoundException} if not
+	 * found.
+	 * @param propertyName Property name (not null)
+	 * @return Property entry
+	 * @throws PropertyNotFoundException If the property was not found
+	 */
+	private PropertyEntry requirePropertyEntry(String propertyName) throws PropertyNotFoundException {
+		ObjectUtils.argumentNotNull(propertyName, "Property name must be not null");
+		final PropertyEntry entry = getPropertyEntry(propertyName);
+		if (entry == null) {
+			throw new PropertyNotFoundException(null, "Property with name [" + propertyName + "] not found in bean ["
+					+ getBeanClass().getName() + "] property set");
+		}
+		return entry;
+	}
+
+	/**
+	 * Get the property entry with given <code>propertyPath</code> from bean property set using the properties full
+	 * name as matching rule.
 	 * @param propertyPath Property path
 	 * @param ignoreMissing <code>true</code> to ignore mismatches
-	 * @return Optional matching bean property
+	 * @return Matching property entry, <code>null</code> if not found and <code>ignoreMissing</code> is true
 	 * @throws PropertyNotFoundException If ignoreMissing is false and a matching bean property was not found
 	 */
-	private Optional<BeanProperty<?>> getProperty(Path<?> propertyPath, boolean ignoreMissing)
+	private PropertyEntry getPropertyEntry(Path<?> propertyPath, boolean ignoreMissing)
 			throws PropertyNotFoundException {
 		ObjectUtils.argumentNotNull(propertyPath, "Property path must be not null");
-		Optional<PathProperty<?>> beanProperty = stream()
-				.filter(p -> propertyPath.relativeName().equals(p.relativeName())).findFirst();
-		if (!ignoreMissing && !beanProperty.isPresent()) {
+		final PropertyEntry entry = getPropertyEntry(propertyPath.relativeName());
+		if (!ignoreMissing && entry == null) {
 			throw new PropertyNotFoundException((propertyPath instanceof Property) ? (Property<?>) propertyPath : null,
 					"Property with name [" + propertyPath.relativeName() + "] was not found in bean [" + getBeanClass()
 							+ "] property set");
 		}
-		return beanProperty.map(p -> (BeanProperty<?>) p);
+		return entry;
+	}
+
+	/**
+	 * Property name index, bound to the property set modification count.
+	 */
+	private static final class NameIndex {
+
+		final int modCount;
+
+		final Map<String, PropertyEntry> entries;
+
+		NameIndex(List<PathProperty<?>> properties, int modCount) {
+			super();
+			this.modCount = modCount;
+			this.entries = new HashMap<>(Math.max(16, (int) (properties.size() / .75f) + 1));
+			for (PathProperty<?> property : properties) {
+				if (property != null) {
+					this.entries.putIfAbsent(property.relativeName(), new PropertyEntry(property));
+				}
+			}
+		}
+
 	}
 
 	/**
-	 * Get the property hierarchy, starting from root hierarchy property.
-	 * @param property Property for which to obtain the hierarchy
-	 * @return Property hierarchy
-	 */
-	private static List<BeanProperty<?>> getPropertyHierarchy(BeanProperty<?> property) {
-		List<BeanProperty<?>> hierarchy = new LinkedList<>();
-		hierarchy.add(property);
-		property.getParentProperty().ifPresent((p) -> {
-			hierarchy.addAll(0, getPropertyHierarchy(p));
-		});
-		return hierarchy;
+	 * Indexed property, with its lazily resolved {@link BeanPropertyAccessor}.
+	 */
+	private static final class PropertyEntry {
+
+		private final PathProperty<?> property;
+
+		private volatile BeanPropertyAccessor accessor;
+
+		PropertyEntry(PathProperty<?> property) {
+			super();
+			this.property = property;
+		}
+
+		PathProperty<?> getProperty() {
+			return property;
+		}
+
+		BeanProperty<?> getBeanProperty() {
+			return (BeanProperty<?>) property;
+		}
+
+		BeanPropertyAccessor getAccessor(boolean generated) {
+			BeanPropertyAccessor a = accessor;
+			if (a == null || a.isGenerated() != generated) {
+				a = BeanPropertyAccessor.create(getBeanProperty(), generated);
+				accessor = a;
+			}
+			return a;
+		}
+
 	}
 
 	/**
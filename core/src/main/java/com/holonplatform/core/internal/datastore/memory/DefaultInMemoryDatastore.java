@@ -0,0 +1,332 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.datastore.memory;
+
+import java.io.Serializable;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.holonplatform.core.Expression;
+import com.holonplatform.core.ExpressionResolver;
+import com.holonplatform.core.Path;
+import com.holonplatform.core.datastore.DataTarget;
+import com.holonplatform.core.datastore.DatastoreCommodity;
+import com.holonplatform.core.datastore.DatastoreCommodityContext;
+import com.holonplatform.core.datastore.DatastoreCommodityFactory;
+import com.holonplatform.core.datastore.DatastoreConfigProperties;
+import com.holonplatform.core.datastore.bulk.BulkDelete;
+import com.holonplatform.core.datastore.bulk.BulkInsert;
+import com.holonplatform.core.datastore.bulk.BulkUpdate;
+import com.holonplatform.core.datastore.memory.InMemoryDatastore;
+import com.holonplatform.core.datastore.operation.Delete;
+import com.holonplatform.core.datastore.operation.Insert;
+import com.holonplatform.core.datastore.operation.Refresh;
+import com.holonplatform.core.datastore.operation.Save;
+import com.holonplatform.core.datastore.operation.Update;
+import com.holonplatform.core.internal.datastore.AbstractDatastore;
+import com.holonplatform.core.internal.query.DefaultQueryDefinition;
+import com.holonplatform.core.internal.query.QueryAdapterQuery;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.core.query.Query;
+
+/**
+ * Default {@link InMemoryDatastore} implementation.
+ * <p>
+ * The stored data is not serialized along with the Datastore instance.
+ * </p>
+ * 
+ * @since 5.2.2
+ */
+public class DefaultInMemoryDatastore extends AbstractDatastore<InMemoryDatastoreCommodityContext>
+		implements InMemoryDatastore, InMemoryDatastoreCommodityContext {
+
+	private static final long serialVersionUID = 6164781413372457553L;
+
+	/*
+	 * Tables, by data target name
+	 */
+	private transient volatile ConcurrentMap<String, InMemoryTable> tables;
+
+	/**
+	 * Constructor.
+	 */
+	public DefaultInMemoryDatastore() {
+		super(null, null);
+		// register commodities
+		registerCommodity(new InMemoryCommodityFactory<>(Query.class,
+				c -> new QueryAdapterQuery<>(new InMemoryQueryAdapter(c), new DefaultQueryDefinition())));
+		registerCommodity(new InMemoryCommodityFactory<>(Refresh.class, c -> new InMemoryRefresh(c)));
+		registerCommodity(new InMemoryCommodityFactory<>(Insert.class, c -> new InMemoryInsert(c)));
+		registerCommodity(new InMemoryCommodityFactory<>(Update.class, c -> new InMemoryUpdate(c)));
+		registerCommodity(new InMemoryCommodityFactory<>(Save.class, c -> new InMemorySave(c)));
+		registerCommodity(new InMemoryCommodityFactory<>(Delete.class, c -> new InMemoryDelete(c)));
+		registerCommodity(new InMemoryCommodityFactory<>(BulkInsert.class, c -> new InMemoryBulkInsert(c)));
+		registerCommodity(new InMemoryCommodityFactory<>(BulkUpdate.class, c -> new InMemoryBulkUpdate(c)));
+		registerCommodity(new InMemoryCommodityFactory<>(BulkDelete.class, c -> new InMemoryBulkDelete(c)));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.internal.datastore.AbstractDatastore#getCommodityContext()
+	 */
+	@Override
+	protected InMemoryDatastoreCommodityContext getCommodityContext() throws CommodityConfigurationException {
+		return this;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see
+	 * com.holonplatform.core.internal.datastore.memory.InMemoryDatastoreCommodityContext#getTable(com.holonplatform.
+	 * core.datastore.DataTarget)
+	 */
+	@Override
+	public InMemoryTable getTable(DataTarget<?> target) {
+		ObjectUtils.argumentNotNull(target, "Data target must be not null");
+		return getTables().computeIfAbsent(target.getName(), name -> new InMemoryTable(name));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.memory.InMemoryDatastore#createIndex(com.holonplatform.core.datastore.
+	 * DataTarget, com.holonplatform.core.Path, com.holonplatform.core.datastore.memory.InMemoryDatastore.IndexType)
+	 */
+	@Override
+	public void createIndex(DataTarget<?> target, Path<?> path, IndexType type) {
+		ObjectUtils.argumentNotNull(path, "Path to index must be not null");
+		ObjectUtils.argumentNotNull(type, "Index type must be not null");
+		final InMemoryTable table = getTable(target);
+		table.getLock().writeLock().lock();
+		try {
+			table.createIndex(InMemoryValues.getColumnName(path), type);
+		} finally {
+			table.getLock().writeLock().unlock();
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.memory.InMemoryDatastore#dropIndex(com.holonplatform.core.datastore.
+	 * DataTarget, com.holonplatform.core.Path)
+	 */
+	@Override
+	public boolean dropIndex(DataTarget<?> target, Path<?> path) {
+		ObjectUtils.argumentNotNull(path, "Indexed path must be not null");
+		final InMemoryTable table = getTable(target);
+		table.getLock().writeLock().lock();
+		try {
+			return table.dropIndex(InMemoryValues.getColumnName(path));
+		} finally {
+			table.getLock().writeLock().unlock();
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.memory.InMemoryDatastore#clear(com.holonplatform.core.datastore.DataTarget)
+	 */
+	@Override
+	public void clear(DataTarget<?> target) {
+		final InMemoryTable table = getTable(target);
+		table.getLock().writeLock().lock();
+		try {
+			table.clear();
+		} finally {
+			table.getLock().writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Get the tables map, creating it if required.
+	 * @return the tables map
+	 */
+	private ConcurrentMap<String, InMemoryTable> getTables() {
+		ConcurrentMap<String, InMemoryTable> t = tables;
+		if (t == null) {
+			synchronized (this) {
+				t = tables;
+				if (t == null) {
+					tables = t = new ConcurrentHashMap<>();
+				}
+			}
+		}
+		return t;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "DefaultInMemoryDatastore [dataContextId=" + getDataContextId().orElse(null) + ", tables="
+				+ getTables().keySet() + "]";
+	}
+
+	// ------- Commodities
+
+	/**
+	 * Serializable commodity creation function.
+	 * @param <C> Commodity type
+	 */
+	@FunctionalInterface
+	private interface CommodityCreator<C extends DatastoreCommodity> extends Serializable {
+
+		C create(InMemoryDatastoreCommodityContext context);
+
+	}
+
+	/**
+	 * {@link DatastoreCommodityFactory} which uses a {@link CommodityCreator} to create the commodity instances.
+	 * @param <C> Commodity type
+	 */
+	private static final class InMemoryCommodityFactory<C extends DatastoreCommodity>
+			implements DatastoreCommodityFactory<InMemoryDatastoreCommodityContext, C> {
+
+		private static final long serialVersionUID = -1876024358290611413L;
+
+		private final Class<? extends C> commodityType;
+		private final CommodityCreator<C> creator;
+
+		InMemoryCommodityFactory(Class<? extends C> commodityType, CommodityCreator<C> creator) {
+			super();
+			this.commodityType = commodityType;
+			this.creator = creator;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.core.datastore.DatastoreCommodityFactory#getCommodityType()
+		 */
+		@Override
+		public Class<? extends C> getCommodityType() {
+			return commodityType;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.core.datastore.DatastoreCommodityFactory#createCommodity(com.holonplatform.core.
+		 * datastore.DatastoreCommodityContext)
+		 */
+		@Override
+		public C createCommodity(InMemoryDatastoreCommodityContext context) throws CommodityConfigurationException {
+			return creator.create(context);
+		}
+
+	}
+
+	// ------- Builder
+
+	/**
+	 * Default {@link InMemoryDatastore.Builder}.
+	 */
+	public static class DefaultBuilder implements InMemoryDatastore.Builder {
+
+		private final DefaultInMemoryDatastore datastore = new DefaultInMemoryDatastore();
+
+		private final List<IndexDefinition> indexes = new LinkedList<>();
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.core.datastore.DatastoreOperations.Builder#dataContextId(java.lang.String)
+		 */
+		@Override
+		public InMemoryDatastore.Builder dataContextId(String dataContextId) {
+			datastore.setDataContextId(dataContextId);
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.core.datastore.DatastoreOperations.Builder#traceEnabled(boolean)
+		 */
+		@Override
+		public InMemoryDatastore.Builder traceEnabled(boolean trace) {
+			datastore.setTraceEnabled(trace);
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.core.datastore.DatastoreOperations.Builder#configuration(com.holonplatform.core.
+		 * datastore.DatastoreConfigProperties)
+		 */
+		@Override
+		public InMemoryDatastore.Builder configuration(DatastoreConfigProperties configuration) {
+			ObjectUtils.argumentNotNull(configuration, "Datastore configuration must be not null");
+			configuration.getDataContextId().ifPresent(id -> datastore.setDataContextId(id));
+			datastore.setTraceEnabled(configuration.isTrace());
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see
+		 * com.holonplatform.core.ExpressionResolver.ExpressionResolverBuilder#withExpressionResolver(com.holonplatform.
+		 * core.ExpressionResolver)
+		 */
+		@Override
+		public <E extends Expression, R extends Expression> InMemoryDatastore.Builder withExpressionResolver(
+				ExpressionResolver<E, R> expressionResolver) {
+			datastore.addExpressionResolver(expressionResolver);
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.core.datastore.memory.InMemoryDatastore.Builder#withIndex(com.holonplatform.core.
+		 * datastore.DataTarget, com.holonplatform.core.Path,
+		 * com.holonplatform.core.datastore.memory.InMemoryDatastore.IndexType)
+		 */
+		@Override
+		public InMemoryDatastore.Builder withIndex(DataTarget<?> target, Path<?> path, IndexType type) {
+			ObjectUtils.argumentNotNull(target, "Data target must be not null");
+			ObjectUtils.argumentNotNull(path, "Path to index must be not null");
+			ObjectUtils.argumentNotNull(type, "Index type must be not null");
+			indexes.add(new IndexDefinition(target, path, type));
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.core.datastore.DatastoreOperations.Builder#build()
+		 */
+		@Override
+		public InMemoryDatastore build() {
+			indexes.forEach(i -> datastore.createIndex(i.target, i.path, i.type));
+			return datastore;
+		}
+
+		private static final class IndexDefinition {
+
+			final DataTarget<?> target;
+			final Path<?> path;
+			final IndexType type;
+
+			IndexDefinition(DataTarget<?> target, Path<?> path, IndexType type) {
+				super();
+				this.target = target;
+				this.path = path;
+				this.type = type;
+			}
+
+		}
+
+	}
+
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.datastore.memory;
+
+import java.util.BitSet;
+
+import com.holonplatform.core.Expression.InvalidExpressionException;
+import com.holonplatform.core.datastore.Datastore.OperationResult;
+import com.holonplatform.core.datastore.Datastore.OperationType;
+import com.holonplatform.core.datastore.bulk.BulkDelete;
+import com.holonplatform.core.exceptions.DataAccessException;
+import com.holonplatform.core.internal.datastore.bulk.AbstractBulkDelete;
+
+/**
+ * In-memory Datastore {@link BulkDelete} implementation.
+ * 
+ * @since 5.2.2
+ */
+final class InMemoryBulkDelete extends AbstractBulkDelete {
+
+	private static final long serialVersionUID = -1265493604946217049L;
+
+	private final InMemoryDatastoreCommodityContext context;
+
+	/**
+	 * Constructor.
+	 * @param context Commodity context (not null)
+	 */
+	InMemoryBulkDelete(InMemoryDatastoreCommodityContext context) {
+		super();
+		this.context = context;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.operation.commons.ExecutableOperation#execute()
+	 */
+	@Override
+	public OperationResult execute() {
+		try {
+			getConfiguration().validate();
+		} catch (InvalidExpressionException e) {
+			throw new DataAccessException("Cannot execute operation", e);
+		}
+
+		final InMemoryTable table = context.getTable(getConfiguration().getTarget());
+		final InMemoryExpressionCompiler compiler = new InMemoryExpressionCompiler(
+				new InMemoryResolutionContext(context, getConfiguration()));
+
+		InMemoryOperations.trace(context, () -> "Bulk delete from [" + table.getName() + "]: " + getConfiguration());
+
+		table.getLock().writeLock().lock();
+		try {
+			final BitSet rows = compiler.select(table, getConfiguration().getFilter().orElse(null));
+			for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+				table.delete(row);
+			}
+			table.compact();
+			return OperationResult.builder().type(OperationType.DELETE).affectedCount(rows.cardinality()).build();
+		} catch (DataAccessException e) {
+			throw e;
+		} catch (RuntimeException e) {
+			throw new DataAccessException("Bulk delete on data target [" + table.getName() + "] failed", e);
+		} finally {
+			table.getLock().writeLock().unlock();
+		}
+	}
+
+}
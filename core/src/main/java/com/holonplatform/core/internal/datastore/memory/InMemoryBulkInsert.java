@@ -0,0 +1,84 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.datastore.memory;
+
+import java.util.Iterator;
+import java.util.List;
+
+import com.holonplatform.core.Expression.InvalidExpressionException;
+import com.holonplatform.core.datastore.Datastore.OperationResult;
+import com.holonplatform.core.datastore.Datastore.OperationType;
+import com.holonplatform.core.datastore.bulk.BulkInsert;
+import com.holonplatform.core.exceptions.DataAccessException;
+import com.holonplatform.core.internal.datastore.bulk.AbstractBulkInsert;
+import com.holonplatform.core.property.PropertyBox;
+
+/**
+ * In-memory Datastore {@link BulkInsert} implementation.
+ * 
+ * @since 5.2.2
+ */
+final class InMemoryBulkInsert extends AbstractBulkInsert {
+
+	private static final long serialVersionUID = -4770521302412567398L;
+
+	private final InMemoryDatastoreCommodityContext context;
+
+	/**
+	 * Constructor.
+	 * @param context Commodity context (not null)
+	 */
+	InMemoryBulkInsert(InMemoryDatastoreCommodityContext context) {
+		super();
+		this.context = context;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.operation.commons.ExecutableOperation#execute()
+	 */
+	@Override
+	public OperationResult execute() {
+		try {
+			getConfiguration().validate();
+		} catch (InvalidExpressionException e) {
+			throw new DataAccessException("Cannot execute operation", e);
+		}
+
+		final InMemoryTable table = context.getTable(getConfiguration().getTarget());
+
+		// values are flushed one batch at a time, holding the table lock only while a batch is written
+		long count = 0;
+		final Iterator<List<PropertyBox>> batches = getConfiguration().batches();
+		while (batches.hasNext()) {
+			final List<PropertyBox> batch = batches.next();
+			InMemoryOperations.trace(context,
+					() -> "Bulk insert into [" + table.getName() + "]: " + batch.size() + " values");
+			table.getLock().writeLock().lock();
+			try {
+				for (PropertyBox value : batch) {
+					InMemoryOperations.insert(table, InMemoryOperations.getIdentifierValues(value),
+							InMemoryOperations.getRowValues(value));
+					count++;
+				}
+			} finally {
+				table.getLock().writeLock().unlock();
+			}
+		}
+		return OperationResult.builder().type(OperationType.INSERT).affectedCount(count).build();
+	}
+
+}
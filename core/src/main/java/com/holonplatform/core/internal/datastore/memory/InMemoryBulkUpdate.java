@@ -0,0 +1,98 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.datastore.memory;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map.Entry;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.holonplatform.core.Expression.InvalidExpressionException;
+import com.holonplatform.core.Path;
+import com.holonplatform.core.TypedExpression;
+import com.holonplatform.core.datastore.Datastore.OperationResult;
+import com.holonplatform.core.datastore.Datastore.OperationType;
+import com.holonplatform.core.datastore.bulk.BulkUpdate;
+import com.holonplatform.core.exceptions.DataAccessException;
+import com.holonplatform.core.internal.datastore.bulk.AbstractBulkUpdate;
+
+/**
+ * In-memory Datastore {@link BulkUpdate} implementation.
+ * 
+ * @since 5.2.2
+ */
+final class InMemoryBulkUpdate extends AbstractBulkUpdate {
+
+	private static final long serialVersionUID = 2609394342296427018L;
+
+	private final InMemoryDatastoreCommodityContext context;
+
+	/**
+	 * Constructor.
+	 * @param context Commodity context (not null)
+	 */
+	InMemoryBulkUpdate(InMemoryDatastoreCommodityContext context) {
+		super();
+		this.context = context;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.operation.commons.ExecutableOperation#execute()
+	 */
+	@Override
+	public OperationResult execute() {
+		try {
+			getConfiguration().validate();
+		} catch (InvalidExpressionException e) {
+			throw new DataAccessException("Cannot execute operation", e);
+		}
+
+		final InMemoryTable table = context.getTable(getConfiguration().getTarget());
+		final InMemoryExpressionCompiler compiler = new InMemoryExpressionCompiler(
+				new InMemoryResolutionContext(context, getConfiguration()));
+		final Map<String, Function<InMemoryRow, Object>> expressions = new LinkedHashMap<>();
+		for (Entry<Path<?>, TypedExpression<?>> value : getConfiguration().getValues().entrySet()) {
+			expressions.put(InMemoryValues.getColumnName(value.getKey()), compiler.compile(value.getValue()));
+		}
+
+		InMemoryOperations.trace(context, () -> "Bulk update [" + table.getName() + "]: " + getConfiguration());
+
+		table.getLock().writeLock().lock();
+		try {
+			final BitSet rows = compiler.select(table, getConfiguration().getFilter().orElse(null));
+			final InMemoryRow cursor = new InMemoryRow(table);
+			for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+				cursor.moveTo(row);
+				final Map<String, Object> values = new HashMap<>(expressions.size());
+				for (Entry<String, Function<InMemoryRow, Object>> expression : expressions.entrySet()) {
+					values.put(expression.getKey(), expression.getValue().apply(cursor));
+				}
+				table.update(row, values);
+			}
+			return OperationResult.builder().type(OperationType.UPDATE).affectedCount(rows.cardinality()).build();
+		} catch (DataAccessException e) {
+			throw e;
+		} catch (RuntimeException e) {
+			throw new DataAccessException("Bulk update on data target [" + table.getName() + "] failed", e);
+		} finally {
+			table.getLock().writeLock().unlock();
+		}
+	}
+
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.datastore.memory;
+
+import com.holonplatform.core.ExpressionResolver.ExpressionResolverProvider;
+import com.holonplatform.core.datastore.DataTarget;
+import com.holonplatform.core.datastore.DatastoreCommodityContext;
+
+/**
+ * In-memory Datastore {@link DatastoreCommodityContext}.
+ * 
+ * @since 5.2.2
+ */
+interface InMemoryDatastoreCommodityContext extends DatastoreCommodityContext, ExpressionResolverProvider {
+
+	/**
+	 * Get the table bound to given data target, creating it if not available.
+	 * @param target Data target (not null)
+	 * @return The data target table
+	 */
+	InMemoryTable getTable(DataTarget<?> target);
+
+	/**
+	 * Get whether operations tracing is enabled.
+	 * @return <code>true</code> if operations tracing is enabled
+	 */
+	boolean isTraceEnabled();
+
+}
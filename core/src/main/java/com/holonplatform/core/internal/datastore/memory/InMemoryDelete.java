@@ -0,0 +1,80 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.datastore.memory;
+
+import java.util.Map;
+
+import com.holonplatform.core.Expression.InvalidExpressionException;
+import com.holonplatform.core.datastore.Datastore.OperationResult;
+import com.holonplatform.core.datastore.Datastore.OperationType;
+import com.holonplatform.core.datastore.operation.Delete;
+import com.holonplatform.core.exceptions.DataAccessException;
+import com.holonplatform.core.internal.datastore.operation.AbstractDelete;
+import com.holonplatform.core.property.PropertyBox;
+
+/**
+ * In-memory Datastore {@link Delete} implementation.
+ * 
+ * @since 5.2.2
+ */
+final class InMemoryDelete extends AbstractDelete {
+
+	private static final long serialVersionUID = 7766298402335512741L;
+
+	private final InMemoryDatastoreCommodityContext context;
+
+	/**
+	 * Constructor.
+	 * @param context Commodity context (not null)
+	 */
+	InMemoryDelete(InMemoryDatastoreCommodityContext context) {
+		super();
+		this.context = context;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.operation.commons.ExecutableOperation#execute()
+	 */
+	@Override
+	public OperationResult execute() {
+		try {
+			getConfiguration().validate();
+		} catch (InvalidExpressionException e) {
+			throw new DataAccessException("Cannot execute operation", e);
+		}
+
+		final PropertyBox value = getConfiguration().getValue();
+		final InMemoryTable table = context.getTable(getConfiguration().getTarget());
+		final Map<String, Object> identifiers = InMemoryOperations.requireIdentifierValues(value);
+
+		InMemoryOperations.trace(context, () -> "Delete from [" + table.getName() + "]: " + value);
+
+		table.getLock().writeLock().lock();
+		try {
+			final int row = InMemoryOperations.findRowForWrite(table, identifiers);
+			if (row < 0) {
+				return OperationResult.builder().type(OperationType.DELETE).affectedCount(0).build();
+			}
+			table.delete(row);
+			table.compact();
+			return OperationResult.builder().type(OperationType.DELETE).affectedCount(1).build();
+		} finally {
+			table.getLock().writeLock().unlock();
+		}
+	}
+
+}
@@ -0,0 +1,431 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.datastore.memory;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import com.holonplatform.core.ConstantConverterExpression;
+import com.holonplatform.core.Expression;
+import com.holonplatform.core.Expression.InvalidExpressionException;
+import com.holonplatform.core.NullExpression;
+import com.holonplatform.core.Path;
+import com.holonplatform.core.TypedExpression;
+import com.holonplatform.core.beans.BeanPropertySet;
+import com.holonplatform.core.datastore.memory.InMemoryDatastore.IndexType;
+import com.holonplatform.core.exceptions.DataAccessException;
+import com.holonplatform.core.internal.query.QueryValues;
+import com.holonplatform.core.internal.query.filter.AbstractOperationQueryFilter;
+import com.holonplatform.core.internal.query.filter.AndFilter;
+import com.holonplatform.core.internal.query.filter.BetweenFilter;
+import com.holonplatform.core.internal.query.filter.EqualFilter;
+import com.holonplatform.core.internal.query.filter.GreaterFilter;
+import com.holonplatform.core.internal.query.filter.InFilter;
+import com.holonplatform.core.internal.query.filter.LessFilter;
+import com.holonplatform.core.internal.query.filter.OrFilter;
+import com.holonplatform.core.internal.query.filter.QueryFilterCompiler;
+import com.holonplatform.core.property.PathProperty;
+import com.holonplatform.core.property.Property;
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.core.property.PropertySet;
+import com.holonplatform.core.query.BeanProjection;
+import com.holonplatform.core.query.PathExpression;
+import com.holonplatform.core.query.PropertySetProjection;
+import com.holonplatform.core.query.QueryFilter;
+import com.holonplatform.core.query.QueryFunction;
+import com.holonplatform.core.query.QueryFunction.Avg;
+import com.holonplatform.core.query.QueryFunction.Count;
+import com.holonplatform.core.query.QueryFunction.Max;
+import com.holonplatform.core.query.QueryFunction.Min;
+import com.holonplatform.core.query.QueryFunction.Sum;
+import com.holonplatform.core.query.QueryProjection;
+import com.holonplatform.core.query.QuerySort;
+import com.holonplatform.core.query.QuerySort.CompositeQuerySort;
+import com.holonplatform.core.query.QuerySort.PathQuerySort;
+import com.holonplatform.core.query.QuerySort.SortDirection;
+import com.holonplatform.core.query.SelectAllProjection;
+
+/**
+ * Compiles query filters, expressions, sorts and projections into functions which operate on {@link InMemoryRow}s.
+ * <p>
+ * Filters are compiled using a {@link QueryFilterCompiler}. Expressions which are not directly supported are resolved
+ * using the {@link InMemoryResolutionContext} before compilation.
+ * </p>
+ * 
+ * @since 5.2.2
+ */
+final class InMemoryExpressionCompiler {
+
+	private final InMemoryResolutionContext context;
+
+	private final QueryFilterCompiler<InMemoryRow> filterCompiler;
+
+	/**
+	 * Constructor.
+	 * @param context Resolution context (not null)
+	 */
+	InMemoryExpressionCompiler(InMemoryResolutionContext context) {
+		super();
+		this.context = context;
+		this.filterCompiler = new QueryFilterCompiler<>(this::compile, context);
+	}
+
+	// ------- Row selection
+
+	/**
+	 * Select the table rows which match given filter, using the table indexes to restrict the candidate rows when
+	 * possible. Must be invoked holding the table lock.
+	 * @param table Table
+	 * @param filter Filter, <code>null</code> to select all the rows
+	 * @return The selected row ids
+	 */
+	BitSet select(InMemoryTable table, QueryFilter filter) {
+		final BitSet rows = table.getRows();
+		if (filter != null) {
+			final Predicate<InMemoryRow> predicate = compile(filter);
+			final BitSet candidates = getIndexCandidates(table, filter);
+			if (candidates != null) {
+				rows.and(candidates);
+			}
+			final InMemoryRow cursor = new InMemoryRow(table);
+			for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+				if (!predicate.test(cursor.moveTo(row))) {
+					rows.clear(row);
+				}
+			}
+		}
+		return rows;
+	}
+
+	/**
+	 * Get the candidate rows for given filter using the table indexes.
+	 * @param table Table
+	 * @param filter Filter
+	 * @return The candidate row ids, or <code>null</code> if no index can be used
+	 */
+	private static BitSet getIndexCandidates(InMemoryTable table, QueryFilter filter) {
+		if (filter instanceof AndFilter) {
+			BitSet candidates = null;
+			for (QueryFilter f : ((AndFilter) filter).getComposition()) {
+				final BitSet rows = getIndexCandidates(table, f);
+				if (rows != null) {
+					if (candidates == null) {
+						candidates = rows;
+					} else {
+						candidates.and(rows);
+					}
+				}
+			}
+			return candidates;
+		}
+		if (filter instanceof OrFilter) {
+			final BitSet candidates = new BitSet();
+			for (QueryFilter f : ((OrFilter) filter).getComposition()) {
+				final BitSet rows = getIndexCandidates(table, f);
+				if (rows == null) {
+					return null;
+				}
+				candidates.or(rows);
+			}
+			return candidates;
+		}
+		if (filter instanceof AbstractOperationQueryFilter) {
+			final AbstractOperationQueryFilter<?> operation = (AbstractOperationQueryFilter<?>) filter;
+			if (!(operation.getLeftOperand() instanceof Path)) {
+				return null;
+			}
+			final InMemoryIndex index = table
+					.getIndex(InMemoryValues.getColumnName((Path<?>) operation.getLeftOperand()));
+			if (index == null) {
+				return null;
+			}
+			final Object value = operation.getRightOperand().filter(e -> e instanceof ConstantConverterExpression)
+					.map(e -> ((ConstantConverterExpression<?, ?>) e).getValue()).orElse(null);
+			if (value == null) {
+				return null;
+			}
+			if (filter instanceof EqualFilter) {
+				return index.lookup(value);
+			}
+			if (filter instanceof InFilter && value instanceof Collection) {
+				return index.lookupAll((Collection<?>) value);
+			}
+			if (index.getType() == IndexType.SORTED) {
+				if (filter instanceof GreaterFilter) {
+					return index.range(value, ((GreaterFilter<?>) filter).isIncludeEquals(), null, false);
+				}
+				if (filter instanceof LessFilter) {
+					return index.range(null, false, value, ((LessFilter<?>) filter).isIncludeEquals());
+				}
+				if (filter instanceof BetweenFilter) {
+					final BetweenFilter<?> between = (BetweenFilter<?>) filter;
+					return index.range(between.getFromValue(), true, between.getToValue(), true);
+				}
+			}
+		}
+		return null;
+	}
+
+	// ------- Filters
+
+	/**
+	 * Compile given filter into a row predicate.
+	 * @param filter Filter to compile (not null)
+	 * @return Row predicate
+	 * @throws InvalidExpressionException If the filter is not supported
+	 */
+	Predicate<InMemoryRow> compile(QueryFilter filter) {
+		return filterCompiler.compile(filter);
+	}
+
+	// ------- Expressions
+
+	/**
+	 * Compile given expression into a row value function.
+	 * @param expression Expression to compile
+	 * @return Row value function
+	 * @throws InvalidExpressionException If the expression is not supported
+	 */
+	Function<InMemoryRow, Object> compile(Expression expression) {
+		if (expression == null || expression instanceof NullExpression) {
+			return r -> null;
+		}
+		if (expression instanceof ConstantConverterExpression) {
+			final Object value = ((ConstantConverterExpression<?, ?>) expression).getValue();
+			return r -> value;
+		}
+		if (expression instanceof QueryFunction) {
+			return compileFunction((QueryFunction<?, ?>) expression);
+		}
+		if (expression instanceof Path) {
+			final String column = InMemoryValues.getColumnName((Path<?>) expression);
+			return r -> r.getValue(column);
+		}
+		final Expression resolved = context.resolve(expression, PathExpression.class).orElse(null);
+		if (resolved != null && resolved != expression) {
+			return compile(resolved);
+		}
+		throw new InvalidExpressionException("Unsupported expression [" + expression + "]");
+	}
+
+	/**
+	 * Checks whether given expression is an aggregate function, or a projection which contains aggregate functions.
+	 * @param expression Expression to check
+	 * @return <code>true</code> if given expression requires rows aggregation
+	 */
+	static boolean isAggregate(Expression expression) {
+		if (expression instanceof PropertySetProjection) {
+			for (Property<?> property : ((PropertySetProjection) expression).getPropertySet()) {
+				if (isAggregate(property)) {
+					return true;
+				}
+			}
+			return false;
+		}
+		return expression instanceof Count || expression instanceof Min || expression instanceof Max
+				|| expression instanceof Avg || expression instanceof Sum;
+	}
+
+	private Function<InMemoryRow, Object> compileFunction(QueryFunction<?, ?> function) {
+		final List<? extends TypedExpression<?>> arguments = function.getExpressionArguments();
+		final Function<InMemoryRow, Object> argument = (arguments == null || arguments.isEmpty()) ? r -> null
+				: compile(arguments.get(0));
+		final Class<?> type = function.getType();
+		// aggregate functions
+		if (function instanceof Count) {
+			return r -> {
+				long count = 0;
+				final InMemoryRow cursor = new InMemoryRow(r.getTable());
+				for (int row : r.getRows()) {
+					if (argument.apply(cursor.moveTo(row)) != null) {
+						count++;
+					}
+				}
+				return count;
+			};
+		}
+		if (function instanceof Min || function instanceof Max) {
+			final int sign = (function instanceof Min) ? -1 : 1;
+			return r -> {
+				Object result = null;
+				final InMemoryRow cursor = new InMemoryRow(r.getTable());
+				for (int row : r.getRows()) {
+					final Object value = argument.apply(cursor.moveTo(row));
+					if (value != null && (result == null || QueryValues.compare(value, result) * sign > 0)) {
+						result = value;
+					}
+				}
+				return InMemoryValues.convert(result, type);
+			};
+		}
+		if (function instanceof Avg) {
+			return r -> {
+				double sum = 0;
+				long count = 0;
+				final InMemoryRow cursor = new InMemoryRow(r.getTable());
+				for (int row : r.getRows()) {
+					final Object value = argument.apply(cursor.moveTo(row));
+					if (value instanceof Number) {
+						sum += ((Number) value).doubleValue();
+						count++;
+					}
+				}
+				return (count > 0) ? Double.valueOf(sum / count) : null;
+			};
+		}
+		if (function instanceof Sum) {
+			return r -> {
+				BigDecimal sum = null;
+				final InMemoryRow cursor = new InMemoryRow(r.getTable());
+				for (int row : r.getRows()) {
+					final Object value = argument.apply(cursor.moveTo(row));
+					if (value instanceof Number) {
+						final BigDecimal n = (value instanceof BigDecimal) ? (BigDecimal) value
+								: new BigDecimal(value.toString());
+						sum = (sum == null) ? n : sum.add(n);
+					}
+				}
+				return InMemoryValues.convert(sum, type);
+			};
+		}
+		// scalar functions
+		final Function<Object, Object> scalar = QueryValues.getScalarFunction(function).orElseThrow(
+				() -> new InvalidExpressionException("Unsupported query function [" + function + "]"));
+		return r -> scalar.apply(argument.apply(r));
+	}
+
+	// ------- Sorts
+
+	/**
+	 * Compile given sort into a row comparator. <code>null</code> values are ordered first.
+	 * @param sort Sort to compile (not null)
+	 * @return Row comparator
+	 * @throws InvalidExpressionException If the sort is not supported
+	 */
+	Comparator<InMemoryRow> compile(QuerySort sort) {
+		if (sort instanceof PathQuerySort) {
+			final PathQuerySort<?> pathSort = (PathQuerySort<?>) sort;
+			final Function<InMemoryRow, Object> value = compile(pathSort.getPath());
+			final Comparator<InMemoryRow> comparator = (a, b) -> QueryValues.COMPARATOR.compare(value.apply(a),
+					value.apply(b));
+			return (pathSort.getDirection() == SortDirection.DESCENDING) ? comparator.reversed() : comparator;
+		}
+		if (sort instanceof CompositeQuerySort) {
+			Comparator<InMemoryRow> comparator = null;
+			for (QuerySort s : ((CompositeQuerySort) sort).getComposition()) {
+				final Comparator<InMemoryRow> c = compile(s);
+				comparator = (comparator == null) ? c : comparator.thenComparing(c);
+			}
+			return (comparator != null) ? comparator : (a, b) -> 0;
+		}
+		final Optional<QuerySort> resolved = context.resolve(sort, QuerySort.class);
+		if (resolved.isPresent() && resolved.get() != sort) {
+			return compile(resolved.get());
+		}
+		throw new InvalidExpressionException("Unsupported query sort [" + sort + "]");
+	}
+
+	// ------- Projections
+
+	/**
+	 * Compile given projection into a row mapping function.
+	 * @param <R> Projection type
+	 * @param projection Projection to compile (not null)
+	 * @return Row mapping function
+	 * @throws InvalidExpressionException If the projection is not supported
+	 */
+	@SuppressWarnings("unchecked")
+	<R> Function<InMemoryRow, R> compile(QueryProjection<R> projection) {
+		if (projection instanceof PropertySetProjection) {
+			return (Function<InMemoryRow, R>) compile(((PropertySetProjection) projection).getPropertySet());
+		}
+		if (projection instanceof BeanProjection) {
+			return compile((BeanProjection<R>) projection);
+		}
+		if (projection instanceof SelectAllProjection) {
+			return r -> {
+				final Map<String, Object> values = new LinkedHashMap<>();
+				for (String column : r.getTable().getColumnNames()) {
+					values.put(column, r.getValue(column));
+				}
+				return (R) values;
+			};
+		}
+		final Function<InMemoryRow, Object> value = compile((Expression) projection);
+		final Class<?> type = projection.getType();
+		return r -> (R) InMemoryValues.convert(value.apply(r), type);
+	}
+
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private Function<InMemoryRow, PropertyBox> compile(PropertySet<?> propertySet) {
+		final List<Property> properties = new ArrayList<>(propertySet.size());
+		final List<Function<InMemoryRow, Object>> values = new ArrayList<>(propertySet.size());
+		for (Property<?> property : propertySet) {
+			if (property instanceof QueryFunction || property instanceof Path) {
+				properties.add(property);
+				values.add(compile(property));
+			}
+		}
+		return r -> {
+			final PropertyBox box = PropertyBox.builder(propertySet).invalidAllowed(true).build();
+			for (int i = 0; i < properties.size(); i++) {
+				final Property property = properties.get(i);
+				final Object value = InMemoryValues.convert(values.get(i).apply(r), property.getType());
+				if (value != null) {
+					box.setValue(property, value);
+				}
+			}
+			return box;
+		};
+	}
+
+	@SuppressWarnings("rawtypes")
+	private <R> Function<InMemoryRow, R> compile(BeanProjection<R> projection) {
+		final Class<? extends R> beanClass = projection.getBeanClass();
+		final BeanPropertySet<R> beanPropertySet = BeanPropertySet.create(beanClass);
+		final PropertySet<?> propertySet;
+		if (projection.getSelection().isPresent()) {
+			final List<PathProperty<?>> properties = new ArrayList<>();
+			for (Path path : projection.getSelection().get()) {
+				properties.add(beanPropertySet.getProperty(InMemoryValues.getColumnName(path))
+						.orElseThrow(() -> new InvalidExpressionException(
+								"Bean property [" + path + "] not found in bean class [" + beanClass.getName() + "]")));
+			}
+			propertySet = PropertySet.of(properties);
+		} else {
+			propertySet = beanPropertySet;
+		}
+		final Function<InMemoryRow, PropertyBox> values = compile(propertySet);
+		return r -> {
+			final PropertyBox box = values.apply(r);
+			try {
+				return beanPropertySet.write(box, beanClass.newInstance(), true);
+			} catch (InstantiationException | IllegalAccessException e) {
+				throw new DataAccessException("Failed to instantiate bean class [" + beanClass.getName() + "]", e);
+			}
+		};
+	}
+
+}
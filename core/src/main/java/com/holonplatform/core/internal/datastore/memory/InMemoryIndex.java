@@ -0,0 +1,297 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.datastore.memory;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import com.holonplatform.core.datastore.memory.InMemoryDatastore.IndexType;
+import com.holonplatform.core.internal.query.QueryValues;
+
+/**
+ * In-memory table secondary index, which maps the column values to the row ids. <code>null</code> values are not
+ * indexed.
+ * <p>
+ * Not thread-safe: access is guarded by the owning {@link InMemoryTable} lock.
+ * </p>
+ * 
+ * @since 5.2.2
+ */
+abstract class InMemoryIndex {
+
+	private final IndexType type;
+
+	/**
+	 * Constructor.
+	 * @param type Index type
+	 */
+	InMemoryIndex(IndexType type) {
+		super();
+		this.type = type;
+	}
+
+	/**
+	 * Create a new index.
+	 * @param type Index type (not null)
+	 * @return A new empty index
+	 */
+	static InMemoryIndex create(IndexType type) {
+		return (type == IndexType.SORTED) ? new SortedIndex() : new HashIndex();
+	}
+
+	/**
+	 * Get the index type.
+	 * @return the index type
+	 */
+	IndexType getType() {
+		return type;
+	}
+
+	/**
+	 * Get the index entries map.
+	 * @return Index entries
+	 */
+	protected abstract Map<Object, RowList> getEntries();
+
+	/**
+	 * Add a value to the index.
+	 * @param value Column value
+	 * @param row Row id
+	 */
+	void add(Object value, int row) {
+		if (value != null) {
+			getEntries().computeIfAbsent(QueryValues.key(value), k -> new RowList()).add(row);
+		}
+	}
+
+	/**
+	 * Remove a value from the index.
+	 * @param value Column value
+	 * @param row Row id
+	 */
+	void remove(Object value, int row) {
+		if (value != null) {
+			final Object key = QueryValues.key(value);
+			final RowList rows = getEntries().get(key);
+			if (rows != null && rows.remove(row) && rows.isEmpty()) {
+				getEntries().remove(key);
+			}
+		}
+	}
+
+	/**
+	 * Remove all the index entries.
+	 */
+	void clear() {
+		getEntries().clear();
+	}
+
+	/**
+	 * Get the rows which contain given value.
+	 * @param value Value to look for
+	 * @return Row ids set
+	 */
+	BitSet lookup(Object value) {
+		final BitSet result = new BitSet();
+		if (value != null) {
+			final RowList rows = getEntries().get(QueryValues.key(value));
+			if (rows != null) {
+				rows.addTo(result);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Get the rows which contain any of given values.
+	 * @param values Values to look for
+	 * @return Row ids set
+	 */
+	BitSet lookupAll(Iterable<?> values) {
+		final BitSet result = new BitSet();
+		for (Object value : values) {
+			if (value != null) {
+				final RowList rows = getEntries().get(QueryValues.key(value));
+				if (rows != null) {
+					rows.addTo(result);
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Get the rows whose values are within given range. Supported only by {@link IndexType#SORTED} indexes.
+	 * @param from Lower bound, <code>null</code> for none
+	 * @param fromInclusive Whether the lower bound is inclusive
+	 * @param to Upper bound, <code>null</code> for none
+	 * @param toInclusive Whether the upper bound is inclusive
+	 * @return Row ids set
+	 */
+	BitSet range(Object from, boolean fromInclusive, Object to, boolean toInclusive) {
+		throw new UnsupportedOperationException("Range lookups are not supported by " + getType() + " indexes");
+	}
+
+	/**
+	 * Hash index.
+	 */
+	private static final class HashIndex extends InMemoryIndex {
+
+		private final Map<Object, RowList> entries = new HashMap<>();
+
+		HashIndex() {
+			super(IndexType.HASH);
+		}
+
+		@Override
+		protected Map<Object, RowList> getEntries() {
+			return entries;
+		}
+
+	}
+
+	/**
+	 * Sorted index.
+	 */
+	private static final class SortedIndex extends InMemoryIndex {
+
+		private final NavigableMap<Object, RowList> entries = new TreeMap<>(QueryValues.COMPARATOR);
+
+		SortedIndex() {
+			super(IndexType.SORTED);
+		}
+
+		@Override
+		protected Map<Object, RowList> getEntries() {
+			return entries;
+		}
+
+		@Override
+		BitSet range(Object from, boolean fromInclusive, Object to, boolean toInclusive) {
+			final NavigableMap<Object, RowList> view;
+			if (from != null && to != null) {
+				if (QueryValues.compare(from, to) > 0) {
+					return new BitSet();
+				}
+				view = entries.subMap(QueryValues.key(from), fromInclusive, QueryValues.key(to), toInclusive);
+			} else if (from != null) {
+				view = entries.tailMap(QueryValues.key(from), fromInclusive);
+			} else if (to != null) {
+				view = entries.headMap(QueryValues.key(to), toInclusive);
+			} else {
+				view = entries;
+			}
+			final BitSet result = new BitSet();
+			view.values().forEach(rows -> rows.addTo(result));
+			return result;
+		}
+
+	}
+
+	/**
+	 * Set of row ids, using an open addressing hash table with linear probing, so that rows are added and removed in
+	 * constant time.
+	 */
+	static final class RowList {
+
+		private static final int FREE = -1;
+
+		private int[] slots = { FREE, FREE };
+		private int size;
+
+		void add(int row) {
+			if ((size + 1) << 1 > slots.length) {
+				final int[] previous = slots;
+				slots = new int[previous.length << 1];
+				Arrays.fill(slots, FREE);
+				for (int r : previous) {
+					if (r != FREE) {
+						put(r);
+					}
+				}
+			}
+			if (put(row)) {
+				size++;
+			}
+		}
+
+		boolean remove(int row) {
+			final int mask = slots.length - 1;
+			int position = hash(row) & mask;
+			while (slots[position] != FREE) {
+				if (slots[position] == row) {
+					// shift back the following entries of the probe sequence
+					int free = position;
+					int next = position;
+					while (true) {
+						next = (next + 1) & mask;
+						final int candidate = slots[next];
+						if (candidate == FREE) {
+							break;
+						}
+						final int home = hash(candidate) & mask;
+						if ((free <= next) ? (free < home && home <= next) : (free < home || home <= next)) {
+							continue;
+						}
+						slots[free] = candidate;
+						free = next;
+					}
+					slots[free] = FREE;
+					size--;
+					return true;
+				}
+				position = (position + 1) & mask;
+			}
+			return false;
+		}
+
+		boolean isEmpty() {
+			return size == 0;
+		}
+
+		void addTo(BitSet bits) {
+			for (int row : slots) {
+				if (row != FREE) {
+					bits.set(row);
+				}
+			}
+		}
+
+		private boolean put(int row) {
+			final int mask = slots.length - 1;
+			int position = hash(row) & mask;
+			while (slots[position] != FREE) {
+				if (slots[position] == row) {
+					return false;
+				}
+				position = (position + 1) & mask;
+			}
+			slots[position] = row;
+			return true;
+		}
+
+		private static int hash(int row) {
+			final int h = row * 0x9E3779B9;
+			return h ^ (h >>> 16);
+		}
+
+	}
+
+}
@@ -0,0 +1,225 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.datastore.memory;
+
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.function.Supplier;
+
+import com.holonplatform.core.Path;
+import com.holonplatform.core.datastore.memory.InMemoryDatastore.IndexType;
+import com.holonplatform.core.exceptions.DataAccessException;
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.core.internal.datastore.DatastoreLogger;
+import com.holonplatform.core.internal.query.QueryValues;
+import com.holonplatform.core.property.Property;
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.core.property.PropertySet;
+
+/**
+ * In-memory Datastore write operations support methods.
+ * 
+ * @since 5.2.2
+ */
+final class InMemoryOperations {
+
+	private static final Logger LOGGER = DatastoreLogger.create();
+
+	private InMemoryOperations() {
+	}
+
+	/**
+	 * Log given operation message if tracing is enabled.
+	 * @param context Commodity context
+	 * @param message Message supplier
+	 */
+	static void trace(InMemoryDatastoreCommodityContext context, Supplier<String> message) {
+		if (context.isTraceEnabled()) {
+			LOGGER.info("(TRACE) " + message.get());
+		}
+	}
+
+	/**
+	 * Insert a new row, checking that no other row has the same identifier values. Must be invoked holding the table
+	 * write lock.
+	 * @param table Table
+	 * @param identifiers Identifier values, by column name
+	 * @param values Row values, by column name
+	 * @throws DataAccessException If a row with the same identifier values already exists
+	 */
+	static void insert(InMemoryTable table, Map<String, Object> identifiers, Map<String, Object> values) {
+		if (findRowForWrite(table, identifiers) >= 0) {
+			throw new DataAccessException(
+					"Data target [" + table.getName() + "] already contains a row with identifiers " + identifiers);
+		}
+		table.insert(values);
+	}
+
+	/**
+	 * Get the row values to store for given {@link PropertyBox}, by column name. Only the {@link Path} properties are
+	 * considered.
+	 * @param propertyBox Property box (not null)
+	 * @return Row values
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	static Map<String, Object> getRowValues(PropertyBox propertyBox) {
+		final Map<String, Object> values = new LinkedHashMap<>();
+		for (Property property : propertyBox) {
+			if (property instanceof Path) {
+				values.put(InMemoryValues.getColumnName((Path<?>) property), propertyBox.getValue(property));
+			}
+		}
+		return values;
+	}
+
+	/**
+	 * Get the identifier values of given {@link PropertyBox}, by column name.
+	 * @param propertyBox Property box (not null)
+	 * @return The identifier values, empty if the property set does not declare any identifier
+	 * @throws DataAccessException If an identifier value is <code>null</code>
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	static Map<String, Object> getIdentifierValues(PropertyBox propertyBox) {
+		final Map<String, Object> values = new LinkedHashMap<>();
+		for (Property property : propertyBox.getIdentifiers()) {
+			if (property instanceof Path) {
+				final Object value = propertyBox.getValue(property);
+				if (value == null) {
+					throw new DataAccessException("Identifier property [" + property + "] value is null");
+				}
+				values.put(InMemoryValues.getColumnName((Path<?>) property), value);
+			}
+		}
+		return values;
+	}
+
+	/**
+	 * Get the identifier values of given {@link PropertyBox}, which must be not empty.
+	 * @param propertyBox Property box (not null)
+	 * @return The identifier values
+	 * @throws DataAccessException If the property set does not declare any identifier
+	 */
+	static Map<String, Object> requireIdentifierValues(PropertyBox propertyBox) {
+		final Map<String, Object> values = getIdentifierValues(propertyBox);
+		if (values.isEmpty()) {
+			throw new DataAccessException(
+					"No identifier properties available in the PropertyBox property set: cannot identify the data");
+		}
+		return values;
+	}
+
+	/**
+	 * Find the row which matches given identifier values, to be updated or replaced. Must be invoked holding the table
+	 * write lock.
+	 * <p>
+	 * If none of the identifier columns is indexed, a {@link IndexType#HASH} index is created on the first identifier
+	 * column, so that the rows lookup by identifier is performed in constant time.
+	 * </p>
+	 * @param table Table
+	 * @param identifiers Identifier values, by column name
+	 * @return The row id, or <code>-1</code> if not found
+	 */
+	static int findRowForWrite(InMemoryTable table, Map<String, Object> identifiers) {
+		if (identifiers.isEmpty()) {
+			return -1;
+		}
+		boolean indexed = false;
+		for (String column : identifiers.keySet()) {
+			if (table.getIndex(column) != null) {
+				indexed = true;
+				break;
+			}
+		}
+		if (!indexed) {
+			table.createIndex(identifiers.keySet().iterator().next(), IndexType.HASH);
+		}
+		return findRow(table, identifiers);
+	}
+
+	/**
+	 * Find the row which matches given identifier values, using the table indexes when available. Must be invoked
+	 * holding the table lock.
+	 * @param table Table
+	 * @param identifiers Identifier values, by column name
+	 * @return The row id, or <code>-1</code> if not found
+	 */
+	static int findRow(InMemoryTable table, Map<String, Object> identifiers) {
+		if (identifiers.isEmpty()) {
+			return -1;
+		}
+		BitSet rows = null;
+		for (Entry<String, Object> identifier : identifiers.entrySet()) {
+			final InMemoryIndex index = table.getIndex(identifier.getKey());
+			if (index != null) {
+				final BitSet candidates = index.lookup(identifier.getValue());
+				if (rows == null) {
+					rows = candidates;
+				} else {
+					rows.and(candidates);
+				}
+			}
+		}
+		if (rows == null) {
+			// no index available: scan the live rows
+			for (int row = table.nextRow(0); row >= 0; row = table.nextRow(row + 1)) {
+				if (matches(table, row, identifiers)) {
+					return row;
+				}
+			}
+			return -1;
+		}
+		for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+			if (matches(table, row, identifiers)) {
+				return row;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Read the values of given row into a new {@link PropertyBox}.
+	 * @param table Table
+	 * @param row Row id
+	 * @param propertySet Property set (not null)
+	 * @return A new {@link PropertyBox}
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	static PropertyBox read(InMemoryTable table, int row, PropertySet<?> propertySet) {
+		final PropertyBox propertyBox = PropertyBox.builder(propertySet).invalidAllowed(true).build();
+		for (Property property : propertySet) {
+			if (property instanceof Path) {
+				final Object value = InMemoryValues.convert(
+						table.getValue(row, InMemoryValues.getColumnName((Path<?>) property)), property.getType());
+				if (value != null) {
+					propertyBox.setValue(property, value);
+				}
+			}
+		}
+		return propertyBox;
+	}
+
+	private static boolean matches(InMemoryTable table, int row, Map<String, Object> identifiers) {
+		for (Entry<String, Object> identifier : identifiers.entrySet()) {
+			if (!QueryValues.equals(table.getValue(row, identifier.getKey()), identifier.getValue())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+}
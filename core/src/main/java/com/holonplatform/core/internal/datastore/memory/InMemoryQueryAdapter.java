@@ -0,0 +1,166 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.datastore.memory;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.holonplatform.core.Path;
+import com.holonplatform.core.datastore.DataTarget;
+import com.holonplatform.core.exceptions.DataAccessException;
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.core.internal.datastore.DatastoreLogger;
+import com.holonplatform.core.internal.query.QueryValues;
+import com.holonplatform.core.query.CountAllProjection;
+import com.holonplatform.core.query.QueryAdapter;
+import com.holonplatform.core.query.QueryAggregation;
+import com.holonplatform.core.query.QueryConfiguration;
+import com.holonplatform.core.query.QueryOperation;
+import com.holonplatform.core.query.QueryProjection;
+
+/**
+ * In-memory Datastore {@link QueryAdapter}.
+ * <p>
+ * The query results are materialized holding the table read lock, so the returned stream is not affected by
+ * concurrent modifications.
+ * </p>
+ * 
+ * @since 5.2.2
+ */
+final class InMemoryQueryAdapter implements QueryAdapter<QueryConfiguration> {
+
+	private static final Logger LOGGER = DatastoreLogger.create();
+
+	private final InMemoryDatastoreCommodityContext context;
+
+	/**
+	 * Constructor.
+	 * @param context Commodity context (not null)
+	 */
+	InMemoryQueryAdapter(InMemoryDatastoreCommodityContext context) {
+		super();
+		this.context = context;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.query.QueryAdapter#stream(com.holonplatform.core.query.QueryOperation)
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public <R> Stream<R> stream(QueryOperation<QueryConfiguration, R> queryOperation) throws DataAccessException {
+		final QueryConfiguration configuration = queryOperation.getConfiguration();
+		final QueryProjection<R> projection = queryOperation.getProjection();
+		final DataTarget<?> target = configuration.getTarget()
+				.orElseThrow(() -> new DataAccessException("Missing query data target"));
+
+		if (context.isTraceEnabled()) {
+			LOGGER.info("(TRACE) In-memory query on target [" + target.getName() + "]: " + configuration);
+		}
+
+		final InMemoryExpressionCompiler compiler = new InMemoryExpressionCompiler(
+				new InMemoryResolutionContext(context, configuration));
+
+		// compile
+		final Optional<QueryAggregation> aggregation = configuration.getAggregation();
+		final boolean aggregate = aggregation.isPresent() || InMemoryExpressionCompiler.isAggregate(projection);
+		final List<Function<InMemoryRow, Object>> groupBy = new ArrayList<>();
+		aggregation.ifPresent(a -> {
+			for (Path<?> path : a.getAggregationPaths()) {
+				groupBy.add(compiler.compile(path));
+			}
+		});
+		final Predicate<InMemoryRow> having = aggregation.flatMap(a -> a.getAggregationFilter())
+				.map(f -> compiler.compile(f)).orElse(null);
+		final Comparator<InMemoryRow> sort = configuration.getSort().map(s -> compiler.compile(s)).orElse(null);
+		final Function<InMemoryRow, R> mapper = (projection instanceof CountAllProjection) ? null
+				: compiler.compile(projection);
+
+		final InMemoryTable table = context.getTable(target);
+		table.getLock().readLock().lock();
+		try {
+			final BitSet rows = compiler.select(table, configuration.getFilter().orElse(null));
+			List<InMemoryRow> results = new ArrayList<>(rows.cardinality());
+			if (aggregate) {
+				if (groupBy.isEmpty()) {
+					results.add(InMemoryRow.group(table, rows.stream().toArray()));
+				} else {
+					final Map<List<Object>, List<Integer>> groups = new LinkedHashMap<>();
+					final InMemoryRow cursor = new InMemoryRow(table);
+					for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+						cursor.moveTo(row);
+						final List<Object> key = new ArrayList<>(groupBy.size());
+						for (Function<InMemoryRow, Object> value : groupBy) {
+							key.add(QueryValues.key(value.apply(cursor)));
+						}
+						groups.computeIfAbsent(key, k -> new ArrayList<>()).add(row);
+					}
+					for (List<Integer> group : groups.values()) {
+						final InMemoryRow groupRow = InMemoryRow.group(table,
+								group.stream().mapToInt(Integer::intValue).toArray());
+						if (having == null || having.test(groupRow)) {
+							results.add(groupRow);
+						}
+					}
+				}
+			} else {
+				for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+					results.add(InMemoryRow.of(table, row));
+				}
+			}
+
+			if (mapper == null) {
+				return Stream.of((R) Long.valueOf(results.size()));
+			}
+
+			if (sort != null) {
+				results.sort(sort);
+			}
+
+			Stream<R> stream = results.stream().map(mapper);
+			if (configuration.isDistinct()) {
+				stream = stream.distinct();
+			}
+			final int offset = configuration.getOffset().orElse(0);
+			if (offset > 0) {
+				stream = stream.skip(offset);
+			}
+			final Optional<Integer> limit = configuration.getLimit();
+			if (limit.isPresent()) {
+				stream = stream.limit(limit.get());
+			}
+			final List<R> values = stream.collect(Collectors.toList());
+			return values.isEmpty() ? Stream.empty() : Collections.unmodifiableList(values).stream();
+		} catch (DataAccessException e) {
+			throw e;
+		} catch (RuntimeException e) {
+			throw new DataAccessException("Failed to execute query on data target [" + target.getName() + "]", e);
+		} finally {
+			table.getLock().readLock().unlock();
+		}
+	}
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.datastore.memory;
+
+import java.util.Optional;
+
+import com.holonplatform.core.Expression;
+import com.holonplatform.core.Expression.InvalidExpressionException;
+import com.holonplatform.core.ExpressionResolver;
+import com.holonplatform.core.ExpressionResolver.ExpressionResolverProvider;
+import com.holonplatform.core.ExpressionResolver.ResolutionContext;
+import com.holonplatform.core.ExpressionResolverRegistry;
+
+/**
+ * {@link ResolutionContext} used by the in-memory Datastore operations, which combines the Datastore and the
+ * operation {@link ExpressionResolver}s.
+ * 
+ * @since 5.2.2
+ */
+final class InMemoryResolutionContext implements ResolutionContext {
+
+	private final ExpressionResolverRegistry registry = ExpressionResolverRegistry.create();
+
+	/**
+	 * Constructor.
+	 * @param providers Expression resolver providers
+	 */
+	InMemoryResolutionContext(ExpressionResolverProvider... providers) {
+		super();
+		for (ExpressionResolverProvider provider : providers) {
+			if (provider != null) {
+				registry.addExpressionResolvers(provider.getExpressionResolvers());
+			}
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.ExpressionResolver.ExpressionResolverProvider#getExpressionResolvers()
+	 */
+	@SuppressWarnings("rawtypes")
+	@Override
+	public Iterable<ExpressionResolver> getExpressionResolvers() {
+		return registry.getExpressionResolvers();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.ExpressionResolver.ExpressionResolverHandler#resolve(com.holonplatform.core.
+	 * Expression, java.lang.Class, com.holonplatform.core.ExpressionResolver.ResolutionContext)
+	 */
+	@Override
+	public <E extends Expression, R extends Expression> Optional<R> resolve(E expression, Class<R> resolutionType,
+			ResolutionContext context) throws InvalidExpressionException {
+		return registry.resolve(expression, resolutionType, context);
+	}
+
+	/**
+	 * Resolve given expression using this context.
+	 * @param <E> Expression type
+	 * @param <R> Resolved expression type
+	 * @param expression Expression to resolve
+	 * @param resolutionType Resolved expression type
+	 * @return Optional resolved expression
+	 */
+	<E extends Expression, R extends Expression> Optional<R> resolve(E expression, Class<R> resolutionType) {
+		return resolve(expression, resolutionType, this);
+	}
+
+}
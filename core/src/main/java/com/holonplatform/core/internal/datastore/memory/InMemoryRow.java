@@ -0,0 +1,119 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.datastore.memory;
+
+/**
+ * A reference to a single table row or, when the query is aggregated, to a group of table rows.
+ * <p>
+ * For a group of rows, the column values are read from the first row of the group, which is consistent for the
+ * aggregation columns.
+ * </p>
+ * 
+ * @since 5.2.2
+ */
+final class InMemoryRow {
+
+	private static final int[] NO_ROWS = new int[0];
+
+	private final InMemoryTable table;
+
+	private int row;
+
+	private int[] group;
+
+	/**
+	 * Constructor.
+	 * @param table Table
+	 */
+	InMemoryRow(InMemoryTable table) {
+		super();
+		this.table = table;
+		this.row = -1;
+	}
+
+	/**
+	 * Create a reference to a single row.
+	 * @param table Table
+	 * @param row Row id
+	 * @return Row reference
+	 */
+	static InMemoryRow of(InMemoryTable table, int row) {
+		final InMemoryRow r = new InMemoryRow(table);
+		r.row = row;
+		return r;
+	}
+
+	/**
+	 * Create a reference to a group of rows.
+	 * @param table Table
+	 * @param rows Row ids, may be empty
+	 * @return Row reference
+	 */
+	static InMemoryRow group(InMemoryTable table, int[] rows) {
+		final InMemoryRow r = new InMemoryRow(table);
+		r.group = (rows != null) ? rows : NO_ROWS;
+		r.row = (r.group.length > 0) ? r.group[0] : -1;
+		return r;
+	}
+
+	/**
+	 * Move this reference to given row. Used to reuse a single instance while scanning the table.
+	 * @param row Row id
+	 * @return this
+	 */
+	InMemoryRow moveTo(int row) {
+		this.row = row;
+		this.group = null;
+		return this;
+	}
+
+	/**
+	 * Get the table.
+	 * @return the table
+	 */
+	InMemoryTable getTable() {
+		return table;
+	}
+
+	/**
+	 * Get the (first) row id.
+	 * @return the row id, <code>-1</code> for an empty group
+	 */
+	int getRow() {
+		return row;
+	}
+
+	/**
+	 * Get the row ids of this reference.
+	 * @return the group row ids, or the single row id
+	 */
+	int[] getRows() {
+		if (group != null) {
+			return group;
+		}
+		return (row < 0) ? NO_ROWS : new int[] { row };
+	}
+
+	/**
+	 * Get the value of given column.
+	 * @param column Column name
+	 * @return Column value
+	 */
+	Object getValue(String column) {
+		return (row < 0) ? null : table.getValue(row, column);
+	}
+
+}
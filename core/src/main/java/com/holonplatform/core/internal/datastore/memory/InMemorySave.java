@@ -0,0 +1,91 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.datastore.memory;
+
+import java.util.Map;
+
+import com.holonplatform.core.Expression.InvalidExpressionException;
+import com.holonplatform.core.Path;
+import com.holonplatform.core.datastore.Datastore.OperationResult;
+import com.holonplatform.core.datastore.Datastore.OperationType;
+import com.holonplatform.core.datastore.operation.Save;
+import com.holonplatform.core.exceptions.DataAccessException;
+import com.holonplatform.core.internal.datastore.operation.AbstractSave;
+import com.holonplatform.core.property.Property;
+import com.holonplatform.core.property.PropertyBox;
+
+/**
+ * In-memory Datastore {@link Save} implementation, which updates the data identified by the {@link PropertyBox}
+ * identifiers if available, or inserts it otherwise.
+ * 
+ * @since 5.2.2
+ */
+final class InMemorySave extends AbstractSave {
+
+	private static final long serialVersionUID = -6406585440426406052L;
+
+	private final InMemoryDatastoreCommodityContext context;
+
+	/**
+	 * Constructor.
+	 * @param context Commodity context (not null)
+	 */
+	InMemorySave(InMemoryDatastoreCommodityContext context) {
+		super();
+		this.context = context;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.operation.commons.ExecutableOperation#execute()
+	 */
+	@SuppressWarnings("rawtypes")
+	@Override
+	public OperationResult execute() {
+		try {
+			getConfiguration().validate();
+		} catch (InvalidExpressionException e) {
+			throw new DataAccessException("Cannot execute operation", e);
+		}
+
+		final PropertyBox value = getConfiguration().getValue();
+		final InMemoryTable table = context.getTable(getConfiguration().getTarget());
+		final Map<String, Object> identifiers = InMemoryOperations.requireIdentifierValues(value);
+
+		InMemoryOperations.trace(context, () -> "Save into [" + table.getName() + "]: " + value);
+
+		table.getLock().writeLock().lock();
+		try {
+			final int row = InMemoryOperations.findRowForWrite(table, identifiers);
+			if (row >= 0) {
+				table.update(row, InMemoryOperations.getRowValues(value));
+				return OperationResult.builder().type(OperationType.UPDATE).affectedCount(1).build();
+			}
+			table.insert(InMemoryOperations.getRowValues(value));
+		} finally {
+			table.getLock().writeLock().unlock();
+		}
+
+		final OperationResult.Builder result = OperationResult.builder().type(OperationType.INSERT).affectedCount(1);
+		for (Property<?> property : value.getIdentifiers()) {
+			if (property instanceof Path) {
+				result.withInsertedKey((Path<?>) property, value.getValue(property));
+			}
+		}
+		return result.build();
+	}
+
+}
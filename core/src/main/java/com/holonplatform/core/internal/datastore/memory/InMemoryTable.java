@@ -0,0 +1,279 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.datastore.memory;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.holonplatform.core.datastore.memory.InMemoryDatastore.IndexType;
+
+/**
+ * In-memory data table, which stores the row values column-wise: each column is an array of values indexed by row id.
+ * <p>
+ * Deleted rows are tracked using a live rows set and their slots are reclaimed by {@link #compact()}, which may
+ * reassign the row ids. The table is not thread-safe by itself: reads must be performed holding the read lock and
+ * writes holding the write lock, see {@link #getLock()}.
+ * </p>
+ * 
+ * @since 5.2.2
+ */
+final class InMemoryTable {
+
+	private static final int INITIAL_CAPACITY = 16;
+
+	private static final int COMPACTION_THRESHOLD = 64;
+
+	private final String name;
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private final Map<String, Object[]> columns = new LinkedHashMap<>();
+
+	private final Map<String, InMemoryIndex> indexes = new HashMap<>();
+
+	private final BitSet live = new BitSet();
+
+	private int capacity = INITIAL_CAPACITY;
+
+	private int length;
+
+	private int size;
+
+	/**
+	 * Constructor.
+	 * @param name Table name
+	 */
+	InMemoryTable(String name) {
+		super();
+		this.name = name;
+	}
+
+	/**
+	 * Get the table name.
+	 * @return the table name
+	 */
+	String getName() {
+		return name;
+	}
+
+	/**
+	 * Get the table lock.
+	 * @return the table read/write lock
+	 */
+	ReadWriteLock getLock() {
+		return lock;
+	}
+
+	/**
+	 * Get the number of live rows.
+	 * @return the table size
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Get the table column names.
+	 * @return the column names, in creation order
+	 */
+	Set<String> getColumnNames() {
+		return Collections.unmodifiableSet(columns.keySet());
+	}
+
+	/**
+	 * Get a copy of the live row ids set.
+	 * @return the live row ids
+	 */
+	BitSet getRows() {
+		return (BitSet) live.clone();
+	}
+
+	/**
+	 * Get the first live row id which is equal to or greater than given row id.
+	 * @param fromRow The row id to start from
+	 * @return The live row id, or <code>-1</code> if none
+	 */
+	int nextRow(int fromRow) {
+		return live.nextSetBit(fromRow);
+	}
+
+	/**
+	 * Get the value of given row and column.
+	 * @param row Row id
+	 * @param column Column name
+	 * @return The value, <code>null</code> if the column does not exist
+	 */
+	Object getValue(int row, String column) {
+		final Object[] values = columns.get(column);
+		return (values != null) ? values[row] : null;
+	}
+
+	/**
+	 * Insert a new row.
+	 * @param values Row values, by column name
+	 * @return The new row id
+	 */
+	int insert(Map<String, Object> values) {
+		if (length == capacity) {
+			capacity = capacity << 1;
+			for (Entry<String, Object[]> column : columns.entrySet()) {
+				column.setValue(Arrays.copyOf(column.getValue(), capacity));
+			}
+		}
+		final int row = length++;
+		for (Entry<String, Object> value : values.entrySet()) {
+			getOrCreateColumn(value.getKey())[row] = value.getValue();
+		}
+		live.set(row);
+		size++;
+		for (Entry<String, InMemoryIndex> index : indexes.entrySet()) {
+			index.getValue().add(getValue(row, index.getKey()), row);
+		}
+		return row;
+	}
+
+	/**
+	 * Update given row.
+	 * @param row Row id
+	 * @param values Values to set, by column name
+	 */
+	void update(int row, Map<String, Object> values) {
+		for (Entry<String, Object> value : values.entrySet()) {
+			final Object[] column = getOrCreateColumn(value.getKey());
+			final Object previous = column[row];
+			column[row] = value.getValue();
+			final InMemoryIndex index = indexes.get(value.getKey());
+			if (index != null) {
+				index.remove(previous, row);
+				index.add(value.getValue(), row);
+			}
+		}
+	}
+
+	/**
+	 * Delete given row.
+	 * @param row Row id
+	 */
+	void delete(int row) {
+		if (live.get(row)) {
+			for (Entry<String, InMemoryIndex> index : indexes.entrySet()) {
+				index.getValue().remove(getValue(row, index.getKey()), row);
+			}
+			for (Object[] column : columns.values()) {
+				column[row] = null;
+			}
+			live.clear(row);
+			size--;
+		}
+	}
+
+	/**
+	 * Remove all the rows. Index definitions are preserved.
+	 */
+	void clear() {
+		columns.clear();
+		live.clear();
+		capacity = INITIAL_CAPACITY;
+		length = 0;
+		size = 0;
+		indexes.values().forEach(i -> i.clear());
+	}
+
+	/**
+	 * Reclaim the deleted rows slots, if they outnumber the live rows. Row ids may change.
+	 */
+	void compact() {
+		if (length < COMPACTION_THRESHOLD || (length - size) <= size) {
+			return;
+		}
+		final int newCapacity = Math.max(INITIAL_CAPACITY, Integer.highestOneBit(Math.max(1, size)) << 1);
+		for (Entry<String, Object[]> column : columns.entrySet()) {
+			final Object[] values = column.getValue();
+			final Object[] compacted = new Object[newCapacity];
+			int target = 0;
+			for (int row = live.nextSetBit(0); row >= 0; row = live.nextSetBit(row + 1)) {
+				compacted[target++] = values[row];
+			}
+			column.setValue(compacted);
+		}
+		capacity = newCapacity;
+		length = size;
+		live.clear();
+		live.set(0, size);
+		for (Entry<String, InMemoryIndex> index : indexes.entrySet()) {
+			populate(index.getKey(), index.getValue());
+		}
+	}
+
+	/**
+	 * Get the index defined on given column, if any.
+	 * @param column Column name
+	 * @return The index, or <code>null</code> if none
+	 */
+	InMemoryIndex getIndex(String column) {
+		return indexes.get(column);
+	}
+
+	/**
+	 * Create an index on given column, replacing any previous one.
+	 * @param column Column name
+	 * @param type Index type
+	 */
+	void createIndex(String column, IndexType type) {
+		final InMemoryIndex index = InMemoryIndex.create(type);
+		populate(column, index);
+		indexes.put(column, index);
+	}
+
+	/**
+	 * Remove the index defined on given column.
+	 * @param column Column name
+	 * @return <code>true</code> if an index was removed
+	 */
+	boolean dropIndex(String column) {
+		return indexes.remove(column) != null;
+	}
+
+	private void populate(String column, InMemoryIndex index) {
+		index.clear();
+		for (int row = live.nextSetBit(0); row >= 0; row = live.nextSetBit(row + 1)) {
+			index.add(getValue(row, column), row);
+		}
+	}
+
+	private Object[] getOrCreateColumn(String column) {
+		return columns.computeIfAbsent(column, c -> new Object[capacity]);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "InMemoryTable [name=" + name + ", size=" + size + ", columns=" + columns.keySet() + ", indexes="
+				+ indexes.keySet() + "]";
+	}
+
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.datastore.memory;
+
+import com.holonplatform.core.Path;
+import com.holonplatform.core.internal.utils.ConversionUtils;
+import com.holonplatform.core.internal.utils.TypeUtils;
+
+/**
+ * Value utilities for the in-memory Datastore. Values comparison relies on
+ * {@link com.holonplatform.core.internal.query.QueryValues}.
+ *
+ * @since 5.2.2
+ */
+final class InMemoryValues {
+
+	private InMemoryValues() {
+	}
+
+	/**
+	 * Get the column name to use for given path, i.e. the path relative name.
+	 * @param path Path (not null)
+	 * @return Column name
+	 */
+	static String getColumnName(Path<?> path) {
+		return path.getParent().isPresent() ? path.relativeName() : path.getName();
+	}
+
+	/**
+	 * Convert given value to the required type, if it is a number of a different type.
+	 * @param value Value to convert
+	 * @param type Required type
+	 * @return Converted value
+	 */
+	@SuppressWarnings("unchecked")
+	static Object convert(Object value, Class<?> type) {
+		if (value instanceof Number && type != null) {
+			final Class<?> target = TypeUtils.box(type);
+			if (!target.isInstance(value) && TypeUtils.isNumber(target)) {
+				return ConversionUtils.convertNumberToTargetClass((Number) value, (Class<Number>) target);
+			}
+		}
+		return value;
+	}
+
+}
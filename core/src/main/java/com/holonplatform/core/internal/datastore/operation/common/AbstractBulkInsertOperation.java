@@ -16,6 +16,7 @@
 package com.holonplatform.core.internal.datastore.operation.common;
 
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Map.Entry;
 
@@ -78,6 +79,26 @@ public abstract class AbstractBulkInsertOperation<R, O extends BulkInsertOperati
 		return getActualOperation();
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.operation.commons.BulkInsertOperation#addAll(java.util.Iterator)
+	 */
+	@Override
+	public O addAll(Iterator<PropertyBox> values) {
+		getDefinition().addValueSource(values);
+		return getActualOperation();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.operation.commons.BulkInsertOperation#batchSize(int)
+	 */
+	@Override
+	public O batchSize(int batchSize) {
+		getDefinition().setBatchSize(batchSize);
+		return getActualOperation();
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see com.holonplatform.core.datastore.bulk.BulkInsertOperation#add(java.util.Map)
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.datastore.operation.common;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import com.holonplatform.core.datastore.operation.commons.BulkInsertOperationConfiguration;
+import com.holonplatform.core.exceptions.DataAccessException;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.core.property.PropertyBox;
+
+/**
+ * An {@link Iterator} which splits the values of a {@link BulkInsertOperationConfiguration} into batches.
+ * <p>
+ * The explicitly added values are provided first, followed by the values of each value source. The value sources are
+ * consumed lazily, one batch at a time, and a new {@link List} is created for each batch, so that a batch can be
+ * released as soon as it has been processed.
+ * </p>
+ * 
+ * @since 5.2.2
+ */
+public class BulkInsertBatchIterator implements Iterator<List<PropertyBox>> {
+
+	/**
+	 * Max initial capacity of a batch list
+	 */
+	private static final int MAX_INITIAL_CAPACITY = 1024;
+
+	private final Iterator<Iterator<PropertyBox>> sources;
+	private final int batchSize;
+
+	private Iterator<PropertyBox> current;
+
+	/**
+	 * Constructor.
+	 * @param configuration Bulk insert operation configuration (not null)
+	 */
+	public BulkInsertBatchIterator(BulkInsertOperationConfiguration configuration) {
+		this(ObjectUtils.argumentNotNull(configuration, "Operation configuration must be not null").getValues()
+				.iterator(), configuration.getValueSources(), configuration.getBatchSize());
+	}
+
+	/**
+	 * Constructor.
+	 * @param values The explicitly added values (not null)
+	 * @param valueSources The value sources (not null)
+	 * @param batchSize The batch size, if not greater than <code>0</code> the
+	 *        {@link BulkInsertOperationConfiguration#DEFAULT_BATCH_SIZE} is used
+	 */
+	public BulkInsertBatchIterator(Iterator<PropertyBox> values, List<Iterator<PropertyBox>> valueSources,
+			int batchSize) {
+		super();
+		ObjectUtils.argumentNotNull(values, "Values must be not null");
+		ObjectUtils.argumentNotNull(valueSources, "Value sources must be not null");
+		final List<Iterator<PropertyBox>> iterators = new ArrayList<>(valueSources.size() + 1);
+		iterators.add(values);
+		iterators.addAll(valueSources);
+		this.sources = iterators.iterator();
+		this.batchSize = (batchSize > 0) ? batchSize : BulkInsertOperationConfiguration.DEFAULT_BATCH_SIZE;
+	}
+
+	/**
+	 * Get the batch size.
+	 * @return the batch size
+	 */
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.Iterator#hasNext()
+	 */
+	@Override
+	public boolean hasNext() {
+		return nextSource() != null;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.Iterator#next()
+	 */
+	@Override
+	public List<PropertyBox> next() {
+		Iterator<PropertyBox> source = nextSource();
+		if (source == null) {
+			throw new NoSuchElementException();
+		}
+		final List<PropertyBox> batch = new ArrayList<>(Math.min(batchSize, MAX_INITIAL_CAPACITY));
+		while (source != null && batch.size() < batchSize) {
+			final PropertyBox value = source.next();
+			if (value == null) {
+				throw new DataAccessException("Bulk insert value source provided a null value");
+			}
+			batch.add(value);
+			if (!source.hasNext()) {
+				source = nextSource();
+			}
+		}
+		return batch;
+	}
+
+	/**
+	 * Get the first value source which has more values.
+	 * @return The next value source, <code>null</code> if all value sources are exhausted
+	 */
+	private Iterator<PropertyBox> nextSource() {
+		while ((current == null || !current.hasNext()) && sources.hasNext()) {
+			current = sources.next();
+		}
+		return (current != null && current.hasNext()) ? current : null;
+	}
+
+}
@@ -15,6 +15,8 @@
  */
 package com.holonplatform.core.internal.datastore.operation.common;
 
+import java.util.Iterator;
+
 import com.holonplatform.core.datastore.operation.commons.BulkInsertOperationConfiguration;
 import com.holonplatform.core.property.PropertyBox;
 import com.holonplatform.core.property.PropertySet;
@@ -32,6 +34,18 @@ public interface BulkInsertDefinition extends DatastoreOperationDefinition, Bulk
 	 */
 	void addValue(PropertyBox value);
 
+	/**
+	 * Add a value source.
+	 * @param values The value source to add (not null)
+	 */
+	void addValueSource(Iterator<PropertyBox> values);
+
+	/**
+	 * Set the maximum number of values to include in each operation batch.
+	 * @param batchSize The batch size (must be greater than 0)
+	 */
+	void setBatchSize(int batchSize);
+
 	/**
 	 * Set the {@link PropertySet} to be used for the operation values to include.
 	 * @param propertySet The property set to set (not null)
@@ -15,7 +15,9 @@
  */
 package com.holonplatform.core.internal.datastore.operation.common;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
@@ -36,20 +38,65 @@ public class DefaultBulkInsertDefinition extends AbstractDatastoreOperationDefin
 	 */
 	private final List<PropertyBox> values = new LinkedList<>();
 
+	/*
+	 * Operation value sources
+	 */
+	private final List<Iterator<PropertyBox>> valueSources = new ArrayList<>(2);
+
 	/*
 	 * Operation property set
 	 */
 	private PropertySet<?> propertySet;
 
+	/*
+	 * Batch size
+	 */
+	private int batchSize = 0;
+
 	/*
 	 * (non-Javadoc)
 	 * @see com.holonplatform.core.datastore.operation.commons.BulkInsertOperationConfiguration#getValues()
 	 */
 	@Override
 	public List<PropertyBox> getValues() {
+		// consume the value sources, if any
+		for (Iterator<PropertyBox> source : valueSources) {
+			while (source.hasNext()) {
+				addValue(source.next());
+			}
+		}
+		valueSources.clear();
 		return Collections.unmodifiableList(values);
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.operation.commons.BulkInsertOperationConfiguration#getValueSources()
+	 */
+	@Override
+	public List<Iterator<PropertyBox>> getValueSources() {
+		return Collections.unmodifiableList(valueSources);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.operation.commons.BulkInsertOperationConfiguration#getBatchSize()
+	 */
+	@Override
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.operation.commons.BulkInsertOperationConfiguration#batches()
+	 */
+	@Override
+	public Iterator<List<PropertyBox>> batches() {
+		return new BulkInsertBatchIterator(Collections.unmodifiableList(values).iterator(), valueSources,
+				batchSize);
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see com.holonplatform.core.datastore.operation.commons.BulkInsertOperationConfiguration#getPropertySet()
@@ -71,6 +118,29 @@ public class DefaultBulkInsertDefinition extends AbstractDatastoreOperationDefin
 		values.add(value);
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see
+	 * com.holonplatform.core.internal.datastore.operation.common.BulkInsertDefinition#addValueSource(java.util.Iterator)
+	 */
+	@Override
+	public void addValueSource(Iterator<PropertyBox> values) {
+		ObjectUtils.argumentNotNull(values, "Values must be not null");
+		valueSources.add(values);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.internal.datastore.operation.common.BulkInsertDefinition#setBatchSize(int)
+	 */
+	@Override
+	public void setBatchSize(int batchSize) {
+		if (batchSize < 1) {
+			throw new IllegalArgumentException("Batch size must be greater than 0");
+		}
+		this.batchSize = batchSize;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see
@@ -89,7 +159,7 @@ public class DefaultBulkInsertDefinition extends AbstractDatastoreOperationDefin
 	@Override
 	public void validate() throws InvalidExpressionException {
 		super.validate();
-		if (getValues().isEmpty()) {
+		if (values.isEmpty() && valueSources.isEmpty()) {
 			throw new InvalidExpressionException("No values to insert");
 		}
 	}
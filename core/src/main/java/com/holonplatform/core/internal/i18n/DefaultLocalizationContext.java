@@ -40,16 +40,18 @@ import com.holonplatform.core.i18n.NumberFormatFeature;
 import com.holonplatform.core.i18n.TemporalFormat;
 import com.holonplatform.core.internal.Logger;
 import com.holonplatform.core.internal.utils.FormatUtils;
+import com.holonplatform.core.internal.utils.LruCache;
+import com.holonplatform.core.internal.utils.MessageTemplate;
 import com.holonplatform.core.internal.utils.ObjectUtils;
-import com.holonplatform.core.internal.utils.TypeUtils;
 import com.holonplatform.core.temporal.TemporalType;
 
 /**
  * Default {@link LocalizationContext} implementation.
  * 
  * <p>
- * By default, a cache is used to hold DateFormat and NumberFormat instances. Use
- * {@link #setUseDateTimeFormatsCache(boolean)} method to disable caching.
+ * By default, a {@link FormatCache} is used to hold the NumberFormat, DateFormat and DateTimeFormatter instances, so
+ * that formatting is safe for concurrent use and no format instance is created at each invocation. Use
+ * {@link #setUseDateTimeFormatsCache(boolean)} method to disable date and time formats caching.
  * </p>
  * 
  * <p>
@@ -69,22 +71,14 @@ public class DefaultLocalizationContext implements LocalizationContext, MessageR
 	private static final Logger LOGGER = I18nLogger.create();
 
 	/**
-	 * Enable date formats cache
+	 * Max number of cached message templates for each Locale
 	 */
-	private boolean useDateTimeFormatsCache = true;
+	private static final int MAX_MESSAGE_TEMPLATES = 1024;
 
-	/*
-	 * Caches
+	/**
+	 * Enable date formats cache
 	 */
-	private final ConcurrentMap<TemporalFormat, DateFormat> dateFormatCache = new ConcurrentHashMap<>(2, 0.9f, 1);
-	private final ConcurrentMap<TemporalFormat, DateFormat> timeFormatCache = new ConcurrentHashMap<>(2, 0.9f, 1);
-	private final ConcurrentMap<DateTimeFormat, DateFormat> dateTimeFormatCache = new ConcurrentHashMap<>(2, 0.9f, 1);
-	private final ConcurrentMap<TemporalFormat, DateTimeFormatter> dateFormatterCache = new ConcurrentHashMap<>(2, 0.9f,
-			1);
-	private final ConcurrentMap<TemporalFormat, DateTimeFormatter> timeFormatterCache = new ConcurrentHashMap<>(2, 0.9f,
-			1);
-	private final ConcurrentMap<DateTimeFormat, DateTimeFormatter> dateTimeFormatterCache = new ConcurrentHashMap<>(2,
-			0.9f, 1);
+	private boolean useDateTimeFormatsCache = true;
 
 	/**
 	 * Default dates TemporalFormat style
@@ -126,6 +120,11 @@ public class DefaultLocalizationContext implements LocalizationContext, MessageR
 	 */
 	private Localization localization;
 
+	/**
+	 * Parsed message templates, by Locale and message code
+	 */
+	private transient volatile ConcurrentMap<Locale, LruCache<String, MessageTemplate>> messageTemplates;
+
 	/**
 	 * Default constructor
 	 */
@@ -205,8 +204,9 @@ public class DefaultLocalizationContext implements LocalizationContext, MessageR
 	}
 
 	/**
-	 * Set whether to cache date and time format instances. Please note that standard Java {@link DateFormat} is not
-	 * thread-safe, so you must take care of any concurrency issue using cached date/time format instances.
+	 * Set whether to cache date and time format instances. Cached {@link DateFormat} instances are shared through a
+	 * bounded pool of clones, and each clone is used by a single format operation at a time, so the cache is safe for
+	 * concurrent use.
 	 * @param useDateTimeFormatsCache <code>true</code> to cache date and time format instances
 	 */
 	public void setUseDateTimeFormatsCache(boolean useDateTimeFormatsCache) {
@@ -237,6 +237,7 @@ public class DefaultLocalizationContext implements LocalizationContext, MessageR
 	 */
 	public void setMessageArgumentsPlaceholder(String messageArgumentsPlaceholder) {
 		this.messageArgumentsPlaceholder = messageArgumentsPlaceholder;
+		this.messageTemplates = null;
 	}
 
 	/**
@@ -261,15 +262,26 @@ public class DefaultLocalizationContext implements LocalizationContext, MessageR
 	}
 
 	/**
-	 * Clear all caches
+	 * Get the {@link FormatCache} to use to obtain the format instances.
+	 * @return The format cache
 	 */
+	protected FormatCache getFormatCache() {
+		return FormatCache.getDefault();
+	}
+
+	/**
+	 * Clear any cache bound to this context, invoked when the context is localized.
+	 * <p>
+	 * This context holds no cache by default: the {@link FormatCache} returned by {@link #getFormatCache()} is shared
+	 * and keyed by {@link Locale}, so it never needs to be cleared when the localization changes. Subclasses which
+	 * hold their own caches can still override this method, which is invoked at each localization change.
+	 * </p>
+	 * @deprecated Formats are cached by {@link Locale} in the shared {@link FormatCache} and are not bound to this
+	 *             context anymore. Use {@link FormatCache#clear()} to remove the cached formats.
+	 */
+	@Deprecated
 	protected void clearCaches() {
-		dateFormatCache.clear();
-		timeFormatCache.clear();
-		dateTimeFormatCache.clear();
-		dateFormatterCache.clear();
-		timeFormatterCache.clear();
-		dateTimeFormatterCache.clear();
+		// nothing to clear by default
 	}
 
 	/*
@@ -358,48 +370,10 @@ public class DefaultLocalizationContext implements LocalizationContext, MessageR
 	@Override
 	public String format(Number number, int decimalPositions, NumberFormatFeature... features) {
 		if (number != null) {
-
-			int decimals = decimalPositions;
-			if (decimals < 0) {
-				// use default, if any
-				if (getLocalization() != null) {
-					decimals = getLocalization().getDefaultDecimalPositions().orElse(-1);
-				}
-			}
-
-			NumberFormat format = null;
-
-			if (NumberFormatFeature.hasFeature(NumberFormatFeature.PERCENT_STYLE, features)) {
-				format = NumberFormat.getPercentInstance(checkLocalized());
-
-				if (NumberFormatFeature.hasFeature(NumberFormatFeature.HIDE_DECIMALS_WHEN_ALL_ZERO, features)
-						&& !FormatUtils.hasDecimals(number.doubleValue())) {
-					format.setMaximumFractionDigits(0);
-				} else if (decimals > -1) {
-					format.setMinimumFractionDigits(decimals);
-					format.setMaximumFractionDigits(decimals);
-				}
-
-			} else if (TypeUtils.isDecimalNumber(number.getClass())) {
-				format = NumberFormat.getInstance(checkLocalized());
-
-				if (NumberFormatFeature.hasFeature(NumberFormatFeature.HIDE_DECIMALS_WHEN_ALL_ZERO, features)
-						&& !FormatUtils.hasDecimals(number.doubleValue())) {
-					format.setMaximumFractionDigits(0);
-				} else if (decimals > -1) {
-					format.setMinimumFractionDigits(decimals);
-					format.setMaximumFractionDigits(decimals);
-				}
-
-			} else {
-				format = NumberFormat.getIntegerInstance(checkLocalized());
-			}
-
-			if (NumberFormatFeature.hasFeature(NumberFormatFeature.DISABLE_GROUPING, features)) {
-				format.setGroupingUsed(false);
-			}
-
-			return format.format(number);
+			return getFormatCache().formatNumber(checkLocalized(), number, getDecimalPositions(decimalPositions),
+					NumberFormatFeature.hasFeature(NumberFormatFeature.PERCENT_STYLE, features),
+					NumberFormatFeature.hasFeature(NumberFormatFeature.HIDE_DECIMALS_WHEN_ALL_ZERO, features),
+					NumberFormatFeature.hasFeature(NumberFormatFeature.DISABLE_GROUPING, features));
 		}
 		return null;
 	}
@@ -411,31 +385,21 @@ public class DefaultLocalizationContext implements LocalizationContext, MessageR
 	@Override
 	public NumberFormat getNumberFormat(Class<? extends Number> numberType, int decimalPositions,
 			boolean disableGrouping) {
+		return getFormatCache().getNumberFormat(checkLocalized(), numberType, getDecimalPositions(decimalPositions),
+				disableGrouping);
+	}
 
-		int decimals = decimalPositions;
-		if (decimals < 0) {
-			// use default, if any
-			if (getLocalization() != null) {
-				decimals = getLocalization().getDefaultDecimalPositions().orElse(-1);
-			}
-		}
-
-		NumberFormat format = null;
-
-		if (TypeUtils.isDecimalNumber(numberType)) {
-			format = NumberFormat.getInstance(checkLocalized());
-			if (decimals > -1) {
-				format.setMinimumFractionDigits(decimals);
-				format.setMaximumFractionDigits(decimals);
-			}
-		} else {
-			format = NumberFormat.getIntegerInstance(checkLocalized());
-		}
-
-		if (disableGrouping) {
-			format.setGroupingUsed(false);
+	/**
+	 * Get the decimal positions to use, falling back to the current {@link Localization} default decimal positions, if
+	 * any, when given value is negative.
+	 * @param decimalPositions Decimal positions
+	 * @return Decimal positions to use, -1 for default
+	 */
+	private int getDecimalPositions(int decimalPositions) {
+		if (decimalPositions < 0 && getLocalization() != null) {
+			return getLocalization().getDefaultDecimalPositions().orElse(-1);
 		}
-		return format;
+		return decimalPositions;
 	}
 
 	/*
@@ -482,7 +446,16 @@ public class DefaultLocalizationContext implements LocalizationContext, MessageR
 	@Override
 	public String format(Date date, TemporalType type, TemporalFormat dateFormat, TemporalFormat timeFormat) {
 		if (date != null) {
-			return getDateFormat(type, dateFormat, timeFormat).format(date);
+			final Localization lzn = getCurrentLocalization();
+			final TemporalType temporalType = (type != null) ? type : TemporalType.DATE;
+			final TemporalFormat df = getDateFormatStyle(lzn, dateFormat);
+			final TemporalFormat tf = getTimeFormatStyle(lzn, timeFormat);
+			if (isUseDateTimeFormatsCache()) {
+				return getFormatCache().formatDate(checkLocalized(), date, temporalType, df.getDateStyle(),
+						tf.getTimeStyle());
+			}
+			return FormatCache.createDateFormat(checkLocalized(), temporalType, df.getDateStyle(), tf.getTimeStyle())
+					.format(date);
 		}
 		return null;
 	}
@@ -494,64 +467,15 @@ public class DefaultLocalizationContext implements LocalizationContext, MessageR
 	 */
 	@Override
 	public DateFormat getDateFormat(TemporalType type, TemporalFormat dateFormat, TemporalFormat timeFormat) {
-		TemporalType temporalType = (type != null) ? type : TemporalType.DATE;
-
-		Localization lzn = getLocalization();
-		if (lzn == null) {
-			throw new LocalizationException("Context is not localized");
-		}
-
-		TemporalFormat df = (dateFormat != null) ? dateFormat : TemporalFormat.DEFAULT;
-		TemporalFormat tf = (timeFormat != null) ? timeFormat : TemporalFormat.DEFAULT;
-
-		if (df == TemporalFormat.DEFAULT) {
-			df = lzn.getDefaultDateTemporalFormat().orElse(getDefaultDateFormatStyle().orElse(TemporalFormat.SHORT));
+		final Localization lzn = getCurrentLocalization();
+		final TemporalType temporalType = (type != null) ? type : TemporalType.DATE;
+		final TemporalFormat df = getDateFormatStyle(lzn, dateFormat);
+		final TemporalFormat tf = getTimeFormatStyle(lzn, timeFormat);
+		if (isUseDateTimeFormatsCache()) {
+			return getFormatCache().getDateFormat(checkLocalized(), temporalType, df.getDateStyle(),
+					tf.getTimeStyle());
 		}
-		if (tf == TemporalFormat.DEFAULT) {
-			tf = lzn.getDefaultTimeTemporalFormat().orElse(getDefaultTimeFormatStyle().orElse(TemporalFormat.SHORT));
-		}
-
-		DateFormat formatter;
-
-		switch (temporalType) {
-		case TIME: {
-			if (isUseDateTimeFormatsCache() && timeFormatCache.containsKey(tf)) {
-				formatter = timeFormatCache.get(tf);
-			} else {
-				formatter = DateFormat.getTimeInstance(tf.getTimeStyle(), checkLocalized());
-				if (isUseDateTimeFormatsCache()) {
-					timeFormatCache.put(tf, formatter);
-				}
-			}
-		}
-			break;
-		case DATE_TIME: {
-			DateTimeFormat dtf = new DateTimeFormat(df, tf);
-			if (isUseDateTimeFormatsCache() && dateTimeFormatCache.containsKey(dtf)) {
-				formatter = dateTimeFormatCache.get(dtf);
-			} else {
-				formatter = DateFormat.getDateTimeInstance(df.getDateStyle(), tf.getTimeStyle(), checkLocalized());
-				if (isUseDateTimeFormatsCache()) {
-					dateTimeFormatCache.put(dtf, formatter);
-				}
-			}
-		}
-			break;
-		case DATE:
-		default: {
-			if (isUseDateTimeFormatsCache() && dateFormatCache.containsKey(df)) {
-				formatter = dateFormatCache.get(df);
-			} else {
-				formatter = DateFormat.getDateInstance(df.getDateStyle(), checkLocalized());
-				if (isUseDateTimeFormatsCache()) {
-					dateFormatCache.put(df, formatter);
-				}
-			}
-		}
-			break;
-		}
-
-		return formatter;
+		return FormatCache.createDateFormat(checkLocalized(), temporalType, df.getDateStyle(), tf.getTimeStyle());
 	}
 
 	/*
@@ -576,65 +500,57 @@ public class DefaultLocalizationContext implements LocalizationContext, MessageR
 	@Override
 	public DateTimeFormatter getDateTimeFormatter(TemporalType type, TemporalFormat dateFormat,
 			TemporalFormat timeFormat) {
+		final Localization lzn = getCurrentLocalization();
+		final TemporalType temporalType = (type != null) ? type : TemporalType.DATE;
+		final TemporalFormat df = getDateFormatStyle(lzn, dateFormat);
+		final TemporalFormat tf = getTimeFormatStyle(lzn, timeFormat);
+		if (isUseDateTimeFormatsCache()) {
+			return getFormatCache().getDateTimeFormatter(checkLocalized(), temporalType, df.getDateFormatStyle(),
+					tf.getTimeFormatStyle());
+		}
+		return FormatCache.createDateTimeFormatter(checkLocalized(), temporalType, df.getDateFormatStyle(),
+				tf.getTimeFormatStyle());
+	}
 
-		Localization lzn = getLocalization();
+	/**
+	 * Get the current {@link Localization}.
+	 * @return The current localization
+	 * @throws LocalizationException If the context is not localized
+	 */
+	private Localization getCurrentLocalization() throws LocalizationException {
+		final Localization lzn = getLocalization();
 		if (lzn == null) {
 			throw new LocalizationException("Context is not localized");
 		}
+		return lzn;
+	}
 
-		TemporalFormat df = (dateFormat != null) ? dateFormat : TemporalFormat.DEFAULT;
-		TemporalFormat tf = (timeFormat != null) ? timeFormat : TemporalFormat.DEFAULT;
-
-		if (df == TemporalFormat.DEFAULT) {
-			df = lzn.getDefaultDateTemporalFormat().orElse(getDefaultDateFormatStyle().orElse(TemporalFormat.SHORT));
-		}
-		if (tf == TemporalFormat.DEFAULT) {
-			tf = lzn.getDefaultTimeTemporalFormat().orElse(getDefaultTimeFormatStyle().orElse(TemporalFormat.SHORT));
+	/**
+	 * Get the date format style to use, resolving {@link TemporalFormat#DEFAULT}.
+	 * @param localization Current localization
+	 * @param dateFormat Date format style, <code>null</code> for default
+	 * @return The date format style
+	 */
+	private TemporalFormat getDateFormatStyle(Localization localization, TemporalFormat dateFormat) {
+		if (dateFormat == null || dateFormat == TemporalFormat.DEFAULT) {
+			return localization.getDefaultDateTemporalFormat()
+					.orElse(getDefaultDateFormatStyle().orElse(TemporalFormat.SHORT));
 		}
+		return dateFormat;
+	}
 
-		DateTimeFormatter formatter;
-
-		TemporalType temporalType = (type != null) ? type : TemporalType.DATE;
-
-		switch (temporalType) {
-		case TIME: {
-			if (isUseDateTimeFormatsCache() && timeFormatterCache.containsKey(tf)) {
-				formatter = timeFormatterCache.get(tf);
-			} else {
-				formatter = DateTimeFormatter.ofLocalizedTime(tf.getTimeFormatStyle()).withLocale(checkLocalized());
-				if (isUseDateTimeFormatsCache()) {
-					timeFormatterCache.put(tf, formatter);
-				}
-			}
-		}
-			break;
-		case DATE_TIME: {
-			DateTimeFormat dtf = new DateTimeFormat(df, tf);
-			if (isUseDateTimeFormatsCache() && dateTimeFormatterCache.containsKey(dtf)) {
-				formatter = dateTimeFormatterCache.get(dtf);
-			} else {
-				formatter = DateTimeFormatter.ofLocalizedDateTime(df.getDateFormatStyle(), tf.getTimeFormatStyle())
-						.withLocale(checkLocalized());
-				if (isUseDateTimeFormatsCache()) {
-					dateTimeFormatterCache.put(dtf, formatter);
-				}
-			}
-		}
-			break;
-		case DATE:
-		default: {
-			if (isUseDateTimeFormatsCache() && dateFormatterCache.containsKey(df)) {
-				formatter = dateFormatterCache.get(df);
-			} else {
-				formatter = DateTimeFormatter.ofLocalizedDate(df.getDateFormatStyle()).withLocale(checkLocalized());
-				if (isUseDateTimeFormatsCache()) {
-					dateFormatterCache.put(df, formatter);
-				}
-			}
-		}
-			break;
+	/**
+	 * Get the time format style to use, resolving {@link TemporalFormat#DEFAULT}.
+	 * @param localization Current localization
+	 * @param timeFormat Time format style, <code>null</code> for default
+	 * @return The time format style
+	 */
+	private TemporalFormat getTimeFormatStyle(Localization localization, TemporalFormat timeFormat) {
+		if (timeFormat == null || timeFormat == TemporalFormat.DEFAULT) {
+			return localization.getDefaultTimeTemporalFormat()
+					.orElse(getDefaultTimeFormatStyle().orElse(TemporalFormat.SHORT));
 		}
-		return formatter;
+		return timeFormat;
 	}
 
 	protected String getMessageUsingProviders(Locale locale, String code, String defaultMessage, Object... arguments) {
@@ -651,7 +567,7 @@ public class DefaultLocalizationContext implements LocalizationContext, MessageR
 				LOGGER.debug(() -> "DefaultLocalizationContext: message with code [" + code + "] for Locale [" + locale
 						+ "] found from provider [" + provider + "]: [" + value.get() + "]");
 
-				return resolveMessageArguments(value.get(), arguments);
+				return resolveMessageArguments(locale, code, value.get(), arguments);
 			}
 		}
 
@@ -763,6 +679,59 @@ public class DefaultLocalizationContext implements LocalizationContext, MessageR
 				.orElse(message);
 	}
 
+	/**
+	 * Replace any message argument identified by {@link #getMessageArgumentsPlaceholder()} with given argument values,
+	 * for a message obtained from a {@link MessageProvider}.
+	 * <p>
+	 * The message is parsed into a {@link MessageTemplate} only once for each {@link Locale} and message code, and the
+	 * parsed template is reused as long as the provider returns the same message. The templates cache of each Locale
+	 * is bounded and the least recently used templates are evicted first.
+	 * </p>
+	 * @param locale Message Locale
+	 * @param code Message code
+	 * @param message Message to process
+	 * @param arguments Arguments
+	 * @return Message with resolved arguments.
+	 * @since 5.2.2
+	 */
+	protected String resolveMessageArguments(Locale locale, String code, String message, Object[] arguments) {
+		final String placeholder = messageArgumentsPlaceholder;
+		if (message == null || placeholder == null || arguments == null || arguments.length == 0) {
+			return message;
+		}
+		final LruCache<String, MessageTemplate> templates = getMessageTemplates(locale);
+		MessageTemplate template = templates.get(code);
+		if (template == null || !template.getMessage().equals(message)
+				|| !template.getPlaceholder().equals(placeholder)) {
+			template = MessageTemplate.parse(placeholder, message);
+			templates.put(code, template);
+		}
+		return template.render(arguments);
+	}
+
+	/**
+	 * Get the message templates cache for given {@link Locale}.
+	 * @param locale Locale
+	 * @return The message templates cache, by message code
+	 */
+	private LruCache<String, MessageTemplate> getMessageTemplates(Locale locale) {
+		ConcurrentMap<Locale, LruCache<String, MessageTemplate>> templates = messageTemplates;
+		if (templates == null) {
+			synchronized (this) {
+				templates = messageTemplates;
+				if (templates == null) {
+					templates = new ConcurrentHashMap<>(4, 0.9f, 1);
+					messageTemplates = templates;
+				}
+			}
+		}
+		final LruCache<String, MessageTemplate> localeTemplates = templates.get(locale);
+		if (localeTemplates != null) {
+			return localeTemplates;
+		}
+		return templates.computeIfAbsent(locale, l -> new LruCache<>(MAX_MESSAGE_TEMPLATES));
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see java.lang.Object#toString()
@@ -775,55 +744,6 @@ public class DefaultLocalizationContext implements LocalizationContext, MessageR
 				+ "]";
 	}
 
-	/*
-	 * Support class for dateTime format cache
-	 */
-	private static final class DateTimeFormat {
-
-		TemporalFormat dateFormat;
-		TemporalFormat timeFormat;
-
-		public DateTimeFormat(TemporalFormat dateFormat, TemporalFormat timeFormat) {
-			super();
-			this.dateFormat = dateFormat;
-			this.timeFormat = timeFormat;
-		}
-
-		/*
-		 * (non-Javadoc)
-		 * @see java.lang.Object#hashCode()
-		 */
-		@Override
-		public int hashCode() {
-			final int prime = 31;
-			int result = 1;
-			result = prime * result + ((dateFormat == null) ? 0 : dateFormat.hashCode());
-			result = prime * result + ((timeFormat == null) ? 0 : timeFormat.hashCode());
-			return result;
-		}
-
-		/*
-		 * (non-Javadoc)
-		 * @see java.lang.Object#equals(java.lang.Object)
-		 */
-		@Override
-		public boolean equals(Object obj) {
-			if (this == obj)
-				return true;
-			if (obj == null)
-				return false;
-			if (getClass() != obj.getClass())
-				return false;
-			DateTimeFormat other = (DateTimeFormat) obj;
-			if (dateFormat != other.dateFormat)
-				return false;
-			if (timeFormat != other.timeFormat)
-				return false;
-			return true;
-		}
-
-	}
-
 	// Builder
 
 	/**
@@ -0,0 +1,463 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.i18n;
+
+import java.text.DateFormat;
+import java.text.Format;
+import java.text.NumberFormat;
+import java.time.format.DateTimeFormatter;
+import java.time.format.FormatStyle;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.holonplatform.core.internal.utils.FormatUtils;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.core.internal.utils.TypeUtils;
+import com.holonplatform.core.temporal.TemporalType;
+
+/**
+ * A cache of {@link NumberFormat}, {@link DateFormat} and {@link DateTimeFormatter} instances, safe for concurrent
+ * use.
+ * <p>
+ * Formats are keyed by {@link Locale} and by any setting which affects their configuration, so the cache never needs
+ * to be cleared when a locale changes. Since {@link NumberFormat} and {@link DateFormat} are not thread-safe, a
+ * prototype instance is cached for each key along with a small, bounded pool of clones: each format operation borrows
+ * a clone from the pool, or creates a new one if the pool is empty, and returns it when done.
+ * {@link DateTimeFormatter}s are immutable and shared as they are.
+ * </p>
+ * <p>
+ * The {@link #getNumberFormat(Locale, Class, int, boolean)} and {@link #getDateFormat(Locale, TemporalType, int, int)}
+ * methods return a new clone for each invocation, so the caller is free to modify it.
+ * </p>
+ * 
+ * @since 5.2.2
+ */
+public final class FormatCache {
+
+	/**
+	 * Maximum number of pooled clones for each non thread-safe format
+	 */
+	private static final int POOL_SIZE = Math.min(8, Math.max(2, Runtime.getRuntime().availableProcessors()));
+
+	/**
+	 * Shared instance
+	 */
+	private static final FormatCache DEFAULT = new FormatCache();
+
+	/**
+	 * Number formats
+	 */
+	private final ConcurrentMap<NumberFormatKey, PooledFormat<NumberFormat>> numberFormats = new ConcurrentHashMap<>(
+			8, 0.9f, 1);
+
+	/**
+	 * Date formats
+	 */
+	private final ConcurrentMap<DateFormatKey, PooledFormat<DateFormat>> dateFormats = new ConcurrentHashMap<>(8,
+			0.9f, 1);
+
+	/**
+	 * Date time formatters
+	 */
+	private final ConcurrentMap<DateTimeFormatterKey, DateTimeFormatter> dateTimeFormatters = new ConcurrentHashMap<>(
+			8, 0.9f, 1);
+
+	/**
+	 * Get the shared {@link FormatCache} instance.
+	 * @return The shared {@link FormatCache}
+	 */
+	public static FormatCache getDefault() {
+		return DEFAULT;
+	}
+
+	/**
+	 * Format given number.
+	 * @param locale Locale (not null)
+	 * @param number Number to format (not null)
+	 * @param decimalPositions Decimal positions, -1 for default
+	 * @param percent Whether to use the percent style
+	 * @param hideZeroDecimals Whether to hide the decimals when all zero
+	 * @param disableGrouping Whether to disable the groups separator
+	 * @return Formatted number
+	 */
+	public String formatNumber(Locale locale, Number number, int decimalPositions, boolean percent,
+			boolean hideZeroDecimals, boolean disableGrouping) {
+		final NumberKind kind = percent ? NumberKind.PERCENT
+				: TypeUtils.isDecimalNumber(number.getClass()) ? NumberKind.DECIMAL : NumberKind.INTEGER;
+		final boolean zeroDecimals = kind != NumberKind.INTEGER && hideZeroDecimals
+				&& !FormatUtils.hasDecimals(number.doubleValue());
+		final PooledFormat<NumberFormat> pooled = getPooledNumberFormat(locale, kind, decimalPositions, zeroDecimals,
+				!disableGrouping);
+		final NumberFormat format = pooled.borrow();
+		try {
+			return format.format(number);
+		} finally {
+			pooled.release(format);
+		}
+	}
+
+	/**
+	 * Get a {@link NumberFormat} for given number type.
+	 * @param locale Locale (not null)
+	 * @param numberType Number type (not null)
+	 * @param decimalPositions Decimal positions, -1 for default
+	 * @param disableGrouping Whether to disable the groups separator
+	 * @return A new {@link NumberFormat} instance
+	 */
+	public NumberFormat getNumberFormat(Locale locale, Class<? extends Number> numberType, int decimalPositions,
+			boolean disableGrouping) {
+		return getPooledNumberFormat(locale,
+				TypeUtils.isDecimalNumber(numberType) ? NumberKind.DECIMAL : NumberKind.INTEGER, decimalPositions,
+				false, !disableGrouping).copy();
+	}
+
+	/**
+	 * Format given date.
+	 * @param locale Locale (not null)
+	 * @param date Date to format (not null)
+	 * @param type Temporal type (not null)
+	 * @param dateStyle {@link DateFormat} date style
+	 * @param timeStyle {@link DateFormat} time style
+	 * @return Formatted date
+	 */
+	public String formatDate(Locale locale, Date date, TemporalType type, int dateStyle, int timeStyle) {
+		final PooledFormat<DateFormat> pooled = getPooledDateFormat(locale, type, dateStyle, timeStyle);
+		final DateFormat format = pooled.borrow();
+		try {
+			return format.format(date);
+		} finally {
+			pooled.release(format);
+		}
+	}
+
+	/**
+	 * Get a {@link DateFormat} for given temporal type.
+	 * @param locale Locale (not null)
+	 * @param type Temporal type (not null)
+	 * @param dateStyle {@link DateFormat} date style
+	 * @param timeStyle {@link DateFormat} time style
+	 * @return A new {@link DateFormat} instance
+	 */
+	public DateFormat getDateFormat(Locale locale, TemporalType type, int dateStyle, int timeStyle) {
+		return getPooledDateFormat(locale, type, dateStyle, timeStyle).copy();
+	}
+
+	/**
+	 * Get a {@link DateTimeFormatter} for given temporal type.
+	 * @param locale Locale (not null)
+	 * @param type Temporal type (not null)
+	 * @param dateStyle Date format style
+	 * @param timeStyle Time format style
+	 * @return The {@link DateTimeFormatter}
+	 */
+	public DateTimeFormatter getDateTimeFormatter(Locale locale, TemporalType type, FormatStyle dateStyle,
+			FormatStyle timeStyle) {
+		final DateTimeFormatterKey key = new DateTimeFormatterKey(locale, type, dateStyle, timeStyle);
+		DateTimeFormatter formatter = dateTimeFormatters.get(key);
+		if (formatter == null) {
+			formatter = dateTimeFormatters.computeIfAbsent(key,
+					k -> createDateTimeFormatter(locale, type, dateStyle, timeStyle));
+		}
+		return formatter;
+	}
+
+	/**
+	 * Remove all the cached formats.
+	 */
+	public void clear() {
+		numberFormats.clear();
+		dateFormats.clear();
+		dateTimeFormatters.clear();
+	}
+
+	/**
+	 * Create a new {@link DateFormat}.
+	 * @param locale Locale (not null)
+	 * @param type Temporal type (not null)
+	 * @param dateStyle {@link DateFormat} date style
+	 * @param timeStyle {@link DateFormat} time style
+	 * @return A new {@link DateFormat} instance
+	 */
+	public static DateFormat createDateFormat(Locale locale, TemporalType type, int dateStyle, int timeStyle) {
+		ObjectUtils.argumentNotNull(locale, "Locale must be not null");
+		switch (type) {
+		case TIME:
+			return DateFormat.getTimeInstance(timeStyle, locale);
+		case DATE_TIME:
+			return DateFormat.getDateTimeInstance(dateStyle, timeStyle, locale);
+		case DATE:
+		default:
+			return DateFormat.getDateInstance(dateStyle, locale);
+		}
+	}
+
+	/**
+	 * Create a new {@link DateTimeFormatter}.
+	 * @param locale Locale (not null)
+	 * @param type Temporal type (not null)
+	 * @param dateStyle Date format style
+	 * @param timeStyle Time format style
+	 * @return A new {@link DateTimeFormatter} instance
+	 */
+	public static DateTimeFormatter createDateTimeFormatter(Locale locale, TemporalType type, FormatStyle dateStyle,
+			FormatStyle timeStyle) {
+		ObjectUtils.argumentNotNull(locale, "Locale must be not null");
+		switch (type) {
+		case TIME:
+			return DateTimeFormatter.ofLocalizedTime(timeStyle).withLocale(locale);
+		case DATE_TIME:
+			return DateTimeFormatter.ofLocalizedDateTime(dateStyle, timeStyle).withLocale(locale);
+		case DATE:
+		default:
+			return DateTimeFormatter.ofLocalizedDate(dateStyle).withLocale(locale);
+		}
+	}
+
+	private PooledFormat<NumberFormat> getPooledNumberFormat(Locale locale, NumberKind kind, int decimals,
+			boolean zeroDecimals, boolean grouping) {
+		// decimal positions are not relevant for integer formats or when decimals are hidden
+		final NumberFormatKey key = new NumberFormatKey(locale, kind,
+				(decimals < 0 || zeroDecimals || kind == NumberKind.INTEGER) ? -1 : decimals, zeroDecimals, grouping);
+		PooledFormat<NumberFormat> format = numberFormats.get(key);
+		if (format == null) {
+			format = numberFormats.computeIfAbsent(key, k -> new PooledFormat<>(createNumberFormat(k)));
+		}
+		return format;
+	}
+
+	private PooledFormat<DateFormat> getPooledDateFormat(Locale locale, TemporalType type, int dateStyle,
+			int timeStyle) {
+		final DateFormatKey key = new DateFormatKey(locale, type, dateStyle, timeStyle);
+		PooledFormat<DateFormat> format = dateFormats.get(key);
+		if (format == null) {
+			format = dateFormats.computeIfAbsent(key,
+					k -> new PooledFormat<>(createDateFormat(locale, type, dateStyle, timeStyle)));
+		}
+		return format;
+	}
+
+	private static NumberFormat createNumberFormat(NumberFormatKey key) {
+		ObjectUtils.argumentNotNull(key.locale, "Locale must be not null");
+		final NumberFormat format;
+		switch (key.kind) {
+		case PERCENT:
+			format = NumberFormat.getPercentInstance(key.locale);
+			break;
+		case DECIMAL:
+			format = NumberFormat.getInstance(key.locale);
+			break;
+		case INTEGER:
+		default:
+			format = NumberFormat.getIntegerInstance(key.locale);
+			break;
+		}
+		if (key.zeroDecimals) {
+			format.setMaximumFractionDigits(0);
+		} else if (key.decimals > -1) {
+			format.setMinimumFractionDigits(key.decimals);
+			format.setMaximumFractionDigits(key.decimals);
+		}
+		if (!key.grouping) {
+			format.setGroupingUsed(false);
+		}
+		return format;
+	}
+
+	/**
+	 * Number format kinds.
+	 */
+	private enum NumberKind {
+
+		INTEGER, DECIMAL, PERCENT;
+
+	}
+
+	/**
+	 * A non thread-safe {@link Format} prototype, with a bounded pool of clones which can be borrowed to perform a
+	 * format operation.
+	 * @param <F> Format type
+	 */
+	private static final class PooledFormat<F extends Format> {
+
+		private final F prototype;
+		private final AtomicReferenceArray<F> pool = new AtomicReferenceArray<>(POOL_SIZE);
+
+		PooledFormat(F prototype) {
+			super();
+			this.prototype = prototype;
+		}
+
+		/**
+		 * Take a format instance from the pool, or create a new one if none is available.
+		 * @return A format instance for the exclusive use of the caller
+		 */
+		F borrow() {
+			for (int i = 0; i < POOL_SIZE; i++) {
+				final F format = pool.getAndSet(i, null);
+				if (format != null) {
+					return format;
+				}
+			}
+			return copy();
+		}
+
+		/**
+		 * Return a borrowed format instance to the pool. The instance is discarded if the pool is full.
+		 * @param format The format instance
+		 */
+		void release(F format) {
+			for (int i = 0; i < POOL_SIZE; i++) {
+				if (pool.compareAndSet(i, null, format)) {
+					return;
+				}
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		F copy() {
+			return (F) prototype.clone();
+		}
+
+	}
+
+	/**
+	 * Number format cache key.
+	 */
+	private static final class NumberFormatKey {
+
+		final Locale locale;
+		final NumberKind kind;
+		final int decimals;
+		final boolean zeroDecimals;
+		final boolean grouping;
+
+		NumberFormatKey(Locale locale, NumberKind kind, int decimals, boolean zeroDecimals, boolean grouping) {
+			super();
+			this.locale = locale;
+			this.kind = kind;
+			this.decimals = decimals;
+			this.zeroDecimals = zeroDecimals;
+			this.grouping = grouping;
+		}
+
+		@Override
+		public int hashCode() {
+			int result = Objects.hashCode(locale);
+			result = 31 * result + kind.hashCode();
+			result = 31 * result + decimals;
+			result = 31 * result + (zeroDecimals ? 1 : 0);
+			result = 31 * result + (grouping ? 1 : 0);
+			return result;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (!(obj instanceof NumberFormatKey))
+				return false;
+			NumberFormatKey other = (NumberFormatKey) obj;
+			return kind == other.kind && decimals == other.decimals && zeroDecimals == other.zeroDecimals
+					&& grouping == other.grouping && Objects.equals(locale, other.locale);
+		}
+
+	}
+
+	/**
+	 * Date format cache key.
+	 */
+	private static final class DateFormatKey {
+
+		final Locale locale;
+		final TemporalType type;
+		final int dateStyle;
+		final int timeStyle;
+
+		DateFormatKey(Locale locale, TemporalType type, int dateStyle, int timeStyle) {
+			super();
+			this.locale = locale;
+			this.type = type;
+			this.dateStyle = dateStyle;
+			this.timeStyle = timeStyle;
+		}
+
+		@Override
+		public int hashCode() {
+			int result = Objects.hashCode(locale);
+			result = 31 * result + Objects.hashCode(type);
+			result = 31 * result + dateStyle;
+			result = 31 * result + timeStyle;
+			return result;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (!(obj instanceof DateFormatKey))
+				return false;
+			DateFormatKey other = (DateFormatKey) obj;
+			return type == other.type && dateStyle == other.dateStyle && timeStyle == other.timeStyle
+					&& Objects.equals(locale, other.locale);
+		}
+
+	}
+
+	/**
+	 * Date time formatter cache key.
+	 */
+	private static final class DateTimeFormatterKey {
+
+		final Locale locale;
+		final TemporalType type;
+		final FormatStyle dateStyle;
+		final FormatStyle timeStyle;
+
+		DateTimeFormatterKey(Locale locale, TemporalType type, FormatStyle dateStyle, FormatStyle timeStyle) {
+			super();
+			this.locale = locale;
+			this.type = type;
+			this.dateStyle = dateStyle;
+			this.timeStyle = timeStyle;
+		}
+
+		@Override
+		public int hashCode() {
+			int result = Objects.hashCode(locale);
+			result = 31 * result + Objects.hashCode(type);
+			result = 31 * result + Objects.hashCode(dateStyle);
+			result = 31 * result + Objects.hashCode(timeStyle);
+			return result;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (!(obj instanceof DateTimeFormatterKey))
+				return false;
+			DateTimeFormatterKey other = (DateTimeFormatterKey) obj;
+			return type == other.type && dateStyle == other.dateStyle && timeStyle == other.timeStyle
+					&& Objects.equals(locale, other.locale);
+		}
+
+	}
+
+}
@@ -18,15 +18,24 @@ package com.holonplatform.core.internal.i18n;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.net.JarURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.holonplatform.core.i18n.Localizable.LocalizationException;
 import com.holonplatform.core.i18n.MessageProvider;
@@ -87,6 +96,36 @@ public class PropertiesMessageProvider implements MessageProvider {
 	 */
 	private final ConcurrentMap<String, Properties> propertiesCache = new ConcurrentHashMap<>();
 
+	/*
+	 * Whether to use the flattened messages maps
+	 */
+	private volatile boolean flattened = false;
+
+	/*
+	 * Reload check interval in milliseconds
+	 */
+	private volatile long reloadCheckInterval = -1;
+
+	/*
+	 * Flattened messages maps cache by Locale
+	 */
+	private final ConcurrentMap<Locale, Map<String, String>> flattenedCache = new ConcurrentHashMap<>();
+
+	/*
+	 * Last modification time of the properties files used by the flattened messages maps
+	 */
+	private final ConcurrentMap<String, Long> lastModifiedCache = new ConcurrentHashMap<>();
+
+	/*
+	 * Next reload check time
+	 */
+	private final AtomicLong nextReloadCheck = new AtomicLong();
+
+	/*
+	 * Whether a reload is in progress
+	 */
+	private final AtomicBoolean reloading = new AtomicBoolean(false);
+
 	/**
 	 * Set basenames for resource locations. Any previous basename will be overridden.
 	 * <p>
@@ -97,6 +136,7 @@ public class PropertiesMessageProvider implements MessageProvider {
 	public void setBasenames(String... basenames) {
 		this.basenames.clear();
 		addBasenames(basenames);
+		this.flattenedCache.clear();
 	}
 
 	/**
@@ -110,6 +150,7 @@ public class PropertiesMessageProvider implements MessageProvider {
 					this.basenames.add(basename);
 				}
 			}
+			this.flattenedCache.clear();
 		}
 	}
 
@@ -122,6 +163,7 @@ public class PropertiesMessageProvider implements MessageProvider {
 	 */
 	public void setFileEncoding(String fileEncoding) {
 		this.fileEncoding = fileEncoding;
+		clearCaches();
 	}
 
 	/**
@@ -154,6 +196,62 @@ public class PropertiesMessageProvider implements MessageProvider {
 	 */
 	public void setResourceClassLoader(ClassLoader resourceClassLoader) {
 		this.resourceClassLoader = resourceClassLoader;
+		clearCaches();
+	}
+
+	/**
+	 * Get whether the messages available for a {@link Locale} are merged into a single, precomputed map.
+	 * @return <code>true</code> if the flattened messages maps are used
+	 * @since 5.2.2
+	 */
+	public boolean isFlattened() {
+		return flattened;
+	}
+
+	/**
+	 * Set whether to merge all the messages available for a {@link Locale} into a single, precomputed map, with the
+	 * basenames and locale fallback chain already applied.
+	 * @param flattened <code>true</code> to use the flattened messages maps
+	 * @since 5.2.2
+	 */
+	public void setFlattened(boolean flattened) {
+		this.flattened = flattened;
+		this.flattenedCache.clear();
+	}
+
+	/**
+	 * Get the properties files reload check interval, in milliseconds.
+	 * @return The reload check interval, a value <code>&lt;= 0</code> means reload disabled
+	 * @since 5.2.2
+	 */
+	public long getReloadCheckInterval() {
+		return reloadCheckInterval;
+	}
+
+	/**
+	 * Set the interval, in milliseconds, at which the properties files modification time is checked to reload the
+	 * flattened messages maps in background. Has effect only when {@link #setFlattened(boolean)} is enabled.
+	 * @param reloadCheckInterval The reload check interval in milliseconds, a value <code>&lt;= 0</code> disables
+	 *        reloading
+	 * @since 5.2.2
+	 */
+	public void setReloadCheckInterval(long reloadCheckInterval) {
+		this.reloadCheckInterval = reloadCheckInterval;
+		this.nextReloadCheck.set(System.currentTimeMillis() + reloadCheckInterval);
+		// rebuild the flattened messages maps to track the properties files modification time
+		this.flattenedCache.clear();
+		this.lastModifiedCache.clear();
+	}
+
+	/**
+	 * Clear the loaded properties and the flattened messages maps, which will be loaded again on next message
+	 * request.
+	 * @since 5.2.2
+	 */
+	public void clearCaches() {
+		this.propertiesCache.clear();
+		this.flattenedCache.clear();
+		this.lastModifiedCache.clear();
 	}
 
 	/*
@@ -165,6 +263,11 @@ public class PropertiesMessageProvider implements MessageProvider {
 
 		ObjectUtils.argumentNotNull(locale, "Locale must be not null");
 
+		if (code != null && isFlattened()) {
+			checkReload();
+			return Optional.ofNullable(getFlattenedMessages(locale).get(code));
+		}
+
 		if (code != null) {
 
 			LOGGER.debug(() -> "PropertiesMessageProvider: get message with code [" + code + "] for Locale [" + locale
@@ -198,6 +301,149 @@ public class PropertiesMessageProvider implements MessageProvider {
 		return Optional.empty();
 	}
 
+	/**
+	 * Get the flattened messages map for given Locale, building it if not available.
+	 * @param locale The Locale
+	 * @return The immutable message code to message map
+	 * @throws LocalizationException Error loading properties files
+	 */
+	protected Map<String, String> getFlattenedMessages(Locale locale) throws LocalizationException {
+		Map<String, String> messages = flattenedCache.get(locale);
+		if (messages == null) {
+			messages = flattenedCache.computeIfAbsent(locale, l -> buildFlattenedMessages(l));
+		}
+		return messages;
+	}
+
+	/**
+	 * Build the flattened messages map for given Locale, merging the properties files of each basename following the
+	 * same precedence used for single message resolution.
+	 * @param locale The Locale
+	 * @return The immutable message code to message map
+	 * @throws LocalizationException Error loading properties files
+	 */
+	protected Map<String, String> buildFlattenedMessages(Locale locale) throws LocalizationException {
+		final ClassLoader cl = getClassLoader();
+		final Map<String, String> messages = new HashMap<>();
+		for (String basename : getBasenames()) {
+			for (String filename : getFilenames(basename, locale)) {
+				try {
+					if (getReloadCheckInterval() > 0) {
+						lastModifiedCache.computeIfAbsent(filename, f -> getLastModified(cl, f + PROPERTIES_SUFFIX));
+					}
+					Properties properties = getProperties(filename);
+					if (properties != null) {
+						for (String code : properties.stringPropertyNames()) {
+							messages.putIfAbsent(code, properties.getProperty(code));
+						}
+					}
+				} catch (IOException e) {
+					throw new LocalizationException(e);
+				}
+			}
+		}
+		LOGGER.debug(() -> "PropertiesMessageProvider: built flattened messages for Locale [" + locale + "]: ["
+				+ messages.size() + "] messages");
+		return Collections.unmodifiableMap(messages);
+	}
+
+	/**
+	 * Check whether the reload check interval is elapsed and, if so, check the properties files modification time in
+	 * background, reloading the flattened messages maps when any file has changed.
+	 */
+	private void checkReload() {
+		final long interval = getReloadCheckInterval();
+		if (interval > 0) {
+			final long next = nextReloadCheck.get();
+			final long now = System.currentTimeMillis();
+			if (now >= next && nextReloadCheck.compareAndSet(next, now + interval)
+					&& reloading.compareAndSet(false, true)) {
+				ForkJoinPool.commonPool().execute(() -> {
+					try {
+						reloadIfModified();
+					} finally {
+						reloading.set(false);
+					}
+				});
+			}
+		}
+	}
+
+	/**
+	 * Reload the flattened messages maps if any properties file was modified since the maps were built.
+	 * <p>
+	 * This method is invoked in background according to the {@link #getReloadCheckInterval()}, and can be invoked
+	 * directly to force a modification check. The new modification times are recorded only when all the maps are
+	 * successfully rebuilt, so a failed reload is retried at next check.
+	 * </p>
+	 * @return <code>true</code> if the messages were reloaded
+	 * @since 5.2.2
+	 */
+	public boolean reloadIfModified() {
+		final ClassLoader cl = getClassLoader();
+		final Map<String, Long> modified = new HashMap<>();
+		for (Entry<String, Long> entry : lastModifiedCache.entrySet()) {
+			final long lastModified = getLastModified(cl, entry.getKey() + PROPERTIES_SUFFIX);
+			if (lastModified != entry.getValue().longValue()) {
+				modified.put(entry.getKey(), lastModified);
+			}
+		}
+		if (modified.isEmpty()) {
+			return false;
+		}
+		LOGGER.debug(() -> "PropertiesMessageProvider: properties files modified, reloading messages");
+		propertiesCache.clear();
+		try {
+			final Map<Locale, Map<String, String>> reloaded = new HashMap<>();
+			for (Locale locale : new ArrayList<>(flattenedCache.keySet())) {
+				reloaded.put(locale, buildFlattenedMessages(locale));
+			}
+			flattenedCache.putAll(reloaded);
+			lastModifiedCache.putAll(modified);
+			return true;
+		} catch (Exception e) {
+			LOGGER.warn("PropertiesMessageProvider: failed to reload messages", e);
+			return false;
+		}
+	}
+
+	/**
+	 * Get the last modification time of given resource.
+	 * @param cl ClassLoader to use
+	 * @param filename Resource name
+	 * @return Last modification time, <code>-1</code> if the resource is not available or the modification time cannot
+	 *         be determined
+	 */
+	private static long getLastModified(ClassLoader cl, String filename) {
+		final URL url = cl.getResource(filename);
+		if (url != null) {
+			try {
+				final URLConnection connection = url.openConnection();
+				connection.setUseCaches(false);
+				try {
+					return connection.getLastModified();
+				} finally {
+					if (connection instanceof JarURLConnection) {
+						((JarURLConnection) connection).getJarFile().close();
+					} else {
+						connection.getInputStream().close();
+					}
+				}
+			} catch (@SuppressWarnings("unused") IOException e) {
+				// ignore
+			}
+		}
+		return -1L;
+	}
+
+	/**
+	 * Get the ClassLoader to use to load properties files.
+	 * @return The configured ClassLoader, or the default ClassLoader if not configured
+	 */
+	private ClassLoader getClassLoader() {
+		return (getResourceClassLoader() != null) ? getResourceClassLoader() : ClassUtils.getDefaultClassLoader();
+	}
+
 	/**
 	 * Get filenames for the given basename and Locale.
 	 * @param basename the basename for the resource
@@ -303,8 +549,7 @@ public class PropertiesMessageProvider implements MessageProvider {
 			throw new IOException("Null filename");
 		}
 
-		ClassLoader cl = (getResourceClassLoader() != null) ? getResourceClassLoader()
-				: ClassUtils.getDefaultClassLoader();
+		ClassLoader cl = getClassLoader();
 
 		try (InputStream is = cl.getResourceAsStream(filename)) {
 			Properties properties = new Properties();
@@ -325,7 +570,8 @@ public class PropertiesMessageProvider implements MessageProvider {
 	 */
 	@Override
 	public String toString() {
-		return "PropertiesMessageProvider [basenames=" + basenames + ", fileEncoding=" + fileEncoding + "]";
+		return "PropertiesMessageProvider [basenames=" + basenames + ", fileEncoding=" + fileEncoding + ", flattened="
+				+ flattened + "]";
 	}
 
 	// Builder
@@ -376,6 +622,26 @@ public class PropertiesMessageProvider implements MessageProvider {
 			return this;
 		}
 
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.core.i18n.MessageProvider.PropertiesMessageProviderBuilder#flattened(boolean)
+		 */
+		@Override
+		public PropertiesMessageProviderBuilder flattened(boolean flattened) {
+			instance.setFlattened(flattened);
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.core.i18n.MessageProvider.PropertiesMessageProviderBuilder#reloadCheckInterval(long)
+		 */
+		@Override
+		public PropertiesMessageProviderBuilder reloadCheckInterval(long reloadCheckInterval) {
+			instance.setReloadCheckInterval(reloadCheckInterval);
+			return this;
+		}
+
 		/*
 		 * (non-Javadoc)
 		 * @see com.holonplatform.core.internal.i18n.PropertiesMessageProviderBuilder#build()
@@ -17,16 +17,15 @@ package com.holonplatform.core.internal.presentation;
 
 import java.lang.reflect.Field;
 import java.text.DateFormat;
-import java.text.NumberFormat;
-import java.time.format.DateTimeFormatter;
 import java.time.format.FormatStyle;
 import java.time.temporal.Temporal;
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Collection;
 import java.util.Date;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
+import java.util.Locale.Category;
 import java.util.Optional;
 
 import com.holonplatform.core.Context;
@@ -37,6 +36,7 @@ import com.holonplatform.core.i18n.Localizable;
 import com.holonplatform.core.i18n.LocalizationContext;
 import com.holonplatform.core.i18n.NumberFormatFeature;
 import com.holonplatform.core.internal.Logger;
+import com.holonplatform.core.internal.i18n.FormatCache;
 import com.holonplatform.core.internal.utils.AnnotationUtils;
 import com.holonplatform.core.internal.utils.FormatUtils;
 import com.holonplatform.core.internal.utils.TypeUtils;
@@ -66,6 +66,27 @@ public enum DefaultStringValuePresenter implements StringValuePresenter {
 	 */
 	private static final String DEFAULT_MULTIPLE_VALUES_SEPARATOR = ";";
 
+	/**
+	 * Number format features combinations, indexed by features bit mask
+	 */
+	private static final NumberFormatFeature[][] NUMBER_FORMAT_FEATURES = new NumberFormatFeature[8][];
+
+	static {
+		for (int i = 0; i < NUMBER_FORMAT_FEATURES.length; i++) {
+			final List<NumberFormatFeature> features = new ArrayList<>(3);
+			if ((i & 1) != 0) {
+				features.add(NumberFormatFeature.DISABLE_GROUPING);
+			}
+			if ((i & 2) != 0) {
+				features.add(NumberFormatFeature.HIDE_DECIMALS_WHEN_ALL_ZERO);
+			}
+			if ((i & 4) != 0) {
+				features.add(NumberFormatFeature.PERCENT_STYLE);
+			}
+			NUMBER_FORMAT_FEATURES[i] = features.toArray(new NumberFormatFeature[features.size()]);
+		}
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see com.holonplatform.core.presentation.StringValuePresenter#present(java.lang.Class, java.lang.Object,
@@ -185,18 +206,15 @@ public enum DefaultStringValuePresenter implements StringValuePresenter {
 		}
 		if (TypeUtils.isNumber(valueType)) {
 			// Number
-			final List<NumberFormatFeature> features = new LinkedList<>();
-			parameters.getParameterIf(DISABLE_GROUPING, v -> v)
-					.ifPresent(v -> features.add(NumberFormatFeature.DISABLE_GROUPING));
-			parameters.getParameterIf(HIDE_DECIMALS_WHEN_ALL_ZERO, v -> v)
-					.ifPresent(v -> features.add(NumberFormatFeature.HIDE_DECIMALS_WHEN_ALL_ZERO));
-			parameters.getParameterIf(PERCENT_STYLE, v -> v)
-					.ifPresent(v -> features.add(NumberFormatFeature.PERCENT_STYLE));
-
-			LOGGER.debug(() -> "Present numeric value [" + value + "] using features [" + features + "]");
-
-			return convertNumber((Number) value, parameters.getParameter(DECIMAL_POSITIONS, -1),
-					features.toArray(new NumberFormatFeature[0]));
+			final boolean disableGrouping = parameters.getParameter(DISABLE_GROUPING, false);
+			final boolean hideZeroDecimals = parameters.getParameter(HIDE_DECIMALS_WHEN_ALL_ZERO, false);
+			final boolean percent = parameters.getParameter(PERCENT_STYLE, false);
+
+			LOGGER.debug(() -> "Present numeric value [" + value + "] using features [disableGrouping="
+					+ disableGrouping + ", hideZeroDecimals=" + hideZeroDecimals + ", percent=" + percent + "]");
+
+			return convertNumber((Number) value, parameters.getParameter(DECIMAL_POSITIONS, -1), disableGrouping,
+					hideZeroDecimals, percent);
 		}
 		if (TypeUtils.isAssignable(value.getClass(), Localizable.class)) {
 			// Generic Localizable
@@ -267,7 +285,7 @@ public enum DefaultStringValuePresenter implements StringValuePresenter {
 	private static String convertTemporal(Temporal value) {
 		if (value != null) {
 			return LocalizationContext.getCurrent().filter(l -> l.isLocalized()).map((c) -> c.format(value))
-					.orElse(convertTemporalWithDefaultLocale(value));
+					.orElseGet(() -> convertTemporalWithDefaultLocale(value));
 		}
 		return null;
 	}
@@ -281,7 +299,8 @@ public enum DefaultStringValuePresenter implements StringValuePresenter {
 	private static String convertDate(Date value, TemporalType type) {
 		if (value != null) {
 			return LocalizationContext.getCurrent().filter(l -> l.isLocalized()).map((c) -> c.format(value, type))
-					.orElse(DateFormat.getDateInstance().format(value));
+					.orElseGet(() -> FormatCache.getDefault().formatDate(Locale.getDefault(Category.FORMAT), value, TemporalType.DATE,
+							DateFormat.DEFAULT, DateFormat.DEFAULT));
 		}
 		return null;
 	}
@@ -290,47 +309,33 @@ public enum DefaultStringValuePresenter implements StringValuePresenter {
 	 * Convert a {@link Number} value
 	 * @param value Value to convert
 	 * @param decimals Decimal positions (-1 for default)
-	 * @param features Number format features
+	 * @param disableGrouping <code>true</code> to disable groups separator
+	 * @param hideZeroDecimals <code>true</code> to hide decimals when all zero
+	 * @param percent <code>true</code> to use percent style
 	 * @return String value
 	 */
-	private static String convertNumber(Number value, int decimals, NumberFormatFeature[] features) {
+	private static String convertNumber(Number value, int decimals, boolean disableGrouping, boolean hideZeroDecimals,
+			boolean percent) {
 		if (value != null) {
 			return LocalizationContext.getCurrent().filter(l -> l.isLocalized())
-					.map((c) -> c.format(value, decimals, features))
-					.orElse(getNumberFormatForDefaultLocale(value,
-							NumberFormatFeature.hasFeature(NumberFormatFeature.DISABLE_GROUPING, features),
-							NumberFormatFeature.hasFeature(NumberFormatFeature.HIDE_DECIMALS_WHEN_ALL_ZERO, features))
-									.format(value));
+					.map((c) -> c.format(value, decimals, getNumberFormatFeatures(disableGrouping, hideZeroDecimals,
+							percent)))
+					.orElseGet(() -> FormatCache.getDefault().formatNumber(Locale.getDefault(Category.FORMAT),
+							value, -1, false, hideZeroDecimals, disableGrouping));
 		}
 		return null;
 	}
 
 	/**
-	 * Build a {@link NumberFormat} using default {@link Locale}
-	 * @param value Value to present
+	 * Get the shared {@link NumberFormatFeature} array which corresponds to given features.
 	 * @param disableGrouping <code>true</code> to disable groups separator
 	 * @param hideZeroDecimals <code>true</code> to hide decimals when all zero
-	 * @return NumberFormat
+	 * @param percent <code>true</code> to use percent style
+	 * @return Number format features
 	 */
-	private static NumberFormat getNumberFormatForDefaultLocale(Number value, boolean disableGrouping,
-			boolean hideZeroDecimals) {
-		NumberFormat numberFormat;
-		if (value != null && TypeUtils.isDecimalNumber(value.getClass())) {
-			numberFormat = NumberFormat.getInstance();
-
-			if (hideZeroDecimals && !FormatUtils.hasDecimals(value.doubleValue())) {
-				numberFormat.setMaximumFractionDigits(0);
-			}
-
-		} else {
-			numberFormat = NumberFormat.getIntegerInstance();
-		}
-
-		if (disableGrouping) {
-			numberFormat.setGroupingUsed(false);
-		}
-
-		return numberFormat;
+	private static NumberFormatFeature[] getNumberFormatFeatures(boolean disableGrouping, boolean hideZeroDecimals,
+			boolean percent) {
+		return NUMBER_FORMAT_FEATURES[(disableGrouping ? 1 : 0) | (hideZeroDecimals ? 2 : 0) | (percent ? 4 : 0)];
 	}
 
 	/**
@@ -341,16 +346,8 @@ public enum DefaultStringValuePresenter implements StringValuePresenter {
 	private static String convertTemporalWithDefaultLocale(Temporal value) {
 		// use default formatters
 		final TemporalType type = TemporalType.getTemporalType(value).orElse(TemporalType.DATE);
-		switch (type) {
-		case DATE_TIME:
-			return DateTimeFormatter.ofLocalizedDateTime(FormatStyle.SHORT).withLocale(Locale.getDefault())
-					.format(value);
-		case TIME:
-			return DateTimeFormatter.ofLocalizedTime(FormatStyle.SHORT).withLocale(Locale.getDefault()).format(value);
-		case DATE:
-		default:
-			return DateTimeFormatter.ofLocalizedDate(FormatStyle.SHORT).withLocale(Locale.getDefault()).format(value);
-		}
+		return FormatCache.getDefault()
+				.getDateTimeFormatter(Locale.getDefault(), type, FormatStyle.SHORT, FormatStyle.SHORT).format(value);
 	}
 
 }
@@ -15,9 +15,9 @@
  */
 package com.holonplatform.core.internal.property;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Function;
@@ -220,7 +220,7 @@ public abstract class AbstractProperty<T, P extends Property<T>, B extends Prope
 	public void addValidator(Validator<T> validator) {
 		ObjectUtils.argumentNotNull(validator, "Validator must be not null");
 		if (validators == null) {
-			validators = new LinkedList<>();
+			validators = new ArrayList<>(4);
 		}
 		validators.add(validator);
 	}
@@ -262,8 +262,13 @@ public abstract class AbstractProperty<T, P extends Property<T>, B extends Prope
 	@SuppressWarnings({ "unchecked", "rawtypes" })
 	@Override
 	public void validate(T value) throws ValidationException {
-		LinkedList<ValidationException> failures = new LinkedList<>();
-		for (Validator<T> validator : getValidators()) {
+		if (validators == null || validators.isEmpty()) {
+			return;
+		}
+		// the failures list is created only when a validation fails, so a successful validation allocates nothing
+		List<ValidationException> failures = null;
+		for (int i = 0; i < validators.size(); i++) {
+			final Validator<T> validator = validators.get(i);
 			try {
 				validator.validate(value);
 			} catch (UnsupportedValidationTypeException ut) {
@@ -274,18 +279,31 @@ public abstract class AbstractProperty<T, P extends Property<T>, B extends Prope
 				try {
 					((Validator) validator).validate(getConvertedValue(value));
 				} catch (ValidationException cve) {
-					failures.add(cve);
+					failures = addFailure(failures, cve);
 				}
 			} catch (ValidationException ve) {
-				failures.add(ve);
+				failures = addFailure(failures, ve);
 			}
 		}
-		if (!failures.isEmpty()) {
-			throw (failures.size() == 1) ? failures.getFirst()
+		if (failures != null) {
+			throw (failures.size() == 1) ? failures.get(0)
 					: new ValidationException(failures.toArray(new ValidationException[failures.size()]));
 		}
 	}
 
+	/**
+	 * Add a validation failure to given failures list, creating the list if it is <code>null</code>.
+	 * @param failures The failures list, may be <code>null</code>
+	 * @param failure The failure to add
+	 * @return The failures list
+	 */
+	private static List<ValidationException> addFailure(List<ValidationException> failures,
+			ValidationException failure) {
+		final List<ValidationException> list = (failures != null) ? failures : new ArrayList<>(2);
+		list.add(failure);
+		return list;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see com.holonplatform.core.i18n.Localizable#getMessageCode()
@@ -15,9 +15,10 @@
  */
 package com.holonplatform.core.internal.property;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Stream;
@@ -63,6 +64,11 @@ public abstract class AbstractPropertyBox implements PropertyBox {
 	 */
 	private final PropertySet<Property> propertySet;
 
+	/*
+	 * Whether to set the property values using the property set write plans
+	 */
+	private final boolean writePlansEnabled;
+
 	/*
 	 * Whether to accept invalid property values (ignore property validators)
 	 */
@@ -82,11 +88,24 @@ public abstract class AbstractPropertyBox implements PropertyBox {
 	 * Constructor
 	 * @param propertySet PropertySet instance to use
 	 */
-	@SuppressWarnings("unchecked")
 	public AbstractPropertyBox(PropertySet<? extends Property> propertySet) {
+		this(propertySet, false);
+	}
+
+	/**
+	 * Constructor
+	 * @param propertySet PropertySet instance to use
+	 * @param writePlansEnabled Whether to set the property values using the property set write plans, if available.
+	 *        Must be <code>false</code> if the concrete class overrides {@link #checkupPropertyValue(Property, Object)},
+	 *        {@link #validatePropertyValue(Property, Object)} or {@link #checkValueTypeConsistency(Property, Object)}
+	 * @since 5.2.2
+	 */
+	@SuppressWarnings("unchecked")
+	protected AbstractPropertyBox(PropertySet<? extends Property> propertySet, boolean writePlansEnabled) {
 		super();
 		ObjectUtils.argumentNotNull(propertySet, "PropertySet must be not null");
 		this.propertySet = (PropertySet<Property>) propertySet;
+		this.writePlansEnabled = writePlansEnabled;
 	}
 
 	/**
@@ -144,6 +163,15 @@ public abstract class AbstractPropertyBox implements PropertyBox {
 		return getAndCheckPropertySet().contains(property);
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.property.PropertySet#indexOf(com.holonplatform.core.property.Property)
+	 */
+	@Override
+	public int indexOf(Property property) {
+		return getAndCheckPropertySet().indexOf(property);
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see java.lang.Iterable#iterator()
@@ -242,19 +270,23 @@ public abstract class AbstractPropertyBox implements PropertyBox {
 	 * (non-Javadoc)
 	 * @see com.holonplatform.core.property.PropertyBox#validate()
 	 */
-	@SuppressWarnings("unchecked")
+	@SuppressWarnings({ "unchecked", "rawtypes" })
 	@Override
 	public void validate() throws ValidationException {
-		final LinkedList<ValidationException> failures = new LinkedList<>();
-		forEach(p -> {
+		// the failures list is created only when a validation fails
+		List<ValidationException> failures = null;
+		for (Property p : this) {
 			try {
 				p.validate(getValue(p));
 			} catch (ValidationException e) {
+				if (failures == null) {
+					failures = new ArrayList<>(2);
+				}
 				failures.add(e);
 			}
-		});
-		if (!failures.isEmpty()) {
-			throw (failures.size() == 1) ? failures.getFirst()
+		}
+		if (failures != null) {
+			throw (failures.size() == 1) ? failures.get(0)
 					: new ValidationException(failures.toArray(new ValidationException[failures.size()]));
 		}
 	}
@@ -277,17 +309,26 @@ public abstract class AbstractPropertyBox implements PropertyBox {
 			return getValueProviderPropertyValue((VirtualProperty<T>) property);
 		}
 
-		// use delegate method to obtain value
-		Object value = getPropertyValue(property);
+		// use delegate method to obtain value and check type
+		return checkReadValueType(property, getPropertyValue(property));
+	}
 
-		// check type
+	/**
+	 * Check the type of a value read from the property box is consistent with given property type.
+	 * @param <T> Property type
+	 * @param property Property
+	 * @param value The property value
+	 * @return The property value
+	 * @throws TypeMismatchException If the value type doesn't match the property type
+	 */
+	@SuppressWarnings("unchecked")
+	static <T> T checkReadValueType(Property<T> property, Object value) throws TypeMismatchException {
 		if (value != null) {
 			if (!TypeUtils.isAssignable(value.getClass(), property.getType())) {
 				throw new TypeMismatchException("Value type " + value.getClass().getName()
 						+ " doesn't match property type " + property.getType().getName());
 			}
 		}
-
 		return (T) value;
 	}
 
@@ -430,18 +471,73 @@ public abstract class AbstractPropertyBox implements PropertyBox {
 			throws PropertyAccessException, ValidationException {
 		ObjectUtils.argumentNotNull(property, "Property must be not null");
 
-		// check exists
-		if (!contains(property)) {
-			throw new PropertyNotFoundException(property, "Property " + property + " not found in property set");
+		final PropertyWritePlan<T> plan = writePlansEnabled ? getWritePlan(property) : null;
+		if (plan == null) {
+			// check exists
+			if (!contains(property)) {
+				throw new PropertyNotFoundException(property, "Property " + property + " not found in property set");
+			}
+			// check not read-only
+			if (!ignoreReadOnly && property.isReadOnly()) {
+				throw new PropertyReadOnlyException(property);
+			}
+			// set the value
+			setPropertyValue(property, checkupPropertyValue(property, value));
+			return;
 		}
 
 		// check not read-only
-		if (!ignoreReadOnly && property.isReadOnly()) {
+		if (!ignoreReadOnly && plan.isReadOnly()) {
 			throw new PropertyReadOnlyException(property);
 		}
 
+		// convert and validate
+		final T checkedValue = plan.convert(value);
+		if (!isInvalidAllowed()) {
+			plan.validate(checkedValue);
+		}
+
 		// set the value
-		setPropertyValue(property, checkupPropertyValue(property, value));
+		setPropertyValue(plan, checkedValue);
+	}
+
+	/**
+	 * Get the {@link PropertyWritePlan} to use to set the value of given <code>property</code>.
+	 * <p>
+	 * Write plans are provided only when the box property set is an {@link IndexedPropertySet}, and they are shared
+	 * among all the boxes which use the same property set. When no write plan is available, the property value is set
+	 * using the {@link #checkupPropertyValue(Property, Object)} method.
+	 * </p>
+	 * <p>
+	 * Write plans are used only if enabled at construction time, see {@link #isWritePlansEnabled()}.
+	 * </p>
+	 * @param <T> Property type
+	 * @param property The property
+	 * @return The property write plan, or <code>null</code> if not available or if the property is not part of the
+	 *         box property set
+	 */
+	@SuppressWarnings("unchecked")
+	protected <T> PropertyWritePlan<T> getWritePlan(Property<T> property) {
+		final PropertySet<Property> propertySet = getAndCheckPropertySet();
+		if (propertySet instanceof IndexedPropertySet) {
+			return ((IndexedPropertySet<Property>) propertySet).getWritePlan(property);
+		}
+		return null;
+	}
+
+	/**
+	 * Get whether the property values are set using the property set write plans, when available.
+	 * <p>
+	 * Write plans are an explicit opt-in of the concrete property box: when enabled, the
+	 * {@link #checkupPropertyValue(Property, Object)}, {@link #validatePropertyValue(Property, Object)} and
+	 * {@link #checkValueTypeConsistency(Property, Object)} methods are not invoked for the properties which provide a
+	 * write plan.
+	 * </p>
+	 * @return <code>true</code> if write plans are enabled
+	 * @since 5.2.2
+	 */
+	protected boolean isWritePlansEnabled() {
+		return writePlansEnabled;
 	}
 
 	/**
@@ -525,4 +621,19 @@ public abstract class AbstractPropertyBox implements PropertyBox {
 	 */
 	protected abstract <T> void setPropertyValue(Property<T> property, T value) throws PropertyAccessException;
 
+	/**
+	 * Sets the actual value for the property of given {@link PropertyWritePlan}.
+	 * <p>
+	 * By default, delegates to {@link #setPropertyValue(Property, Object)}. Subclasses may override this method to take
+	 * advantage of the property index provided by the write plan.
+	 * </p>
+	 * @param <T> Property type
+	 * @param plan The property write plan
+	 * @param value The value to set (maybe null)
+	 * @throws PropertyAccessException Error setting property value
+	 */
+	protected <T> void setPropertyValue(PropertyWritePlan<T> plan, T value) throws PropertyAccessException {
+		setPropertyValue(plan.getProperty(), value);
+	}
+
 }
@@ -0,0 +1,251 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.property;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.core.property.Property;
+import com.holonplatform.core.property.Property.PropertyAccessException;
+import com.holonplatform.core.property.Property.PropertyNotFoundException;
+import com.holonplatform.core.property.Property.PropertyReadException;
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.core.property.PropertySet;
+import com.holonplatform.core.property.VirtualProperty;
+
+/**
+ * {@link PropertyBox} implementation which stores the property values in a fixed size array, using the property index
+ * in the box property set as array slot.
+ * <p>
+ * The property slot lookup is performed in constant time using an {@link IndexedPropertySet}. If the box property
+ * set is not an {@link IndexedPropertySet}, an index of its properties is built at box creation time, while
+ * {@link #getPropertySet()} keeps returning the original property set. Property value access is thread-safe without
+ * locking: each value slot is read and written with volatile semantics.
+ * </p>
+ * 
+ * @since 5.2.2
+ * 
+ * @see PropertyBox#ARRAY_STORAGE
+ */
+@SuppressWarnings("rawtypes")
+public class ArrayPropertyBox extends AbstractPropertyBox {
+
+	/**
+	 * Property set index
+	 */
+	private final IndexedPropertySet<Property> slots;
+
+	/**
+	 * Property values, by property set index
+	 */
+	private final AtomicReferenceArray<Object> values;
+
+	/**
+	 * Construct a new PropertyBox using given <code>properties</code> as property set.
+	 * @param properties Property set
+	 */
+	public ArrayPropertyBox(Property... properties) {
+		this(PropertySet.of(properties));
+	}
+
+	/**
+	 * Construct a new PropertyBox using given <code>properties</code> as property set.
+	 * @param <P> Actual property type
+	 * @param properties Property set
+	 */
+	public <P extends Property> ArrayPropertyBox(Iterable<P> properties) {
+		this((properties instanceof PropertySet) ? (PropertySet<P>) properties : PropertySet.of(properties));
+	}
+
+	/**
+	 * Construct a new PropertyBox using given <code>propertySet</code> as property set.
+	 * @param <P> Actual property type
+	 * @param propertySet Property set
+	 */
+	public <P extends Property> ArrayPropertyBox(PropertySet<P> propertySet) {
+		this(propertySet, false);
+	}
+
+	/**
+	 * Construct a new PropertyBox using given <code>propertySet</code> as property set.
+	 * @param <P> Actual property type
+	 * @param propertySet Property set
+	 * @param writePlansEnabled Whether to set the property values using the property set write plans, if available
+	 * @see AbstractPropertyBox#isWritePlansEnabled()
+	 */
+	@SuppressWarnings("unchecked")
+	protected <P extends Property> ArrayPropertyBox(PropertySet<P> propertySet, boolean writePlansEnabled) {
+		super(propertySet, writePlansEnabled);
+		this.slots = IndexedPropertySet.indexed((PropertySet<Property>) propertySet);
+		this.values = new AtomicReferenceArray<>(slots.size());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see
+	 * com.holonplatform.core.internal.property.AbstractPropertyBox#contains(com.holonplatform.core.property.Property)
+	 */
+	@Override
+	public boolean contains(Property property) {
+		return slots.contains(property);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see
+	 * com.holonplatform.core.internal.property.AbstractPropertyBox#indexOf(com.holonplatform.core.property.Property)
+	 */
+	@Override
+	public int indexOf(Property property) {
+		return slots.indexOf(property);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see
+	 * com.holonplatform.core.internal.property.AbstractPropertyBox#containsValue(com.holonplatform.core.property.
+	 * Property)
+	 */
+	@Override
+	public <T> boolean containsValue(Property<T> property) {
+		ObjectUtils.argumentNotNull(property, "Property must be not null");
+		final int index = slots.indexOf(property);
+		if (index < 0) {
+			return false;
+		}
+		if (property instanceof VirtualProperty) {
+			return getValueProviderPropertyValue((VirtualProperty<T>) property) != null;
+		}
+		return values.get(index) != null;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see
+	 * com.holonplatform.core.internal.property.AbstractPropertyBox#getValue(com.holonplatform.core.property.Property)
+	 */
+	@Override
+	public <T> T getValue(Property<T> property) throws PropertyAccessException {
+		ObjectUtils.argumentNotNull(property, "Property must be not null");
+		// a single slot lookup both checks the property is part of the set and locates the value
+		final int index = slots.indexOf(property);
+		if (index < 0) {
+			throw new PropertyNotFoundException(property, "Property " + property + " not found in property set");
+		}
+		if (property instanceof VirtualProperty) {
+			return getValueProviderPropertyValue((VirtualProperty<T>) property);
+		}
+		try {
+			return checkReadValueType(property, values.get(index));
+		} catch (Exception e) {
+			throw new PropertyReadException(property, e);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see
+	 * com.holonplatform.core.internal.property.AbstractPropertyBox#getPropertyValue(com.holonplatform.core.property.
+	 * Property)
+	 */
+	@Override
+	protected <T> Object getPropertyValue(Property<T> property) throws PropertyAccessException {
+		final int index = slots.indexOf(property);
+		return (index < 0) ? null : values.get(index);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see
+	 * com.holonplatform.core.internal.property.AbstractPropertyBox#setPropertyValue(com.holonplatform.core.property.
+	 * Property, java.lang.Object)
+	 */
+	@Override
+	protected <T> void setPropertyValue(Property<T> property, T value) throws PropertyAccessException {
+		final int index = slots.indexOf(property);
+		if (index < 0) {
+			throw new PropertyNotFoundException(property, "Property " + property + " not found in property set");
+		}
+		values.set(index, value);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see
+	 * com.holonplatform.core.internal.property.AbstractPropertyBox#setPropertyValue(com.holonplatform.core.internal.
+	 * property.PropertyWritePlan, java.lang.Object)
+	 */
+	@Override
+	protected <T> void setPropertyValue(PropertyWritePlan<T> plan, T value) throws PropertyAccessException {
+		if (plan.getIndex() < 0) {
+			setPropertyValue(plan.getProperty(), value);
+		} else {
+			values.set(plan.getIndex(), value);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see
+	 * com.holonplatform.core.internal.property.AbstractPropertyBox#getWritePlan(com.holonplatform.core.property.
+	 * Property)
+	 */
+	@Override
+	protected <T> PropertyWritePlan<T> getWritePlan(Property<T> property) {
+		return slots.getWritePlan(property);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.property.PropertyBox#propertyValues()
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> Stream<PropertyValue<T>> propertyValues() {
+		return IntStream.range(0, values.length()).mapToObj(i -> {
+			final Object value = values.get(i);
+			return (value != null) ? (PropertyValue<T>) new DefaultPropertyBox.DefaultPropertyValue(slots.get(i), value)
+					: null;
+		}).filter(Objects::nonNull);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		final StringBuilder sb = new StringBuilder();
+		sb.append("PropertyBox - PROPERTIES: ");
+		sb.append(getPropertySet().stream().map(
+				p -> "[\"" + p.getName() + "\":" + ((p.getType() != null) ? p.getType().getName() : "NOTYPE") + "]")
+				.collect(Collectors.joining(",")));
+		sb.append(" - VALUES: ");
+		String values = propertyValues().map(pv -> "(\"" + pv.getProperty().getName() + "\"=" + pv.getValue() + ")")
+				.collect(Collectors.joining(","));
+		if (values == null || values.trim().equals("")) {
+			sb.append("<EMPTY>");
+		} else {
+			sb.append(values);
+		}
+		return sb.toString();
+	}
+
+}
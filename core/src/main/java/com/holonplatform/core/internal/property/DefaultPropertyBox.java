@@ -70,7 +70,19 @@ public class DefaultPropertyBox extends AbstractPropertyBox {
 	 * @param propertySet Property set
 	 */
 	public <P extends Property> DefaultPropertyBox(PropertySet<P> propertySet) {
-		super(propertySet);
+		this(propertySet, false);
+	}
+
+	/**
+	 * Construct a new PropertyBox using given <code>propertySet</code> as property set.
+	 * @param <P> Actual property type
+	 * @param propertySet Property set
+	 * @param writePlansEnabled Whether to set the property values using the property set write plans, if available
+	 * @see AbstractPropertyBox#isWritePlansEnabled()
+	 * @since 5.2.2
+	 */
+	protected <P extends Property> DefaultPropertyBox(PropertySet<P> propertySet, boolean writePlansEnabled) {
+		super(propertySet, writePlansEnabled);
 		this.propertyValues = new HashMap<>();
 	}
 
@@ -143,16 +155,20 @@ public class DefaultPropertyBox extends AbstractPropertyBox {
 	 */
 	public static class PropertyBoxBuilder implements Builder {
 
-		private final DefaultPropertyBox instance;
+		private final AbstractPropertyBox instance;
 
 		/**
 		 * Constructor.
+		 * <p>
+		 * If given <code>properties</code> are provided as a {@link PropertySet} which declares the
+		 * {@link PropertyBox#ARRAY_STORAGE} configuration parameter, an {@link ArrayPropertyBox} is built.
+		 * </p>
 		 * @param <P> Actual property type
 		 * @param properties Iterable set of properties
 		 */
 		public <P extends Property> PropertyBoxBuilder(Iterable<P> properties) {
-			super();
-			this.instance = new DefaultPropertyBox(properties);
+			this(isArrayStorage(properties) ? new ArrayPropertyBox(asPropertySet(properties), true)
+					: new DefaultPropertyBox(asPropertySet(properties), true));
 		}
 
 		/**
@@ -163,7 +179,39 @@ public class DefaultPropertyBox extends AbstractPropertyBox {
 		@SafeVarargs
 		public <P extends Property> PropertyBoxBuilder(P... properties) {
 			super();
-			this.instance = new DefaultPropertyBox(properties);
+			this.instance = new DefaultPropertyBox(PropertySet.of(properties), true);
+		}
+
+		/**
+		 * Constructor using a {@link PropertyBox} instance.
+		 * @param instance The {@link PropertyBox} instance to build (not null)
+		 * @since 5.2.2
+		 */
+		public PropertyBoxBuilder(AbstractPropertyBox instance) {
+			super();
+			ObjectUtils.argumentNotNull(instance, "PropertyBox instance must be not null");
+			this.instance = instance;
+		}
+
+		/**
+		 * Checks whether given properties are a {@link PropertySet} which declares the
+		 * {@link PropertyBox#ARRAY_STORAGE} configuration parameter.
+		 * @param properties Properties
+		 * @return <code>true</code> if an {@link ArrayPropertyBox} should be used
+		 */
+		private static boolean isArrayStorage(Iterable<?> properties) {
+			return (properties instanceof PropertySet)
+					&& ((PropertySet<?>) properties).getConfiguration().getParameter(PropertyBox.ARRAY_STORAGE, false);
+		}
+
+		/**
+		 * Get given properties as a {@link PropertySet}.
+		 * @param <P> Actual property type
+		 * @param properties Properties
+		 * @return The properties, if already a {@link PropertySet}, or a new {@link PropertySet} which contains them
+		 */
+		private static <P extends Property> PropertySet<P> asPropertySet(Iterable<P> properties) {
+			return (properties instanceof PropertySet) ? (PropertySet<P>) properties : PropertySet.of(properties);
 		}
 
 		/*
@@ -118,6 +118,15 @@ public class DefaultPropertySet<P extends Property> extends ArrayList<P> impleme
 		return (property == null) ? false : super.contains(property);
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.property.PropertySet#indexOf(com.holonplatform.core.property.Property)
+	 */
+	@Override
+	public int indexOf(Property property) {
+		return (property == null) ? -1 : super.indexOf(property);
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see java.util.Collection#stream()
@@ -0,0 +1,538 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.property;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import com.holonplatform.core.ParameterSet;
+import com.holonplatform.core.internal.DefaultParameterSet;
+import com.holonplatform.core.internal.MutableParameterSet;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.core.property.Property;
+import com.holonplatform.core.property.PropertySet;
+
+/**
+ * Immutable {@link PropertySet} implementation which assigns a stable <em>slot</em> index to each property at build
+ * time.
+ * <p>
+ * The property slots are stored in an open addressing hash index, so {@link #contains(Property)} and
+ * {@link #indexOf(Property)} operations are performed in constant time, regardless of the property set size. The
+ * property {@link Object#hashCode()} and {@link Object#equals(Object)} semantics are honored, with an identity check
+ * performed before invoking <code>equals</code>.
+ * </p>
+ * <p>
+ * The property set is also an unmodifiable {@link java.util.List} of properties, in the same order in which they were
+ * provided. Just like the list-backed {@link DefaultPropertySet}, any duplicate or <code>null</code> element is
+ * preserved: {@link #indexOf(Property)} returns the slot of the first occurrence of a property and <code>null</code>
+ * elements are never matched by {@link #contains(Property)}. The {@link IndexedBuilder} skips duplicate properties,
+ * consistently with the {@link DefaultPropertySet.DefaultBuilder}.
+ * </p>
+ * 
+ * @param <P> Concrete type of the properties contained in the set
+ * 
+ * @since 5.2.2
+ */
+@SuppressWarnings("rawtypes")
+public class IndexedPropertySet<P extends Property> extends AbstractList<P>
+		implements PropertySet<P>, RandomAccess, Serializable {
+
+	private static final long serialVersionUID = -3581622245627826521L;
+
+	/**
+	 * Properties, by slot index
+	 */
+	private final Property[] properties;
+
+	/**
+	 * Identifiers
+	 */
+	private final Set<P> identifiers;
+
+	/**
+	 * Configuration
+	 */
+	private final ParameterSet configuration;
+
+	/**
+	 * Hash index: each table position holds a slot index or <code>-1</code> if empty
+	 */
+	private transient int[] index;
+
+	/**
+	 * Lazily created property write plans, by slot index
+	 */
+	private transient volatile PropertyWritePlan[] writePlans;
+
+	/**
+	 * Constructor.
+	 * @param <C> Actual property type
+	 * @param properties Properties of the set (not null)
+	 * @param identifiers Identifier properties (may be null)
+	 * @param configuration Property set configuration (may be null)
+	 */
+	protected <C extends P> IndexedPropertySet(Iterable<C> properties, Set<P> identifiers,
+			ParameterSet configuration) {
+		super();
+		ObjectUtils.argumentNotNull(properties, "Properties must be not null");
+		this.properties = toArray(properties);
+		this.identifiers = (identifiers == null || identifiers.isEmpty()) ? Collections.emptySet()
+				: Collections.unmodifiableSet(new LinkedHashSet<>(identifiers));
+		this.configuration = (configuration != null) ? configuration : ParameterSet.empty();
+		this.index = buildIndex(this.properties);
+	}
+
+	/**
+	 * Create a new {@link IndexedPropertySet} containing given <code>properties</code>.
+	 * @param <P> Property type
+	 * @param <C> Actual property type
+	 * @param properties Properties of the set (not null)
+	 * @return A new {@link IndexedPropertySet}
+	 */
+	public static <P extends Property, C extends P> IndexedPropertySet<P> of(Iterable<C> properties) {
+		return new IndexedPropertySet<>(properties, null, null);
+	}
+
+	/**
+	 * Create a new {@link IndexedPropertySet} containing given <code>properties</code>.
+	 * @param <P> Property type
+	 * @param properties Properties of the set
+	 * @return A new {@link IndexedPropertySet}
+	 */
+	@SafeVarargs
+	public static <P extends Property> IndexedPropertySet<P> of(P... properties) {
+		final List<P> list = new ArrayList<>((properties != null) ? properties.length : 0);
+		if (properties != null) {
+			for (P property : properties) {
+				list.add(property);
+			}
+		}
+		return new IndexedPropertySet<>(list, null, null);
+	}
+
+	/**
+	 * Create a new {@link IndexedPropertySet} containing the elements of given <code>properties</code> array, in the
+	 * same order.
+	 * @param <P> Property type
+	 * @param properties Properties of the set
+	 * @return A new {@link IndexedPropertySet}
+	 */
+	public static <P extends Property> IndexedPropertySet<P> copyOf(P[] properties) {
+		return of(properties);
+	}
+
+	/**
+	 * Get an {@link IndexedPropertySet} with the same properties, identifiers and configuration of given
+	 * <code>propertySet</code>.
+	 * @param <P> Property type
+	 * @param propertySet The property set (not null)
+	 * @return The given property set itself if it is already an {@link IndexedPropertySet}, or a new
+	 *         {@link IndexedPropertySet} which replicates the given property set otherwise
+	 */
+	@SuppressWarnings("unchecked")
+	public static <P extends Property> IndexedPropertySet<P> indexed(PropertySet<P> propertySet) {
+		ObjectUtils.argumentNotNull(propertySet, "PropertySet must be not null");
+		if (propertySet instanceof IndexedPropertySet) {
+			return (IndexedPropertySet<P>) propertySet;
+		}
+		return new IndexedPropertySet<>(propertySet, propertySet.getIdentifiers(), propertySet.getConfiguration());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.AbstractList#get(int)
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public P get(int index) {
+		return (P) properties[index];
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.AbstractCollection#size()
+	 */
+	@Override
+	public int size() {
+		return properties.length;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.property.PropertySet#indexOf(com.holonplatform.core.property.Property)
+	 */
+	@Override
+	public int indexOf(Property property) {
+		if (property == null) {
+			return -1;
+		}
+		final int[] table = index;
+		final int mask = table.length - 1;
+		int position = hash(property) & mask;
+		int slot;
+		while ((slot = table[position]) >= 0) {
+			final Property candidate = properties[slot];
+			if (candidate == property || property.equals(candidate)) {
+				return slot;
+			}
+			position = (position + 1) & mask;
+		}
+		return -1;
+	}
+
+	/**
+	 * Get the {@link PropertyWritePlan} to use to set the value of given <code>property</code>.
+	 * <p>
+	 * The write plan of each property of the set is created at first use and then shared by all the property boxes
+	 * which use this property set.
+	 * </p>
+	 * @param <T> Property type
+	 * @param property The property
+	 * @return The property write plan, or <code>null</code> if the property is not part of this set
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> PropertyWritePlan<T> getWritePlan(Property<T> property) {
+		final int slot = indexOf(property);
+		if (slot < 0) {
+			return null;
+		}
+		if (properties[slot] != property) {
+			// equal but not the same property instance, which may be configured differently
+			return PropertyWritePlan.create(property, slot);
+		}
+		PropertyWritePlan[] plans = writePlans;
+		if (plans == null) {
+			plans = new PropertyWritePlan[properties.length];
+			writePlans = plans;
+		}
+		PropertyWritePlan<T> plan = plans[slot];
+		if (plan == null) {
+			// plans are immutable, concurrent creation is harmless
+			plan = PropertyWritePlan.create(property, slot);
+			plans[slot] = plan;
+		}
+		return plan;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.AbstractList#indexOf(java.lang.Object)
+	 */
+	@Override
+	public int indexOf(Object o) {
+		return (o instanceof Property) ? indexOf((Property) o) : -1;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.AbstractList#lastIndexOf(java.lang.Object)
+	 */
+	@Override
+	public int lastIndexOf(Object o) {
+		if (o instanceof Property) {
+			for (int i = properties.length - 1; i >= 0; i--) {
+				if (o.equals(properties[i])) {
+					return i;
+				}
+			}
+		}
+		return -1;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.property.PropertySet#contains(com.holonplatform.core.property.Property)
+	 */
+	@Override
+	public boolean contains(Property property) {
+		return indexOf(property) > -1;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.AbstractCollection#contains(java.lang.Object)
+	 */
+	@Override
+	public boolean contains(Object o) {
+		return indexOf(o) > -1;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.Collection#stream()
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public Stream<P> stream() {
+		return (Stream<P>) Arrays.stream(properties);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.AbstractCollection#toArray()
+	 */
+	@Override
+	public Object[] toArray() {
+		return Arrays.copyOf(properties, properties.length, Object[].class);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.property.PropertySet#getIdentifiers()
+	 */
+	@Override
+	public Set<P> getIdentifiers() {
+		return identifiers;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.property.PropertySet#getConfiguration()
+	 */
+	@Override
+	public ParameterSet getConfiguration() {
+		return configuration;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.AbstractCollection#toString()
+	 */
+	@Override
+	public String toString() {
+		final StringBuilder sb = new StringBuilder();
+		sb.append("PropertySet [");
+		sb.append(super.toString());
+		if (!identifiers.isEmpty()) {
+			sb.append(" / Identifiers: {");
+			sb.append(identifiers.toString());
+			sb.append("}");
+		}
+		sb.append("]");
+		return sb.toString();
+	}
+
+	/**
+	 * Rebuild the hash index after deserialization, since property hash codes may be identity based.
+	 * @param in Input stream
+	 * @throws IOException If an I/O error occurred
+	 * @throws ClassNotFoundException If a class cannot be found
+	 */
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		this.index = buildIndex(this.properties);
+	}
+
+	/**
+	 * Collect given properties into an array, preserving their order.
+	 * @param properties Properties
+	 * @return Properties array
+	 */
+	private static Property[] toArray(Iterable<? extends Property> properties) {
+		final List<Property> list = new ArrayList<>();
+		for (Property property : properties) {
+			list.add(property);
+		}
+		return list.toArray(new Property[list.size()]);
+	}
+
+	/**
+	 * Build the hash index for given properties.
+	 * @param properties Properties by slot
+	 * @return The hash index table
+	 */
+	private static int[] buildIndex(Property[] properties) {
+		// keep load factor at most 0.5
+		int capacity = 2;
+		while (capacity < properties.length * 2) {
+			capacity <<= 1;
+		}
+		final int[] table = new int[capacity];
+		Arrays.fill(table, -1);
+		final int mask = capacity - 1;
+		for (int slot = 0; slot < properties.length; slot++) {
+			final Property property = properties[slot];
+			if (property == null) {
+				continue;
+			}
+			int position = hash(property) & mask;
+			boolean duplicate = false;
+			while (table[position] >= 0) {
+				if (property.equals(properties[table[position]])) {
+					// only the first occurrence is indexed
+					duplicate = true;
+					break;
+				}
+				position = (position + 1) & mask;
+			}
+			if (!duplicate) {
+				table[position] = slot;
+			}
+		}
+		return table;
+	}
+
+	/**
+	 * Spread the property hash code bits to reduce collisions in the power-of-two sized index table.
+	 * @param property Property
+	 * @return Spreaded hash
+	 */
+	private static int hash(Property property) {
+		final int h = property.hashCode();
+		return h ^ (h >>> 16);
+	}
+
+	// Builder
+
+	/**
+	 * Default {@link Builder} implementation which builds {@link IndexedPropertySet} instances.
+	 * @param <P> Property type
+	 */
+	public static class IndexedBuilder<P extends Property> implements Builder<P> {
+
+		/**
+		 * Properties
+		 */
+		private final LinkedHashSet<P> properties = new LinkedHashSet<>();
+
+		/**
+		 * Identifiers
+		 */
+		private Set<P> identifiers;
+
+		/**
+		 * Configuration
+		 */
+		private MutableParameterSet configuration;
+
+		/**
+		 * Constructor
+		 */
+		public IndexedBuilder() {
+			super();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.core.property.PropertySet.Builder#add(com.holonplatform.core.property.Property)
+		 */
+		@Override
+		public <PT extends P> Builder<P> add(PT property) {
+			ObjectUtils.argumentNotNull(property, "Property must be not null");
+			this.properties.add(property);
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.core.property.PropertySet.Builder#add(java.lang.Iterable)
+		 */
+		@Override
+		public <PT extends P> Builder<P> add(Iterable<PT> properties) {
+			ObjectUtils.argumentNotNull(properties, "Properties must be not null");
+			properties.forEach(p -> this.properties.add(p));
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.core.property.PropertySet.Builder#remove(com.holonplatform.core.property.Property)
+		 */
+		@Override
+		public <PT extends P> Builder<P> remove(PT property) {
+			ObjectUtils.argumentNotNull(property, "Property must be not null");
+			this.properties.remove(property);
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.core.property.PropertySet.Builder#remove(java.lang.Iterable)
+		 */
+		@Override
+		public <PT extends P> Builder<P> remove(Iterable<PT> properties) {
+			ObjectUtils.argumentNotNull(properties, "Properties must be not null");
+			properties.forEach(p -> this.properties.remove(p));
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.core.property.PropertySet.Builder#identifier(com.holonplatform.core.property.Property)
+		 */
+		@Override
+		public <PT extends P> Builder<P> identifier(PT property) {
+			ObjectUtils.argumentNotNull(property, "Identifier property must be not null");
+			if (this.identifiers == null) {
+				this.identifiers = new LinkedHashSet<>(4);
+			}
+			this.identifiers.add(property);
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.core.property.PropertySet.Builder#identifiers(java.lang.Iterable)
+		 */
+		@Override
+		public <PT extends P> Builder<P> identifiers(Iterable<PT> properties) {
+			ObjectUtils.argumentNotNull(properties, "Identifier properties must be not null");
+			this.identifiers = new LinkedHashSet<>(4);
+			properties.forEach(p -> this.identifiers.add(p));
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.core.property.PropertySet.Builder#withConfiguration(java.lang.String,
+		 * java.lang.Object)
+		 */
+		@Override
+		public Builder<P> withConfiguration(String name, Object value) {
+			ObjectUtils.argumentNotNull(name, "Configuration parameter name must be not null");
+			if (this.configuration == null) {
+				this.configuration = new DefaultParameterSet();
+			}
+			this.configuration.addParameter(name, value);
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.core.property.PropertySet.Builder#build()
+		 */
+		@Override
+		public PropertySet<P> build() {
+			final MutableParameterSet cfg = new DefaultParameterSet();
+			if (configuration != null) {
+				configuration.forEachParameter((n, v) -> cfg.addParameter(n, v));
+			}
+			return new IndexedPropertySet<>(properties, identifiers, cfg.hasParameters() ? cfg : null);
+		}
+
+	}
+
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.property;
+
+import java.util.Collection;
+
+import com.holonplatform.core.Validator.ValidationException;
+import com.holonplatform.core.exceptions.TypeMismatchException;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.core.internal.utils.TypeUtils;
+import com.holonplatform.core.property.CollectionPropertyValueConverter;
+import com.holonplatform.core.property.Property;
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.core.property.PropertyValueConverter;
+
+/**
+ * Precompiled write pipeline for a {@link Property} value, used by {@link AbstractPropertyBox} to set a property value.
+ * <p>
+ * The plan resolves once the property {@link PropertyValueConverter} and its model type, the property type and the
+ * read-only flag, so that setting a property value only performs the checks which depend on the actual value.
+ * </p>
+ * <p>
+ * The converter, type and read-only flag reflect the property configuration at plan creation time, so the property is
+ * expected to be fully configured before it is used to set a {@link PropertyBox} value. The property validators are
+ * instead read at each validation, so any validator added to the property after the plan creation is honored.
+ * </p>
+ * 
+ * @param <T> Property type
+ * 
+ * @since 5.2.2
+ */
+@SuppressWarnings("rawtypes")
+public final class PropertyWritePlan<T> {
+
+	/**
+	 * Property
+	 */
+	private final Property<T> property;
+
+	/**
+	 * Property index in the property set, if available
+	 */
+	private final int index;
+
+	/**
+	 * Read-only property
+	 */
+	private final boolean readOnly;
+
+	/**
+	 * Property type
+	 */
+	private final Class<?> type;
+
+	/**
+	 * Property value converter (may be null)
+	 */
+	private final PropertyValueConverter<T, Object> converter;
+
+	/**
+	 * Whether the converter is a {@link CollectionPropertyValueConverter}
+	 */
+	private final boolean collectionConverter;
+
+	/**
+	 * Converter model type, or model element type for collection converters
+	 */
+	private final Class<?> modelType;
+
+	/**
+	 * Constructor.
+	 * @param property Property (not null)
+	 * @param index Property index in the property set, <code>-1</code> if not available
+	 */
+	@SuppressWarnings("unchecked")
+	private PropertyWritePlan(Property<T> property, int index) {
+		super();
+		ObjectUtils.argumentNotNull(property, "Property must be not null");
+		this.property = property;
+		this.index = index;
+		this.readOnly = property.isReadOnly();
+		this.type = property.getType();
+		this.converter = (PropertyValueConverter<T, Object>) property.getConverter().orElse(null);
+		if (this.converter instanceof CollectionPropertyValueConverter) {
+			this.collectionConverter = true;
+			this.modelType = ((CollectionPropertyValueConverter) this.converter).getModelElementType();
+		} else {
+			this.collectionConverter = false;
+			this.modelType = (this.converter != null) ? this.converter.getModelType() : null;
+		}
+	}
+
+	/**
+	 * Create a new {@link PropertyWritePlan} for given property.
+	 * @param <T> Property type
+	 * @param property The property (not null)
+	 * @return A new {@link PropertyWritePlan}
+	 */
+	public static <T> PropertyWritePlan<T> create(Property<T> property) {
+		return new PropertyWritePlan<>(property, -1);
+	}
+
+	/**
+	 * Create a new {@link PropertyWritePlan} for given property.
+	 * @param <T> Property type
+	 * @param property The property (not null)
+	 * @param index The property index in the property set
+	 * @return A new {@link PropertyWritePlan}
+	 */
+	public static <T> PropertyWritePlan<T> create(Property<T> property, int index) {
+		return new PropertyWritePlan<>(property, index);
+	}
+
+	/**
+	 * Get the property.
+	 * @return the property
+	 */
+	public Property<T> getProperty() {
+		return property;
+	}
+
+	/**
+	 * Get the property index in the property set.
+	 * @return the property index, <code>-1</code> if not available
+	 */
+	public int getIndex() {
+		return index;
+	}
+
+	/**
+	 * Get whether the property is read-only.
+	 * @return <code>true</code> if the property is read-only
+	 */
+	public boolean isReadOnly() {
+		return readOnly;
+	}
+
+	/**
+	 * Convert given value using the property converter, if available and if the value type is consistent with the
+	 * converter model type, or check the value type consistency with the property type otherwise.
+	 * @param value The value to convert
+	 * @return The converted value
+	 * @throws TypeMismatchException If the value type is not consistent with the property type
+	 */
+	public T convert(T value) throws TypeMismatchException {
+		if (converter != null && isModelTypeConvertible(value)) {
+			return converter.fromModel(value, property);
+		}
+		if (value != null && !TypeUtils.isAssignable(value.getClass(), type)) {
+			throw new TypeMismatchException("Property " + property + " expected a value of type " + type.getName()
+					+ ", got a value of type: " + value.getClass().getName());
+		}
+		return value;
+	}
+
+	/**
+	 * Validate given value using {@link Property#validate(Object)}, so the current property validators are used.
+	 * @param value The value to validate
+	 * @throws ValidationException If the value is not valid
+	 */
+	public void validate(T value) throws ValidationException {
+		property.validate(value);
+	}
+
+	/**
+	 * Check if given value is type compatible with the converter model type.
+	 * @param value Value
+	 * @return <code>true</code> if given value is type compatible with the converter model type
+	 */
+	private boolean isModelTypeConvertible(Object value) {
+		if (value == null) {
+			return true;
+		}
+		if (collectionConverter) {
+			if (!(value instanceof Collection)) {
+				return false;
+			}
+			final Collection<?> collection = (Collection<?>) value;
+			if (collection.isEmpty()) {
+				return true;
+			}
+			for (Object element : collection) {
+				if (element != null) {
+					return TypeUtils.isAssignable(element.getClass(), modelType);
+				}
+			}
+			return false;
+		}
+		return TypeUtils.isAssignable(value.getClass(), modelType);
+	}
+
+}
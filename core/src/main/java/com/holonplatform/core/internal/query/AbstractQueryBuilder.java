@@ -23,6 +23,7 @@ import com.holonplatform.core.internal.utils.ObjectUtils;
 import com.holonplatform.core.query.QueryAggregation;
 import com.holonplatform.core.query.QueryBuilder;
 import com.holonplatform.core.query.QueryConfiguration;
+import com.holonplatform.core.query.QueryCursor;
 import com.holonplatform.core.query.QueryFilter;
 import com.holonplatform.core.query.QuerySort;
 
@@ -110,6 +111,20 @@ public abstract class AbstractQueryBuilder<Q extends QueryBuilder<Q>, D extends
 		return getActualBuilder();
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.query.QueryBuilder#seek(com.holonplatform.core.query.QueryCursor)
+	 */
+	@Override
+	public Q seek(QueryCursor cursor) {
+		if (getQueryDefinition() instanceof DefaultQueryDefinition) {
+			ObjectUtils.argumentNotNull(cursor, "Query cursor must be not null");
+			((DefaultQueryDefinition) getQueryDefinition()).addPrimarySort(cursor.getSort());
+			return cursor.getFilter().map(this::filter).orElse(getActualBuilder());
+		}
+		return QueryBuilder.super.seek(cursor);
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see com.holonplatform.core.query.Query#limit(int)
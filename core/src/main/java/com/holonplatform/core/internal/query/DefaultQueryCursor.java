@@ -0,0 +1,212 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.query;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import com.holonplatform.core.Path;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.core.property.PathPropertySetAdapter;
+import com.holonplatform.core.property.Property;
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.core.query.QueryCursor;
+import com.holonplatform.core.query.QueryFilter;
+import com.holonplatform.core.query.QuerySort;
+import com.holonplatform.core.query.QuerySort.PathQuerySort;
+import com.holonplatform.core.query.QuerySort.SortDirection;
+
+/**
+ * Default {@link QueryCursor} implementation.
+ * <p>
+ * For the sort <code>(p1, p2, ..., pn)</code> and the key values <code>(v1, v2, ..., vn)</code>, the cursor filter is
+ * expressed as <code>p1 &gt;= v1 AND (p1 &gt; v1 OR (p1 = v1 AND p2 &gt; v2) OR ...)</code>, using the <em>less
+ * than</em> operators for descending sorts. The leading comparison on the first sort path allows a range scan on the
+ * first sort path index, if available.
+ * </p>
+ * 
+ * @since 5.2.2
+ */
+public class DefaultQueryCursor implements QueryCursor {
+
+	private static final long serialVersionUID = -1826374591736504772L;
+
+	private final QuerySort sort;
+	private final List<PathQuerySort<?>> sortPaths;
+	private final List<Object> keyValues;
+	private final QueryFilter filter;
+
+	/**
+	 * Constructor for a first page cursor.
+	 * @param sort The cursor sort (not null)
+	 */
+	public DefaultQueryCursor(QuerySort sort) {
+		this(sort, getSortPaths(sort), Collections.emptyList());
+	}
+
+	/**
+	 * Constructor.
+	 * @param sort The cursor sort
+	 * @param sortPaths The cursor sort paths
+	 * @param keyValues The sort key values
+	 */
+	private DefaultQueryCursor(QuerySort sort, List<PathQuerySort<?>> sortPaths, List<Object> keyValues) {
+		super();
+		this.sort = sort;
+		this.sortPaths = sortPaths;
+		this.keyValues = keyValues;
+		this.filter = keyValues.isEmpty() ? null : buildFilter(sortPaths, keyValues);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.query.QueryCursor#getSort()
+	 */
+	@Override
+	public QuerySort getSort() {
+		return sort;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.query.QueryCursor#getSortPaths()
+	 */
+	@Override
+	public List<PathQuerySort<?>> getSortPaths() {
+		return sortPaths;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.query.QueryCursor#getKeyValues()
+	 */
+	@Override
+	public List<Object> getKeyValues() {
+		return keyValues;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.query.QueryCursor#getFilter()
+	 */
+	@Override
+	public Optional<QueryFilter> getFilter() {
+		return Optional.ofNullable(filter);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.query.QueryCursor#next(java.lang.Object[])
+	 */
+	@Override
+	public QueryCursor next(Object... keyValues) {
+		ObjectUtils.argumentNotNull(keyValues, "Key values must be not null");
+		if (keyValues.length != sortPaths.size()) {
+			throw new IllegalArgumentException("Expected " + sortPaths.size() + " key values, got " + keyValues.length);
+		}
+		for (int i = 0; i < keyValues.length; i++) {
+			if (keyValues[i] == null) {
+				throw new IllegalArgumentException(
+						"Null key value for sort path [" + sortPaths.get(i).getPath() + "]");
+			}
+		}
+		return new DefaultQueryCursor(sort, sortPaths,
+				Collections.unmodifiableList(new ArrayList<>(Arrays.asList(keyValues))));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.query.QueryCursor#next(com.holonplatform.core.property.PropertyBox)
+	 */
+	@Override
+	public QueryCursor next(PropertyBox row) {
+		ObjectUtils.argumentNotNull(row, "Row must be not null");
+		final PathPropertySetAdapter adapter = PathPropertySetAdapter.create(row);
+		final Object[] values = new Object[sortPaths.size()];
+		for (int i = 0; i < values.length; i++) {
+			final Path<?> path = sortPaths.get(i).getPath();
+			final Property<?> property = adapter.getProperty(path).orElseThrow(
+					() -> new IllegalArgumentException("The row does not contain the sort path [" + path + "]"));
+			values[i] = row.getValue(property);
+		}
+		return next(values);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "DefaultQueryCursor [sort=" + sortPaths + ", keyValues=" + keyValues + "]";
+	}
+
+	/**
+	 * Flatten given sort into the list of {@link PathQuerySort}s which compose it.
+	 * @param sort The sort to flatten (not null)
+	 * @return The sort paths
+	 */
+	private static List<PathQuerySort<?>> getSortPaths(QuerySort sort) {
+		ObjectUtils.argumentNotNull(sort, "Cursor sort must be not null");
+		final List<PathQuerySort<?>> paths = new ArrayList<>();
+		for (QuerySort s : QueryUtils.flattenQuerySort(sort)) {
+			if (!(s instanceof PathQuerySort)) {
+				throw new IllegalArgumentException("Query cursor supports only path sorts, got [" + s + "]");
+			}
+			paths.add((PathQuerySort<?>) s);
+		}
+		if (paths.isEmpty()) {
+			throw new IllegalArgumentException("Query cursor sort must declare at least one sort path");
+		}
+		return Collections.unmodifiableList(paths);
+	}
+
+	/**
+	 * Build the filter which selects the rows which follow the given key values.
+	 * @param sortPaths Sort paths
+	 * @param keyValues Key values
+	 * @return The cursor filter
+	 */
+	@SuppressWarnings("unchecked")
+	private static QueryFilter buildFilter(List<PathQuerySort<?>> sortPaths, List<Object> keyValues) {
+		QueryFilter seek = null;
+		QueryFilter prefix = null;
+		for (int i = 0; i < sortPaths.size(); i++) {
+			final PathQuerySort<?> sort = sortPaths.get(i);
+			final Path<Object> path = (Path<Object>) sort.getPath();
+			final Object value = keyValues.get(i);
+			final QueryFilter after = (sort.getDirection() == SortDirection.DESCENDING) ? QueryFilter.lt(path, value)
+					: QueryFilter.gt(path, value);
+			final QueryFilter term = (prefix == null) ? after : prefix.and(after);
+			seek = (seek == null) ? term : seek.or(term);
+			final QueryFilter equal = QueryFilter.eq(path, value);
+			prefix = (prefix == null) ? equal : prefix.and(equal);
+		}
+		if (sortPaths.size() > 1) {
+			final PathQuerySort<?> first = sortPaths.get(0);
+			final Path<Object> path = (Path<Object>) first.getPath();
+			final Object value = keyValues.get(0);
+			final QueryFilter range = (first.getDirection() == SortDirection.DESCENDING) ? QueryFilter.loe(path, value)
+					: QueryFilter.goe(path, value);
+			return range.and(seek);
+		}
+		return seek;
+	}
+
+}
@@ -16,6 +16,7 @@
 package com.holonplatform.core.internal.query;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Optional;
 import java.util.Set;
@@ -34,7 +35,7 @@ import com.holonplatform.core.query.QuerySort;
  * 
  * @since 5.0.0
  */
-public class DefaultQueryDefinition extends DefaultParameterSet implements QueryDefinition {
+public class DefaultQueryDefinition extends DefaultParameterSet implements QueryDefinition, Cloneable {
 
 	private static final long serialVersionUID = 6484896543047734331L;
 
@@ -150,6 +151,16 @@ public class DefaultQueryDefinition extends DefaultParameterSet implements Query
 		}
 	}
 
+	/**
+	 * Add a sort to query as the primary ordering. If any sort was present, it will follow given sort.
+	 * @param sort Sort to add (not null)
+	 * @since 5.2.2
+	 */
+	public void addPrimarySort(QuerySort sort) {
+		ObjectUtils.argumentNotNull(sort, "QuerySort must be not null");
+		this.sort = (this.sort == null) ? sort : sort.and(this.sort);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -258,6 +269,31 @@ public class DefaultQueryDefinition extends DefaultParameterSet implements Query
 				: Collections.unmodifiableSet(expressionResolvers);
 	}
 
+	/**
+	 * Create a copy of this query definition.
+	 * <p>
+	 * The copy has the same runtime type of this query definition, and its parameters and expression resolvers can be
+	 * changed without affecting this query definition.
+	 * </p>
+	 * @return A copy of this query definition
+	 * @since 5.2.2
+	 */
+	@Override
+	public DefaultQueryDefinition clone() {
+		try {
+			final DefaultQueryDefinition cloned = (DefaultQueryDefinition) super.clone();
+			if (parameters != null) {
+				cloned.parameters = new HashMap<>(parameters);
+			}
+			if (expressionResolvers != null) {
+				cloned.expressionResolvers = new HashSet<>(expressionResolvers);
+			}
+			return cloned;
+		} catch (CloneNotSupportedException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see java.lang.Object#toString()
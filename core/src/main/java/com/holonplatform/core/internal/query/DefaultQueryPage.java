@@ -0,0 +1,91 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.query;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.core.query.QueryCursor;
+import com.holonplatform.core.query.QueryPage;
+
+/**
+ * Default {@link QueryPage} implementation.
+ * 
+ * @param <T> Results type
+ * 
+ * @since 5.2.2
+ */
+public class DefaultQueryPage<T> implements QueryPage<T> {
+
+	private final QueryCursor cursor;
+	private final List<T> content;
+	private final QueryCursor nextCursor;
+
+	/**
+	 * Constructor.
+	 * @param cursor The cursor which was used to obtain the page (not null)
+	 * @param content The page results (not null)
+	 * @param nextCursor The cursor to use to obtain the next page, <code>null</code> if this is the last page
+	 */
+	public DefaultQueryPage(QueryCursor cursor, List<T> content, QueryCursor nextCursor) {
+		super();
+		ObjectUtils.argumentNotNull(cursor, "Page cursor must be not null");
+		ObjectUtils.argumentNotNull(content, "Page content must be not null");
+		this.cursor = cursor;
+		this.content = Collections.unmodifiableList(new ArrayList<>(content));
+		this.nextCursor = nextCursor;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.query.QueryPage#getContent()
+	 */
+	@Override
+	public List<T> getContent() {
+		return content;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.query.QueryPage#getCursor()
+	 */
+	@Override
+	public QueryCursor getCursor() {
+		return cursor;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.query.QueryPage#getNextCursor()
+	 */
+	@Override
+	public Optional<QueryCursor> getNextCursor() {
+		return Optional.ofNullable(nextCursor);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "DefaultQueryPage [size=" + content.size() + ", cursor=" + cursor + ", hasNext=" + hasNext() + "]";
+	}
+
+}
@@ -20,9 +20,13 @@ import java.util.stream.Stream;
 import com.holonplatform.core.datastore.Datastore;
 import com.holonplatform.core.exceptions.DataAccessException;
 import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.core.property.Property;
+import com.holonplatform.core.property.PropertyBox;
 import com.holonplatform.core.query.Query;
 import com.holonplatform.core.query.QueryAdapter;
+import com.holonplatform.core.query.QueryCursor;
 import com.holonplatform.core.query.QueryOperation;
+import com.holonplatform.core.query.QueryPage;
 import com.holonplatform.core.query.QueryProjection;
 
 /**
@@ -98,4 +102,22 @@ public class QueryAdapterQuery<D extends QueryDefinition> extends AbstractQuery<
 		}
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.query.Query#page(com.holonplatform.core.query.QueryCursor, int, java.lang.Iterable)
+	 */
+	@SuppressWarnings("rawtypes")
+	@Override
+	public <P extends Property> QueryPage<PropertyBox> page(QueryCursor cursor, int pageSize,
+			Iterable<P> properties) {
+		final D definition = getQueryDefinition();
+		if (definition instanceof DefaultQueryDefinition) {
+			// the clone has the same runtime type of the query definition
+			@SuppressWarnings("unchecked")
+			final D copy = (D) ((DefaultQueryDefinition) definition).clone();
+			return QueryUtils.page(new QueryAdapterQuery<>(getQueryAdapter(), copy), cursor, pageSize, properties);
+		}
+		return QueryUtils.page(this, cursor, pageSize, properties);
+	}
+
 }
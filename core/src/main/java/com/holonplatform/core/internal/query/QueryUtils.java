@@ -26,7 +26,11 @@ import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.core.property.Property;
+import com.holonplatform.core.property.PropertyBox;
 import com.holonplatform.core.query.Query;
+import com.holonplatform.core.query.QueryCursor;
+import com.holonplatform.core.query.QueryPage;
 import com.holonplatform.core.query.QueryResults.QueryNonUniqueResultException;
 import com.holonplatform.core.query.QuerySort;
 import com.holonplatform.core.query.QuerySort.CompositeQuerySort;
@@ -134,4 +138,59 @@ public final class QueryUtils implements Serializable {
 		};
 	}
 
+	/**
+	 * Get an expected unique result from a {@link Stream} of results.
+	 * <p>
+	 * At most two elements are read from the stream, so the remaining results are not fetched when the result is not
+	 * unique. The stream is closed before returning.
+	 * </p>
+	 * @param <T> Results type
+	 * @param results Results stream (not null)
+	 * @return Optional unique result (empty if the stream was empty)
+	 * @throws QueryNonUniqueResultException More than one result is present in results stream
+	 */
+	public static <T> Optional<T> uniqueResult(Stream<T> results) throws QueryNonUniqueResultException {
+		ObjectUtils.argumentNotNull(results, "Results stream must be not null");
+		try (Stream<T> stream = results) {
+			final Iterator<T> iterator = stream.iterator();
+			if (!iterator.hasNext()) {
+				return Optional.empty();
+			}
+			final T result = iterator.next();
+			if (iterator.hasNext()) {
+				throw new QueryNonUniqueResultException("Expected an unique result, but had more than one");
+			}
+			return Optional.ofNullable(result);
+		}
+	}
+
+	/**
+	 * Position given query at the <em>keyset</em> pagination cursor and execute it to obtain a page of results.
+	 * <p>
+	 * The cursor sort and filter are added to the query, which is executed fetching <code>pageSize + 1</code> rows to
+	 * detect whether a next page is available.
+	 * </p>
+	 * @param <P> Property type
+	 * @param query The query to execute (not null)
+	 * @param cursor The page cursor (not null)
+	 * @param pageSize The page size (must be greater than 0)
+	 * @param properties Property set to use as projection (not null)
+	 * @return The results page
+	 */
+	@SuppressWarnings("rawtypes")
+	public static <P extends Property> QueryPage<PropertyBox> page(Query query, QueryCursor cursor, int pageSize,
+			Iterable<P> properties) {
+		ObjectUtils.argumentNotNull(query, "Query must be not null");
+		ObjectUtils.argumentNotNull(cursor, "Query cursor must be not null");
+		if (pageSize < 1) {
+			throw new IllegalArgumentException("Page size must be greater than 0");
+		}
+		final List<PropertyBox> rows = query.seek(cursor).limit(pageSize + 1).list(properties);
+		if (rows.size() > pageSize) {
+			final List<PropertyBox> content = rows.subList(0, pageSize);
+			return QueryPage.create(cursor, content, cursor.next(content.get(pageSize - 1)));
+		}
+		return QueryPage.create(cursor, rows, null);
+	}
+
 }
@@ -0,0 +1,256 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.query;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.util.Calendar;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import com.holonplatform.core.query.QueryFunction;
+import com.holonplatform.core.query.StringFunction;
+import com.holonplatform.core.query.StringFunction.Lower;
+import com.holonplatform.core.query.StringFunction.Upper;
+import com.holonplatform.core.query.TemporalFunction;
+import com.holonplatform.core.query.TemporalFunction.CurrentDate;
+import com.holonplatform.core.query.TemporalFunction.CurrentLocalDate;
+import com.holonplatform.core.query.TemporalFunction.CurrentLocalDateTime;
+import com.holonplatform.core.query.TemporalFunction.CurrentTimestamp;
+import com.holonplatform.core.query.TemporalFunction.Day;
+import com.holonplatform.core.query.TemporalFunction.Hour;
+import com.holonplatform.core.query.TemporalFunction.Month;
+import com.holonplatform.core.query.TemporalFunction.Year;
+
+/**
+ * Utility class to compare and normalize values when query expressions are evaluated in memory.
+ * <p>
+ * Numeric values are compared by value regardless of their concrete type, so that, for example, an {@link Integer}
+ * value matches a {@link Long} filter value.
+ * </p>
+ * 
+ * @since 5.2.2
+ */
+public final class QueryValues {
+
+	/**
+	 * Null-safe comparator, which orders <code>null</code> values first.
+	 */
+	public static final Comparator<Object> COMPARATOR = (a, b) -> {
+		if (a == b) {
+			return 0;
+		}
+		if (a == null) {
+			return -1;
+		}
+		if (b == null) {
+			return 1;
+		}
+		return compare(a, b);
+	};
+
+	private QueryValues() {
+	}
+
+	/**
+	 * Checks whether given values are equal. A <code>null</code> value is never equal to any other value.
+	 * @param a First value
+	 * @param b Second value
+	 * @return <code>true</code> if both values are not <code>null</code> and equal
+	 */
+	public static boolean equals(Object a, Object b) {
+		if (a == null || b == null) {
+			return false;
+		}
+		if (a instanceof Number && b instanceof Number) {
+			return compareNumbers((Number) a, (Number) b) == 0;
+		}
+		return a.equals(b);
+	}
+
+	/**
+	 * Compare two not <code>null</code> values.
+	 * @param a First value
+	 * @param b Second value
+	 * @return Comparison result
+	 * @throws IllegalArgumentException If the values are not comparable
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public static int compare(Object a, Object b) {
+		if (a instanceof Number && b instanceof Number) {
+			return compareNumbers((Number) a, (Number) b);
+		}
+		if (a instanceof Comparable && (a.getClass().isInstance(b) || b.getClass().isInstance(a))) {
+			return ((Comparable) a).compareTo(b);
+		}
+		throw new IllegalArgumentException("Values [" + a + "] and [" + b + "] are not comparable");
+	}
+
+	/**
+	 * Get the key to use to hash given value, normalizing numeric values so that equal numbers of different types
+	 * produce the same key.
+	 * @param value Value
+	 * @return Hash key
+	 */
+	public static Object key(Object value) {
+		if (value instanceof Number) {
+			final Number n = (Number) value;
+			if (isIntegral(n)) {
+				return n.longValue();
+			}
+			if (value instanceof Double || value instanceof Float) {
+				final double d = n.doubleValue();
+				if (d == Math.rint(d) && !Double.isInfinite(d) && Math.abs(d) < 0x1p62) {
+					return (long) d;
+				}
+				return d;
+			}
+			if (value instanceof BigDecimal) {
+				final BigDecimal bd = ((BigDecimal) value).stripTrailingZeros();
+				if (bd.scale() <= 0 && bd.precision() - bd.scale() < 19) {
+					return bd.longValue();
+				}
+				return bd.doubleValue();
+			}
+			if (value instanceof BigInteger && ((BigInteger) value).bitLength() < 64) {
+				return n.longValue();
+			}
+		}
+		return value;
+	}
+
+	/**
+	 * Get the value of given temporal field from a {@link Date}, {@link Calendar} or {@link TemporalAccessor} value.
+	 * Supported fields are {@link ChronoField#YEAR}, {@link ChronoField#MONTH_OF_YEAR},
+	 * {@link ChronoField#DAY_OF_MONTH} and {@link ChronoField#HOUR_OF_DAY}.
+	 * @param value Temporal value
+	 * @param field Field to obtain
+	 * @return Field value, <code>null</code> if not available
+	 */
+	public static Integer getTemporalField(Object value, ChronoField field) {
+		if (value instanceof Date || value instanceof Calendar) {
+			final Calendar calendar;
+			if (value instanceof Calendar) {
+				calendar = (Calendar) value;
+			} else {
+				calendar = Calendar.getInstance();
+				calendar.setTime((Date) value);
+			}
+			switch (field) {
+			case YEAR:
+				return calendar.get(Calendar.YEAR);
+			case MONTH_OF_YEAR:
+				return calendar.get(Calendar.MONTH) + 1;
+			case DAY_OF_MONTH:
+				return calendar.get(Calendar.DAY_OF_MONTH);
+			case HOUR_OF_DAY:
+				return calendar.get(Calendar.HOUR_OF_DAY);
+			default:
+				return null;
+			}
+		}
+		if (value instanceof TemporalAccessor && ((TemporalAccessor) value).isSupported(field)) {
+			return ((TemporalAccessor) value).get(field);
+		}
+		return null;
+	}
+
+	/**
+	 * Get a function to evaluate given scalar {@link QueryFunction} in memory. The function argument is the value of
+	 * the query function first argument, if any. Supported functions are the {@link StringFunction}s and the
+	 * {@link TemporalFunction}s.
+	 * @param function Query function (not null)
+	 * @return The function evaluator, empty if given function is not supported
+	 */
+	public static Optional<Function<Object, Object>> getScalarFunction(QueryFunction<?, ?> function) {
+		if (function instanceof Lower) {
+			return Optional.of(v -> (v != null) ? v.toString().toLowerCase() : null);
+		}
+		if (function instanceof Upper) {
+			return Optional.of(v -> (v != null) ? v.toString().toUpperCase() : null);
+		}
+		if (function instanceof Year) {
+			return Optional.of(v -> getTemporalField(v, ChronoField.YEAR));
+		}
+		if (function instanceof Month) {
+			return Optional.of(v -> getTemporalField(v, ChronoField.MONTH_OF_YEAR));
+		}
+		if (function instanceof Day) {
+			return Optional.of(v -> getTemporalField(v, ChronoField.DAY_OF_MONTH));
+		}
+		if (function instanceof Hour) {
+			return Optional.of(v -> getTemporalField(v, ChronoField.HOUR_OF_DAY));
+		}
+		if (function instanceof CurrentDate) {
+			return Optional.of(v -> {
+				final Calendar calendar = Calendar.getInstance();
+				calendar.set(Calendar.HOUR_OF_DAY, 0);
+				calendar.set(Calendar.MINUTE, 0);
+				calendar.set(Calendar.SECOND, 0);
+				calendar.set(Calendar.MILLISECOND, 0);
+				return calendar.getTime();
+			});
+		}
+		if (function instanceof CurrentTimestamp) {
+			return Optional.of(v -> new Date());
+		}
+		if (function instanceof CurrentLocalDate) {
+			return Optional.of(v -> LocalDate.now());
+		}
+		if (function instanceof CurrentLocalDateTime) {
+			return Optional.of(v -> LocalDateTime.now());
+		}
+		return Optional.empty();
+	}
+
+	private static boolean isIntegral(Number n) {
+		return n instanceof Integer || n instanceof Long || n instanceof Short || n instanceof Byte
+				|| n instanceof AtomicInteger || n instanceof AtomicLong;
+	}
+
+	private static int compareNumbers(Number a, Number b) {
+		if (isIntegral(a) && isIntegral(b)) {
+			return Long.compare(a.longValue(), b.longValue());
+		}
+		if (a instanceof BigDecimal || b instanceof BigDecimal || a instanceof BigInteger
+				|| b instanceof BigInteger) {
+			return toBigDecimal(a).compareTo(toBigDecimal(b));
+		}
+		return Double.compare(a.doubleValue(), b.doubleValue());
+	}
+
+	private static BigDecimal toBigDecimal(Number n) {
+		if (n instanceof BigDecimal) {
+			return (BigDecimal) n;
+		}
+		if (n instanceof BigInteger) {
+			return new BigDecimal((BigInteger) n);
+		}
+		if (isIntegral(n)) {
+			return BigDecimal.valueOf(n.longValue());
+		}
+		return BigDecimal.valueOf(n.doubleValue());
+	}
+
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.query.filter;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+import com.holonplatform.core.Expression;
+import com.holonplatform.core.Expression.InvalidExpressionException;
+import com.holonplatform.core.NullExpression;
+import com.holonplatform.core.Path;
+import com.holonplatform.core.TypedExpression;
+import com.holonplatform.core.internal.property.DefaultPathConverter;
+import com.holonplatform.core.internal.property.DefaultPathMatcher;
+import com.holonplatform.core.internal.query.QueryValues;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.core.property.PathPropertySetAdapter;
+import com.holonplatform.core.property.Property;
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.core.property.PropertySet;
+import com.holonplatform.core.query.QueryFilter;
+import com.holonplatform.core.query.QueryFilterPredicate;
+import com.holonplatform.core.query.QueryFunction;
+
+/**
+ * Default {@link QueryFilterPredicate} implementation, which uses a {@link QueryFilterCompiler}.
+ * <p>
+ * Each filter path is resolved once into the {@link Property} to read from the {@link PropertyBox}: the path itself
+ * if it is a property, or the property set property bound to the path. If the tested {@link PropertyBox} does not
+ * contain that property, the path is matched against the box properties and the matching property is remembered, so
+ * that the boxes with the same properties are not matched again.
+ * </p>
+ * 
+ * @since 5.2.2
+ */
+public class DefaultQueryFilterPredicate implements QueryFilterPredicate {
+
+	private final QueryFilter filter;
+
+	private final QueryFilterCompiler.CompiledFilter<PropertyBox> predicate;
+
+	/**
+	 * Constructor.
+	 * @param filter The filter to compile (not null)
+	 * @param propertySet Optional property set to use to resolve the filter paths
+	 */
+	public DefaultQueryFilterPredicate(QueryFilter filter, PropertySet<?> propertySet) {
+		super();
+		ObjectUtils.argumentNotNull(filter, "QueryFilter must be not null");
+		this.filter = filter;
+		this.predicate = new QueryFilterCompiler<PropertyBox>(e -> compile(e, propertySet), null).compile(filter);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.query.QueryFilterPredicate#getFilter()
+	 */
+	@Override
+	public QueryFilter getFilter() {
+		return filter;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.function.Predicate#test(java.lang.Object)
+	 */
+	@Override
+	public boolean test(PropertyBox propertyBox) {
+		return propertyBox != null && predicate.test(propertyBox);
+	}
+
+	/**
+	 * Compile a filter operand expression.
+	 * @param expression Expression to compile
+	 * @param propertySet Optional property set
+	 * @return The expression value function
+	 */
+	private static Function<PropertyBox, Object> compile(Expression expression, PropertySet<?> propertySet) {
+		if (expression instanceof NullExpression) {
+			return b -> null;
+		}
+		if (expression instanceof QueryFunction) {
+			final QueryFunction<?, ?> function = (QueryFunction<?, ?>) expression;
+			final Function<Object, Object> evaluator = QueryValues.getScalarFunction(function).orElseThrow(
+					() -> new InvalidExpressionException("Unsupported query function [" + function + "]"));
+			final List<? extends TypedExpression<?>> arguments = function.getExpressionArguments();
+			if (arguments == null || arguments.isEmpty()) {
+				return b -> evaluator.apply(null);
+			}
+			final Function<PropertyBox, Object> argument = compile(arguments.get(0), propertySet);
+			return b -> evaluator.apply(argument.apply(b));
+		}
+		if (expression instanceof Path) {
+			return new PathValue((Path<?>) expression, propertySet);
+		}
+		throw new InvalidExpressionException("Unsupported filter expression [" + expression + "]");
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "QueryFilterPredicate [filter=" + filter + ", cost=" + predicate.getCost() + "]";
+	}
+
+	/**
+	 * Reads a {@link Path} value from a {@link PropertyBox}.
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private static final class PathValue implements Function<PropertyBox, Object> {
+
+		private final Path path;
+		private final Property property;
+
+		/**
+		 * Last property resolved from a property box which does not contain the {@link #property}
+		 */
+		private volatile Property resolved;
+
+		PathValue(Path<?> path, PropertySet<?> propertySet) {
+			super();
+			this.path = path;
+			if (propertySet != null) {
+				if (path instanceof Property && propertySet.contains((Property) path)) {
+					this.property = (Property) path;
+				} else {
+					this.property = PathPropertySetAdapter.create(propertySet).getProperty(path)
+							.orElseThrow(() -> new InvalidExpressionException(
+									"Path [" + path + "] is not available in property set [" + propertySet + "]"));
+				}
+			} else {
+				this.property = (path instanceof Property) ? (Property) path : null;
+			}
+		}
+
+		@Override
+		public Object apply(PropertyBox propertyBox) {
+			if (property != null && propertyBox.contains(property)) {
+				return propertyBox.getValue(property);
+			}
+			final Property last = resolved;
+			if (last != null && propertyBox.contains(last)) {
+				return propertyBox.getValue(last);
+			}
+			for (Property candidate : propertyBox) {
+				final Optional<Path<?>> candidatePath = DefaultPathConverter.INSTANCE.convert(candidate);
+				if (candidatePath.isPresent() && DefaultPathMatcher.INSTANCE.match(candidatePath.get(), path)) {
+					resolved = candidate;
+					return propertyBox.getValue(candidate);
+				}
+			}
+			return null;
+		}
+
+	}
+
+}
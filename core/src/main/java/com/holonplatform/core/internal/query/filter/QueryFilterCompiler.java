@@ -0,0 +1,484 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.query.filter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import com.holonplatform.core.ConstantConverterExpression;
+import com.holonplatform.core.Expression;
+import com.holonplatform.core.Expression.InvalidExpressionException;
+import com.holonplatform.core.ExpressionResolver.ResolutionContext;
+import com.holonplatform.core.internal.query.QueryFilterVisitor;
+import com.holonplatform.core.internal.query.QueryFilterVisitor.VisitableQueryFilter;
+import com.holonplatform.core.internal.query.QueryValues;
+import com.holonplatform.core.query.QueryFilter;
+
+/**
+ * Compiles a {@link QueryFilter} tree into a reusable {@link Predicate}, to evaluate the filter in memory.
+ * <p>
+ * The filter operands are compiled once using an {@link ExpressionCompiler}, which provides the value access strategy
+ * for the actual element type. Constant operands are pre-evaluated, <code>in</code> and <code>not in</code> values are
+ * hashed into a set and {@link StringMatchFilter} patterns are prepared, so that no per-element allocation is required
+ * for case-sensitive matches. Nested {@link AndFilter}s and {@link OrFilter}s are flattened and their children are
+ * ordered by an estimated evaluation cost, so that the cheaper checks short-circuit the more expensive ones.
+ * </p>
+ * <p>
+ * Values are compared using the {@link QueryValues} semantics: a <code>null</code> operand never matches, except for
+ * {@link NullFilter}.
+ * </p>
+ * <p>
+ * A compiler instance is not thread-safe, while the compiled predicates are thread-safe as long as the
+ * {@link ExpressionCompiler} functions are.
+ * </p>
+ * 
+ * @param <T> Element type
+ * 
+ * @since 5.2.2
+ */
+public class QueryFilterCompiler<T> implements QueryFilterVisitor<QueryFilterCompiler.CompiledFilter<T>, Void> {
+
+	private static final int COST_NULL_CHECK = 1;
+	private static final int COST_EQUALITY = 2;
+	private static final int COST_COMPARISON = 3;
+	private static final int COST_STRING_MATCH = 5;
+	private static final int COST_STRING_MATCH_IGNORE_CASE = 8;
+
+	private final ExpressionCompiler<T> expressionCompiler;
+
+	private final ResolutionContext resolutionContext;
+
+	/**
+	 * Constructor.
+	 * @param expressionCompiler The compiler to use for the filter operands (not null)
+	 * @param resolutionContext Optional context to resolve the filters which are not a {@link VisitableQueryFilter}
+	 */
+	public QueryFilterCompiler(ExpressionCompiler<T> expressionCompiler, ResolutionContext resolutionContext) {
+		super();
+		this.expressionCompiler = expressionCompiler;
+		this.resolutionContext = resolutionContext;
+	}
+
+	/**
+	 * Compile given filter into a predicate.
+	 * @param filter The filter to compile (not null)
+	 * @return The compiled filter predicate
+	 * @throws InvalidExpressionException If the filter is not valid or not supported
+	 */
+	public CompiledFilter<T> compile(QueryFilter filter) {
+		if (filter instanceof VisitableQueryFilter) {
+			filter.validate();
+			return ((VisitableQueryFilter) filter).accept(this, null);
+		}
+		if (filter != null && resolutionContext != null) {
+			final Optional<QueryFilter> resolved = resolutionContext.resolve(filter, QueryFilter.class,
+					resolutionContext);
+			if (resolved.isPresent() && resolved.get() != filter) {
+				return compile(resolved.get());
+			}
+		}
+		throw new InvalidExpressionException("Unsupported query filter [" + filter + "]");
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.internal.query.QueryFilterVisitor#visit(com.holonplatform.core.internal.query.filter.
+	 * NullFilter, java.lang.Object)
+	 */
+	@Override
+	public CompiledFilter<T> visit(NullFilter filter, Void context) {
+		final Function<T, Object> left = operand(filter.getLeftOperand());
+		return new CompiledFilter<>(e -> left.apply(e) == null, COST_NULL_CHECK);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.internal.query.QueryFilterVisitor#visit(com.holonplatform.core.internal.query.filter.
+	 * NotNullFilter, java.lang.Object)
+	 */
+	@Override
+	public CompiledFilter<T> visit(NotNullFilter filter, Void context) {
+		final Function<T, Object> left = operand(filter.getLeftOperand());
+		return new CompiledFilter<>(e -> left.apply(e) != null, COST_NULL_CHECK);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.internal.query.QueryFilterVisitor#visit(com.holonplatform.core.internal.query.filter.
+	 * EqualFilter, java.lang.Object)
+	 */
+	@Override
+	public <V> CompiledFilter<T> visit(EqualFilter<V> filter, Void context) {
+		final Function<T, Object> left = operand(filter.getLeftOperand());
+		final Optional<Object> constant = getConstantValue(filter);
+		if (constant.isPresent()) {
+			final Object value = constant.get();
+			return new CompiledFilter<>(e -> QueryValues.equals(left.apply(e), value), COST_EQUALITY);
+		}
+		final Function<T, Object> right = rightOperand(filter);
+		return new CompiledFilter<>(e -> QueryValues.equals(left.apply(e), right.apply(e)), COST_EQUALITY);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.internal.query.QueryFilterVisitor#visit(com.holonplatform.core.internal.query.filter.
+	 * NotEqualFilter, java.lang.Object)
+	 */
+	@Override
+	public <V> CompiledFilter<T> visit(NotEqualFilter<V> filter, Void context) {
+		final Function<T, Object> left = operand(filter.getLeftOperand());
+		final Function<T, Object> right = rightOperand(filter);
+		return new CompiledFilter<>(e -> {
+			final Object l = left.apply(e);
+			final Object r = right.apply(e);
+			return l != null && r != null && !QueryValues.equals(l, r);
+		}, COST_EQUALITY);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.internal.query.QueryFilterVisitor#visit(com.holonplatform.core.internal.query.filter.
+	 * GreaterFilter, java.lang.Object)
+	 */
+	@Override
+	public <V> CompiledFilter<T> visit(GreaterFilter<V> filter, Void context) {
+		final Function<T, Object> left = operand(filter.getLeftOperand());
+		final Function<T, Object> right = rightOperand(filter);
+		final int min = filter.isIncludeEquals() ? 0 : 1;
+		return new CompiledFilter<>(e -> {
+			final Object l = left.apply(e);
+			final Object r = right.apply(e);
+			return l != null && r != null && QueryValues.compare(l, r) >= min;
+		}, COST_COMPARISON);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.internal.query.QueryFilterVisitor#visit(com.holonplatform.core.internal.query.filter.
+	 * LessFilter, java.lang.Object)
+	 */
+	@Override
+	public <V> CompiledFilter<T> visit(LessFilter<V> filter, Void context) {
+		final Function<T, Object> left = operand(filter.getLeftOperand());
+		final Function<T, Object> right = rightOperand(filter);
+		final int max = filter.isIncludeEquals() ? 0 : -1;
+		return new CompiledFilter<>(e -> {
+			final Object l = left.apply(e);
+			final Object r = right.apply(e);
+			return l != null && r != null && QueryValues.compare(l, r) <= max;
+		}, COST_COMPARISON);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.internal.query.QueryFilterVisitor#visit(com.holonplatform.core.internal.query.filter.
+	 * InFilter, java.lang.Object)
+	 */
+	@Override
+	public <V> CompiledFilter<T> visit(InFilter<V> filter, Void context) {
+		final Function<T, Object> left = operand(filter.getLeftOperand());
+		final Set<Object> values = getKeys(filter);
+		return new CompiledFilter<>(e -> {
+			final Object l = left.apply(e);
+			return l != null && values.contains(QueryValues.key(l));
+		}, COST_COMPARISON);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.internal.query.QueryFilterVisitor#visit(com.holonplatform.core.internal.query.filter.
+	 * NotInFilter, java.lang.Object)
+	 */
+	@Override
+	public <V> CompiledFilter<T> visit(NotInFilter<V> filter, Void context) {
+		final Function<T, Object> left = operand(filter.getLeftOperand());
+		final Set<Object> values = getKeys(filter);
+		return new CompiledFilter<>(e -> {
+			final Object l = left.apply(e);
+			return l != null && !values.contains(QueryValues.key(l));
+		}, COST_COMPARISON);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.internal.query.QueryFilterVisitor#visit(com.holonplatform.core.internal.query.filter.
+	 * BetweenFilter, java.lang.Object)
+	 */
+	@Override
+	public <V> CompiledFilter<T> visit(BetweenFilter<V> filter, Void context) {
+		final Function<T, Object> left = operand(filter.getLeftOperand());
+		final Object from = filter.getFromValue();
+		final Object to = filter.getToValue();
+		return new CompiledFilter<>(e -> {
+			final Object l = left.apply(e);
+			return l != null && QueryValues.compare(l, from) >= 0 && QueryValues.compare(l, to) <= 0;
+		}, COST_COMPARISON + 1);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.internal.query.QueryFilterVisitor#visit(com.holonplatform.core.internal.query.filter.
+	 * StringMatchFilter, java.lang.Object)
+	 */
+	@Override
+	public CompiledFilter<T> visit(StringMatchFilter filter, Void context) {
+		final Function<T, Object> left = operand(filter.getLeftOperand());
+		final Predicate<String> match = getStringMatcher(filter.getValue(), filter.getMatchMode(),
+				filter.isIgnoreCase());
+		return new CompiledFilter<>(e -> {
+			final Object l = left.apply(e);
+			return l != null && match.test(l.toString());
+		}, filter.isIgnoreCase() ? COST_STRING_MATCH_IGNORE_CASE : COST_STRING_MATCH);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.internal.query.QueryFilterVisitor#visit(com.holonplatform.core.internal.query.filter.
+	 * AndFilter, java.lang.Object)
+	 */
+	@Override
+	public CompiledFilter<T> visit(AndFilter filter, Void context) {
+		final List<CompiledFilter<T>> children = compileComposition(filter, AndFilter.class);
+		final int cost = getCost(children);
+		if (children.size() == 1) {
+			return children.get(0);
+		}
+		if (children.size() == 2) {
+			final Predicate<T> first = children.get(0).predicate;
+			final Predicate<T> second = children.get(1).predicate;
+			return new CompiledFilter<>(e -> first.test(e) && second.test(e), cost);
+		}
+		final Predicate<T>[] predicates = asArray(children);
+		return new CompiledFilter<>(e -> {
+			for (Predicate<T> predicate : predicates) {
+				if (!predicate.test(e)) {
+					return false;
+				}
+			}
+			return true;
+		}, cost);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.internal.query.QueryFilterVisitor#visit(com.holonplatform.core.internal.query.filter.
+	 * OrFilter, java.lang.Object)
+	 */
+	@Override
+	public CompiledFilter<T> visit(OrFilter filter, Void context) {
+		final List<CompiledFilter<T>> children = compileComposition(filter, OrFilter.class);
+		final int cost = getCost(children);
+		if (children.size() == 1) {
+			return children.get(0);
+		}
+		if (children.size() == 2) {
+			final Predicate<T> first = children.get(0).predicate;
+			final Predicate<T> second = children.get(1).predicate;
+			return new CompiledFilter<>(e -> first.test(e) || second.test(e), cost);
+		}
+		final Predicate<T>[] predicates = asArray(children);
+		return new CompiledFilter<>(e -> {
+			for (Predicate<T> predicate : predicates) {
+				if (predicate.test(e)) {
+					return true;
+				}
+			}
+			return false;
+		}, cost);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.internal.query.QueryFilterVisitor#visit(com.holonplatform.core.internal.query.filter.
+	 * NotFilter, java.lang.Object)
+	 */
+	@Override
+	public CompiledFilter<T> visit(NotFilter filter, Void context) {
+		final CompiledFilter<T> negated = compile(filter.getComposition().get(0));
+		final Predicate<T> predicate = negated.predicate;
+		return new CompiledFilter<>(e -> !predicate.test(e), negated.cost);
+	}
+
+	/**
+	 * Compile the children of a composite filter, flattening the nested composite filters of the same type and
+	 * sorting them by ascending cost.
+	 * @param filter Composite filter
+	 * @param type Composite filter type to flatten
+	 * @return The compiled children
+	 */
+	private List<CompiledFilter<T>> compileComposition(AbstractCompositeQueryFilter filter,
+			Class<? extends AbstractCompositeQueryFilter> type) {
+		final List<CompiledFilter<T>> children = new ArrayList<>();
+		collect(filter, type, children);
+		// stable sort: equal cost children keep the declaration order
+		children.sort((a, b) -> Integer.compare(a.cost, b.cost));
+		return children;
+	}
+
+	private void collect(AbstractCompositeQueryFilter filter, Class<? extends AbstractCompositeQueryFilter> type,
+			List<CompiledFilter<T>> children) {
+		for (QueryFilter child : filter.getComposition()) {
+			if (type.isInstance(child)) {
+				collect((AbstractCompositeQueryFilter) child, type, children);
+			} else {
+				children.add(compile(child));
+			}
+		}
+	}
+
+	private static <T> int getCost(List<CompiledFilter<T>> children) {
+		int cost = 0;
+		for (CompiledFilter<T> child : children) {
+			cost += child.cost;
+		}
+		return cost;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> Predicate<T>[] asArray(List<CompiledFilter<T>> children) {
+		final Predicate<T>[] predicates = (Predicate<T>[]) new Predicate<?>[children.size()];
+		for (int i = 0; i < predicates.length; i++) {
+			predicates[i] = children.get(i).predicate;
+		}
+		return predicates;
+	}
+
+	private Function<T, Object> operand(Expression expression) {
+		if (expression == null) {
+			return e -> null;
+		}
+		if (expression instanceof ConstantConverterExpression) {
+			final Object value = ((ConstantConverterExpression<?, ?>) expression).getValue();
+			return e -> value;
+		}
+		return expressionCompiler.compile(expression);
+	}
+
+	private Function<T, Object> rightOperand(AbstractOperationQueryFilter<?> filter) {
+		return operand(filter.getRightOperand().orElse(null));
+	}
+
+	private static Optional<Object> getConstantValue(AbstractOperationQueryFilter<?> filter) {
+		return filter.getRightOperand().filter(e -> e instanceof ConstantConverterExpression)
+				.map(e -> ((ConstantConverterExpression<?, ?>) e).getValue());
+	}
+
+	private static Set<Object> getKeys(AbstractOperationQueryFilter<?> filter) {
+		final Set<Object> keys = new HashSet<>();
+		getConstantValue(filter).filter(v -> v instanceof Collection).ifPresent(v -> {
+			for (Object value : (Collection<?>) v) {
+				if (value != null) {
+					keys.add(QueryValues.key(value));
+				}
+			}
+		});
+		return keys;
+	}
+
+	/**
+	 * Build a matcher for given {@link StringMatchFilter} value. Case insensitive matches use
+	 * {@link String#regionMatches(boolean, int, String, int, int)}, so the matched value is never copied.
+	 * @param value Value to match
+	 * @param mode Match mode
+	 * @param ignoreCase Whether to ignore case
+	 * @return The string matcher
+	 */
+	private static Predicate<String> getStringMatcher(String value, StringMatchFilter.MatchMode mode,
+			boolean ignoreCase) {
+		final int length = value.length();
+		switch (mode) {
+		case STARTS_WITH:
+			return ignoreCase ? s -> s.regionMatches(true, 0, value, 0, length) : s -> s.startsWith(value);
+		case ENDS_WITH:
+			return ignoreCase
+					? s -> s.length() >= length && s.regionMatches(true, s.length() - length, value, 0, length)
+					: s -> s.endsWith(value);
+		case CONTAINS:
+		default:
+			if (!ignoreCase) {
+				return s -> s.contains(value);
+			}
+			return s -> {
+				final int max = s.length() - length;
+				for (int i = 0; i <= max; i++) {
+					if (s.regionMatches(true, i, value, 0, length)) {
+						return true;
+					}
+				}
+				return false;
+			};
+		}
+	}
+
+	/**
+	 * Compiles a filter operand {@link Expression} into a function which provides the operand value for a given
+	 * element.
+	 * @param <T> Element type
+	 */
+	@FunctionalInterface
+	public interface ExpressionCompiler<T> {
+
+		/**
+		 * Compile given expression.
+		 * @param expression The expression to compile (not null)
+		 * @return The expression value function
+		 * @throws InvalidExpressionException If the expression is not supported
+		 */
+		Function<T, Object> compile(Expression expression) throws InvalidExpressionException;
+
+	}
+
+	/**
+	 * A compiled filter, with its estimated evaluation cost.
+	 * @param <T> Element type
+	 */
+	public static final class CompiledFilter<T> implements Predicate<T> {
+
+		final Predicate<T> predicate;
+		final int cost;
+
+		CompiledFilter(Predicate<T> predicate, int cost) {
+			super();
+			this.predicate = predicate;
+			this.cost = cost;
+		}
+
+		/**
+		 * Get the estimated evaluation cost, used to order the composite filter children.
+		 * @return the cost
+		 */
+		public int getCost() {
+			return cost;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.util.function.Predicate#test(java.lang.Object)
+		 */
+		@Override
+		public boolean test(T t) {
+			return predicate.test(t);
+		}
+
+	}
+
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.streams;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.WritableByteChannel;
+
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.core.streams.LimitedInputStream;
+
+/**
+ * A {@link LimitedInputStream} which reads the bytes from a {@link ReadableByteChannel}.
+ * <p>
+ * When the channel is a {@link FileChannel}, skipping is performed by moving the channel position and
+ * {@link #transferTo(WritableByteChannel)} uses {@link FileChannel#transferTo(long, long, WritableByteChannel)}, so
+ * that the bytes are not copied through the heap. The same applies when the transfer target is a {@link FileChannel},
+ * using {@link FileChannel#transferFrom(ReadableByteChannel, long, long)}. If a channel transfer makes no progress,
+ * the remaining bytes are copied through a buffer.
+ * </p>
+ * <p>
+ * Closing this stream closes the underlying channel.
+ * </p>
+ * 
+ * @since 5.2.2
+ */
+public class ChannelLimitedInputStream extends LimitedInputStream {
+
+	private final ReadableByteChannel channel;
+	private final long length;
+
+	private long remaining;
+
+	/**
+	 * Constructor.
+	 * @param channel The channel to read from (not null), must be in blocking mode
+	 * @param length The stream length in bytes. If negative, the stream length is unknown and not enforced
+	 */
+	public ChannelLimitedInputStream(ReadableByteChannel channel, long length) {
+		super();
+		ObjectUtils.argumentNotNull(channel, "Channel must be not null");
+		if (channel instanceof SelectableChannel && !((SelectableChannel) channel).isBlocking()) {
+			throw new IllegalArgumentException("The channel must be in blocking mode");
+		}
+		this.channel = channel;
+		this.length = length;
+		this.remaining = (length < 0) ? Long.MAX_VALUE : length;
+	}
+
+	/**
+	 * Get the channel from which the bytes are read.
+	 * @return the channel
+	 */
+	public ReadableByteChannel getChannel() {
+		return channel;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.streams.LimitedInputStream#getLength()
+	 */
+	@Override
+	public long getLength() {
+		return length;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.streams.LimitedInputStream#getActualStream()
+	 */
+	@Override
+	public InputStream getActualStream() {
+		return this;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.io.InputStream#read()
+	 */
+	@Override
+	public int read() throws IOException {
+		final byte[] b = new byte[1];
+		final int read = read(b, 0, 1);
+		return (read > 0) ? (b[0] & 0xFF) : -1;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.io.InputStream#read(byte[], int, int)
+	 */
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		ObjectUtils.argumentNotNull(b, "Buffer must be not null");
+		if (off < 0 || len < 0 || len > b.length - off) {
+			throw new IndexOutOfBoundsException();
+		}
+		if (len == 0) {
+			return 0;
+		}
+		if (remaining <= 0) {
+			return -1;
+		}
+		final int read = channel.read(ByteBuffer.wrap(b, off, (int) Math.min(len, remaining)));
+		if (read > 0) {
+			remaining -= read;
+		}
+		return read;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.io.InputStream#skip(long)
+	 */
+	@Override
+	public long skip(long n) throws IOException {
+		if (n <= 0 || remaining <= 0) {
+			return 0;
+		}
+		if (channel instanceof FileChannel) {
+			final FileChannel fc = (FileChannel) channel;
+			final long position = fc.position();
+			final long skipped = Math.min(Math.min(n, remaining), Math.max(0, fc.size() - position));
+			fc.position(position + skipped);
+			remaining -= skipped;
+			return skipped;
+		}
+		return super.skip(n);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.io.InputStream#available()
+	 */
+	@Override
+	public int available() throws IOException {
+		if (channel instanceof FileChannel) {
+			final FileChannel fc = (FileChannel) channel;
+			return (int) Math.min(Integer.MAX_VALUE, Math.min(remaining, Math.max(0, fc.size() - fc.position())));
+		}
+		return 0;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.streams.LimitedInputStream#transferTo(java.io.OutputStream)
+	 */
+	@Override
+	public long transferTo(OutputStream out) throws IOException {
+		ObjectUtils.argumentNotNull(out, "OutputStream must be not null");
+		if (out instanceof FileOutputStream) {
+			return transferTo(((FileOutputStream) out).getChannel());
+		}
+		return super.transferTo(out);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.streams.LimitedInputStream#transferTo(java.nio.channels.WritableByteChannel)
+	 */
+	@Override
+	public long transferTo(WritableByteChannel target) throws IOException {
+		ObjectUtils.argumentNotNull(target, "Target channel must be not null");
+		if (channel instanceof FileChannel) {
+			// transfer from file
+			final FileChannel fc = (FileChannel) channel;
+			final long start = fc.position();
+			final long end = start + Math.min(remaining, Math.max(0, fc.size() - start));
+			long position = start;
+			while (position < end) {
+				final long count = fc.transferTo(position, end - position, target);
+				if (count <= 0) {
+					break;
+				}
+				position += count;
+			}
+			fc.position(position);
+			remaining -= (position - start);
+			if (position < end) {
+				// no progress: copy the remaining bytes through a buffer
+				return (position - start) + super.transferTo(target);
+			}
+			return position - start;
+		}
+		if (target instanceof FileChannel) {
+			// transfer to file
+			final FileChannel fc = (FileChannel) target;
+			final long start = fc.position();
+			long position = start;
+			while (remaining > 0) {
+				final long count = fc.transferFrom(channel, position, Math.min(remaining, Integer.MAX_VALUE));
+				if (count <= 0) {
+					break;
+				}
+				position += count;
+				remaining -= count;
+			}
+			fc.position(position);
+			if (remaining > 0) {
+				// no progress or end of stream: copy any remaining bytes through a buffer
+				return (position - start) + super.transferTo(target);
+			}
+			return position - start;
+		}
+		return super.transferTo(target);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.io.InputStream#close()
+	 */
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+
+}
@@ -22,8 +22,9 @@ import com.holonplatform.core.internal.utils.ObjectUtils;
 import com.holonplatform.core.streams.LimitedInputStream;
 
 /**
- * Default {@link LimitedInputStream} implementation.
- *
+ * Default {@link LimitedInputStream} implementation, which wraps an {@link InputStream} and delegates the bulk read and
+ * skip operations to it, never reading more than the declared stream length.
+ * 
  * @since 5.1.0
  */
 public class DefaultLimitedInputStream extends LimitedInputStream {
@@ -31,6 +32,8 @@ public class DefaultLimitedInputStream extends LimitedInputStream {
 	private final InputStream stream;
 	private final long length;
 
+	private long remaining;
+
 	/**
 	 * Constructor.
 	 * @param stream The actual stream (not null)
@@ -41,6 +44,7 @@ public class DefaultLimitedInputStream extends LimitedInputStream {
 		ObjectUtils.argumentNotNull(stream, "Stream must be not null");
 		this.stream = stream;
 		this.length = length;
+		this.remaining = (length < 0) ? Long.MAX_VALUE : length;
 	}
 
 	/*
@@ -67,7 +71,62 @@ public class DefaultLimitedInputStream extends LimitedInputStream {
 	 */
 	@Override
 	public int read() throws IOException {
-		return stream.read();
+		if (remaining <= 0) {
+			return -1;
+		}
+		final int b = stream.read();
+		if (b >= 0) {
+			remaining--;
+		}
+		return b;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.io.InputStream#read(byte[], int, int)
+	 */
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		ObjectUtils.argumentNotNull(b, "Buffer must be not null");
+		if (off < 0 || len < 0 || len > b.length - off) {
+			throw new IndexOutOfBoundsException();
+		}
+		if (len == 0) {
+			return 0;
+		}
+		if (remaining <= 0) {
+			return -1;
+		}
+		final int read = stream.read(b, off, (int) Math.min(len, remaining));
+		if (read > 0) {
+			remaining -= read;
+		}
+		return read;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.io.InputStream#skip(long)
+	 */
+	@Override
+	public long skip(long n) throws IOException {
+		if (n <= 0 || remaining <= 0) {
+			return 0;
+		}
+		final long skipped = stream.skip(Math.min(n, remaining));
+		if (skipped > 0) {
+			remaining -= skipped;
+		}
+		return skipped;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.io.InputStream#available()
+	 */
+	@Override
+	public int available() throws IOException {
+		return (int) Math.min(stream.available(), remaining);
 	}
 
 }
@@ -183,6 +183,9 @@ public final class FormatUtils implements Serializable {
 
 	/**
 	 * Replace any message argument identified by given <code>placeholder</code> with given argument values.
+	 * <p>
+	 * The message is parsed once into a {@link MessageTemplate}, which is cached and reused for subsequent calls.
+	 * </p>
 	 * @param placeholder Argument placeholder (not null)
 	 * @param message Message to process
 	 * @param arguments Message arguments
@@ -191,12 +194,7 @@ public final class FormatUtils implements Serializable {
 	public static String resolveMessageArguments(String placeholder, String message, Object[] arguments) {
 		ObjectUtils.argumentNotNull(placeholder, "Argument placeholder must be not null");
 		if (message != null && arguments != null && arguments.length > 0) {
-			final Pattern pattern = Pattern.compile(FormatUtils.escapeRegexCharacters(placeholder));
-			String resolved = message;
-			for (Object argument : arguments) {
-				resolved = pattern.matcher(resolved).replaceFirst((argument != null) ? argument.toString() : "");
-			}
-			return resolved;
+			return MessageTemplate.of(placeholder, message).render(arguments);
 		}
 		return message;
 	}
@@ -208,7 +206,7 @@ public final class FormatUtils implements Serializable {
 	 */
 	public static boolean isValidEmailAddress(CharSequence email) {
 		ObjectUtils.argumentNotNull(email, "Email must be not null");
-		return Pattern.matches(EMAIL_RFC822_REGEXP_PATTERN, email);
+		return PatternCache.compile(EMAIL_RFC822_REGEXP_PATTERN).matcher(email).matches();
 	}
 
 }
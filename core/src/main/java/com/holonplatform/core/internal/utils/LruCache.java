@@ -0,0 +1,233 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.utils;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A thread-safe, bounded cache which evicts the least recently used entry when the maximum size is reached.
+ * <p>
+ * The recency is approximated using the <em>second chance</em> (clock) algorithm: the cached entries are queued in
+ * addition order, and each entry is marked as used when it is read. When an entry has to be evicted, the used entries
+ * are unmarked and queued again, and the first entry which was not used since its last check is evicted. The
+ * eviction cost is constant on average, and cache hits only read the entry and, at most, mark it as used, without any
+ * lock or allocation.
+ * </p>
+ *
+ * @param <K> Key type
+ * @param <V> Value type
+ *
+ * @since 5.2.2
+ */
+public final class LruCache<K, V> {
+
+	private final int maxSize;
+
+	private final Consumer<? super V> evictionListener;
+
+	private final Map<K, Entry<K, V>> entries = new ConcurrentHashMap<>();
+
+	/*
+	 * Cached entries, in eviction check order. Replaced or removed entries are discarded when polled, or purged when
+	 * they outnumber the cached ones.
+	 */
+	private final Queue<Entry<K, V>> queue = new ConcurrentLinkedQueue<>();
+
+	private final AtomicInteger queued = new AtomicInteger();
+
+	/**
+	 * Constructor.
+	 * @param maxSize Max cache size (must be greater than 0)
+	 */
+	public LruCache(int maxSize) {
+		this(maxSize, null);
+	}
+
+	/**
+	 * Constructor.
+	 * @param maxSize Max cache size (must be greater than 0)
+	 * @param evictionListener Optional consumer to notify with each value evicted because the maximum size was
+	 *        reached
+	 */
+	public LruCache(int maxSize, Consumer<? super V> evictionListener) {
+		super();
+		if (maxSize < 1) {
+			throw new IllegalArgumentException("Max cache size must be greater than 0");
+		}
+		this.maxSize = maxSize;
+		this.evictionListener = evictionListener;
+	}
+
+	/**
+	 * Get the value bound to given key, computing and caching it if not available.
+	 * <p>
+	 * The value may be computed more than once when requested concurrently, but only one value is cached.
+	 * </p>
+	 * @param key The key (not null)
+	 * @param function The function to use to compute the value if not cached (not null)
+	 * @return The cached value
+	 */
+	public V get(K key, Function<? super K, ? extends V> function) {
+		final Entry<K, V> cached = entries.get(key);
+		if (cached != null) {
+			return cached.access();
+		}
+		final Entry<K, V> computed = new Entry<>(key, function.apply(key));
+		if (entries.size() >= maxSize) {
+			evictEldest();
+		}
+		final Entry<K, V> existing = entries.putIfAbsent(key, computed);
+		if (existing != null) {
+			return existing.access();
+		}
+		enqueue(computed);
+		return computed.value;
+	}
+
+	/**
+	 * Get the value bound to given key.
+	 * @param key The key (not null)
+	 * @return The cached value, <code>null</code> if not available
+	 */
+	public V get(K key) {
+		final Entry<K, V> cached = entries.get(key);
+		return (cached != null) ? cached.access() : null;
+	}
+
+	/**
+	 * Bind given value to given key, replacing any previously cached value.
+	 * @param key The key (not null)
+	 * @param value The value to cache (not null)
+	 */
+	public void put(K key, V value) {
+		if (entries.size() >= maxSize && !entries.containsKey(key)) {
+			evictEldest();
+		}
+		final Entry<K, V> entry = new Entry<>(key, value);
+		entries.put(key, entry);
+		enqueue(entry);
+	}
+
+	/**
+	 * Remove the value bound to given key.
+	 * @param key The key (not null)
+	 * @return The removed value, <code>null</code> if not available
+	 */
+	public V remove(K key) {
+		final Entry<K, V> removed = entries.remove(key);
+		return (removed != null) ? removed.value : null;
+	}
+
+	/**
+	 * Remove the value bound to given key only if it is the given value instance.
+	 * @param key The key (not null)
+	 * @param value The expected value
+	 * @return <code>true</code> if the value was removed
+	 */
+	public boolean remove(K key, V value) {
+		final Entry<K, V> cached = entries.get(key);
+		return cached != null && cached.value == value && entries.remove(key, cached);
+	}
+
+	/**
+	 * Get the number of cached entries.
+	 * @return The cache size
+	 */
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Remove all the cached entries.
+	 */
+	public void clear() {
+		entries.clear();
+		queue.clear();
+		queued.set(0);
+	}
+
+	/**
+	 * Queue given entry for the eviction checks, purging the stale queued entries when they outnumber the cached ones.
+	 * @param entry The entry to queue
+	 */
+	private void enqueue(Entry<K, V> entry) {
+		queue.add(entry);
+		if (queued.incrementAndGet() > 2 * maxSize) {
+			queue.removeIf(e -> {
+				if (entries.get(e.key) != e) {
+					queued.decrementAndGet();
+					return true;
+				}
+				return false;
+			});
+		}
+	}
+
+	/**
+	 * Remove the least recently used entry, giving a second chance to the entries used since their last check.
+	 */
+	private void evictEldest() {
+		Entry<K, V> entry;
+		while ((entry = queue.poll()) != null) {
+			queued.decrementAndGet();
+			if (entries.get(entry.key) == entry) {
+				if (!entry.used) {
+					if (entries.remove(entry.key, entry) && evictionListener != null) {
+						evictionListener.accept(entry.value);
+					}
+					return;
+				}
+				entry.used = false;
+				queue.add(entry);
+				queued.incrementAndGet();
+			}
+		}
+	}
+
+	/**
+	 * A cached value, with its key and usage mark.
+	 * @param <K> Key type
+	 * @param <V> Value type
+	 */
+	private static final class Entry<K, V> {
+
+		final K key;
+		final V value;
+		volatile boolean used;
+
+		Entry(K key, V value) {
+			super();
+			this.key = key;
+			this.value = value;
+		}
+
+		V access() {
+			// avoid a shared write when the entry was already marked as used
+			if (!used) {
+				used = true;
+			}
+			return value;
+		}
+
+	}
+
+}
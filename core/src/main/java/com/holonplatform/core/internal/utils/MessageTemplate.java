@@ -0,0 +1,173 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A parsed localization message, in which the message arguments are identified by a placeholder.
+ * <p>
+ * The message is parsed once into literal segments separated by the argument placeholders, so that the message can be
+ * rendered with any set of arguments in a single pass, without regular expressions. Each placeholder occurrence is
+ * replaced by the argument at the same position, a <code>null</code> argument is rendered as an empty string and the
+ * placeholders for which no argument is available are rendered as they are.
+ * </p>
+ * <p>
+ * Instances are immutable and safe for concurrent use.
+ * </p>
+ * 
+ * @since 5.2.2
+ */
+public final class MessageTemplate {
+
+	/**
+	 * Max shared cache size
+	 */
+	private static final int MAX_CACHE_SIZE = 1024;
+
+	/**
+	 * Shared templates cache, by message
+	 */
+	private static final LruCache<String, MessageTemplate> CACHE = new LruCache<>(MAX_CACHE_SIZE);
+
+	private final String message;
+	private final String placeholder;
+	private final String[] literals;
+	private final int literalsLength;
+
+	/**
+	 * Constructor.
+	 * @param placeholder Argument placeholder
+	 * @param message Message
+	 * @param literals Literal segments
+	 */
+	private MessageTemplate(String placeholder, String message, String[] literals) {
+		super();
+		this.placeholder = placeholder;
+		this.message = message;
+		this.literals = literals;
+		int length = 0;
+		for (String literal : literals) {
+			length += literal.length();
+		}
+		this.literalsLength = length;
+	}
+
+	/**
+	 * Parse given message, using given argument placeholder.
+	 * @param placeholder Argument placeholder (not null)
+	 * @param message Message to parse (not null)
+	 * @return The parsed {@link MessageTemplate}
+	 */
+	public static MessageTemplate parse(String placeholder, String message) {
+		ObjectUtils.argumentNotNull(placeholder, "Argument placeholder must be not null");
+		ObjectUtils.argumentNotNull(message, "Message must be not null");
+		if (placeholder.isEmpty()) {
+			return new MessageTemplate(placeholder, message, new String[] { message });
+		}
+		final List<String> literals = new ArrayList<>(4);
+		int start = 0;
+		int index;
+		while ((index = message.indexOf(placeholder, start)) >= 0) {
+			literals.add(message.substring(start, index));
+			start = index + placeholder.length();
+		}
+		literals.add(message.substring(start));
+		return new MessageTemplate(placeholder, message, literals.toArray(new String[literals.size()]));
+	}
+
+	/**
+	 * Get the {@link MessageTemplate} for given message and argument placeholder, using a shared cache to parse each
+	 * message only once. The cache is bounded and the least recently used templates are evicted first.
+	 * <p>
+	 * The templates are cached by message, so a cache hit does not allocate any key. A cached template parsed with a
+	 * different argument placeholder is replaced.
+	 * </p>
+	 * @param placeholder Argument placeholder (not null)
+	 * @param message Message (not null)
+	 * @return The {@link MessageTemplate}
+	 */
+	public static MessageTemplate of(String placeholder, String message) {
+		ObjectUtils.argumentNotNull(placeholder, "Argument placeholder must be not null");
+		ObjectUtils.argumentNotNull(message, "Message must be not null");
+		MessageTemplate template = CACHE.get(message);
+		if (template == null || !template.placeholder.equals(placeholder)) {
+			template = parse(placeholder, message);
+			CACHE.put(message, template);
+		}
+		return template;
+	}
+
+	/**
+	 * Get the message from which this template was parsed.
+	 * @return The message
+	 */
+	public String getMessage() {
+		return message;
+	}
+
+	/**
+	 * Get the argument placeholder.
+	 * @return The argument placeholder
+	 */
+	public String getPlaceholder() {
+		return placeholder;
+	}
+
+	/**
+	 * Get the number of argument placeholders in the message.
+	 * @return The argument placeholders count
+	 */
+	public int getArgumentCount() {
+		return literals.length - 1;
+	}
+
+	/**
+	 * Render the message, replacing the argument placeholders with given arguments.
+	 * @param arguments Message arguments
+	 * @return The rendered message
+	 */
+	public String render(Object[] arguments) {
+		final int count = getArgumentCount();
+		if (count == 0 || arguments == null || arguments.length == 0) {
+			return message;
+		}
+		final StringBuilder sb = new StringBuilder(literalsLength + count * 8);
+		sb.append(literals[0]);
+		for (int i = 0; i < count; i++) {
+			if (i < arguments.length) {
+				if (arguments[i] != null) {
+					sb.append(arguments[i]);
+				}
+			} else {
+				sb.append(placeholder);
+			}
+			sb.append(literals[i + 1]);
+		}
+		return sb.toString();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "MessageTemplate [message=" + message + ", placeholder=" + placeholder + "]";
+	}
+
+}
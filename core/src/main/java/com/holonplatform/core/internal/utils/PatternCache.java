@@ -0,0 +1,130 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.utils;
+
+import java.util.regex.Pattern;
+
+/**
+ * A shared, thread-safe cache of compiled regular expression {@link Pattern}s.
+ * <p>
+ * The cache is bounded: when the maximum size is reached, the least recently used pattern is evicted before adding a
+ * new one, so that dynamically generated expressions cannot cause unbounded memory growth (see {@link LruCache}).
+ * </p>
+ * <p>
+ * The patterns without match flags, which are the most common, are looked up by regular expression, without any key
+ * allocation.
+ * </p>
+ * 
+ * @since 5.2.2
+ */
+public final class PatternCache {
+
+	/**
+	 * Max cache size, for each of the patterns with and without match flags
+	 */
+	private static final int MAX_SIZE = 512;
+
+	/**
+	 * Compiled patterns without match flags cache
+	 */
+	private static final LruCache<String, Pattern> PATTERNS = new LruCache<>(MAX_SIZE);
+
+	/**
+	 * Compiled patterns with match flags cache
+	 */
+	private static final LruCache<PatternKey, Pattern> FLAGGED_PATTERNS = new LruCache<>(MAX_SIZE);
+
+	/*
+	 * Empty private constructor: this class is intended only to provide constants ad utility methods.
+	 */
+	private PatternCache() {
+	}
+
+	/**
+	 * Get the compiled {@link Pattern} for given regular expression, compiling it only once.
+	 * @param regex The regular expression (not null)
+	 * @return The compiled pattern
+	 * @throws java.util.regex.PatternSyntaxException If the expression's syntax is invalid
+	 */
+	public static Pattern compile(String regex) {
+		return compile(regex, 0);
+	}
+
+	/**
+	 * Get the compiled {@link Pattern} for given regular expression and match flags, compiling it only once.
+	 * @param regex The regular expression (not null)
+	 * @param flags Match flags bit mask
+	 * @return The compiled pattern
+	 * @throws java.util.regex.PatternSyntaxException If the expression's syntax is invalid
+	 */
+	public static Pattern compile(String regex, int flags) {
+		ObjectUtils.argumentNotNull(regex, "Regular expression must be not null");
+		if (flags == 0) {
+			return PATTERNS.get(regex, Pattern::compile);
+		}
+		return FLAGGED_PATTERNS.get(new PatternKey(regex, flags), key -> Pattern.compile(key.regex, key.flags));
+	}
+
+	/**
+	 * Clear the patterns cache.
+	 */
+	public static void clear() {
+		PATTERNS.clear();
+		FLAGGED_PATTERNS.clear();
+	}
+
+	/**
+	 * Cache key.
+	 */
+	private static final class PatternKey {
+
+		private final String regex;
+		private final int flags;
+
+		PatternKey(String regex, int flags) {
+			super();
+			this.regex = regex;
+			this.flags = flags;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Object#hashCode()
+		 */
+		@Override
+		public int hashCode() {
+			return 31 * regex.hashCode() + flags;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Object#equals(java.lang.Object)
+		 */
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof PatternKey)) {
+				return false;
+			}
+			final PatternKey other = (PatternKey) obj;
+			return flags == other.flags && regex.equals(other.regex);
+		}
+
+	}
+
+}
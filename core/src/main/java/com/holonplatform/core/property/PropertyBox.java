@@ -23,6 +23,7 @@ import com.holonplatform.core.Context;
 import com.holonplatform.core.Validator;
 import com.holonplatform.core.Validator.Validatable;
 import com.holonplatform.core.Validator.ValidationException;
+import com.holonplatform.core.config.ConfigProperty;
 import com.holonplatform.core.internal.property.DefaultPropertyBox;
 import com.holonplatform.core.internal.utils.ObjectUtils;
 import com.holonplatform.core.objects.EqualsHandler;
@@ -59,6 +60,19 @@ import com.holonplatform.core.property.Property.PropertyReadOnlyException;
 @SuppressWarnings("rawtypes")
 public interface PropertyBox extends PropertySet<Property> {
 
+	/**
+	 * {@link PropertySet} configuration parameter which can be used to declare that the {@link PropertyBox} instances
+	 * built using the property set, for example through {@link #builder(Iterable)}, should store the property values in
+	 * a fixed size array indexed by property position, rather than in a map.
+	 * <p>
+	 * The array storage avoids the per-box map allocation and does not require any lock to access the property values,
+	 * so it is best suited for large data sets, such as query results.
+	 * </p>
+	 * @since 5.2.2
+	 */
+	public static final ConfigProperty<Boolean> ARRAY_STORAGE = ConfigProperty
+			.create("holon.property-box.array-storage", Boolean.class);
+
 	/**
 	 * Check if this box contains given <code>property</code> with a not <code>null</code> value.
 	 * @param property Property to check (not null)
@@ -26,7 +26,7 @@ import com.holonplatform.core.Context;
 import com.holonplatform.core.HasConfiguration;
 import com.holonplatform.core.ParameterSet;
 import com.holonplatform.core.config.ConfigProperty;
-import com.holonplatform.core.internal.property.DefaultPropertySet;
+import com.holonplatform.core.internal.property.IndexedPropertySet;
 import com.holonplatform.core.internal.utils.ConversionUtils;
 import com.holonplatform.core.internal.utils.ObjectUtils;
 
@@ -67,6 +67,30 @@ public interface PropertySet<P extends Property> extends Iterable<P>, HasConfigu
 	 */
 	boolean contains(Property property);
 
+	/**
+	 * Returns the index of given <code>property</code> in this set, i.e. the position of the property in the property
+	 * set iteration order. If the given <code>property</code> is <code>null</code>, always returns <code>-1</code>.
+	 * <p>
+	 * The default implementation performs a linear scan of the set. Implementations which are able to provide a
+	 * constant time lookup should override this method.
+	 * </p>
+	 * @param property Property whose index is to be obtained
+	 * @return The index of the property in this set, or <code>-1</code> if this set does not contain the property
+	 * @since 5.2.2
+	 */
+	default int indexOf(Property property) {
+		if (property != null) {
+			int index = 0;
+			for (P p : this) {
+				if (property.equals(p)) {
+					return index;
+				}
+				index++;
+			}
+		}
+		return -1;
+	}
+
 	/**
 	 * Returns a sequential {@code Stream} of the {@link Property}s of this set.
 	 * @return Properties stream
@@ -138,10 +162,14 @@ public interface PropertySet<P extends Property> extends Iterable<P>, HasConfigu
 
 	/**
 	 * Obtain a builder to create and populate a generic {@link PropertySet}.
+	 * <p>
+	 * The built property set is immutable and provides constant time {@link #contains(Property)} and
+	 * {@link #indexOf(Property)} lookups.
+	 * </p>
 	 * @return A new {@link PropertySet} builder
 	 */
 	static Builder<Property<?>> builder() {
-		return new DefaultPropertySet.DefaultBuilder<>();
+		return new IndexedPropertySet.IndexedBuilder<>();
 	}
 
 	/**
@@ -153,7 +181,7 @@ public interface PropertySet<P extends Property> extends Iterable<P>, HasConfigu
 	 */
 	static <P extends Property> Builder<P> builder(Class<? extends P> propertyType) {
 		ObjectUtils.argumentNotNull(propertyType, "Property type must be not null");
-		return new DefaultPropertySet.DefaultBuilder<>();
+		return new IndexedPropertySet.IndexedBuilder<>();
 	}
 
 	/**
@@ -176,23 +204,34 @@ public interface PropertySet<P extends Property> extends Iterable<P>, HasConfigu
 
 	/**
 	 * Create a new PropertySet containing given <code>properties</code>.
+	 * <p>
+	 * The returned property set provides constant time {@link #contains(Property)} and {@link #indexOf(Property)}
+	 * lookups. The properties are kept in the given order, including any duplicate or <code>null</code> element, but
+	 * the property set is immutable: since version 5.2.2 it can no longer be modified casting it to a
+	 * {@link java.util.List}.
+	 * </p>
 	 * @param <P> Type of the property managed by the property set
 	 * @param properties Properties of the set
 	 * @return PropertySet instance
 	 */
 	@SafeVarargs
+	@SuppressWarnings("varargs")
 	static <P extends Property> PropertySet<P> of(P... properties) {
-		return new DefaultPropertySet<>(properties);
+		return IndexedPropertySet.of(properties);
 	}
 
 	/**
 	 * Create a new PropertySet containing all given <code>properties</code> {@link Iterable} elements.
+	 * <p>
+	 * The returned property set is immutable and provides constant time {@link #contains(Property)} and
+	 * {@link #indexOf(Property)} lookups.
+	 * </p>
 	 * @param <P> Type of the property managed by the property set
 	 * @param properties Properties of the set
 	 * @return PropertySet instance
 	 */
 	static <P extends Property> PropertySet<P> of(Iterable<P> properties) {
-		return new DefaultPropertySet<>(properties);
+		return IndexedPropertySet.of(properties);
 	}
 
 	/**
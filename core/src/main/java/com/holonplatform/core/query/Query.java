@@ -17,6 +17,11 @@ package com.holonplatform.core.query;
 
 import com.holonplatform.core.datastore.Datastore;
 import com.holonplatform.core.datastore.DatastoreCommodity;
+import com.holonplatform.core.exceptions.DataAccessException;
+import com.holonplatform.core.internal.query.QueryUtils;
+import com.holonplatform.core.property.Property;
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.core.property.PropertySet;
 
 /**
  * Represents a <em>query</em>, which can be used to configure and execute a query on the data managed by a
@@ -35,4 +40,46 @@ import com.holonplatform.core.datastore.DatastoreCommodity;
  */
 public interface Query extends QueryBuilder<Query>, QueryResults, DatastoreCommodity {
 
+	/**
+	 * Execute the query and get a page of results as {@link PropertyBox} using <em>keyset</em> pagination, i.e. the
+	 * rows which follow given cursor position according to the cursor sort.
+	 * <p>
+	 * The cursor sort and filter are added to the query (see {@link #seek(QueryCursor)}) and <code>pageSize + 1</code>
+	 * rows are fetched to detect whether a next page is available. The next page cursor is obtained from the last row
+	 * of the page, so the projection must include the cursor sort paths.
+	 * </p>
+	 * <p>
+	 * The built-in query implementations execute the page on a copy of this query, which is left unchanged. The
+	 * default implementation, used when the query configuration cannot be copied, positions this query itself at the
+	 * cursor, so the query should not be reused after this method is called.
+	 * </p>
+	 * @param <P> Property type
+	 * @param cursor The page cursor (not null)
+	 * @param pageSize The page size (must be greater than 0)
+	 * @param properties Property set to use as projection (not null)
+	 * @return The results page
+	 * @throws DataAccessException Error in query execution
+	 * @since 5.2.2
+	 */
+	@SuppressWarnings("rawtypes")
+	default <P extends Property> QueryPage<PropertyBox> page(QueryCursor cursor, int pageSize,
+			Iterable<P> properties) {
+		return QueryUtils.page(this, cursor, pageSize, properties);
+	}
+
+	/**
+	 * Execute the query and get a page of results as {@link PropertyBox} using <em>keyset</em> pagination.
+	 * @param cursor The page cursor (not null)
+	 * @param pageSize The page size (must be greater than 0)
+	 * @param properties Properties to use as projection
+	 * @return The results page
+	 * @throws DataAccessException Error in query execution
+	 * @see #page(QueryCursor, int, Iterable)
+	 * @since 5.2.2
+	 */
+	@SuppressWarnings("rawtypes")
+	default QueryPage<PropertyBox> page(QueryCursor cursor, int pageSize, Property... properties) {
+		return page(cursor, pageSize, PropertySet.of(properties));
+	}
+
 }
@@ -20,6 +20,7 @@ import com.holonplatform.core.ExpressionResolver.ExpressionResolverBuilder;
 import com.holonplatform.core.config.ConfigProperty;
 import com.holonplatform.core.datastore.DataTarget;
 import com.holonplatform.core.datastore.DataTarget.DataTargetSupport;
+import com.holonplatform.core.internal.utils.ObjectUtils;
 import com.holonplatform.core.query.QueryAggregation.QueryAggregationSupport;
 import com.holonplatform.core.query.QueryFilter.QueryFilterSupport;
 import com.holonplatform.core.query.QuerySort.QuerySortSupport;
@@ -65,6 +66,32 @@ public interface QueryBuilder<Q extends QueryBuilder<Q>> extends QueryFilterSupp
 	 */
 	Q restrict(int limit, int offset);
 
+	/**
+	 * Position the query results at given <em>keyset</em> pagination cursor.
+	 * <p>
+	 * The cursor sort becomes the primary query ordering and, if the cursor does not represent the first page, the
+	 * cursor filter is added to the query filters, so that only the rows which follow the cursor position are
+	 * returned. Use {@link #limit(int)} to set the page size.
+	 * </p>
+	 * <p>
+	 * The built-in query implementations put any sort already declared by the query after the cursor sort. The
+	 * default implementation can only append sorts, so it rejects a query which already declares a sort.
+	 * </p>
+	 * @param cursor The query cursor (not null)
+	 * @return this
+	 * @throws IllegalStateException If the cursor sort cannot be the primary ordering of this query
+	 * @since 5.2.2
+	 */
+	default Q seek(QueryCursor cursor) {
+		ObjectUtils.argumentNotNull(cursor, "Query cursor must be not null");
+		if (getQueryConfiguration().getSort().isPresent()) {
+			throw new IllegalStateException(
+					"The query already declares a sort: the cursor sort must be the primary query ordering");
+		}
+		final Q builder = sort(cursor.getSort());
+		return cursor.getFilter().map(builder::filter).orElse(builder);
+	}
+
 	/**
 	 * Add a generic parameter to query
 	 * @param name Parameter name
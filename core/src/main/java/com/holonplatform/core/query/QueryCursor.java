@@ -0,0 +1,117 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.query;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Optional;
+
+import com.holonplatform.core.internal.query.DefaultQueryCursor;
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.core.query.QuerySort.PathQuerySort;
+
+/**
+ * A <em>keyset</em> pagination cursor, which represents a position in the results of a query sorted according to a
+ * {@link QuerySort}.
+ * <p>
+ * The cursor holds the sort key values of the last row of a page and provides the {@link QueryFilter} which selects the
+ * rows which follow that row according to the cursor sort (see {@link #getFilter()}). This way, the next page of
+ * results can be obtained without skipping all the previous rows through an offset, and the paging cost does not
+ * depend on the page depth.
+ * </p>
+ * <p>
+ * The cursor sort must be composed only by {@link PathQuerySort}s, the sort paths values must not be <code>null</code>
+ * and the sort keys must identify a row uniquely, for example including the row identifier as last sort path.
+ * </p>
+ * 
+ * @since 5.2.2
+ * 
+ * @see QueryBuilder#seek(QueryCursor)
+ * @see Query#page(QueryCursor, int, Iterable)
+ */
+public interface QueryCursor extends Serializable {
+
+	/**
+	 * Get the cursor sort.
+	 * @return The cursor sort
+	 */
+	QuerySort getSort();
+
+	/**
+	 * Get the cursor sort, flattened into the list of the {@link PathQuerySort}s which compose it.
+	 * @return The cursor sort paths
+	 */
+	List<PathQuerySort<?>> getSortPaths();
+
+	/**
+	 * Get the sort key values of the row which precedes the cursor position, in the same order of the sort paths.
+	 * @return The sort key values, an empty list if the cursor represents the first page
+	 */
+	List<Object> getKeyValues();
+
+	/**
+	 * Get whether the cursor represents the beginning of the results, i.e. the first page.
+	 * @return <code>true</code> if the cursor represents the first page
+	 */
+	default boolean isFirst() {
+		return getKeyValues().isEmpty();
+	}
+
+	/**
+	 * Get the {@link QueryFilter} which selects the rows which follow the cursor position, according to the cursor sort.
+	 * @return The cursor filter, empty if the cursor represents the first page
+	 */
+	Optional<QueryFilter> getFilter();
+
+	/**
+	 * Create a new cursor with the same sort, positioned after the row with given sort key values.
+	 * @param keyValues The sort key values, one for each sort path (not null)
+	 * @return A new {@link QueryCursor}
+	 * @throws IllegalArgumentException If the key values are not consistent with the sort paths
+	 */
+	QueryCursor next(Object... keyValues);
+
+	/**
+	 * Create a new cursor with the same sort, positioned after given row.
+	 * @param row The row from which to obtain the sort key values (not null)
+	 * @return A new {@link QueryCursor}
+	 * @throws IllegalArgumentException If given row does not provide a value for each sort path
+	 */
+	QueryCursor next(PropertyBox row);
+
+	/**
+	 * Create a new cursor which represents the first page of the results sorted according to given sort.
+	 * @param sort The cursor sort (not null)
+	 * @return A new {@link QueryCursor}
+	 * @throws IllegalArgumentException If given sort is not composed only by {@link PathQuerySort}s
+	 */
+	static QueryCursor first(QuerySort sort) {
+		return new DefaultQueryCursor(sort);
+	}
+
+	/**
+	 * Create a new cursor, positioned after the row with given sort key values.
+	 * @param sort The cursor sort (not null)
+	 * @param keyValues The sort key values, one for each sort path (not null)
+	 * @return A new {@link QueryCursor}
+	 * @throws IllegalArgumentException If given sort is not composed only by {@link PathQuerySort}s or the key values
+	 *         are not consistent with the sort paths
+	 */
+	static QueryCursor of(QuerySort sort, Object... keyValues) {
+		return new DefaultQueryCursor(sort).next(keyValues);
+	}
+
+}
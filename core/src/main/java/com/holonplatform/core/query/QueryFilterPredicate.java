@@ -0,0 +1,68 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.query;
+
+import java.util.function.Predicate;
+
+import com.holonplatform.core.Expression.InvalidExpressionException;
+import com.holonplatform.core.internal.query.filter.DefaultQueryFilterPredicate;
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.core.property.PropertySet;
+
+/**
+ * A {@link Predicate} which evaluates a {@link QueryFilter} against {@link PropertyBox} instances in memory.
+ * <p>
+ * The filter is compiled once, when the predicate is created, and the predicate can be reused and shared across
+ * threads. When a {@link PropertySet} is provided, the filter paths are resolved against it at compile time.
+ * </p>
+ * <p>
+ * Supported filter operands are paths, constant values and the string and temporal {@link QueryFunction}s. A
+ * <code>null</code> value never matches, except for the <code>isNull</code> filter.
+ * </p>
+ * 
+ * @since 5.2.2
+ */
+public interface QueryFilterPredicate extends Predicate<PropertyBox> {
+
+	/**
+	 * Get the compiled filter.
+	 * @return the filter
+	 */
+	QueryFilter getFilter();
+
+	/**
+	 * Compile given filter into a {@link QueryFilterPredicate}.
+	 * @param filter The filter to compile (not null)
+	 * @return A new {@link QueryFilterPredicate}
+	 * @throws InvalidExpressionException If the filter is not valid or not supported
+	 */
+	static QueryFilterPredicate of(QueryFilter filter) {
+		return new DefaultQueryFilterPredicate(filter, null);
+	}
+
+	/**
+	 * Compile given filter into a {@link QueryFilterPredicate}, resolving the filter paths against given property set.
+	 * @param filter The filter to compile (not null)
+	 * @param propertySet The property set of the {@link PropertyBox}es to test (not null)
+	 * @return A new {@link QueryFilterPredicate}
+	 * @throws InvalidExpressionException If the filter is not valid or not supported, or if a filter path is not
+	 *         available in the property set
+	 */
+	static QueryFilterPredicate of(QueryFilter filter, PropertySet<?> propertySet) {
+		return new DefaultQueryFilterPredicate(filter, propertySet);
+	}
+
+}
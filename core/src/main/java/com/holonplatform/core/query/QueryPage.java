@@ -0,0 +1,73 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.query;
+
+import java.util.List;
+import java.util.Optional;
+
+import com.holonplatform.core.internal.query.DefaultQueryPage;
+
+/**
+ * A page of query results obtained using <em>keyset</em> pagination.
+ * 
+ * @param <T> Results type
+ * 
+ * @since 5.2.2
+ * 
+ * @see QueryCursor
+ * @see Query#page(QueryCursor, int, Iterable)
+ */
+public interface QueryPage<T> {
+
+	/**
+	 * Get the page results.
+	 * @return The page results, an empty list if none
+	 */
+	List<T> getContent();
+
+	/**
+	 * Get the cursor which was used to obtain this page.
+	 * @return The page cursor
+	 */
+	QueryCursor getCursor();
+
+	/**
+	 * Get the cursor to use to obtain the next page.
+	 * @return The next page cursor, empty if this is the last page
+	 */
+	Optional<QueryCursor> getNextCursor();
+
+	/**
+	 * Get whether a next page is available.
+	 * @return <code>true</code> if a next page is available
+	 */
+	default boolean hasNext() {
+		return getNextCursor().isPresent();
+	}
+
+	/**
+	 * Create a new {@link QueryPage}.
+	 * @param <T> Results type
+	 * @param cursor The cursor which was used to obtain the page (not null)
+	 * @param content The page results (not null)
+	 * @param nextCursor The cursor to use to obtain the next page, <code>null</code> if this is the last page
+	 * @return A new {@link QueryPage}
+	 */
+	static <T> QueryPage<T> create(QueryCursor cursor, List<T> content, QueryCursor nextCursor) {
+		return new DefaultQueryPage<>(cursor, content, nextCursor);
+	}
+
+}
@@ -72,7 +72,7 @@ public interface QueryResults extends QueryProjectionOperations<Stream, List, Op
 	 */
 	@Override
 	default <R> Optional<R> findOne(QueryProjection<R> projection) throws QueryNonUniqueResultException {
-		return stream(projection).collect(Collectors.collectingAndThen(Collectors.toList(), QueryUtils.uniqueResult()));
+		return QueryUtils.uniqueResult(stream(projection));
 	}
 
 	/**
@@ -15,17 +15,34 @@
  */
 package com.holonplatform.core.streams;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 
+import com.holonplatform.core.internal.streams.ChannelLimitedInputStream;
 import com.holonplatform.core.internal.streams.DefaultLimitedInputStream;
+import com.holonplatform.core.internal.utils.ObjectUtils;
 
 /**
  * Represents a <em>limited</em> {@link InputStream}, providing the stream length in bytes.
+ * <p>
+ * The stream length is enforced: no more than the declared number of bytes is read from the underlying source, using
+ * the source bulk operations where available.
+ * </p>
  * 
  * @since 5.1.0
  */
 public abstract class LimitedInputStream extends InputStream {
 
+	/**
+	 * Default transfer buffer size
+	 */
+	protected static final int DEFAULT_BUFFER_SIZE = 8192;
+
 	/**
 	 * Get the stream length.
 	 * @return the stream length in bytes
@@ -38,14 +55,91 @@ public abstract class LimitedInputStream extends InputStream {
 	 */
 	public abstract InputStream getActualStream();
 
+	/**
+	 * Read all the remaining bytes from this stream and write them to given {@link OutputStream}.
+	 * @param out The output stream (not null)
+	 * @return The number of transferred bytes
+	 * @throws IOException If an I/O error occurs
+	 * @since 5.2.2
+	 */
+	public long transferTo(OutputStream out) throws IOException {
+		ObjectUtils.argumentNotNull(out, "OutputStream must be not null");
+		final byte[] buffer = new byte[DEFAULT_BUFFER_SIZE];
+		long transferred = 0;
+		int read;
+		while ((read = read(buffer, 0, buffer.length)) >= 0) {
+			out.write(buffer, 0, read);
+			transferred += read;
+		}
+		return transferred;
+	}
+
+	/**
+	 * Read all the remaining bytes from this stream and write them to given {@link WritableByteChannel}.
+	 * <p>
+	 * Channel backed streams transfer the bytes without copying them through the heap when supported by the source
+	 * and target channels.
+	 * </p>
+	 * @param target The target channel (not null)
+	 * @return The number of transferred bytes
+	 * @throws IOException If an I/O error occurs
+	 * @since 5.2.2
+	 */
+	public long transferTo(WritableByteChannel target) throws IOException {
+		ObjectUtils.argumentNotNull(target, "Target channel must be not null");
+		final byte[] buffer = new byte[DEFAULT_BUFFER_SIZE];
+		long transferred = 0;
+		int read;
+		while ((read = read(buffer, 0, buffer.length)) >= 0) {
+			final ByteBuffer bb = ByteBuffer.wrap(buffer, 0, read);
+			while (bb.hasRemaining()) {
+				target.write(bb);
+			}
+			transferred += read;
+		}
+		return transferred;
+	}
+
 	/**
 	 * Create a new {@link LimitedInputStream}.
+	 * <p>
+	 * Closing the returned stream does not close the wrapped stream.
+	 * </p>
 	 * @param stream The input stream (not null)
-	 * @param length The stream length in bytes
+	 * @param length The stream length in bytes. If negative, the stream length is unknown and not enforced
 	 * @return A new {@link LimitedInputStream} instance
 	 */
 	public static LimitedInputStream create(InputStream stream, long length) {
 		return new DefaultLimitedInputStream(stream, length);
 	}
 
+	/**
+	 * Create a new {@link LimitedInputStream} which reads the bytes from given {@link ReadableByteChannel}.
+	 * <p>
+	 * When the channel is a {@link FileChannel}, the stream can be transferred to a target channel without copying
+	 * the bytes through the heap, see {@link #transferTo(WritableByteChannel)}. Closing the returned stream closes the
+	 * channel.
+	 * </p>
+	 * @param channel The channel to read from (not null), must be in blocking mode
+	 * @param length The stream length in bytes. If negative, the stream length is unknown and not enforced
+	 * @return A new {@link LimitedInputStream} instance
+	 * @since 5.2.2
+	 */
+	public static LimitedInputStream create(ReadableByteChannel channel, long length) {
+		return new ChannelLimitedInputStream(channel, length);
+	}
+
+	/**
+	 * Create a new {@link LimitedInputStream} which reads the bytes of given {@link FileChannel}, from its current
+	 * position to the end of the file.
+	 * @param channel The file channel to read from (not null)
+	 * @return A new {@link LimitedInputStream} instance
+	 * @throws IOException If an I/O error occurs reading the channel size or position
+	 * @since 5.2.2
+	 */
+	public static LimitedInputStream create(FileChannel channel) throws IOException {
+		ObjectUtils.argumentNotNull(channel, "Channel must be not null");
+		return new ChannelLimitedInputStream(channel, Math.max(0, channel.size() - channel.position()));
+	}
+
 }
@@ -22,14 +22,21 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.time.LocalDate;
 import java.time.Month;
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.jupiter.api.Test;
 
 import com.holonplatform.core.DataMappable;
 import com.holonplatform.core.beans.BeanIntrospector;
+import com.holonplatform.core.beans.BeanIntrospector.CacheStatistics;
 import com.holonplatform.core.beans.BeanPropertySet;
+import com.holonplatform.core.internal.beans.DefaultBeanIntrospector;
 import com.holonplatform.core.property.BooleanProperty;
 import com.holonplatform.core.property.NumericProperty;
 import com.holonplatform.core.property.PathProperty;
@@ -37,6 +44,7 @@ import com.holonplatform.core.property.PropertyBox;
 import com.holonplatform.core.property.StringProperty;
 import com.holonplatform.core.property.TemporalProperty;
 import com.holonplatform.core.temporal.TemporalType;
+import com.holonplatform.core.test.data.TestBean;
 import com.holonplatform.core.test.data.TestBean4;
 import com.holonplatform.core.test.data.TestBeanPropertyBean;
 import com.holonplatform.core.test.data.TestEnum;
@@ -132,6 +140,95 @@ public class TestBeanIntrospector {
 
 	}
 
+	@Test
+	public void testCache() throws Exception {
+
+		final DefaultBeanIntrospector introspector = new DefaultBeanIntrospector(TestBean.class.getClassLoader(), 2);
+
+		final ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			final List<Future<BeanPropertySet<TestBean4>>> results = new ArrayList<>();
+			for (int i = 0; i < 16; i++) {
+				results.add(executor.submit(() -> introspector.getPropertySet(TestBean4.class)));
+			}
+			final BeanPropertySet<TestBean4> set = results.get(0).get();
+			for (Future<BeanPropertySet<TestBean4>> result : results) {
+				assertTrue(set == result.get());
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		CacheStatistics statistics = introspector.getCacheStatistics().orElse(null);
+		assertNotNull(statistics);
+		assertEquals(1, statistics.getMissCount());
+		assertEquals(15, statistics.getHitCount());
+		assertEquals(1, statistics.getSize());
+		assertTrue(statistics.getTotalLoadTime() > 0);
+
+		introspector.getPropertySet(TestBean.class);
+		introspector.getPropertySet(TestBeanPropertyBean.class);
+
+		statistics = introspector.getCacheStatistics().orElse(null);
+		assertEquals(3, statistics.getMissCount());
+		assertEquals(1, statistics.getEvictionCount());
+		assertEquals(2, introspector.getCacheSize());
+
+		// evicted
+		introspector.getPropertySet(TestBean4.class);
+		assertEquals(4, introspector.getCacheStatistics().get().getMissCount());
+
+		assertTrue(introspector.clearCache());
+		assertEquals(0, introspector.getCacheSize());
+
+	}
+
+	@SuppressWarnings("rawtypes")
+	@Test
+	public void testGeneratedAccessors() {
+
+		final BeanIntrospector introspector = new DefaultBeanIntrospector(TestBean.class.getClassLoader());
+		introspector.addBeanPropertySetPostProcessor(
+				(ps, cls) -> ps.configuration(BeanPropertySet.GENERATED_ACCESSORS, Boolean.TRUE));
+
+		final BeanPropertySet<TestBean> set = introspector.getPropertySet(TestBean.class);
+		assertTrue(set.getConfiguration().getParameter(BeanPropertySet.GENERATED_ACCESSORS, false));
+
+		assertTrue(set.contains("nested.nestedId"));
+		assertFalse(set.contains("nested.xxx"));
+
+		final TestBean instance = new TestBean();
+
+		set.write("name", "test", instance);
+		set.write("sequence", 3, instance);
+		set.write("nested.nestedId", 7L, instance);
+
+		assertEquals("test", instance.getName());
+		assertEquals(3, instance.getSequence());
+		assertNotNull(instance.getNested());
+		assertEquals(7L, instance.getNested().getNestedId());
+
+		assertEquals("test", set.read("name", instance));
+		assertEquals(Integer.valueOf(3), set.read("sequence", instance));
+		assertEquals(Long.valueOf(7), set.read("nested.nestedId", instance));
+
+		set.write("sequence", null, instance);
+		assertEquals(0, instance.getSequence());
+
+		final PathProperty<String> name = set.property("name");
+		final PathProperty<Long> nestedId = set.property("nested.nestedId");
+
+		PropertyBox box = set.read(PropertyBox.create(name, nestedId), instance);
+		assertEquals("test", box.getValue(name));
+		assertEquals(Long.valueOf(7), box.getValue(nestedId));
+
+		box.setValue(nestedId, 9L);
+		final TestBean written = set.write(box, new TestBean());
+		assertEquals("test", written.getName());
+		assertEquals(9L, written.getNested().getNestedId());
+
+	}
+
 	@Test
 	public void testPropertyBox() {
 
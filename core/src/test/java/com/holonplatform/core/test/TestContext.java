@@ -17,9 +17,11 @@ package com.holonplatform.core.test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.junit.jupiter.api.Test;
 
@@ -28,6 +30,8 @@ import com.holonplatform.core.ContextScope;
 import com.holonplatform.core.exceptions.TypeMismatchException;
 import com.holonplatform.core.internal.ContextManager;
 import com.holonplatform.core.internal.ContextResourceMap;
+import com.holonplatform.core.internal.StructuredThreadScope;
+import com.holonplatform.core.internal.ThreadScope;
 
 public class TestContext {
 
@@ -151,6 +155,102 @@ public class TestContext {
 
 	}
 
+	@Test
+	public void testScopeChain() {
+
+		final ClassLoader dft = ContextManager.getDefaultClassLoader();
+		final ClassLoader myCl = new ClassLoader(dft) {
+		};
+
+		ContextManager.unregisterScope(dft, "dummy");
+
+		final int size = count(ContextManager.getScopes(myCl));
+
+		// registration in parent ClassLoader invalidates child ClassLoader chain
+		ContextManager.registerScope(dft, new DummyScope());
+		assertEquals(size + 1, count(ContextManager.getScopes(myCl)));
+
+		// child ClassLoader scope shadows the parent one
+		final DummyScope childScope = new DummyScope();
+		ContextManager.registerScope(myCl, childScope);
+		assertEquals(size + 1, count(ContextManager.getScopes(myCl)));
+		assertTrue(childScope == ContextManager.getScope("dummy", myCl));
+		assertFalse(childScope == ContextManager.getScope("dummy", dft));
+
+		assertTrue(ContextManager.unregisterScope(myCl, "dummy"));
+		assertTrue(ContextManager.unregisterScope(dft, "dummy"));
+		assertEquals(size, count(ContextManager.getScopes(myCl)));
+		assertFalse(Context.get().scope("dummy", myCl).isPresent());
+
+	}
+
+	@Test
+	public void testStructuredThreadScope() throws Exception {
+
+		final ClassLoader dft = ContextManager.getDefaultClassLoader();
+		final StructuredThreadScope scope = new StructuredThreadScope();
+		ContextManager.registerScope(dft, scope);
+		try {
+			assertTrue(scope == Context.get().threadScope().orElse(null));
+
+			final String value = Context.get().executeThreadBound("k1", "v1", () -> {
+				assertEquals("v1", Context.get().resource("k1", String.class).orElse(null));
+				return Context.get().executeThreadBound("k1", "v1b", "k2", Integer.valueOf(2), () -> {
+					assertEquals(Integer.valueOf(2), Context.get().resource("k2", Integer.class).orElse(null));
+					return Context.get().resource("k1", String.class).orElse(null);
+				});
+			});
+			assertEquals("v1b", value);
+			assertFalse(Context.get().resource("k1", String.class).isPresent());
+			assertFalse(Context.get().resource("k2", Integer.class).isPresent());
+
+			// released on failure
+			assertThrows(RuntimeException.class, () -> Context.get().executeThreadBound("k1", "v1", () -> {
+				throw new IllegalStateException();
+			}));
+			assertFalse(Context.get().resource("k1", String.class).isPresent());
+
+			// not inherited
+			final AtomicBoolean inherited = new AtomicBoolean(true);
+			scope.execute("k1", "v1", () -> {
+				Thread thread = new Thread(
+						() -> inherited.set(Context.get().resource("k1", String.class).isPresent()));
+				thread.start();
+				thread.join();
+				return null;
+			});
+			assertFalse(inherited.get());
+
+			// unstructured bindings
+			scope.put("k3", "v3");
+			assertEquals("v3", Context.get().resource("k3", String.class).orElse(null));
+			assertEquals("v3", scope.putIfAbsent("k3", "x").orElse(null));
+			scope.execute("k3", "v3b", () -> {
+				assertEquals("v3b", scope.get("k3", String.class).orElse(null));
+				scope.put("k4", "v4");
+				return null;
+			});
+			assertEquals("v3", scope.get("k3", String.class).orElse(null));
+			assertFalse(scope.get("k4", String.class).isPresent());
+			assertThrows(TypeMismatchException.class, () -> scope.get("k3", Integer.class));
+			assertTrue(scope.remove("k3"));
+			assertFalse(scope.remove("k3"));
+
+		} finally {
+			ContextManager.registerScope(dft, new ThreadScope());
+		}
+
+	}
+
+	private static int count(Iterable<ContextScope> scopes) {
+		int count = 0;
+		for (@SuppressWarnings("unused")
+		ContextScope scope : scopes) {
+			count++;
+		}
+		return count;
+	}
+
 	public static final class DummyScope implements ContextScope {
 
 		private final ContextResourceMap resources = new ContextResourceMap("dummy", true);
@@ -18,6 +18,7 @@ package com.holonplatform.core.test;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.time.LocalDate;
@@ -26,6 +27,8 @@ import java.time.LocalTime;
 import java.util.Date;
 import java.util.Optional;
 
+import javax.annotation.Priority;
+
 import org.junit.jupiter.api.Test;
 
 import com.holonplatform.core.Expression;
@@ -308,6 +311,66 @@ public class TestExpression {
 
 	}
 
+	@SuppressWarnings("serial")
+	@Priority(10)
+	private class PriorityResolver implements ExpressionResolver<ExpressionB, ExpressionA> {
+
+		@Override
+		public Class<? extends ExpressionB> getExpressionType() {
+			return ExpressionB.class;
+		}
+
+		@Override
+		public Class<? extends ExpressionA> getResolvedType() {
+			return ExpressionA.class;
+		}
+
+		@Override
+		public Optional<ExpressionA> resolve(ExpressionB expression, ResolutionContext context)
+				throws InvalidExpressionException {
+			return Optional.of(new ExpressionAImpl(expression.getId() + 100));
+		}
+
+	}
+
+	@Test
+	public void testResolverRegistryDispatch() {
+
+		final Resolver1 R1 = new Resolver1();
+		final PriorityResolver PR = new PriorityResolver();
+
+		final ExpressionResolverRegistry registry = ExpressionResolverRegistry.create();
+
+		final ExpressionB expb = new ExpressionBImpl(0);
+
+		assertFalse(registry.resolve(expb, ExpressionA.class, null).isPresent());
+
+		registry.addExpressionResolver(R1);
+		assertEquals(1, registry.resolve(expb, ExpressionA.class, null).get().getId());
+
+		registry.addExpressionResolver(PR);
+		assertEquals(100, registry.resolve(expb, ExpressionA.class, null).get().getId());
+
+		registry.removeExpressionResolver(PR);
+		assertEquals(1, registry.resolve(expb, ExpressionA.class, null).get().getId());
+
+		registry.removeExpressionResolver(R1);
+		assertFalse(registry.resolve(expb, ExpressionA.class, null).isPresent());
+
+		registry.addExpressionResolver(R1);
+		registry.freeze();
+		assertTrue(registry.isFrozen());
+		assertThrows(IllegalStateException.class, () -> registry.addExpressionResolver(PR));
+		assertThrows(IllegalStateException.class, () -> registry.removeExpressionResolver(R1));
+		assertEquals(1, registry.resolve(expb, ExpressionA.class, null).get().getId());
+
+		final ExpressionResolverRegistry uncached = ExpressionResolverRegistry.create(false);
+		uncached.addExpressionResolver(R1);
+		uncached.addExpressionResolver(PR);
+		assertEquals(100, uncached.resolve(expb, ExpressionA.class, null).get().getId());
+
+	}
+
 	@Test
 	public void testNullExpression() {
 
@@ -20,19 +20,31 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.NumberFormat;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.Month;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.jupiter.api.Test;
 
@@ -47,6 +59,8 @@ import com.holonplatform.core.i18n.NumberFormatFeature;
 import com.holonplatform.core.i18n.TemporalFormat;
 import com.holonplatform.core.internal.i18n.DefaultLocalization;
 import com.holonplatform.core.internal.i18n.DefaultLocalizationContext;
+import com.holonplatform.core.internal.i18n.PropertiesMessageProvider;
+import com.holonplatform.core.internal.utils.MessageTemplate;
 import com.holonplatform.core.temporal.TemporalType;
 
 public class TestI18n {
@@ -160,6 +174,58 @@ public class TestI18n {
 		assertEquals("34%", fv);
 	}
 
+	@Test
+	public void testFormatCache() throws Exception {
+
+		final LocalizationContext ctx = LocalizationContext.builder().withInitialLocale(Locale.ITALIAN).build();
+
+		assertEquals("235.000,66", ctx.format(235000.656d, 2));
+
+		// formats are keyed by locale
+		ctx.localize(Localization.builder(Locale.US).build());
+		assertEquals("235,000.66", ctx.format(235000.656d, 2));
+		assertEquals("235,000.7", ctx.format(235000.656d, 1));
+		assertEquals("235000.66", ctx.format(235000.656d, 2, NumberFormatFeature.DISABLE_GROUPING));
+
+		// returned formats are not shared
+		NumberFormat nf = ctx.getNumberFormat(Double.class, 2, false);
+		nf.setMaximumFractionDigits(0);
+		assertEquals("235,000.66", ctx.getNumberFormat(Double.class, 2, false).format(235000.656d));
+
+		final Calendar c = Calendar.getInstance(Locale.US);
+		c.set(Calendar.DAY_OF_MONTH, 7);
+		c.set(Calendar.MONTH, 2);
+		c.set(Calendar.YEAR, 1979);
+		final Date date = c.getTime();
+		final String expected = ctx.format(date, TemporalType.DATE, TemporalFormat.MEDIUM, null);
+
+		// concurrent use
+		final ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			final List<Future<Boolean>> results = new ArrayList<>();
+			for (int i = 0; i < 64; i++) {
+				final long value = i * 1000L;
+				results.add(executor.submit(() -> {
+					for (int j = 0; j < 100; j++) {
+						if (!String.format(Locale.US, "%,d", value + j).equals(ctx.format(value + j))) {
+							return false;
+						}
+						if (!expected.equals(ctx.format(date, TemporalType.DATE, TemporalFormat.MEDIUM, null))) {
+							return false;
+						}
+					}
+					return true;
+				}));
+			}
+			for (Future<Boolean> result : results) {
+				assertTrue(result.get());
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+	}
+
 	@Test
 	public void testDateFormats() {
 
@@ -391,6 +457,56 @@ public class TestI18n {
 
 	}
 
+	@Test
+	public void testMessageTemplates() {
+
+		MessageTemplate template = MessageTemplate.parse("&", "& and & of &");
+		assertEquals(3, template.getArgumentCount());
+		assertEquals("a and b of c", template.render(new Object[] { "a", "b", "c", "d" }));
+		assertEquals("a and  of &", template.render(new Object[] { "a", null }));
+		assertEquals("& and & of &", template.render(null));
+		assertEquals("$1 and a&b of \\", template.render(new Object[] { "$1", "a&b", "\\" }));
+
+		template = MessageTemplate.parse("{}", "no arguments");
+		assertEquals(0, template.getArgumentCount());
+		assertEquals("no arguments", template.render(new Object[] { "a" }));
+
+		assertSame(MessageTemplate.of("&", "cached &"), MessageTemplate.of("&", "cached &"));
+		assertEquals(0, MessageTemplate.of("#", "cached &").getArgumentCount());
+		assertEquals(1, MessageTemplate.of("&", "cached &").getArgumentCount());
+
+		final AtomicReference<String> message = new AtomicReference<>("value is &");
+
+		@SuppressWarnings("serial")
+		final MessageProvider mp = new MessageProvider() {
+
+			@Override
+			public Optional<String> getMessage(Locale locale, String code) throws LocalizationException {
+				if ("arg".equals(code)) {
+					return Optional.of(("it".equals(locale.getLanguage())) ? "valore & e &" : message.get());
+				}
+				return Optional.empty();
+			}
+		};
+
+		final DefaultLocalizationContext ctx = new DefaultLocalizationContext();
+		ctx.addMessageProvider(mp);
+		ctx.localize(Locale.US);
+
+		assertEquals("value is 1", ctx.getMessage("arg", "dft", 1));
+		assertEquals("value is 2", ctx.getMessage("arg", "dft", 2));
+
+		message.set("changed &");
+		assertEquals("changed 3", ctx.getMessage("arg", "dft", 3));
+
+		ctx.localize(Locale.ITALIAN);
+		assertEquals("valore 1 e 2", ctx.getMessage("arg", "dft", 1, 2));
+
+		ctx.setMessageArgumentsPlaceholder("#");
+		assertEquals("valore & e &", ctx.getMessage("arg", "dft", 1, 2));
+		assertEquals("default 1", ctx.getMessage("missing", "default #", 1));
+	}
+
 	@Test
 	public void testMissingMessages() {
 
@@ -448,6 +564,55 @@ public class TestI18n {
 		assertEquals("Test_it", v.get());
 	}
 
+	@Test
+	public void testFlattenedProperties() throws Exception {
+		MessageProvider mp = MessageProvider.fromProperties().basename("messages/messages").flattened(true).build();
+
+		assertEquals("Test_en", mp.getMessage(Locale.ENGLISH, "test.msg").orElse(null));
+		assertEquals("Test_en_US", mp.getMessage(Locale.US, "test.msg").orElse(null));
+		assertEquals("Test_en_US_var", mp.getMessage(new Locale("en", "US", "var"), "test.msg").orElse(null));
+		assertEquals("Test_en_US", mp.getMessage(new Locale("en", "US", "x"), "test.msg").orElse(null));
+		assertEquals("Test", mp.getMessage(new Locale("fr"), "test.msg").orElse(null));
+		assertEquals("TestDFT", mp.getMessage(Locale.ITALIAN, "test.dft").orElse(null));
+		assertFalse(mp.getMessage(Locale.ITALIAN, "test.xxx").isPresent());
+
+		// reload
+		final Path dir = Files.createTempDirectory("holon-messages");
+		final Path file = dir.resolve("reload.properties");
+		try (URLClassLoader cl = new URLClassLoader(new URL[] { dir.toUri().toURL() }, null)) {
+			Files.write(file, Arrays.asList("test.msg=v1"));
+			file.toFile().setLastModified(System.currentTimeMillis() - 60000);
+
+			final PropertiesMessageProvider pmp = (PropertiesMessageProvider) MessageProvider.fromProperties("reload")
+					.classLoader(cl).flattened(true).reloadCheckInterval(60000).build();
+			assertEquals("v1", pmp.getMessage(Locale.ENGLISH, "test.msg").orElse(null));
+			assertFalse(pmp.reloadIfModified());
+
+			Files.write(file, Arrays.asList("test.msg=v2"));
+			file.toFile().setLastModified(System.currentTimeMillis());
+
+			assertTrue(pmp.reloadIfModified());
+			assertEquals("v2", pmp.getMessage(Locale.ENGLISH, "test.msg").orElse(null));
+			assertFalse(pmp.reloadIfModified());
+
+			// interval set after the messages were loaded
+			final PropertiesMessageProvider pmp2 = (PropertiesMessageProvider) MessageProvider
+					.fromProperties("reload").classLoader(cl).flattened(true).build();
+			assertEquals("v2", pmp2.getMessage(Locale.ENGLISH, "test.msg").orElse(null));
+			pmp2.setReloadCheckInterval(60000);
+			assertEquals("v2", pmp2.getMessage(Locale.ENGLISH, "test.msg").orElse(null));
+
+			Files.write(file, Arrays.asList("test.msg=v3"));
+			file.toFile().setLastModified(System.currentTimeMillis() + 60000);
+
+			assertTrue(pmp2.reloadIfModified());
+			assertEquals("v3", pmp2.getMessage(Locale.ENGLISH, "test.msg").orElse(null));
+		} finally {
+			Files.deleteIfExists(file);
+			Files.deleteIfExists(dir);
+		}
+	}
+
 	@Test
 	public void testLocalizationChangeListeners() {
 
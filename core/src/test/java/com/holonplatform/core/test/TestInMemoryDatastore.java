@@ -0,0 +1,336 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.holonplatform.core.datastore.DataTarget;
+import com.holonplatform.core.datastore.Datastore.OperationResult;
+import com.holonplatform.core.datastore.Datastore.OperationType;
+import com.holonplatform.core.datastore.bulk.BulkInsert;
+import com.holonplatform.core.datastore.memory.InMemoryDatastore;
+import com.holonplatform.core.datastore.memory.InMemoryDatastore.IndexType;
+import com.holonplatform.core.datastore.operation.commons.BulkInsertOperationConfiguration;
+import com.holonplatform.core.exceptions.DataAccessException;
+import com.holonplatform.core.property.NumericProperty;
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.core.property.PropertySet;
+import com.holonplatform.core.property.StringProperty;
+import com.holonplatform.core.query.Query;
+import com.holonplatform.core.query.QueryAggregation;
+import com.holonplatform.core.query.QueryCursor;
+import com.holonplatform.core.query.QueryFunction.Sum;
+import com.holonplatform.core.query.QueryPage;
+import com.holonplatform.core.query.QueryResults.QueryNonUniqueResultException;
+import com.holonplatform.core.query.SelectAllProjection;
+
+public class TestInMemoryDatastore {
+
+	private static final DataTarget<String> TARGET = DataTarget.named("items");
+
+	private static final NumericProperty<Long> ID = NumericProperty.longType("id");
+	private static final StringProperty NAME = StringProperty.create("name");
+	private static final StringProperty CATEGORY = StringProperty.create("category");
+	private static final NumericProperty<Integer> AMOUNT = NumericProperty.integerType("amount");
+
+	private static final PropertySet<?> ITEM = PropertySet.builderOf(ID, NAME, CATEGORY, AMOUNT).identifier(ID)
+			.build();
+
+	@Test
+	public void testOperations() {
+		final InMemoryDatastore datastore = InMemoryDatastore.builder().build();
+
+		OperationResult result = datastore.insert(TARGET, item(1L, "One", "a", 10));
+		assertEquals(1, result.getAffectedCount());
+		assertEquals(Long.valueOf(1L), result.getInsertedKeys().get(ID));
+		datastore.insert(TARGET, item(2L, "Two", "b", 20));
+
+		assertThrows(DataAccessException.class, () -> datastore.insert(TARGET, item(1L, "Dup", "a", 0)));
+
+		assertEquals(2, datastore.query(TARGET).count());
+
+		result = datastore.update(TARGET, item(1L, "One updated", "a", 11));
+		assertEquals(1, result.getAffectedCount());
+		assertEquals("One updated", datastore.query(TARGET).filter(ID.eq(1L)).findOne(NAME).orElse(null));
+
+		result = datastore.save(TARGET, item(3L, "Three", "b", 30));
+		assertEquals(OperationType.INSERT, result.getOperationType().orElse(null));
+		result = datastore.save(TARGET, item(3L, "Three saved", "b", 30));
+		assertEquals(OperationType.UPDATE, result.getOperationType().orElse(null));
+
+		final PropertyBox refreshed = datastore.refresh(TARGET, PropertyBox.builder(ITEM).set(ID, 3L).build());
+		assertEquals("Three saved", refreshed.getValue(NAME));
+		assertEquals(Integer.valueOf(30), refreshed.getValue(AMOUNT));
+
+		result = datastore.delete(TARGET, item(2L, null, null, null));
+		assertEquals(1, result.getAffectedCount());
+		assertEquals(2, datastore.query(TARGET).count());
+
+		assertThrows(DataAccessException.class,
+				() -> datastore.refresh(TARGET, PropertyBox.builder(ITEM).set(ID, 2L).build()));
+	}
+
+	@Test
+	public void testQuery() {
+		final InMemoryDatastore datastore = populate(InMemoryDatastore.builder().build());
+
+		assertEquals(3, datastore.query(TARGET).filter(CATEGORY.eq("a")).count());
+		assertEquals(2, datastore.query(TARGET).filter(AMOUNT.gt(30)).count());
+		assertEquals(3, datastore.query(TARGET).filter(AMOUNT.goe(30)).count());
+		assertEquals(2, datastore.query(TARGET).filter(ID.in(2L, 4L, 9L)).count());
+		assertEquals(3, datastore.query(TARGET).filter(ID.nin(2L, 4L)).count());
+		assertEquals(3, datastore.query(TARGET).filter(AMOUNT.between(20, 40)).count());
+		assertEquals(2, datastore.query(TARGET).filter(NAME.startsWith("FI", true)).count());
+		assertEquals(1, datastore.query(TARGET).filter(NAME.contains("o")).count());
+		assertEquals(1, datastore.query(TARGET).filter(NAME.isNull()).count());
+		assertEquals(3, datastore.query(TARGET).filter(CATEGORY.eq("a").and(AMOUNT.lt(35)).or(ID.eq(4L))).count());
+		assertEquals(2, datastore.query(TARGET).filter(CATEGORY.neq("a")).count());
+
+		List<Long> ids = datastore.query(TARGET).sort(AMOUNT.desc()).list(ID);
+		assertEquals(5, ids.size());
+		assertEquals(Long.valueOf(4L), ids.get(0));
+
+		ids = datastore.query(TARGET).sort(CATEGORY.asc()).sort(ID.desc()).restrict(2, 1).list(ID);
+		assertEquals(2, ids.size());
+		assertEquals(Long.valueOf(3L), ids.get(0));
+		assertEquals(Long.valueOf(1L), ids.get(1));
+
+		final List<PropertyBox> values = datastore.query(TARGET).filter(ID.eq(2L)).list(ITEM);
+		assertEquals(1, values.size());
+		assertEquals("second", values.get(0).getValue(NAME));
+
+		final List<Map<String, Object>> maps = datastore.query(TARGET).filter(ID.eq(2L))
+				.list(SelectAllProjection.create());
+		assertEquals(1, maps.size());
+		assertEquals("second", maps.get(0).get("name"));
+
+		assertEquals(2, datastore.query(TARGET).distinct().list(CATEGORY).size());
+	}
+
+	@Test
+	public void testAggregation() {
+		final InMemoryDatastore datastore = populate(InMemoryDatastore.builder().build());
+
+		assertEquals(Integer.valueOf(50), datastore.query(TARGET).findOne(AMOUNT.max()).orElse(null));
+		assertEquals(Integer.valueOf(10), datastore.query(TARGET).findOne(AMOUNT.min()).orElse(null));
+		assertEquals(Integer.valueOf(150), datastore.query(TARGET).findOne(AMOUNT.sum()).orElse(null));
+		assertEquals(Double.valueOf(30), datastore.query(TARGET).findOne(AMOUNT.avg()).orElse(null));
+		assertEquals(Long.valueOf(4), datastore.query(TARGET).findOne(NAME.count()).orElse(null));
+
+		final Sum<Integer> sum = AMOUNT.sum();
+		final List<PropertyBox> groups = datastore.query(TARGET).aggregate(CATEGORY).sort(CATEGORY.asc())
+				.list(CATEGORY, sum);
+		assertEquals(2, groups.size());
+		assertEquals("a", groups.get(0).getValue(CATEGORY));
+		assertEquals(Integer.valueOf(80), groups.get(0).getValue(sum));
+		assertEquals(Integer.valueOf(70), groups.get(1).getValue(sum));
+
+		final List<String> categories = datastore.query(TARGET)
+				.aggregate(QueryAggregation.builder().path(CATEGORY).filter(AMOUNT.max().gt(40)).build())
+				.list(CATEGORY);
+		assertEquals(1, categories.size());
+		assertEquals("b", categories.get(0));
+	}
+
+	@Test
+	public void testIndexes() {
+		final InMemoryDatastore datastore = populate(InMemoryDatastore.builder().withIndex(TARGET, ID, IndexType.HASH)
+				.withIndex(TARGET, AMOUNT, IndexType.SORTED).build());
+		datastore.createIndex(TARGET, CATEGORY, IndexType.HASH);
+
+		assertEquals(1, datastore.query(TARGET).filter(ID.eq(3L)).count());
+		assertEquals(2, datastore.query(TARGET).filter(ID.in(1L, 5L, 7L)).count());
+		assertEquals(3, datastore.query(TARGET).filter(AMOUNT.between(20, 40)).count());
+		assertEquals(2, datastore.query(TARGET).filter(AMOUNT.lt(30)).count());
+		assertEquals(1, datastore.query(TARGET).filter(AMOUNT.gt(30).and(CATEGORY.eq("a"))).count());
+		assertEquals(2, datastore.query(TARGET).filter(AMOUNT.gt(40).or(CATEGORY.eq("b"))).count());
+
+		// index maintenance
+		datastore.update(TARGET, item(3L, "third", "b", 35));
+		assertEquals(3, datastore.query(TARGET).filter(CATEGORY.eq("b")).count());
+		assertEquals(Long.valueOf(3L), datastore.query(TARGET).filter(AMOUNT.eq(35)).findOne(ID).orElse(null));
+		datastore.delete(TARGET, item(3L, null, null, null));
+		assertEquals(0, datastore.query(TARGET).filter(AMOUNT.eq(35)).count());
+		assertEquals(0, datastore.query(TARGET).filter(ID.eq(3L)).count());
+
+		assertTrue(datastore.dropIndex(TARGET, CATEGORY));
+		assertFalse(datastore.dropIndex(TARGET, CATEGORY));
+		assertEquals(2, datastore.query(TARGET).filter(CATEGORY.eq("b")).count());
+
+		// compaction keeps indexes consistent
+		for (long i = 100; i < 300; i++) {
+			datastore.insert(TARGET, item(i, "n" + i, "c", (int) i));
+		}
+		assertEquals(200, datastore.bulkDelete(TARGET).filter(CATEGORY.eq("c")).execute().getAffectedCount());
+		assertEquals(4, datastore.query(TARGET).count());
+		assertEquals(Long.valueOf(4L), datastore.query(TARGET).filter(AMOUNT.eq(50)).findOne(ID).orElse(null));
+		assertEquals(Long.valueOf(5L), datastore.query(TARGET).filter(ID.eq(5L)).findOne(ID).orElse(null));
+
+		datastore.clear(TARGET);
+		assertEquals(0, datastore.query(TARGET).count());
+		datastore.insert(TARGET, item(1L, "One", "a", 10));
+		assertEquals(1, datastore.query(TARGET).filter(AMOUNT.loe(10)).count());
+
+		// low cardinality index with many removals
+		datastore.createIndex(TARGET, CATEGORY, IndexType.HASH);
+		for (long i = 1000; i < 1500; i++) {
+			datastore.insert(TARGET, item(i, "n" + i, "d", (int) i));
+		}
+		for (long i = 1000; i < 1500; i += 2) {
+			datastore.delete(TARGET, item(i, null, null, null));
+		}
+		assertEquals(250, datastore.query(TARGET).filter(CATEGORY.eq("d")).count());
+		assertEquals(Long.valueOf(1001L),
+				datastore.query(TARGET).filter(CATEGORY.eq("d")).sort(ID.asc()).list(ID).get(0));
+	}
+
+	@Test
+	public void testBulkOperations() {
+		final InMemoryDatastore datastore = populate(InMemoryDatastore.builder().build());
+
+		OperationResult result = datastore.bulkUpdate(TARGET).set(NAME, "updated").filter(CATEGORY.eq("b"))
+				.execute();
+		assertEquals(2, result.getAffectedCount());
+		assertEquals(2, datastore.query(TARGET).filter(NAME.eq("updated")).count());
+
+		result = datastore.bulkUpdate(TARGET).setNull(NAME).execute();
+		assertEquals(5, result.getAffectedCount());
+		assertEquals(5, datastore.query(TARGET).filter(NAME.isNull()).count());
+
+		result = datastore.bulkDelete(TARGET).filter(AMOUNT.gt(20)).execute();
+		assertEquals(3, result.getAffectedCount());
+		assertEquals(2, datastore.query(TARGET).count());
+
+		final List<Long> ids = datastore.query(TARGET).sort(ID.asc()).stream(ID).collect(Collectors.toList());
+		assertEquals(2, ids.size());
+		assertEquals(Long.valueOf(1L), ids.get(0));
+		assertEquals(Long.valueOf(2L), ids.get(1));
+	}
+
+	@Test
+	public void testStreamingBulkInsert() {
+		final InMemoryDatastore datastore = InMemoryDatastore.builder().build();
+
+		final AtomicInteger generated = new AtomicInteger();
+		final BulkInsert operation = datastore.bulkInsert(TARGET, ITEM).add(item(0L, "zero", "a", 0))
+				.addAll(LongStream.rangeClosed(1, 2500).mapToObj(i -> {
+					generated.incrementAndGet();
+					return item(i, "item" + i, (i % 2 == 0) ? "a" : "b", (int) i);
+				})).batchSize(1000);
+		// values are lazily provided
+		assertEquals(0, generated.get());
+
+		final OperationResult result = operation.execute();
+		assertEquals(2501, result.getAffectedCount());
+		assertEquals(2500, generated.get());
+		assertEquals(2501, datastore.query(TARGET).count());
+		assertEquals(1250, datastore.query(TARGET).filter(CATEGORY.eq("b")).count());
+
+		final Iterator<List<PropertyBox>> batches = datastore.bulkInsert(TARGET, ITEM)
+				.addAll(Arrays.asList(item(1L, "first", "a", 1), item(2L, "second", "a", 2)))
+				.addAll(Collections.singletonList(item(3L, "third", "a", 3))).batchSize(2).getConfiguration()
+				.batches();
+		assertEquals(2, batches.next().size());
+		assertEquals(1, batches.next().size());
+		assertFalse(batches.hasNext());
+
+		// value sources are consumed by getValues()
+		final BulkInsertOperationConfiguration configuration = datastore.bulkInsert(TARGET, ITEM)
+				.add(item(1L, "first", "a", 1)).addAll(Collections.singletonList(item(2L, "second", "a", 2)))
+				.getConfiguration();
+		assertEquals(2, configuration.getValues().size());
+		assertTrue(configuration.getValueSources().isEmpty());
+		assertEquals(2, configuration.batches().next().size());
+
+		assertThrows(IllegalArgumentException.class, () -> datastore.bulkInsert(TARGET, ITEM).batchSize(0));
+		assertThrows(DataAccessException.class, () -> datastore.bulkInsert(TARGET, ITEM).execute());
+	}
+
+	@Test
+	public void testKeysetPagination() {
+		final InMemoryDatastore datastore = populate(InMemoryDatastore.builder().build());
+
+		final List<Long> ids = new ArrayList<>();
+		QueryCursor cursor = QueryCursor.first(CATEGORY.asc().and(ID.desc()));
+		int pages = 0;
+		while (cursor != null) {
+			final QueryPage<PropertyBox> page = datastore.query(TARGET).filter(AMOUNT.gt(0)).page(cursor, 2, ITEM);
+			page.getContent().forEach(row -> ids.add(row.getValue(ID)));
+			cursor = page.getNextCursor().orElse(null);
+			pages++;
+		}
+		assertEquals(3, pages);
+		assertEquals(Arrays.asList(5L, 3L, 1L, 4L, 2L), ids);
+
+		// the cursor sort is the primary ordering of an already sorted query
+		ids.clear();
+		cursor = QueryCursor.first(CATEGORY.asc().and(ID.desc()));
+		while (cursor != null) {
+			final QueryPage<PropertyBox> page = datastore.query(TARGET).filter(AMOUNT.gt(0)).sort(NAME.asc())
+					.page(cursor, 2, ITEM);
+			page.getContent().forEach(row -> ids.add(row.getValue(ID)));
+			cursor = page.getNextCursor().orElse(null);
+		}
+		assertEquals(Arrays.asList(5L, 3L, 1L, 4L, 2L), ids);
+
+		final QueryPage<PropertyBox> page = datastore.query(TARGET)
+				.page(QueryCursor.of(CATEGORY.asc().and(ID.desc()), "a", 1L), 10, ITEM);
+		assertEquals(2, page.getContent().size());
+		assertFalse(page.hasNext());
+
+		// the query is not changed by page
+		final Query query = datastore.query(TARGET).filter(AMOUNT.gt(0));
+		final QueryPage<PropertyBox> first = query.page(QueryCursor.first(CATEGORY.asc().and(ID.desc())), 2, ITEM);
+		assertTrue(first.hasNext());
+		assertEquals(2, query.page(first.getNextCursor().get(), 2, ITEM).getContent().size());
+		assertEquals(5, query.count());
+
+		assertThrows(QueryNonUniqueResultException.class,
+				() -> datastore.query(TARGET).filter(CATEGORY.eq("a")).findOne(ID));
+		assertEquals(Long.valueOf(3L), datastore.query(TARGET).filter(NAME.eq("third")).findOne(ID).orElse(null));
+	}
+
+	private static InMemoryDatastore populate(InMemoryDatastore datastore) {
+		final OperationResult result = datastore.bulkInsert(TARGET, ITEM).add(item(1L, "first", "a", 10))
+				.add(item(2L, "second", "b", 20)).add(item(3L, "third", "a", 30)).add(item(4L, null, "b", 50))
+				.add(item(5L, "fifth", "a", 40)).execute();
+		assertNotNull(result);
+		assertEquals(5, result.getAffectedCount());
+		return datastore;
+	}
+
+	private static PropertyBox item(Long id, String name, String category, Integer amount) {
+		return PropertyBox.builder(ITEM).set(ID, id).set(NAME, name).set(CATEGORY, category).set(AMOUNT, amount)
+				.build();
+	}
+
+}
@@ -15,11 +15,23 @@
  */
 package com.holonplatform.core.test;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
 
 import org.junit.jupiter.api.Test;
 
@@ -48,4 +60,140 @@ public class TestLimitedInputStream {
 
 	}
 
+	@Test
+	public void testBulkOperations() throws IOException {
+
+		final byte[] data = new byte[20000];
+		for (int i = 0; i < data.length; i++) {
+			data[i] = (byte) i;
+		}
+
+		try (LimitedInputStream lis = LimitedInputStream.create(new ByteArrayInputStream(data), 10000)) {
+			assertEquals(10000, lis.available());
+			byte[] buffer = new byte[4000];
+			assertEquals(4000, lis.read(buffer, 0, buffer.length));
+			assertEquals(data[3999], buffer[3999]);
+			assertEquals(1000, lis.skip(1000));
+			assertEquals(data[5000], (byte) lis.read());
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			assertEquals(4999, lis.transferTo(out));
+			assertArrayEquals(Arrays.copyOfRange(data, 5001, 10000), out.toByteArray());
+			assertEquals(-1, lis.read());
+			assertEquals(-1, lis.read(buffer, 0, buffer.length));
+			assertEquals(0, lis.skip(10));
+			assertEquals(0, lis.available());
+		}
+
+		try (LimitedInputStream lis = LimitedInputStream.create(new ByteArrayInputStream(data), -1)) {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			assertEquals(data.length, lis.transferTo(Channels.newChannel(out)));
+			assertArrayEquals(data, out.toByteArray());
+		}
+
+		// the wrapped stream is not closed
+		final boolean[] closed = new boolean[] { false };
+		final InputStream stream = new ByteArrayInputStream(data) {
+
+			@Override
+			public void close() throws IOException {
+				closed[0] = true;
+			}
+
+		};
+		LimitedInputStream.create(stream, 10).close();
+		assertFalse(closed[0]);
+
+	}
+
+	@Test
+	public void testChannelStream() throws IOException {
+
+		final byte[] data = new byte[50000];
+		for (int i = 0; i < data.length; i++) {
+			data[i] = (byte) (i * 7);
+		}
+
+		final Path source = Files.createTempFile("holon-lis", ".bin");
+		final Path target = Files.createTempFile("holon-lis", ".bin");
+		try {
+			Files.write(source, data);
+
+			try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+				channel.position(1000);
+				LimitedInputStream lis = LimitedInputStream.create(channel);
+				assertEquals(49000, lis.getLength());
+				assertEquals(49000, lis.available());
+				assertEquals(data[1000], (byte) lis.read());
+				assertEquals(999, lis.skip(999));
+				assertEquals(2000, channel.position());
+
+				try (FileChannel out = FileChannel.open(target, StandardOpenOption.WRITE,
+						StandardOpenOption.TRUNCATE_EXISTING)) {
+					assertEquals(48000, lis.transferTo(out));
+				}
+				assertArrayEquals(Arrays.copyOfRange(data, 2000, data.length), Files.readAllBytes(target));
+				assertEquals(-1, lis.read());
+			}
+
+			// channel transfer with no progress
+			try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+				LimitedInputStream lis = LimitedInputStream.create(channel);
+				final ByteArrayOutputStream out = new ByteArrayOutputStream();
+				final WritableByteChannel delegate = Channels.newChannel(out);
+				final WritableByteChannel stalling = new WritableByteChannel() {
+
+					private boolean stalled = false;
+
+					@Override
+					public boolean isOpen() {
+						return delegate.isOpen();
+					}
+
+					@Override
+					public void close() throws IOException {
+						delegate.close();
+					}
+
+					@Override
+					public int write(ByteBuffer src) throws IOException {
+						if (!stalled) {
+							stalled = true;
+							return 0;
+						}
+						return delegate.write(src);
+					}
+
+				};
+				assertEquals(data.length, lis.transferTo(stalling));
+				assertArrayEquals(data, out.toByteArray());
+				assertEquals(-1, lis.read());
+			}
+
+			try (LimitedInputStream lis = LimitedInputStream
+					.create(Channels.newChannel(new ByteArrayInputStream(data)), 30000)) {
+				byte[] buffer = new byte[100];
+				assertEquals(100, lis.read(buffer, 0, 100));
+				assertEquals(data[99], buffer[99]);
+				try (FileChannel out = FileChannel.open(target, StandardOpenOption.WRITE,
+						StandardOpenOption.TRUNCATE_EXISTING)) {
+					assertEquals(29900, lis.transferTo(out));
+				}
+				assertArrayEquals(Arrays.copyOfRange(data, 100, 30000), Files.readAllBytes(target));
+				assertEquals(-1, lis.read());
+			}
+
+			try (LimitedInputStream lis = LimitedInputStream
+					.create(Channels.newChannel(new ByteArrayInputStream(data)), 100)) {
+				ByteArrayOutputStream out = new ByteArrayOutputStream();
+				assertEquals(100, lis.transferTo(out));
+				assertArrayEquals(Arrays.copyOfRange(data, 0, 100), out.toByteArray());
+			}
+
+		} finally {
+			Files.deleteIfExists(source);
+			Files.deleteIfExists(target);
+		}
+
+	}
+
 }
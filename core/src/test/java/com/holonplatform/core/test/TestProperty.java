@@ -48,12 +48,19 @@ import org.junit.jupiter.api.Test;
 
 import com.holonplatform.core.Context;
 import com.holonplatform.core.Path;
+import com.holonplatform.core.Validator;
+import com.holonplatform.core.Validator.ValidationException;
 import com.holonplatform.core.beans.BeanIntrospector;
 import com.holonplatform.core.beans.BeanPropertySet;
 import com.holonplatform.core.config.ConfigProperty;
+import com.holonplatform.core.exceptions.TypeMismatchException;
 import com.holonplatform.core.i18n.Localizable;
 import com.holonplatform.core.i18n.LocalizationContext;
 import com.holonplatform.core.internal.beans.DefaultBeanIntrospector;
+import com.holonplatform.core.internal.property.ArrayPropertyBox;
+import com.holonplatform.core.internal.property.DefaultPropertyBox;
+import com.holonplatform.core.internal.property.IndexedPropertySet;
+import com.holonplatform.core.internal.property.PropertyWritePlan;
 import com.holonplatform.core.internal.query.filter.OperationQueryFilter;
 import com.holonplatform.core.internal.query.filter.OperationQueryFilter.FilterOperator;
 import com.holonplatform.core.internal.utils.TypeUtils;
@@ -63,6 +70,7 @@ import com.holonplatform.core.presentation.StringValuePresenter;
 import com.holonplatform.core.property.BooleanProperty;
 import com.holonplatform.core.property.NumericProperty;
 import com.holonplatform.core.property.PathProperty;
+import com.holonplatform.core.property.PathProperty.PathPropertyBuilder;
 import com.holonplatform.core.property.Property;
 import com.holonplatform.core.property.Property.PropertyNotFoundException;
 import com.holonplatform.core.property.Property.PropertyReadException;
@@ -779,6 +787,143 @@ public class TestProperty {
 		assertTrue(pps.contains(TestPropertySet.NAME));
 	}
 
+	@Test
+	public void testPropertySetIndex() {
+		final List<PathProperty<Integer>> properties = new ArrayList<>();
+		for (int i = 0; i < 200; i++) {
+			properties.add(PathProperty.create("idx" + i, Integer.class));
+		}
+
+		PropertySet<PathProperty<Integer>> set = PropertySet.of(properties);
+		assertEquals(200, set.size());
+		for (int i = 0; i < 200; i++) {
+			assertEquals(i, set.indexOf(properties.get(i)));
+			assertTrue(set.contains(properties.get(i)));
+		}
+		assertEquals(-1, set.indexOf(null));
+		assertEquals(-1, set.indexOf(TestPropertySet.NAME));
+		assertFalse(set.contains(TestPropertySet.NAME));
+
+		PropertySet<Property<?>> set2 = PropertySet.builder().add(TestPropertySet.NAME).add(TestPropertySet.SEQUENCE)
+				.add(TestPropertySet.NAME).build();
+		assertEquals(2, set2.size());
+		assertEquals(0, set2.indexOf(TestPropertySet.NAME));
+		assertEquals(1, set2.indexOf(TestPropertySet.SEQUENCE));
+
+		// equals handler
+		final PathProperty<String> ep1 = PathProperty.create("eq", String.class)
+				.hashCodeProvider(p -> Optional.of(p.getName().hashCode()))
+				.equalsHandler((p, o) -> (o instanceof Property) && p.getName().equals(((Property) o).getName()));
+		final PathProperty<String> ep2 = PathProperty.create("eq", String.class)
+				.hashCodeProvider(p -> Optional.of(p.getName().hashCode()))
+				.equalsHandler((p, o) -> (o instanceof Property) && p.getName().equals(((Property) o).getName()));
+		PropertySet<?> set3 = PropertySet.of(TestPropertySet.NAME, ep1);
+		assertEquals(1, set3.indexOf(ep2));
+
+		// duplicates and nulls are preserved
+		PropertySet<?> set4 = PropertySet.of(TestPropertySet.NAME, null, TestPropertySet.SEQUENCE,
+				TestPropertySet.NAME);
+		assertEquals(4, set4.size());
+		assertEquals(0, set4.indexOf(TestPropertySet.NAME));
+		assertEquals(2, set4.indexOf(TestPropertySet.SEQUENCE));
+		assertEquals(3, ((List<?>) set4).lastIndexOf(TestPropertySet.NAME));
+		assertFalse(set4.contains(null));
+
+		// immutable
+		assertThrows(UnsupportedOperationException.class, () -> ((Collection<?>) set).clear());
+
+		PropertyBox box = PropertyBox.create(set);
+		assertEquals(3, box.indexOf(properties.get(3)));
+	}
+
+	@Test
+	public void testArrayPropertyBox() {
+		final PathProperty<String> VLD = PathProperty.create("vld", String.class).withValidator(Validator.notBlank());
+
+		final PropertySet<?> set = PropertySet.builder().add(TestPropertySet.PROPERTIES).add(P3).add(VLD)
+				.identifier(TestPropertySet.NAME).withConfiguration(PropertyBox.ARRAY_STORAGE, true).build();
+
+		PropertyBox box = PropertyBox.builder(set).set(TestPropertySet.NAME, "n1").set(TestPropertySet.SEQUENCE, 3)
+				.set(P3, true).build();
+		assertTrue(box instanceof ArrayPropertyBox);
+		assertEquals(set.size(), box.size());
+		assertEquals("n1", box.getValue(TestPropertySet.NAME));
+		assertEquals(Integer.valueOf(3), box.getValue(TestPropertySet.SEQUENCE));
+		assertEquals(Boolean.TRUE, box.getValue(P3));
+		assertEquals("TEST", box.getValue(TestPropertySet.VIRTUAL));
+		assertTrue(box.containsValue(TestPropertySet.NAME));
+		assertFalse(box.containsValue(TestPropertySet.GENERIC));
+		assertNull(box.getValue(TestPropertySet.GENERIC));
+		assertFalse(box.getValueIfPresent(P1).isPresent());
+		assertEquals(TestPropertySet.NAME, box.getFirstIdentifier().orElse(null));
+
+		assertThrows(PropertyNotFoundException.class, () -> box.getValue(P1));
+		assertThrows(PropertyNotFoundException.class, () -> box.setValue(P1, "x"));
+		assertThrows(PropertyReadOnlyException.class, () -> box.setValue(TestPropertySet.VIRTUAL, "x"));
+		assertThrows(ValidationException.class, () -> box.setValue(VLD, " "));
+		box.setValue(VLD, "valid");
+
+		box.setValue(TestPropertySet.NAME, null);
+		assertFalse(box.containsValue(TestPropertySet.NAME));
+		assertEquals(3, box.propertyValues().count());
+
+		PropertyBox cloned = box.cloneBox();
+		assertTrue(cloned instanceof ArrayPropertyBox);
+		assertEquals(Integer.valueOf(3), cloned.getValue(TestPropertySet.SEQUENCE));
+
+		assertFalse(PropertyBox.create(TestPropertySet.PROPERTIES) instanceof ArrayPropertyBox);
+
+		final BeanPropertySet<TestBean> beanSet = BeanIntrospector.get().getPropertySet(TestBean.class);
+		PropertyBox box2 = new ArrayPropertyBox(beanSet);
+		box2.setValue(beanSet.property("name", String.class), "bean");
+		assertEquals("bean", box2.getValue(beanSet.property("name", String.class)));
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testPropertyWritePlan() {
+		final IndexedPropertySet<?> set = IndexedPropertySet.of(P1, P2, P3, TestPropertySet.VIRTUAL);
+
+		final PropertyWritePlan<Boolean> plan = set.getWritePlan(P3);
+		assertNotNull(plan);
+		assertEquals(2, plan.getIndex());
+		assertTrue(plan == set.getWritePlan(P3));
+		assertNull(set.getWritePlan(P4));
+		assertTrue(set.getWritePlan(TestPropertySet.VIRTUAL).isReadOnly());
+
+		PropertyBox box1 = PropertyBox.create(set);
+		PropertyBox box2 = PropertyBox.create(set);
+		box1.setValue(P3, Boolean.TRUE);
+		box2.setValue(P3, Boolean.FALSE);
+		assertEquals(Boolean.TRUE, box1.getValue(P3));
+		assertEquals(Boolean.FALSE, box2.getValue(P3));
+
+		final PropertyWritePlan rawPlan = set.getWritePlan(P2);
+		assertThrows(TypeMismatchException.class, () -> rawPlan.convert("x"));
+
+		// validators added after the plan creation
+		final PathPropertyBuilder<String> vp = PathProperty.create("vp", String.class);
+		final PropertyBox vbox = PropertyBox.create(PropertySet.of(vp));
+		vbox.setValue(vp, " ");
+		vp.withValidator(Validator.notBlank());
+		assertThrows(ValidationException.class, () -> vbox.setValue(vp, " "));
+
+		// overridden value check methods
+		final List<Property<?>> checked = new ArrayList<>();
+		final PropertyBox hbox = new DefaultPropertyBox(PropertySet.of(P1, P2)) {
+
+			@Override
+			protected <T> T validatePropertyValue(Property<T> property, T value) throws ValidationException {
+				checked.add(property);
+				return super.validatePropertyValue(property, value);
+			}
+
+		};
+		hbox.setValue(P1, "v");
+		assertEquals(1, checked.size());
+		assertEquals(P1, checked.get(0));
+	}
+
 	@Test
 	public void testPropertySetIdentifier() {
 
@@ -16,11 +16,15 @@
 package com.holonplatform.core.test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Test;
 
@@ -30,7 +34,15 @@ import com.holonplatform.core.internal.DefaultCollectionConstantExpression;
 import com.holonplatform.core.internal.query.DefaultConstantExpression;
 import com.holonplatform.core.internal.query.DefaultQueryDefinition;
 import com.holonplatform.core.internal.query.QueryDefinition;
+import com.holonplatform.core.internal.query.QueryUtils;
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.core.query.PathExpression;
 import com.holonplatform.core.query.Query;
+import com.holonplatform.core.query.QueryCursor;
+import com.holonplatform.core.query.QueryFilter;
+import com.holonplatform.core.query.QueryFilterPredicate;
+import com.holonplatform.core.query.QueryFunction;
+import com.holonplatform.core.query.QueryResults.QueryNonUniqueResultException;
 import com.holonplatform.core.query.QuerySort;
 import com.holonplatform.core.test.data.DummyQuery;
 import com.holonplatform.core.test.data.TestPropertySet;
@@ -143,4 +155,97 @@ public class TestQuery {
 
 	}
 
+	@Test
+	public void testFilterPredicate() {
+
+		final PropertyBox box = PropertyBox.builder(TestPropertySet.PROPERTIES).set(TestPropertySet.NAME, "Test value")
+				.set(TestPropertySet.SEQUENCE, 3).build();
+		final PropertyBox empty = PropertyBox.builder(TestPropertySet.PROPERTIES).build();
+
+		assertTrue(QueryFilterPredicate.of(TestPropertySet.NAME.eq("Test value")).test(box));
+		assertFalse(QueryFilterPredicate.of(TestPropertySet.NAME.eq("Test value")).test(empty));
+		assertFalse(QueryFilterPredicate.of(TestPropertySet.NAME.neq("Test value")).test(box));
+		assertTrue(QueryFilterPredicate.of(TestPropertySet.SEQUENCE.gt(2)).test(box));
+		assertFalse(QueryFilterPredicate.of(TestPropertySet.SEQUENCE.lt(3)).test(box));
+		assertTrue(QueryFilterPredicate.of(TestPropertySet.SEQUENCE.loe(3)).test(box));
+		assertTrue(QueryFilterPredicate.of(TestPropertySet.SEQUENCE.in(1, 3, 5)).test(box));
+		assertFalse(QueryFilterPredicate.of(TestPropertySet.SEQUENCE.nin(1, 3, 5)).test(box));
+		assertTrue(QueryFilterPredicate.of(TestPropertySet.SEQUENCE.between(3, 4)).test(box));
+		assertTrue(QueryFilterPredicate.of(QueryFilter.contains(TestPropertySet.NAME, "VAL", true)).test(box));
+		assertFalse(QueryFilterPredicate.of(QueryFilter.contains(TestPropertySet.NAME, "VAL", false)).test(box));
+		assertTrue(QueryFilterPredicate.of(QueryFilter.startsWith(TestPropertySet.NAME, "test", true)).test(box));
+		assertTrue(QueryFilterPredicate.of(QueryFilter.endsWith(TestPropertySet.NAME, "LUE", true)).test(box));
+		assertFalse(
+				QueryFilterPredicate.of(QueryFilter.endsWith(TestPropertySet.NAME, "a longer suffix", true)).test(box));
+		assertTrue(QueryFilterPredicate.of(TestPropertySet.NAME.isNull()).test(empty));
+		assertTrue(QueryFilterPredicate.of(TestPropertySet.NAME.isNotNull()).test(box));
+		assertTrue(QueryFilterPredicate.of(QueryFunction.lower(TestPropertySet.NAME).eq("test value")).test(box));
+
+		final QueryFilter composite = QueryFilter.contains(TestPropertySet.NAME, "value", true)
+				.and(TestPropertySet.SEQUENCE.gt(1).and(TestPropertySet.SEQUENCE.lt(10)))
+				.and(TestPropertySet.NAME.isNull().or(TestPropertySet.SEQUENCE.eq(3)).or(TestPropertySet.GENERIC.isNotNull()));
+		final QueryFilterPredicate predicate = QueryFilterPredicate.of(composite, TestPropertySet.PROPERTIES);
+		assertEquals(composite, predicate.getFilter());
+		assertTrue(predicate.test(box));
+		assertFalse(predicate.test(empty));
+		assertFalse(QueryFilterPredicate.of(composite.not()).test(box));
+		assertTrue(QueryFilterPredicate.of(composite.not()).test(empty));
+
+		final long count = Stream.of(box, empty, box).filter(predicate).count();
+		assertEquals(2, count);
+
+		// path resolution by name
+		final QueryFilterPredicate byName = QueryFilterPredicate
+				.of(PathExpression.create("sequence", Integer.class).eq(3), TestPropertySet.PROPERTIES);
+		assertTrue(byName.test(box));
+		assertTrue(QueryFilterPredicate.of(PathExpression.create("sequence", Integer.class).eq(3)).test(box));
+
+		// numeric constants of different types
+		final PropertyBox generic = PropertyBox.builder(TestPropertySet.PROPERTIES).set(TestPropertySet.GENERIC, 3)
+				.build();
+		assertTrue(QueryFilterPredicate.of(TestPropertySet.GENERIC.eq(3L)).test(generic));
+		assertTrue(QueryFilterPredicate.of(TestPropertySet.GENERIC.eq(3.0d)).test(generic));
+		assertFalse(QueryFilterPredicate.of(TestPropertySet.GENERIC.eq(4L)).test(generic));
+
+		assertThrows(InvalidExpressionException.class, () -> QueryFilterPredicate
+				.of(PathExpression.create("missing", Integer.class).eq(3), TestPropertySet.PROPERTIES));
+		assertThrows(InvalidExpressionException.class,
+				() -> QueryFilterPredicate.of(TestPropertySet.SEQUENCE.max().gt(1)));
+	}
+
+	@Test
+	public void testQueryCursor() {
+
+		final QueryCursor first = QueryCursor.first(TestPropertySet.NAME.asc().and(TestPropertySet.SEQUENCE.desc()));
+		assertTrue(first.isFirst());
+		assertFalse(first.getFilter().isPresent());
+		assertEquals(2, first.getSortPaths().size());
+
+		final PropertyBox box = PropertyBox.builder(TestPropertySet.PROPERTIES).set(TestPropertySet.NAME, "b")
+				.set(TestPropertySet.SEQUENCE, 2).build();
+		final QueryCursor next = first.next(box);
+		assertFalse(next.isFirst());
+		assertEquals(Arrays.asList("b", 2), next.getKeyValues());
+		assertTrue(next.getFilter().isPresent());
+
+		final QueryFilterPredicate predicate = QueryFilterPredicate.of(next.getFilter().get());
+		assertFalse(predicate.test(box));
+		assertTrue(predicate.test(PropertyBox.builder(TestPropertySet.PROPERTIES).set(TestPropertySet.NAME, "b")
+				.set(TestPropertySet.SEQUENCE, 1).build()));
+		assertTrue(predicate.test(PropertyBox.builder(TestPropertySet.PROPERTIES).set(TestPropertySet.NAME, "c")
+				.set(TestPropertySet.SEQUENCE, 3).build()));
+		assertFalse(predicate.test(PropertyBox.builder(TestPropertySet.PROPERTIES).set(TestPropertySet.NAME, "a")
+				.set(TestPropertySet.SEQUENCE, 1).build()));
+
+		assertThrows(IllegalArgumentException.class, () -> first.next("a"));
+		assertThrows(IllegalArgumentException.class, () -> first.next("a", null));
+		assertThrows(IllegalArgumentException.class,
+				() -> first.next(PropertyBox.builder(TestPropertySet.NAME).set(TestPropertySet.NAME, "a").build()));
+
+		// unique result short-circuit
+		assertFalse(QueryUtils.uniqueResult(Stream.empty()).isPresent());
+		assertEquals("a", QueryUtils.uniqueResult(Stream.of("a")).orElse(null));
+		assertThrows(QueryNonUniqueResultException.class, () -> QueryUtils.uniqueResult(Stream.iterate(0, i -> i + 1)));
+	}
+
 }
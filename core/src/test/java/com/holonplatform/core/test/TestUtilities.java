@@ -29,8 +29,10 @@ import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.time.LocalDate;
 import java.time.Month;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.LinkedList;
@@ -38,6 +40,8 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Set;
 import java.util.Vector;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Test;
@@ -48,6 +52,7 @@ import com.holonplatform.core.internal.utils.CalendarUtils;
 import com.holonplatform.core.internal.utils.ClassUtils;
 import com.holonplatform.core.internal.utils.ConversionUtils;
 import com.holonplatform.core.internal.utils.FormatUtils;
+import com.holonplatform.core.internal.utils.LruCache;
 import com.holonplatform.core.internal.utils.ObjectUtils;
 import com.holonplatform.core.internal.utils.TypeUtils;
 import com.holonplatform.core.test.data.TestClass;
@@ -644,6 +649,50 @@ public class TestUtilities {
 
 	}
 
+	@Test
+	public void testLruCache() {
+		final LruCache<Integer, String> cache = new LruCache<>(3);
+		final AtomicInteger computed = new AtomicInteger();
+		final Function<Integer, String> function = k -> {
+			computed.incrementAndGet();
+			return "v" + k;
+		};
+		assertEquals("v1", cache.get(1, function));
+		assertEquals("v2", cache.get(2, function));
+		assertEquals("v3", cache.get(3, function));
+		assertEquals("v1", cache.get(1, function));
+		assertEquals(3, computed.get());
+
+		// 2 is the least recently used entry
+		assertEquals("v4", cache.get(4, function));
+		assertEquals(3, cache.size());
+		assertEquals("v1", cache.get(1, function));
+		assertEquals("v3", cache.get(3, function));
+		assertEquals(4, computed.get());
+		assertEquals("v2", cache.get(2, function));
+		assertEquals(5, computed.get());
+
+		cache.clear();
+		assertEquals(0, cache.size());
+		assertThrows(IllegalArgumentException.class, () -> new LruCache<>(0));
+
+		final List<String> evicted = new ArrayList<>();
+		final LruCache<Integer, String> listening = new LruCache<>(2, evicted::add);
+		listening.put(1, "a");
+		listening.put(2, "b");
+		assertEquals("a", listening.remove(1));
+		assertFalse(listening.remove(2, "c"));
+		for (int i = 0; i < 10; i++) {
+			listening.put(1, "a");
+			listening.remove(1);
+		}
+		listening.put(3, "c");
+		listening.put(4, "d");
+		assertEquals(Collections.singletonList("b"), evicted);
+		assertTrue(listening.remove(4, "d"));
+		assertEquals(1, listening.size());
+	}
+
 	private static Method getMethodByName(Method[] methods, String name) {
 		for (Method m : methods) {
 			if (m.getName().equals(name)) {
@@ -17,6 +17,8 @@ package com.holonplatform.core.test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -25,13 +27,17 @@ import java.math.BigInteger;
 import java.util.Calendar;
 import java.util.Collections;
 import java.util.Date;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 import org.junit.jupiter.api.Test;
 
+import com.holonplatform.core.Validator.PatternFlag;
 import com.holonplatform.core.Validator;
 import com.holonplatform.core.Validator.UnsupportedValidationTypeException;
 import com.holonplatform.core.Validator.ValidationException;
 import com.holonplatform.core.internal.BuiltinValidator;
+import com.holonplatform.core.internal.utils.PatternCache;
 
 public class TestValidators {
 
@@ -132,6 +138,24 @@ public class TestValidators {
 		Validator.pattern("\\d+").validate("012");
 
 		assertThrows(ValidationException.class, () -> Validator.pattern("\\d+").validate("a1"));
+
+		final Validator<String> validator = Validator.pattern("[a-z]+", PatternFlag.CASE_INSENSITIVE);
+		for (int i = 0; i < 10; i++) {
+			validator.validate("aBc");
+		}
+		assertThrows(ValidationException.class, () -> validator.validate("a1"));
+
+		assertSame(PatternCache.compile("\\d+"), PatternCache.compile("\\d+"));
+		assertNotSame(PatternCache.compile("\\d+"), PatternCache.compile("\\d+", Pattern.MULTILINE));
+
+		// least recently used patterns are evicted first
+		final Pattern frequent = PatternCache.compile("[0-9]+");
+		for (int i = 0; i < 1000; i++) {
+			PatternCache.compile("p" + i);
+			assertSame(frequent, PatternCache.compile("[0-9]+"));
+		}
+
+		assertThrows(PatternSyntaxException.class, () -> Validator.pattern("[a-"));
 	}
 
 	@Test
@@ -21,11 +21,13 @@ import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.charset.Charset;
+import java.nio.file.Paths;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import com.holonplatform.core.property.PathProperty;
 import com.holonplatform.core.property.PropertyBox;
@@ -35,10 +37,12 @@ import com.holonplatform.http.HttpHeaders;
 import com.holonplatform.http.HttpStatus;
 import com.holonplatform.http.MediaType;
 import com.holonplatform.http.exceptions.UnsuccessfulResponseException;
+import com.holonplatform.http.rest.HttpResponseCache;
 import com.holonplatform.http.rest.RequestEntity;
 import com.holonplatform.http.rest.ResponseEntity;
 import com.holonplatform.http.rest.ResponseType;
 import com.holonplatform.http.rest.RestClient;
+import com.holonplatform.http.rest.RestClient.PreparedRequest;
 import com.holonplatform.http.rest.RestClient.RequestDefinition;
 
 @SuppressWarnings("unused")
@@ -107,6 +111,41 @@ public class ExampleRestClient {
 		// end::defaults[]
 	}
 
+	public void responseCache() {
+		// tag::cache[]
+		HttpResponseCache cache = HttpResponseCache.builder() // <1>
+				.maxMemorySize(20 * 1024 * 1024) // <2>
+				.maxEntrySize(512 * 1024) // <3>
+				.diskStore(Paths.get("/tmp/rest-cache"), 200 * 1024 * 1024) // <4>
+				.build();
+
+		RestClient client = RestClient.create().withResponseCache(cache); // <5>
+
+		Optional<TestData> data = client.request().target("https://rest.api.example").path("data")
+				.getForEntity(TestData.class); // <6>
+
+		double hitRatio = cache.getStatistics().getHitRatio(); // <7>
+		// end::cache[]
+	}
+
+	public void preparedRequest() {
+		// tag::prepared[]
+		RestClient client = RestClient.forTarget("https://rest.api.example");
+
+		PreparedRequest request = client.request().path("data/{id}") // <1>
+				.accept(MediaType.APPLICATION_JSON).prepare();
+
+		Optional<TestData> data = request.bind(1).getForEntity(TestData.class); // <2>
+		data = request.bind(2).getForEntity(TestData.class); // <3>
+
+		Map<String, Object> values = new HashMap<>();
+		values.put("id", 3);
+		data = request.bind(values).getForEntity(TestData.class); // <4>
+
+		PreparedRequest other = client.prepare("data/{id}/items"); // <5>
+		// end::prepared[]
+	}
+
 	static class TestData {
 
 	}
@@ -202,6 +241,14 @@ public class ExampleRestClient {
 		List<TestData> collectionOfValues = client.request().getAsList(TestData.class);
 		// end::methods6[]
 
+		// tag::methods6b[]
+		try (Stream<TestData> streamOfValues = client.request().getAsStream(TestData.class)) {
+			streamOfValues.forEach(data -> {
+				// process each value
+			});
+		}
+		// end::methods6b[]
+
 		// tag::methods7[]
 		Optional<URI> locationHeaderURI = client.request().postForLocation(RequestEntity.json(new TestData()));
 		// end::methods7[]
@@ -229,6 +276,13 @@ public class ExampleRestClient {
 
 		List<PropertyBox> boxes = client.request().target("https://rest.api.example").path("/apimethod")
 				.propertySet(PROPERTIES).getAsList(PropertyBox.class); // <3>
+
+		try (Stream<PropertyBox> stream = client.request().target("https://rest.api.example").path("/apimethod")
+				.getAsStream(PROPERTIES)) { // <4>
+			stream.forEach(b -> {
+				// process each PropertyBox
+			});
+		}
 		// end::properties[]
 	}
 
@@ -81,6 +81,16 @@ public interface CacheControl extends Serializable {
 	 */
 	Optional<String> asHeader();
 
+	/**
+	 * Parse given <code>Cache-Control</code> header value into a {@link CacheControl} instance. Unknown directives are
+	 * ignored.
+	 * @param headerValue The <code>Cache-Control</code> header value
+	 * @return The {@link CacheControl} instance, or an empty Optional if given value is <code>null</code> or empty
+	 */
+	static Optional<CacheControl> parse(String headerValue) {
+		return CacheControlDirectives.parse(headerValue);
+	}
+
 	/**
 	 * Builder to create a {@link CacheControl} instance
 	 * @return CacheControl builder
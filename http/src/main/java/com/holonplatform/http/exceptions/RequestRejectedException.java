@@ -0,0 +1,36 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.http.exceptions;
+
+/**
+ * Exception used to notify that a client request was rejected before being performed, for example because a
+ * concurrency limit was reached and the pending requests queue is full.
+ * 
+ * @since 5.2.2
+ */
+public class RequestRejectedException extends HttpClientInvocationException {
+
+	private static final long serialVersionUID = -1875306573641707226L;
+
+	/**
+	 * Constructor with error message
+	 * @param message Error message
+	 */
+	public RequestRejectedException(String message) {
+		super(message);
+	}
+
+}
@@ -162,6 +162,73 @@ public class CacheControlDirectives implements CacheControl {
 		builder.append(value);
 	}
 
+	/**
+	 * Parse given <code>Cache-Control</code> header value.
+	 * @param headerValue Header value
+	 * @return The parsed directives, or an empty Optional if given value is <code>null</code> or empty
+	 */
+	public static Optional<CacheControl> parse(String headerValue) {
+		if (headerValue == null || headerValue.trim().isEmpty()) {
+			return Optional.empty();
+		}
+		final CacheControlDirectives directives = new CacheControlDirectives();
+		for (String token : headerValue.split(",")) {
+			final String directive = token.trim();
+			if (directive.isEmpty()) {
+				continue;
+			}
+			final int idx = directive.indexOf('=');
+			final String name = ((idx > 0) ? directive.substring(0, idx) : directive).trim().toLowerCase();
+			final String value = (idx > 0) ? directive.substring(idx + 1).trim().replace("\"", "") : null;
+			switch (name) {
+			case "max-age":
+				directives.maxAge = parseSeconds(value);
+				break;
+			case "s-maxage":
+				directives.sMaxAge = parseSeconds(value);
+				break;
+			case "no-cache":
+				directives.noCache = true;
+				break;
+			case "no-store":
+				directives.noStore = true;
+				break;
+			case "no-transform":
+				directives.noTransform = true;
+				break;
+			case "must-revalidate":
+				directives.mustRevalidate = true;
+				break;
+			case "proxy-revalidate":
+				directives.proxyRevalidate = true;
+				break;
+			case "private":
+				directives.cachePrivate = true;
+				break;
+			default:
+				break;
+			}
+		}
+		return Optional.of(directives);
+	}
+
+	/**
+	 * Parse a delta-seconds directive value. Invalid values are treated as <code>0</code>, i.e. as stale.
+	 * @param value Value to parse
+	 * @return The seconds
+	 */
+	private static long parseSeconds(String value) {
+		if (value != null) {
+			try {
+				final long seconds = Long.parseLong(value);
+				return (seconds < 0) ? 0 : seconds;
+			} catch (@SuppressWarnings("unused") NumberFormatException e) {
+				// ignore
+			}
+		}
+		return 0;
+	}
+
 	public static class CacheControlBuilder implements Builder {
 
 		private final CacheControlDirectives instance = new CacheControlDirectives();
@@ -23,10 +23,16 @@ import java.util.Optional;
 import com.holonplatform.core.internal.Logger;
 import com.holonplatform.core.internal.utils.ObjectUtils;
 import com.holonplatform.http.internal.HttpLogger;
+import com.holonplatform.http.rest.HttpResponseCache;
 import com.holonplatform.http.rest.RestClient;
 
 /**
  * Abstract {@link RestClient} implementation.
+ * <p>
+ * Response caching is supported only by the subclasses which implement the {@link Invoker} response creation, see
+ * {@link #isResponseCreationSupported()}. Otherwise, {@link #withResponseCache(HttpResponseCache)} throws an
+ * {@link UnsupportedOperationException}.
+ * </p>
  *
  * @since 5.0.0
  */
@@ -47,6 +53,11 @@ public abstract class AbstractRestClient implements RestClient, Invoker {
 	 */
 	private final Map<String, String> defaultHeaders = new HashMap<>(4);
 
+	/**
+	 * Invoker which uses the response cache, if any
+	 */
+	private volatile CachingInvoker cachingInvoker;
+
 	/*
 	 * (non-Javadoc)
 	 * @see com.holonplatform.http.RestClient#setDefaultTarget(java.net.URI)
@@ -98,6 +109,31 @@ public abstract class AbstractRestClient implements RestClient, Invoker {
 		return this;
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.RestClientOperations#withResponseCache(com.holonplatform.http.rest.
+	 * HttpResponseCache)
+	 */
+	@Override
+	public RestClient withResponseCache(HttpResponseCache cache) {
+		if (cache != null && !isResponseCreationSupported()) {
+			throw new UnsupportedOperationException(
+					"The RestClient [" + getClass().getName() + "] does not support response caching");
+		}
+		this.cachingInvoker = (cache != null) ? new CachingInvoker(this, cache) : null;
+		return this;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.RestClientOperations#getResponseCache()
+	 */
+	@Override
+	public Optional<HttpResponseCache> getResponseCache() {
+		final CachingInvoker invoker = cachingInvoker;
+		return (invoker != null) ? Optional.of(invoker.getCache()) : Optional.empty();
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see com.holonplatform.http.RestClient#request()
@@ -122,7 +158,20 @@ public abstract class AbstractRestClient implements RestClient, Invoker {
 	}
 
 	/**
-	 * Build a new RequestDefinition to be used for request configuration.
+	 * Get the {@link Invoker} to use to perform the requests, which uses the response cache, if configured.
+	 * <p>
+	 * The request definitions returned by {@link #buildDefinition()} should use this invoker to perform the requests.
+	 * </p>
+	 * @return The request invoker
+	 */
+	protected Invoker getRequestInvoker() {
+		final CachingInvoker invoker = cachingInvoker;
+		return (invoker != null) ? invoker : this;
+	}
+
+	/**
+	 * Build a new RequestDefinition to be used for request configuration, using {@link #getRequestInvoker()} to
+	 * perform the requests.
 	 * @return Request definition of expected type
 	 */
 	protected abstract RequestDefinition buildDefinition();
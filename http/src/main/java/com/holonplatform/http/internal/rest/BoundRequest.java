@@ -0,0 +1,57 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.http.internal.rest;
+
+import java.net.URI;
+import java.util.Map;
+
+import com.holonplatform.http.rest.RestClient.RequestDefinition;
+
+/**
+ * A request obtained binding the URI template variable values to a {@link DefaultPreparedRequest}, as provided to an
+ * {@link Invoker}.
+ * 
+ * @since 5.2.2
+ */
+public interface BoundRequest {
+
+	/**
+	 * Get the prepared request from which this request was obtained, which provides the request headers and property
+	 * set.
+	 * @return the prepared request
+	 */
+	DefaultPreparedRequest getPreparedRequest();
+
+	/**
+	 * Get the expanded and encoded request URI, including the query parameters.
+	 * @return the request URI
+	 */
+	URI getURI();
+
+	/**
+	 * Get the template parameter values bound to this request.
+	 * @return the template parameter values, as an immutable map
+	 */
+	Map<String, Object> getTemplateParameters();
+
+	/**
+	 * Create a new {@link RequestDefinition} with the same configuration of this request, to be used by the invokers
+	 * which do not support the bound requests.
+	 * @return A new request definition
+	 */
+	RequestDefinition toRequestDefinition();
+
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.http.internal.rest;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.http.HttpMethod;
+import com.holonplatform.http.exceptions.HttpClientInvocationException;
+import com.holonplatform.http.internal.HttpLogger;
+import com.holonplatform.http.rest.RequestEntity;
+import com.holonplatform.http.rest.ResponseEntity;
+import com.holonplatform.http.rest.ResponseType;
+import com.holonplatform.http.rest.RestClient.Invocation;
+import com.holonplatform.http.rest.RestClient.PreparedRequest;
+import com.holonplatform.http.rest.RestClient.RequestDefinition;
+
+/**
+ * An immutable {@link Invocation} obtained binding the template variable values to a {@link DefaultPreparedRequest}.
+ * <p>
+ * The request URI is expanded when the invocation is created and it is available through {@link #getURI()}. The
+ * requests are performed using the {@link BoundRequest} operations of the prepared request {@link Invoker}.
+ * </p>
+ * 
+ * @since 5.2.2
+ * 
+ * @see PreparedRequest
+ */
+public class BoundRequestDefinition implements Invocation, BoundRequest {
+
+	private static final Logger LOGGER = HttpLogger.create();
+
+	private final DefaultPreparedRequest preparedRequest;
+
+	private final Map<String, Object> templateParameters;
+
+	private final URI uri;
+
+	/**
+	 * Constructor.
+	 * @param preparedRequest The prepared request (not null)
+	 * @param templateParameters The template parameter values (not null)
+	 * @throws HttpClientInvocationException If a template parameter value is missing
+	 */
+	public BoundRequestDefinition(DefaultPreparedRequest preparedRequest, Map<String, Object> templateParameters) {
+		super();
+		this.preparedRequest = preparedRequest;
+		this.templateParameters = Collections.unmodifiableMap(templateParameters);
+		this.uri = preparedRequest.buildRequestURI(templateParameters);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.internal.rest.BoundRequest#getPreparedRequest()
+	 */
+	@Override
+	public DefaultPreparedRequest getPreparedRequest() {
+		return preparedRequest;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.internal.rest.BoundRequest#getURI()
+	 */
+	@Override
+	public URI getURI() {
+		return uri;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.internal.rest.BoundRequest#getTemplateParameters()
+	 */
+	@Override
+	public Map<String, Object> getTemplateParameters() {
+		return templateParameters;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.internal.rest.BoundRequest#toRequestDefinition()
+	 */
+	@Override
+	public RequestDefinition toRequestDefinition() {
+		final RequestDefinition definition = new DefaultRequestDefinition(preparedRequest.getInvoker());
+		final URI baseRequestURI = preparedRequest.getBaseRequestURI();
+		if (baseRequestURI != null) {
+			definition.target(baseRequestURI);
+		}
+		preparedRequest.getRequestPath().ifPresent(p -> definition.path(p));
+		definition.resolve(templateParameters);
+		preparedRequest.getQueryParameters().forEach((n, v) -> definition.queryParameter(n, v));
+		definition.getHeaders().putAll(preparedRequest.getHeaders());
+		preparedRequest.getPropertySet().ifPresent(ps -> definition.propertySet(ps));
+		return definition;
+	}
+
+	// ------- Invocation
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.RestClient.Invocation#invoke(com.holonplatform.http.HttpMethod,
+	 * com.holonplatform.http.rest.RequestEntity, com.holonplatform.http.rest.ResponseType)
+	 */
+	@Override
+	public <T, R> ResponseEntity<T> invoke(HttpMethod method, RequestEntity<R> requestEntity,
+			ResponseType<T> responseType) {
+		return preparedRequest.getInvoker().invoke(this, method, requestEntity, responseType, false);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.RestClient.Invocation#invokeForSuccess(com.holonplatform.http.HttpMethod,
+	 * com.holonplatform.http.rest.RequestEntity, com.holonplatform.http.rest.ResponseType)
+	 */
+	@Override
+	public <T, R> ResponseEntity<T> invokeForSuccess(HttpMethod method, RequestEntity<R> requestEntity,
+			ResponseType<T> responseType) {
+		return preparedRequest.getInvoker().invoke(this, method, requestEntity, responseType, true);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.RestClient.Invocation#invokeForEntity(com.holonplatform.http.HttpMethod,
+	 * com.holonplatform.http.rest.RequestEntity, com.holonplatform.http.rest.ResponseType)
+	 */
+	@Override
+	public <T, R> Optional<T> invokeForEntity(HttpMethod method, RequestEntity<R> requestEntity,
+			ResponseType<T> responseType) {
+		final Invoker invoker = preparedRequest.getInvoker();
+		ResponseEntity<T> response = invoker.invoke(this, method, requestEntity, responseType, true);
+		if (response == null) {
+			throw new HttpClientInvocationException("The invoker [" + invoker + "] returned a null response");
+		}
+		try {
+			return response.getPayload();
+		} catch (Exception e) {
+			throw new HttpClientInvocationException(e);
+		} finally {
+			if (responseType != null && InputStream.class != responseType.getType()) {
+				try {
+					response.close();
+				} catch (Exception e) {
+					LOGGER.debug(() -> "Failed to close the response", e);
+				}
+			}
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.RestClient.Invocation#getAsStream(com.holonplatform.http.rest.ResponseType)
+	 */
+	@Override
+	public <T> Stream<T> getAsStream(ResponseType<T> responseType) {
+		return preparedRequest.getInvoker().invokeForStream(this, HttpMethod.GET, null, responseType);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "BoundRequest [uri=" + uri + ", headers=" + preparedRequest.getHeaders() + ", propertySet="
+				+ preparedRequest.getPropertySet().orElse(null) + "]";
+	}
+
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.http.internal.rest;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.core.property.PropertySet;
+import com.holonplatform.http.HttpMethod;
+import com.holonplatform.http.HttpStatus;
+import com.holonplatform.http.exceptions.UnsuccessfulResponseException;
+import com.holonplatform.http.rest.HttpResponseCache;
+import com.holonplatform.http.rest.HttpResponseCache.CachedResponse;
+import com.holonplatform.http.rest.RequestEntity;
+import com.holonplatform.http.rest.ResponseEntity;
+import com.holonplatform.http.rest.ResponseType;
+import com.holonplatform.http.rest.RestClient.RequestDefinition;
+
+/**
+ * {@link Invoker} which uses a {@link HttpResponseCache} to serve the cacheable requests, delegating the actual
+ * request invocations to a concrete {@link Invoker}.
+ * <p>
+ * The concrete invoker must support the {@link #createResponse(int, Map, byte[], ResponseType, PropertySet)} method,
+ * see {@link #isResponseCreationSupported()}.
+ * </p>
+ * 
+ * @since 5.2.2
+ * 
+ * @see ResponseCacheSupport
+ */
+public class CachingInvoker implements Invoker {
+
+	private final Invoker invoker;
+
+	private final ResponseCacheSupport cacheSupport;
+
+	/**
+	 * Constructor.
+	 * @param invoker Concrete invoker (not null)
+	 * @param cache Response cache (not null)
+	 */
+	public CachingInvoker(Invoker invoker, HttpResponseCache cache) {
+		super();
+		ObjectUtils.argumentNotNull(invoker, "Invoker must be not null");
+		this.invoker = invoker;
+		this.cacheSupport = new ResponseCacheSupport(cache);
+	}
+
+	/**
+	 * Get the response cache.
+	 * @return the response cache
+	 */
+	public HttpResponseCache getCache() {
+		return cacheSupport.getCache();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.internal.rest.Invoker#invoke(com.holonplatform.http.rest.RestClient.
+	 * RequestDefinition, com.holonplatform.http.HttpMethod, com.holonplatform.http.rest.RequestEntity,
+	 * com.holonplatform.http.rest.ResponseType, boolean)
+	 */
+	@Override
+	public <T, R> ResponseEntity<T> invoke(RequestDefinition requestDefinition, HttpMethod method,
+			RequestEntity<R> requestEntity, ResponseType<T> responseType, boolean onlySuccessfulStatusCode) {
+		final URI requestURI = cacheSupport.getRequestURI(requestDefinition);
+		if (requestURI == null) {
+			return invoker.invoke(requestDefinition, method, requestEntity, responseType, onlySuccessfulStatusCode);
+		}
+		if (!cacheSupport.isCacheable(requestDefinition, method, requestEntity, responseType)) {
+			final ResponseEntity<T> response = invoker.invoke(requestDefinition, requestURI, method, requestEntity,
+					responseType, onlySuccessfulStatusCode);
+			cacheSupport.invalidate(requestURI, method, response.getStatusCode());
+			return response;
+		}
+
+		final String key = ResponseCacheSupport.getCacheKey(requestURI);
+
+		final CachedResponse cached = cacheSupport.lookup(key, requestDefinition).orElse(null);
+		if (cached != null && cacheSupport.isUsable(requestDefinition, cached)) {
+			return toResponse(cached, requestDefinition, responseType, onlySuccessfulStatusCode);
+		}
+
+		// revalidate the cached response, if possible
+		final Map<String, String> conditionalHeaders = (cached != null)
+				? ResponseCacheSupport.getConditionalHeaders(cached)
+				: Collections.emptyMap();
+		final RequestDefinition request = conditionalHeaders.isEmpty() ? requestDefinition
+				: ResponseCacheSupport.copy(requestDefinition, new DefaultRequestDefinition(invoker),
+						conditionalHeaders);
+
+		final ResponseEntity<byte[]> response = invoker.invoke(request, requestURI, method, requestEntity,
+				ResponseType.of(byte[].class), false);
+		final CachedResponse served;
+		try {
+			served = cacheSupport.update(key, requestDefinition, response,
+					conditionalHeaders.isEmpty() ? null : cached);
+		} finally {
+			response.close();
+		}
+		return toResponse(served, requestDefinition, responseType, onlySuccessfulStatusCode);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.internal.rest.Invoker#invokeForStream(com.holonplatform.http.rest.RestClient.
+	 * RequestDefinition, com.holonplatform.http.HttpMethod, com.holonplatform.http.rest.RequestEntity,
+	 * com.holonplatform.http.rest.ResponseType)
+	 */
+	@Override
+	public <T, R> Stream<T> invokeForStream(RequestDefinition requestDefinition, HttpMethod method,
+			RequestEntity<R> requestEntity, ResponseType<T> elementType) {
+		// streamed responses are never cached
+		return invoker.invokeForStream(requestDefinition, method, requestEntity, elementType);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.internal.rest.Invoker#invokeForStream(com.holonplatform.http.internal.rest.
+	 * BoundRequest, com.holonplatform.http.HttpMethod, com.holonplatform.http.rest.RequestEntity,
+	 * com.holonplatform.http.rest.ResponseType)
+	 */
+	@Override
+	public <T, R> Stream<T> invokeForStream(BoundRequest request, HttpMethod method, RequestEntity<R> requestEntity,
+			ResponseType<T> elementType) {
+		// streamed responses are never cached
+		return invoker.invokeForStream(request, method, requestEntity, elementType);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.internal.rest.Invoker#readElement(com.holonplatform.http.rest.ResponseEntity,
+	 * byte[], com.holonplatform.http.rest.ResponseType)
+	 */
+	@Override
+	public <T> T readElement(ResponseEntity<?> response, byte[] element, ResponseType<T> elementType) {
+		return invoker.readElement(response, element, elementType);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.internal.rest.Invoker#createResponse(int, java.util.Map, byte[],
+	 * com.holonplatform.http.rest.ResponseType, com.holonplatform.core.property.PropertySet)
+	 */
+	@Override
+	public <T> ResponseEntity<T> createResponse(int statusCode, Map<String, List<String>> headers, byte[] body,
+			ResponseType<T> responseType, PropertySet<?> propertySet) {
+		return invoker.createResponse(statusCode, headers, body, responseType, propertySet);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.internal.rest.Invoker#isResponseCreationSupported()
+	 */
+	@Override
+	public boolean isResponseCreationSupported() {
+		return invoker.isResponseCreationSupported();
+	}
+
+	/**
+	 * Convert given cached response into a {@link ResponseEntity}.
+	 * @param <T> Response type
+	 * @param cached Cached response
+	 * @param requestDefinition Request definition
+	 * @param responseType Expected response type
+	 * @param onlySuccessfulStatusCode Whether to throw an {@link UnsuccessfulResponseException} for a non
+	 *        <code>2xx</code> status code
+	 * @return The response entity
+	 */
+	private <T> ResponseEntity<T> toResponse(CachedResponse cached, RequestDefinition requestDefinition,
+			ResponseType<T> responseType, boolean onlySuccessfulStatusCode) {
+		final ResponseEntity<T> response = createResponse(cached.getStatusCode(), cached.getHeaders(),
+				cached.getBody(), responseType, requestDefinition.getPropertySet().orElse(null));
+		if (onlySuccessfulStatusCode && !HttpStatus.isSuccessStatusCode(cached.getStatusCode())) {
+			throw new UnsuccessfulResponseException(response);
+		}
+		return response;
+	}
+
+}
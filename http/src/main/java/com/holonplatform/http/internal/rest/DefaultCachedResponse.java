@@ -0,0 +1,126 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.http.internal.rest;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.http.rest.HttpResponseCache.CachedResponse;
+
+/**
+ * Default immutable {@link CachedResponse} implementation.
+ * 
+ * @since 5.2.2
+ */
+public class DefaultCachedResponse implements CachedResponse {
+
+	private static final byte[] EMPTY = new byte[0];
+
+	private final int statusCode;
+	private final Map<String, List<String>> headers;
+	private final byte[] body;
+	private final long expirationTime;
+	private final Map<String, String> varyHeaders;
+
+	/**
+	 * Constructor.
+	 * @param statusCode Response status code
+	 * @param headers Response headers (not null)
+	 * @param body Response payload, may be <code>null</code>
+	 * @param expirationTime Freshness expiration time in milliseconds since the epoch
+	 * @param varyHeaders The <code>Vary</code> request header values, may be <code>null</code>
+	 */
+	public DefaultCachedResponse(int statusCode, Map<String, List<String>> headers, byte[] body, long expirationTime,
+			Map<String, String> varyHeaders) {
+		super();
+		ObjectUtils.argumentNotNull(headers, "Headers must be not null");
+		this.statusCode = statusCode;
+		this.headers = Collections.unmodifiableMap(headers);
+		this.body = (body != null) ? body : EMPTY;
+		this.expirationTime = expirationTime;
+		this.varyHeaders = (varyHeaders != null) ? Collections.unmodifiableMap(varyHeaders)
+				: Collections.emptyMap();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.HttpResponseCache.CachedResponse#getStatusCode()
+	 */
+	@Override
+	public int getStatusCode() {
+		return statusCode;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.HttpResponseCache.CachedResponse#getHeaders()
+	 */
+	@Override
+	public Map<String, List<String>> getHeaders() {
+		return headers;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.HttpResponseCache.CachedResponse#getBody()
+	 */
+	@Override
+	public byte[] getBody() {
+		return body;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.HttpResponseCache.CachedResponse#getExpirationTime()
+	 */
+	@Override
+	public long getExpirationTime() {
+		return expirationTime;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.HttpResponseCache.CachedResponse#getVaryHeaders()
+	 */
+	@Override
+	public Map<String, String> getVaryHeaders() {
+		return varyHeaders;
+	}
+
+	/**
+	 * Create a copy of given response using given payload.
+	 * @param response Response to copy (not null)
+	 * @param body Payload
+	 * @return A new {@link DefaultCachedResponse}
+	 */
+	public static DefaultCachedResponse withBody(CachedResponse response, byte[] body) {
+		return new DefaultCachedResponse(response.getStatusCode(), response.getHeaders(), body,
+				response.getExpirationTime(), response.getVaryHeaders());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "DefaultCachedResponse [statusCode=" + statusCode + ", size=" + body.length + ", expirationTime="
+				+ expirationTime + "]";
+	}
+
+}
@@ -0,0 +1,436 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.http.internal.rest;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.http.rest.HttpResponseCache;
+
+/**
+ * Default {@link HttpResponseCache} implementation.
+ * <p>
+ * Responses are kept in a memory tier bounded by the total payload size, using an access ordered map to evict the
+ * least recently used responses. When a disk tier is configured, the responses evicted from the memory tier are moved
+ * to a {@link FileResponseStore} and promoted back to the memory tier when requested again.
+ * </p>
+ * <p>
+ * The disk tier operations on the same key are serialized using a per-key lock, and the evicted responses are written
+ * to the disk tier outside the memory tier lock. An evicted response is written only if it was not invalidated or
+ * replaced in the meantime, so that a stale response never overwrites a more recent operation on the same key.
+ * </p>
+ * 
+ * @since 5.2.2
+ */
+public class DefaultHttpResponseCache implements HttpResponseCache {
+
+	private final long maxMemorySize;
+
+	private final long maxEntrySize;
+
+	/**
+	 * Number of disk tier locks
+	 */
+	private static final int DISK_LOCKS = 32;
+
+	private final FileResponseStore diskStore;
+
+	private final Map<String, CachedResponse> memory = new LinkedHashMap<>(16, 0.75f, true);
+
+	private long memorySize = 0;
+
+	/*
+	 * Responses evicted from the memory tier and not yet written to the disk tier, guarded by the memory lock
+	 */
+	private final Map<String, CachedResponse> pending = new HashMap<>();
+
+	/*
+	 * Number of invalidateAll operations, guarded by the memory lock
+	 */
+	private long clearCount = 0;
+
+	/*
+	 * Disk tier locks, by key hash
+	 */
+	private final Object[] diskLocks = new Object[DISK_LOCKS];
+
+	private final AtomicLong hitCount = new AtomicLong();
+	private final AtomicLong missCount = new AtomicLong();
+	private final AtomicLong revalidationCount = new AtomicLong();
+	private final AtomicLong evictionCount = new AtomicLong();
+
+	private final Statistics statistics = new Statistics() {
+
+		@Override
+		public long getHitCount() {
+			return hitCount.get();
+		}
+
+		@Override
+		public long getMissCount() {
+			return missCount.get();
+		}
+
+		@Override
+		public long getRevalidationCount() {
+			return revalidationCount.get();
+		}
+
+		@Override
+		public long getEvictionCount() {
+			return evictionCount.get();
+		}
+
+		@Override
+		public String toString() {
+			return "HttpResponseCache statistics [hits=" + getHitCount() + ", misses=" + getMissCount()
+					+ ", revalidations=" + getRevalidationCount() + ", evictions=" + getEvictionCount() + "]";
+		}
+
+	};
+
+	/**
+	 * Constructor.
+	 * @param maxMemorySize Memory tier maximum size in bytes
+	 * @param maxEntrySize Maximum cacheable payload size in bytes
+	 * @param diskStore Optional disk tier
+	 */
+	public DefaultHttpResponseCache(long maxMemorySize, long maxEntrySize, FileResponseStore diskStore) {
+		super();
+		if (maxMemorySize <= 0) {
+			throw new IllegalArgumentException("Max memory size must be greater than 0");
+		}
+		if (maxEntrySize <= 0) {
+			throw new IllegalArgumentException("Max entry size must be greater than 0");
+		}
+		this.maxMemorySize = maxMemorySize;
+		this.maxEntrySize = maxEntrySize;
+		this.diskStore = diskStore;
+		for (int i = 0; i < DISK_LOCKS; i++) {
+			diskLocks[i] = new Object();
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.HttpResponseCache#get(java.lang.String, java.util.Map)
+	 */
+	@Override
+	public Optional<CachedResponse> get(String key, Map<String, String> requestHeaders) {
+		ObjectUtils.argumentNotNull(key, "Cache key must be not null");
+		CachedResponse response;
+		synchronized (memory) {
+			response = memory.get(key);
+		}
+		if (response == null && diskStore != null) {
+			final List<Entry<String, CachedResponse>> evicted;
+			synchronized (getDiskLock(key)) {
+				response = diskStore.remove(key);
+				evicted = (response != null) ? store(key, response) : Collections.emptyList();
+			}
+			moveToDisk(evicted);
+		}
+		if (response == null || !matches(response, requestHeaders)) {
+			missCount.incrementAndGet();
+			return Optional.empty();
+		}
+		if (response.isFresh(System.currentTimeMillis())) {
+			hitCount.incrementAndGet();
+		} else {
+			missCount.incrementAndGet();
+		}
+		return Optional.of(response);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.HttpResponseCache#put(java.lang.String,
+	 * com.holonplatform.http.rest.HttpResponseCache.CachedResponse)
+	 */
+	@Override
+	public void put(String key, CachedResponse response) {
+		ObjectUtils.argumentNotNull(key, "Cache key must be not null");
+		ObjectUtils.argumentNotNull(response, "Response must be not null");
+		final List<Entry<String, CachedResponse>> evicted;
+		synchronized (getDiskLock(key)) {
+			if (diskStore != null) {
+				diskStore.invalidate(key);
+			}
+			if (response.getBody().length > maxEntrySize) {
+				removeFromMemory(key);
+				evicted = Collections.emptyList();
+			} else {
+				evicted = store(key, response);
+			}
+		}
+		moveToDisk(evicted);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.HttpResponseCache#revalidated(java.lang.String,
+	 * com.holonplatform.http.rest.HttpResponseCache.CachedResponse)
+	 */
+	@Override
+	public void revalidated(String key, CachedResponse response) {
+		revalidationCount.incrementAndGet();
+		put(key, response);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.HttpResponseCache#invalidate(java.lang.String)
+	 */
+	@Override
+	public void invalidate(String key) {
+		if (key != null) {
+			synchronized (getDiskLock(key)) {
+				removeFromMemory(key);
+				if (diskStore != null) {
+					diskStore.invalidate(key);
+				}
+			}
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.HttpResponseCache#invalidateAll()
+	 */
+	@Override
+	public void invalidateAll() {
+		synchronized (memory) {
+			memory.clear();
+			memorySize = 0;
+			pending.clear();
+			clearCount++;
+		}
+		if (diskStore != null) {
+			diskStore.clear();
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.HttpResponseCache#size()
+	 */
+	@Override
+	public int size() {
+		final int size;
+		synchronized (memory) {
+			size = memory.size();
+		}
+		return (diskStore != null) ? size + diskStore.size() : size;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.HttpResponseCache#getStatistics()
+	 */
+	@Override
+	public Statistics getStatistics() {
+		return statistics;
+	}
+
+	/**
+	 * Store given response in the memory tier, evicting the least recently used responses when the memory tier maximum
+	 * size is exceeded. Must be invoked holding the disk lock of given key.
+	 * @param key Cache key
+	 * @param response Response to store
+	 * @return The evicted responses, to be moved to the disk tier using {@link #moveToDisk(List)}
+	 */
+	private List<Entry<String, CachedResponse>> store(String key, CachedResponse response) {
+		final List<Entry<String, CachedResponse>> evicted = new ArrayList<>(2);
+		synchronized (memory) {
+			pending.remove(key);
+			final CachedResponse previous = memory.put(key, response);
+			if (previous != null) {
+				memorySize -= previous.getBody().length;
+			}
+			memorySize += response.getBody().length;
+			final Iterator<Entry<String, CachedResponse>> iterator = memory.entrySet().iterator();
+			while (memorySize > maxMemorySize && iterator.hasNext()) {
+				final Entry<String, CachedResponse> eldest = iterator.next();
+				if (eldest.getKey().equals(key)) {
+					continue;
+				}
+				iterator.remove();
+				memorySize -= eldest.getValue().getBody().length;
+				if (diskStore != null) {
+					pending.put(eldest.getKey(), eldest.getValue());
+				}
+				evicted.add(eldest);
+			}
+		}
+		return evicted;
+	}
+
+	/**
+	 * Remove the response bound to given key from the memory tier, discarding any pending disk tier write. Must be
+	 * invoked holding the disk lock of given key.
+	 * @param key Cache key
+	 */
+	private void removeFromMemory(String key) {
+		synchronized (memory) {
+			final CachedResponse removed = memory.remove(key);
+			if (removed != null) {
+				memorySize -= removed.getBody().length;
+			}
+			pending.remove(key);
+		}
+	}
+
+	/**
+	 * Move given responses evicted from the memory tier to the disk tier, if available. Must be invoked without
+	 * holding any disk lock.
+	 * @param evicted The evicted responses
+	 */
+	private void moveToDisk(List<Entry<String, CachedResponse>> evicted) {
+		for (Entry<String, CachedResponse> entry : evicted) {
+			if (diskStore != null) {
+				moveToDisk(entry.getKey(), entry.getValue());
+			} else {
+				evictionCount.incrementAndGet();
+			}
+		}
+	}
+
+	/**
+	 * Write given evicted response to the disk tier, unless it was invalidated or replaced after its eviction.
+	 * @param key Cache key
+	 * @param response Evicted response
+	 */
+	private void moveToDisk(String key, CachedResponse response) {
+		synchronized (getDiskLock(key)) {
+			final long clears;
+			synchronized (memory) {
+				if (!pending.remove(key, response)) {
+					return;
+				}
+				clears = clearCount;
+			}
+			evictionCount.addAndGet(diskStore.put(key, response));
+			final boolean cleared;
+			synchronized (memory) {
+				cleared = clearCount != clears;
+			}
+			if (cleared) {
+				// invalidateAll was performed while writing
+				diskStore.invalidate(key);
+			}
+		}
+	}
+
+	/**
+	 * Get the lock to use to serialize the disk tier operations on given key.
+	 * @param key Cache key
+	 * @return The disk lock
+	 */
+	private Object getDiskLock(String key) {
+		return diskLocks[(key.hashCode() & 0x7FFFFFFF) % DISK_LOCKS];
+	}
+
+	/**
+	 * Checks whether given cached response matches given request headers, according to the response
+	 * <code>Vary</code> header.
+	 * @param response Cached response
+	 * @param requestHeaders Request headers
+	 * @return <code>true</code> if matches
+	 */
+	private static boolean matches(CachedResponse response, Map<String, String> requestHeaders) {
+		for (Entry<String, String> vary : response.getVaryHeaders().entrySet()) {
+			final String value = ResponseCacheSupport.getRequestHeader(requestHeaders, vary.getKey());
+			if ((value == null) ? vary.getValue() != null : !value.equals(vary.getValue())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Default {@link HttpResponseCache.Builder} implementation.
+	 */
+	public static class DefaultBuilder implements HttpResponseCache.Builder {
+
+		private long maxMemorySize = DEFAULT_MAX_MEMORY_SIZE;
+		private long maxEntrySize = DEFAULT_MAX_ENTRY_SIZE;
+		private Path diskDirectory;
+		private long maxDiskSize;
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.http.rest.HttpResponseCache.Builder#maxMemorySize(long)
+		 */
+		@Override
+		public HttpResponseCache.Builder maxMemorySize(long maxMemorySize) {
+			if (maxMemorySize <= 0) {
+				throw new IllegalArgumentException("Max memory size must be greater than 0");
+			}
+			this.maxMemorySize = maxMemorySize;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.http.rest.HttpResponseCache.Builder#maxEntrySize(long)
+		 */
+		@Override
+		public HttpResponseCache.Builder maxEntrySize(long maxEntrySize) {
+			if (maxEntrySize <= 0) {
+				throw new IllegalArgumentException("Max entry size must be greater than 0");
+			}
+			this.maxEntrySize = maxEntrySize;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.http.rest.HttpResponseCache.Builder#diskStore(java.nio.file.Path, long)
+		 */
+		@Override
+		public HttpResponseCache.Builder diskStore(Path directory, long maxDiskSize) {
+			ObjectUtils.argumentNotNull(directory, "Directory must be not null");
+			if (maxDiskSize <= 0) {
+				throw new IllegalArgumentException("Max disk size must be greater than 0");
+			}
+			this.diskDirectory = directory;
+			this.maxDiskSize = maxDiskSize;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.http.rest.HttpResponseCache.Builder#build()
+		 */
+		@Override
+		public HttpResponseCache build() {
+			return new DefaultHttpResponseCache(maxMemorySize, maxEntrySize,
+					(diskDirectory != null) ? new FileResponseStore(diskDirectory, maxDiskSize) : null);
+		}
+
+	}
+
+}
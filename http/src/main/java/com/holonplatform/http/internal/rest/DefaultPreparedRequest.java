@@ -0,0 +1,227 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.http.internal.rest;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.core.property.PropertySet;
+import com.holonplatform.http.rest.RestClient.Invocation;
+import com.holonplatform.http.rest.RestClient.PreparedRequest;
+import com.holonplatform.http.rest.RestClientOperations.RequestConfiguration;
+
+/**
+ * Default {@link PreparedRequest} implementation.
+ * <p>
+ * The request URI template is parsed and the query parameters are encoded when the prepared request is created, so
+ * each invocation only expands the template variables.
+ * </p>
+ * 
+ * @since 5.2.2
+ */
+public class DefaultPreparedRequest implements PreparedRequest {
+
+	private final Invoker invoker;
+
+	private final URI baseRequestURI;
+
+	private final String requestPath;
+
+	private final UriTemplate template;
+
+	private final Map<String, Object> templateParameters;
+
+	private final Map<String, Object[]> queryParameters;
+
+	private final String query;
+
+	private final Map<String, String> headers;
+
+	private final PropertySet<?> propertySet;
+
+	/**
+	 * Client specific request data
+	 */
+	private volatile Object clientData;
+
+	/**
+	 * Constructor.
+	 * @param invoker The invoker to use to perform the requests (not null)
+	 * @param requestDefinition The request definition from which to obtain the request configuration (not null)
+	 */
+	public DefaultPreparedRequest(Invoker invoker, RequestConfiguration<?> requestDefinition) {
+		super();
+		ObjectUtils.argumentNotNull(invoker, "Invoker must be not null");
+		ObjectUtils.argumentNotNull(requestDefinition, "Request definition must be not null");
+		this.invoker = invoker;
+		this.template = UriTemplate.parse(requestDefinition.getRequestURI());
+		this.baseRequestURI = requestDefinition.getBaseRequestURI().orElse(null);
+		this.requestPath = requestDefinition.getRequestPath().orElse(null);
+		this.templateParameters = Collections.unmodifiableMap(new HashMap<>(requestDefinition.getTemplateParameters()));
+		this.queryParameters = Collections
+				.unmodifiableMap(new LinkedHashMap<>(requestDefinition.getQueryParameters()));
+		this.query = HttpConnectionInvoker.encodeQueryParameters(queryParameters, !template.containsLiteral('?'));
+		this.headers = Collections.unmodifiableMap(new LinkedHashMap<>(requestDefinition.getHeaders()));
+		this.propertySet = requestDefinition.getPropertySet().orElse(null);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.RestClient.PreparedRequest#getBaseRequestURI()
+	 */
+	@Override
+	public URI getBaseRequestURI() {
+		return baseRequestURI;
+	}
+
+	/**
+	 * Get the request path.
+	 * @return Optional request path
+	 */
+	public Optional<String> getRequestPath() {
+		return Optional.ofNullable(requestPath);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.RestClient.PreparedRequest#getRequestURI()
+	 */
+	@Override
+	public String getRequestURI() {
+		return template.getTemplate();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.RestClient.PreparedRequest#getTemplateVariables()
+	 */
+	@Override
+	public List<String> getTemplateVariables() {
+		return template.getVariableNames();
+	}
+
+	/**
+	 * Get the query parameters.
+	 * @return the query parameters, as an immutable map
+	 */
+	public Map<String, Object[]> getQueryParameters() {
+		return queryParameters;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.RestClient.PreparedRequest#getHeaders()
+	 */
+	@Override
+	public Map<String, String> getHeaders() {
+		return headers;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.RestClient.PreparedRequest#getPropertySet()
+	 */
+	@Override
+	public Optional<PropertySet<?>> getPropertySet() {
+		return Optional.ofNullable(propertySet);
+	}
+
+	/**
+	 * Get the invoker used to perform the requests.
+	 * @return the invoker
+	 */
+	public Invoker getInvoker() {
+		return invoker;
+	}
+
+	/**
+	 * Get the client specific data bound to this prepared request, for example a precomputed representation of the
+	 * request headers, creating it using given function if not available.
+	 * @param <D> Data type
+	 * @param factory The function to use to create the data (not null)
+	 * @return The client specific data
+	 */
+	@SuppressWarnings("unchecked")
+	public <D> D getClientData(Function<DefaultPreparedRequest, D> factory) {
+		Object data = clientData;
+		if (data == null) {
+			data = factory.apply(this);
+			clientData = data;
+		}
+		return (D) data;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.RestClient.PreparedRequest#bind(java.lang.Object[])
+	 */
+	@Override
+	public Invocation bind(Object... values) {
+		final List<String> names = template.getVariableNames();
+		final int count = (values != null) ? values.length : 0;
+		if (count > names.size()) {
+			throw new IllegalArgumentException("Too many template variable values: expected at most " + names.size()
+					+ ", got " + count + " for request URI template [" + template + "]");
+		}
+		final Map<String, Object> parameters = new HashMap<>(templateParameters);
+		for (int i = 0; i < count; i++) {
+			parameters.put(names.get(i), values[i]);
+		}
+		return new BoundRequestDefinition(this, parameters);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.RestClient.PreparedRequest#bind(java.util.Map)
+	 */
+	@Override
+	public Invocation bind(Map<String, ?> values) {
+		final Map<String, Object> parameters = new HashMap<>(templateParameters);
+		if (values != null) {
+			parameters.putAll(values);
+		}
+		return new BoundRequestDefinition(this, parameters);
+	}
+
+	/**
+	 * Build the request URI using given template parameter values.
+	 * @param parameters Template parameter values
+	 * @return The request URI
+	 */
+	URI buildRequestURI(Map<String, Object> parameters) {
+		final StringBuilder sb = template.expand(parameters, new StringBuilder(template.getTemplate().length() + 32));
+		sb.append(query);
+		return HttpConnectionInvoker.toURI(sb.toString());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "PreparedRequest [requestURI=" + template + ", queryParameters=" + queryParameters.keySet()
+				+ ", headers=" + headers + "]";
+	}
+
+}
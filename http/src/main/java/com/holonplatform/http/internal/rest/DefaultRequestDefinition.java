@@ -17,6 +17,7 @@ package com.holonplatform.http.internal.rest;
 
 import java.io.InputStream;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import com.holonplatform.core.internal.utils.ObjectUtils;
 import com.holonplatform.http.HttpMethod;
@@ -24,6 +25,7 @@ import com.holonplatform.http.exceptions.HttpClientInvocationException;
 import com.holonplatform.http.rest.RequestEntity;
 import com.holonplatform.http.rest.ResponseEntity;
 import com.holonplatform.http.rest.ResponseType;
+import com.holonplatform.http.rest.RestClient.PreparedRequest;
 import com.holonplatform.http.rest.RestClient.RequestDefinition;
 
 /**
@@ -107,4 +109,22 @@ public class DefaultRequestDefinition extends AbstractRequestDefinition<RequestD
 		}
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.RestClient.Invocation#getAsStream(com.holonplatform.http.rest.ResponseType)
+	 */
+	@Override
+	public <T> Stream<T> getAsStream(ResponseType<T> responseType) {
+		return invoker.invokeForStream(this, HttpMethod.GET, null, responseType);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.RestClient.RequestDefinition#prepare()
+	 */
+	@Override
+	public PreparedRequest prepare() {
+		return new DefaultPreparedRequest(invoker, this);
+	}
+
 }
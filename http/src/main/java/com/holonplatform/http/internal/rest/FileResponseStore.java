@@ -0,0 +1,324 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.http.internal.rest;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.http.internal.HttpLogger;
+import com.holonplatform.http.rest.HttpResponseCache.CachedResponse;
+
+/**
+ * Disk store for cached response payloads, which writes each payload into a file and reads it back when the response
+ * is removed from the store.
+ * <p>
+ * The response metadata (status, headers, freshness) is kept in memory, while only the payloads are stored on disk.
+ * The store is bounded by the total payload size, evicting the eldest entries. Since an entry is removed from the store
+ * when it is read, the eldest entry is also the least recently used one. The store is thread-safe and does not use
+ * any global lock: each payload is written into a new file, so concurrent operations never share a file.
+ * </p>
+ * <p>
+ * The stored files are not reused across store instances. Each store instance names its files using a unique prefix
+ * and holds a lock on a <code>.lock</code> file with the same prefix. When the store directory is first used, the
+ * files left by the store instances which no longer hold their lock, for example because the JVM was stopped, are
+ * deleted.
+ * </p>
+ * 
+ * @since 5.2.2
+ */
+public class FileResponseStore {
+
+	private static final Logger LOGGER = HttpLogger.create();
+
+	private static final String FILE_PREFIX = "holon-";
+
+	private static final String FILE_EXTENSION = ".cache";
+
+	private static final String LOCK_EXTENSION = ".lock";
+
+	private final Path directory;
+
+	private final long maxSize;
+
+	private final String instanceId = UUID.randomUUID().toString();
+
+	private final Map<String, StoredResponse> entries = new ConcurrentHashMap<>();
+
+	/*
+	 * Stored entries, in store order. Removed or replaced entries are discarded when polled, or purged when they
+	 * outnumber the stored ones.
+	 */
+	private final Queue<StoredResponse> queue = new ConcurrentLinkedQueue<>();
+
+	private final AtomicInteger queued = new AtomicInteger();
+
+	private final AtomicLong size = new AtomicLong();
+
+	private final AtomicLong sequence = new AtomicLong();
+
+	private final AtomicBoolean initialized = new AtomicBoolean();
+
+	/*
+	 * Instance lock, held while the store is in use
+	 */
+	private volatile FileLock lock;
+
+	/**
+	 * Constructor.
+	 * @param directory Store directory (not null)
+	 * @param maxSize Maximum total payload size in bytes
+	 */
+	public FileResponseStore(Path directory, long maxSize) {
+		super();
+		ObjectUtils.argumentNotNull(directory, "Directory must be not null");
+		if (maxSize <= 0) {
+			throw new IllegalArgumentException("Max disk size must be greater than 0");
+		}
+		this.directory = directory;
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * Get and remove the response bound to given key.
+	 * @param key Cache key
+	 * @return The response, or <code>null</code> if not available or if it cannot be read
+	 */
+	public CachedResponse remove(String key) {
+		final StoredResponse stored = entries.remove(key);
+		if (stored == null) {
+			return null;
+		}
+		size.addAndGet(-stored.size);
+		try {
+			return DefaultCachedResponse.withBody(stored.response, Files.readAllBytes(stored.file));
+		} catch (IOException e) {
+			LOGGER.debug(() -> "Failed to read cached response file [" + stored.file + "]", e);
+			return null;
+		} finally {
+			delete(stored.file);
+		}
+	}
+
+	/**
+	 * Store given response, evicting the eldest responses if the maximum size is exceeded.
+	 * @param key Cache key
+	 * @param response Response to store
+	 * @return The number of evicted responses
+	 */
+	public int put(String key, CachedResponse response) {
+		final byte[] body = response.getBody();
+		if (body.length > maxSize) {
+			invalidate(key);
+			return 0;
+		}
+		final Path file = directory.resolve(FILE_PREFIX + instanceId + "_" + sequence.incrementAndGet()
+				+ FILE_EXTENSION);
+		try {
+			init();
+			Files.write(file, body);
+		} catch (IOException e) {
+			LOGGER.debug(() -> "Failed to write cached response file [" + file + "]", e);
+			delete(file);
+			return 0;
+		}
+		final StoredResponse stored = new StoredResponse(key, DefaultCachedResponse.withBody(response, null), file,
+				body.length);
+		size.addAndGet(stored.size);
+		discard(entries.put(key, stored));
+		enqueue(stored);
+		int evicted = 0;
+		StoredResponse eldest;
+		while (size.get() > maxSize && (eldest = queue.poll()) != null) {
+			queued.decrementAndGet();
+			if (eldest == stored) {
+				// never evict the response just stored
+				enqueue(stored);
+				break;
+			}
+			if (entries.remove(eldest.key, eldest)) {
+				discard(eldest);
+				evicted++;
+			}
+		}
+		return evicted;
+	}
+
+	/**
+	 * Remove the response bound to given key, if any.
+	 * @param key Cache key
+	 */
+	public void invalidate(String key) {
+		discard(entries.remove(key));
+	}
+
+	/**
+	 * Remove all the stored responses.
+	 */
+	public void clear() {
+		entries.keySet().forEach(this::invalidate);
+		queue.clear();
+		queued.set(0);
+	}
+
+	/**
+	 * Get the number of stored responses.
+	 * @return Store size
+	 */
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Discard given removed entry, deleting its file.
+	 * @param stored The removed entry, may be <code>null</code>
+	 */
+	private void discard(StoredResponse stored) {
+		if (stored != null) {
+			size.addAndGet(-stored.size);
+			delete(stored.file);
+		}
+	}
+
+	/**
+	 * Queue given entry for eviction, purging the stale queued entries when they outnumber the stored ones.
+	 * @param stored The entry to queue
+	 */
+	private void enqueue(StoredResponse stored) {
+		queue.add(stored);
+		if (queued.incrementAndGet() > 2 * entries.size() + 16) {
+			queue.removeIf(e -> {
+				if (entries.get(e.key) != e) {
+					queued.decrementAndGet();
+					return true;
+				}
+				return false;
+			});
+		}
+	}
+
+	/**
+	 * Create the store directory, acquire the instance lock and delete the files left by the store instances which no
+	 * longer hold their lock. Performed only once.
+	 * @throws IOException If the store directory cannot be created
+	 */
+	private void init() throws IOException {
+		if (initialized.get()) {
+			return;
+		}
+		Files.createDirectories(directory);
+		if (initialized.compareAndSet(false, true)) {
+			try {
+				lock = FileChannel
+						.open(directory.resolve(FILE_PREFIX + instanceId + LOCK_EXTENSION), StandardOpenOption.CREATE,
+								StandardOpenOption.WRITE)
+						.lock();
+			} catch (IOException e) {
+				LOGGER.debug(() -> "Failed to lock the response store directory [" + directory + "]", e);
+			}
+			deleteStaleFiles();
+		}
+	}
+
+	/**
+	 * Delete the files of the store instances which no longer hold their lock.
+	 */
+	private void deleteStaleFiles() {
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(directory,
+				FILE_PREFIX + "*{" + FILE_EXTENSION + "," + LOCK_EXTENSION + "}")) {
+			for (Path file : files) {
+				final String name = file.getFileName().toString();
+				if (name.endsWith(FILE_EXTENSION)) {
+					final int separator = name.lastIndexOf('_');
+					final String id = (separator > 0) ? name.substring(FILE_PREFIX.length(), separator) : null;
+					if (id == null || (!instanceId.equals(id)
+							&& !Files.exists(directory.resolve(FILE_PREFIX + id + LOCK_EXTENSION)))) {
+						delete(file);
+					}
+				} else if (!name.equals(FILE_PREFIX + instanceId + LOCK_EXTENSION) && isStale(file)) {
+					final String id = name.substring(FILE_PREFIX.length(), name.length() - LOCK_EXTENSION.length());
+					try (DirectoryStream<Path> stale = Files.newDirectoryStream(directory,
+							FILE_PREFIX + id + "_*" + FILE_EXTENSION)) {
+						stale.forEach(FileResponseStore::delete);
+					}
+					delete(file);
+				}
+			}
+		} catch (IOException e) {
+			LOGGER.debug(() -> "Failed to delete the stale files of the response store directory [" + directory + "]",
+					e);
+		}
+	}
+
+	/**
+	 * Checks whether given lock file is no longer locked by its store instance.
+	 * @param lockFile The lock file
+	 * @return <code>true</code> if the lock could be acquired, and then released
+	 */
+	private static boolean isStale(Path lockFile) {
+		try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.WRITE)) {
+			final FileLock staleLock = channel.tryLock();
+			if (staleLock != null) {
+				staleLock.release();
+				return true;
+			}
+		} catch (IOException | OverlappingFileLockException e) {
+			LOGGER.debug(() -> "Cannot check the response store lock file [" + lockFile + "]", e);
+		}
+		return false;
+	}
+
+	private static void delete(Path file) {
+		try {
+			Files.deleteIfExists(file);
+		} catch (IOException e) {
+			LOGGER.debug(() -> "Failed to delete cached response file [" + file + "]", e);
+		}
+	}
+
+	private static final class StoredResponse {
+
+		final String key;
+		final CachedResponse response;
+		final Path file;
+		final int size;
+
+		StoredResponse(String key, CachedResponse response, Path file, int size) {
+			super();
+			this.key = key;
+			this.response = response;
+			this.file = file;
+			this.size = size;
+		}
+
+	}
+
+}
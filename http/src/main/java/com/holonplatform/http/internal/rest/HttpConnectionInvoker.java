@@ -0,0 +1,539 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.http.internal.rest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLConnection;
+import java.net.URLEncoder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.core.property.PropertySet;
+import com.holonplatform.core.streams.LimitedInputStream;
+import com.holonplatform.http.HttpHeaders;
+import com.holonplatform.http.HttpMethod;
+import com.holonplatform.http.HttpStatus;
+import com.holonplatform.http.MediaType;
+import com.holonplatform.http.exceptions.HttpClientInvocationException;
+import com.holonplatform.http.exceptions.HttpEntityProcessingException;
+import com.holonplatform.http.exceptions.UnsuccessfulResponseException;
+import com.holonplatform.http.internal.HttpLogger;
+import com.holonplatform.http.internal.HttpUtils;
+import com.holonplatform.http.rest.RequestEntity;
+import com.holonplatform.http.rest.ResponseEntity;
+import com.holonplatform.http.rest.ResponseType;
+import com.holonplatform.http.rest.RestClientOperations.RequestConfiguration;
+
+/**
+ * Performs client requests using the JDK {@link HttpURLConnection}.
+ * <p>
+ * Connections are pooled and reused by the JDK HTTP keep-alive cache when the response body is fully read and closed
+ * (the pool size can be configured using the <code>http.maxConnections</code> system property). Request and response
+ * bodies are streamed: an {@link InputStream} request payload is sent using the chunked transfer encoding, or using a
+ * fixed length when it is a {@link LimitedInputStream} with a known length, and an {@link InputStream} response
+ * payload is read directly from the connection.
+ * </p>
+ * <p>
+ * Supported request payload types are <code>byte[]</code>, {@link CharSequence}, {@link InputStream} and form data
+ * maps for the {@link MediaType#APPLICATION_FORM_URLENCODED} media type. No object mapping is performed, so Java beans
+ * and {@link com.holonplatform.core.property.PropertyBox} payloads are not supported: they must be serialized by the
+ * caller, for example as a JSON {@link String}, or a JSON capable {@link com.holonplatform.http.rest.RestClient}
+ * implementation, such as the JAX-RS or Spring ones, must be used.
+ * </p>
+ * <p>
+ * {@link HttpURLConnection} does not support the <code>PATCH</code> method. When the method override is enabled (see
+ * {@link #setPatchMethodOverride(boolean)}), a <code>PATCH</code> request is sent as a <code>POST</code> request with
+ * the {@link #METHOD_OVERRIDE_HEADER} header, which must be supported by the server. Otherwise, a <code>PATCH</code>
+ * request fails with a {@link HttpClientInvocationException}.
+ * </p>
+ * 
+ * @since 5.2.2
+ */
+public class HttpConnectionInvoker {
+
+	private static final Logger LOGGER = HttpLogger.create();
+
+	/**
+	 * Default chunk size for the chunked transfer encoding
+	 */
+	public static final int DEFAULT_CHUNK_SIZE = 8192;
+
+	/**
+	 * Header used to send the actual request method when the method override is enabled
+	 */
+	public static final String METHOD_OVERRIDE_HEADER = "X-HTTP-Method-Override";
+
+	private static final String APPLICATION_FORM_URLENCODED_MEDIA_TYPE = MediaType.APPLICATION_FORM_URLENCODED
+			.toString();
+
+	private static final String CHARSET_PARAMETER = "charset=";
+
+	private volatile int connectTimeout;
+	private volatile int readTimeout;
+	private volatile int chunkSize = DEFAULT_CHUNK_SIZE;
+	private volatile boolean patchMethodOverride = false;
+
+	/**
+	 * Get the connection timeout.
+	 * @return the connection timeout in milliseconds, <code>0</code> means no timeout
+	 */
+	public int getConnectTimeout() {
+		return connectTimeout;
+	}
+
+	/**
+	 * Set the connection timeout.
+	 * @param connectTimeout the connection timeout in milliseconds, <code>0</code> means no timeout
+	 */
+	public void setConnectTimeout(int connectTimeout) {
+		if (connectTimeout < 0) {
+			throw new IllegalArgumentException("Connect timeout must be greater or equal to 0");
+		}
+		this.connectTimeout = connectTimeout;
+	}
+
+	/**
+	 * Get the read timeout.
+	 * @return the read timeout in milliseconds, <code>0</code> means no timeout
+	 */
+	public int getReadTimeout() {
+		return readTimeout;
+	}
+
+	/**
+	 * Set the read timeout.
+	 * @param readTimeout the read timeout in milliseconds, <code>0</code> means no timeout
+	 */
+	public void setReadTimeout(int readTimeout) {
+		if (readTimeout < 0) {
+			throw new IllegalArgumentException("Read timeout must be greater or equal to 0");
+		}
+		this.readTimeout = readTimeout;
+	}
+
+	/**
+	 * Get the chunk size to use for streamed request bodies of unknown length.
+	 * @return the chunk size in bytes
+	 */
+	public int getChunkSize() {
+		return chunkSize;
+	}
+
+	/**
+	 * Set the chunk size to use for streamed request bodies of unknown length.
+	 * @param chunkSize the chunk size in bytes, must be greater than <code>0</code>
+	 */
+	public void setChunkSize(int chunkSize) {
+		if (chunkSize < 1) {
+			throw new IllegalArgumentException("Chunk size must be greater than 0");
+		}
+		this.chunkSize = chunkSize;
+	}
+
+	/**
+	 * Get whether the <code>PATCH</code> requests are sent as <code>POST</code> requests with the
+	 * {@link #METHOD_OVERRIDE_HEADER} header.
+	 * @return <code>true</code> if the method override is enabled
+	 */
+	public boolean isPatchMethodOverride() {
+		return patchMethodOverride;
+	}
+
+	/**
+	 * Set whether to send the <code>PATCH</code> requests as <code>POST</code> requests with the
+	 * {@link #METHOD_OVERRIDE_HEADER} header. The server must support the method override header. Default is
+	 * <code>false</code>, i.e. <code>PATCH</code> requests are not supported.
+	 * @param patchMethodOverride <code>true</code> to enable the method override
+	 */
+	public void setPatchMethodOverride(boolean patchMethodOverride) {
+		this.patchMethodOverride = patchMethodOverride;
+	}
+
+	/**
+	 * Invoke the request described by given request definition.
+	 * @param <T> Response type
+	 * @param <R> Request entity type
+	 * @param requestDefinition Request definition (not null)
+	 * @param method Request method (not null)
+	 * @param requestEntity Request message payload
+	 * @param responseType Expected response payload type (not null)
+	 * @param onlySuccessfulStatusCode <code>true</code> to return only <code>2xx</code> status code response and throw
+	 *        an {@link UnsuccessfulResponseException} otherwise, <code>false</code> to return any status code responses
+	 * @return {@link ResponseEntity} object as a result of the request invocation
+	 * @throws HttpClientInvocationException If the request invocation failed
+	 */
+	public <T, R> ResponseEntity<T> invoke(RequestConfiguration<?> requestDefinition, HttpMethod method,
+			RequestEntity<R> requestEntity, ResponseType<T> responseType, boolean onlySuccessfulStatusCode) {
+		ObjectUtils.argumentNotNull(requestDefinition, "Request definition must be not null");
+		return invoke(buildRequestURI(requestDefinition), requestDefinition.getHeaders(),
+				requestDefinition.getPropertySet().orElse(null), method, requestEntity, responseType,
+				onlySuccessfulStatusCode);
+	}
+
+	/**
+	 * Invoke the request described by given request definition, using given request URI, already built from the
+	 * request definition using {@link #buildRequestURI(RequestConfiguration)}.
+	 * @param <T> Response type
+	 * @param <R> Request entity type
+	 * @param requestDefinition Request definition (not null)
+	 * @param requestURI Request URI (not null)
+	 * @param method Request method (not null)
+	 * @param requestEntity Request message payload
+	 * @param responseType Expected response payload type (not null)
+	 * @param onlySuccessfulStatusCode <code>true</code> to return only <code>2xx</code> status code response and throw
+	 *        an {@link UnsuccessfulResponseException} otherwise, <code>false</code> to return any status code responses
+	 * @return {@link ResponseEntity} object as a result of the request invocation
+	 * @throws HttpClientInvocationException If the request invocation failed
+	 */
+	public <T, R> ResponseEntity<T> invoke(RequestConfiguration<?> requestDefinition, URI requestURI,
+			HttpMethod method, RequestEntity<R> requestEntity, ResponseType<T> responseType,
+			boolean onlySuccessfulStatusCode) {
+		ObjectUtils.argumentNotNull(requestDefinition, "Request definition must be not null");
+		ObjectUtils.argumentNotNull(requestURI, "Request URI must be not null");
+		return invoke(requestURI, requestDefinition.getHeaders(), requestDefinition.getPropertySet().orElse(null),
+				method, requestEntity, responseType, onlySuccessfulStatusCode);
+	}
+
+	/**
+	 * Invoke the request described by given bound request, using the request URI already expanded by the bound
+	 * request.
+	 * @param <T> Response type
+	 * @param <R> Request entity type
+	 * @param request Bound request (not null)
+	 * @param method Request method (not null)
+	 * @param requestEntity Request message payload
+	 * @param responseType Expected response payload type (not null)
+	 * @param onlySuccessfulStatusCode <code>true</code> to return only <code>2xx</code> status code response and throw
+	 *        an {@link UnsuccessfulResponseException} otherwise, <code>false</code> to return any status code responses
+	 * @return {@link ResponseEntity} object as a result of the request invocation
+	 * @throws HttpClientInvocationException If the request invocation failed
+	 */
+	public <T, R> ResponseEntity<T> invoke(BoundRequest request, HttpMethod method, RequestEntity<R> requestEntity,
+			ResponseType<T> responseType, boolean onlySuccessfulStatusCode) {
+		ObjectUtils.argumentNotNull(request, "Request must be not null");
+		final DefaultPreparedRequest preparedRequest = request.getPreparedRequest();
+		return invoke(request.getURI(), preparedRequest.getHeaders(), preparedRequest.getPropertySet().orElse(null),
+				method, requestEntity, responseType, onlySuccessfulStatusCode);
+	}
+
+	/**
+	 * Invoke a request.
+	 * @param <T> Response type
+	 * @param <R> Request entity type
+	 * @param uri Request URI
+	 * @param requestHeaders Request headers
+	 * @param propertySet Optional property set to use to read the response payload
+	 * @param method Request method (not null)
+	 * @param requestEntity Request message payload
+	 * @param responseType Expected response payload type (not null)
+	 * @param onlySuccessfulStatusCode Whether to return only <code>2xx</code> status code responses
+	 * @return {@link ResponseEntity} object as a result of the request invocation
+	 * @throws HttpClientInvocationException If the request invocation failed
+	 */
+	private <T, R> ResponseEntity<T> invoke(URI uri, Map<String, String> requestHeaders, PropertySet<?> propertySet,
+			HttpMethod method, RequestEntity<R> requestEntity, ResponseType<T> responseType,
+			boolean onlySuccessfulStatusCode) {
+		ObjectUtils.argumentNotNull(method, "Request method must be not null");
+		ObjectUtils.argumentNotNull(responseType, "Response type must be not null");
+
+		final boolean overrideMethod = (method == HttpMethod.PATCH);
+		if (overrideMethod && !patchMethodOverride) {
+			throw new HttpClientInvocationException("The PATCH method is not supported by HttpURLConnection "
+					+ "unless the method override is enabled");
+		}
+
+		final HttpURLConnection connection;
+		final int statusCode;
+		try {
+			connection = openConnection(uri);
+			if (overrideMethod) {
+				connection.setRequestMethod(HttpMethod.POST.getMethodName());
+				connection.setRequestProperty(METHOD_OVERRIDE_HEADER, method.getMethodName());
+			} else {
+				connection.setRequestMethod(method.getMethodName());
+			}
+			connection.setConnectTimeout(connectTimeout);
+			connection.setReadTimeout(readTimeout);
+			connection.setInstanceFollowRedirects(true);
+			connection.setUseCaches(false);
+
+			requestHeaders.forEach((n, v) -> connection.setRequestProperty(n, v));
+
+			writeRequestEntity(connection, requestHeaders, requestEntity);
+
+			statusCode = connection.getResponseCode();
+		} catch (HttpEntityProcessingException e) {
+			throw e;
+		} catch (IOException e) {
+			throw new HttpClientInvocationException("Failed to invoke request [" + method + " " + uri + "]", e);
+		}
+
+		final Map<String, List<String>> headers = getResponseHeaders(connection);
+		final InputStream body = getResponseBody(connection, statusCode);
+
+		LOGGER.debug(() -> "HttpURLConnection: [" + method + " " + uri + "] response status code: " + statusCode);
+
+		if (onlySuccessfulStatusCode && !HttpStatus.isSuccessStatusCode(statusCode)) {
+			throw new UnsuccessfulResponseException(new HttpConnectionResponseEntity<>(statusCode, headers, body,
+					ResponseType.of(byte[].class), propertySet));
+		}
+
+		return new HttpConnectionResponseEntity<>(statusCode, headers, body, responseType, propertySet);
+	}
+
+	/**
+	 * Open the connection for given URI.
+	 * @param uri Request URI
+	 * @return The HTTP connection
+	 * @throws IOException If an error occurred
+	 */
+	protected HttpURLConnection openConnection(URI uri) throws IOException {
+		final URL url = uri.toURL();
+		final URLConnection connection = url.openConnection();
+		if (!(connection instanceof HttpURLConnection)) {
+			throw new HttpClientInvocationException("Unsupported request URI protocol: " + uri);
+		}
+		return (HttpURLConnection) connection;
+	}
+
+	/**
+	 * Write the request entity, if any.
+	 * @param connection Connection
+	 * @param requestHeaders Request headers
+	 * @param requestEntity Request entity
+	 * @throws IOException If an error occurred
+	 */
+	private void writeRequestEntity(HttpURLConnection connection, Map<String, String> requestHeaders,
+			RequestEntity<?> requestEntity) throws IOException {
+		if (requestEntity == null || !requestEntity.getPayload().isPresent()) {
+			return;
+		}
+		final Object payload = requestEntity.getPayload().get();
+		final String mediaType = requestEntity.getMediaType().orElse(null);
+		if (mediaType != null && !requestHeaders.containsKey(HttpHeaders.CONTENT_TYPE)) {
+			connection.setRequestProperty(HttpHeaders.CONTENT_TYPE, mediaType);
+		}
+		connection.setDoOutput(true);
+
+		if (payload instanceof InputStream) {
+			final InputStream stream = (InputStream) payload;
+			final long length = (stream instanceof LimitedInputStream) ? ((LimitedInputStream) stream).getLength()
+					: -1;
+			if (length >= 0) {
+				connection.setFixedLengthStreamingMode(length);
+			} else {
+				connection.setChunkedStreamingMode(chunkSize);
+			}
+			try (OutputStream out = connection.getOutputStream()) {
+				if (stream instanceof LimitedInputStream) {
+					((LimitedInputStream) stream).transferTo(out);
+				} else {
+					final byte[] buffer = new byte[chunkSize];
+					int read;
+					while ((read = stream.read(buffer)) >= 0) {
+						out.write(buffer, 0, read);
+					}
+				}
+			}
+			return;
+		}
+
+		final byte[] bytes;
+		if (payload instanceof byte[]) {
+			bytes = (byte[]) payload;
+		} else if (APPLICATION_FORM_URLENCODED_MEDIA_TYPE.equals(mediaType)) {
+			bytes = encodeForm(HttpUtils.getAsMultiMap(payload)).getBytes(StandardCharsets.US_ASCII);
+		} else if (payload instanceof CharSequence) {
+			bytes = payload.toString().getBytes((mediaType != null) ? getCharset(mediaType) : StandardCharsets.UTF_8);
+		} else {
+			throw new HttpEntityProcessingException("Unsupported request entity payload type ["
+					+ payload.getClass().getName()
+					+ "]: supported types are byte[], CharSequence, InputStream and form data maps, "
+					+ "Java beans and PropertyBox payloads must be serialized by the caller");
+		}
+		connection.setFixedLengthStreamingMode(bytes.length);
+		try (OutputStream out = connection.getOutputStream()) {
+			out.write(bytes);
+		}
+	}
+
+	/**
+	 * Get the response headers, using case insensitive header names.
+	 * @param connection Connection
+	 * @return Response headers
+	 */
+	private static Map<String, List<String>> getResponseHeaders(HttpURLConnection connection) {
+		final Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+		for (Entry<String, List<String>> header : connection.getHeaderFields().entrySet()) {
+			// skip the status line
+			if (header.getKey() != null) {
+				headers.put(header.getKey(), header.getValue());
+			}
+		}
+		return Collections.unmodifiableMap(headers);
+	}
+
+	/**
+	 * Get the response body stream.
+	 * @param connection Connection
+	 * @param statusCode Response status code
+	 * @return The response body stream, <code>null</code> if none
+	 */
+	private static InputStream getResponseBody(HttpURLConnection connection, int statusCode) {
+		try {
+			return (statusCode >= 400) ? connection.getErrorStream() : connection.getInputStream();
+		} catch (IOException e) {
+			LOGGER.debug(() -> "Failed to obtain the response body stream", e);
+			final InputStream error = connection.getErrorStream();
+			return (error != null) ? error : new ByteArrayInputStream(new byte[0]);
+		}
+	}
+
+	/**
+	 * Build the request URI, expanding the template parameters and appending the query parameters.
+	 * @param requestDefinition Request definition (not null)
+	 * @return The request URI
+	 * @throws HttpClientInvocationException If the request URI is not valid or a template parameter value is missing
+	 */
+	public static URI buildRequestURI(RequestConfiguration<?> requestDefinition) {
+		final StringBuilder sb = UriTemplate.parse(requestDefinition.getRequestURI())
+				.expand(requestDefinition.getTemplateParameters(), new StringBuilder(64));
+		sb.append(encodeQueryParameters(requestDefinition.getQueryParameters(), sb.indexOf("?") < 0));
+		return toURI(sb.toString());
+	}
+
+	/**
+	 * Encode given query parameters.
+	 * @param queryParameters Query parameters
+	 * @param first Whether the query parameters are the first ones of the request URI
+	 * @return The encoded query parameters, starting with the <code>?</code> or <code>&amp;</code> separator according
+	 *         to the <code>first</code> parameter, or an empty String if none
+	 */
+	static String encodeQueryParameters(Map<String, Object[]> queryParameters, boolean first) {
+		if (queryParameters.isEmpty()) {
+			return "";
+		}
+		final StringBuilder sb = new StringBuilder();
+		boolean separator = first;
+		for (Entry<String, Object[]> parameter : queryParameters.entrySet()) {
+			for (Object value : parameter.getValue()) {
+				sb.append(separator ? '?' : '&');
+				separator = false;
+				sb.append(encodeQuery(parameter.getKey()));
+				if (value != null) {
+					sb.append('=').append(encodeQuery(value.toString()));
+				}
+			}
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Create a {@link URI} from given encoded URI String.
+	 * @param uri The encoded URI
+	 * @return The URI
+	 * @throws HttpClientInvocationException If the URI is not valid
+	 */
+	static URI toURI(String uri) {
+		try {
+			return URI.create(uri);
+		} catch (IllegalArgumentException e) {
+			throw new HttpClientInvocationException("Invalid request URI: " + uri, e);
+		}
+	}
+
+	/**
+	 * Get the charset declared by given content type, if any, UTF-8 otherwise.
+	 * @param contentType Content type
+	 * @return The charset
+	 */
+	static Charset getCharset(String contentType) {
+		if (contentType != null) {
+			final int index = contentType.toLowerCase().indexOf(CHARSET_PARAMETER);
+			if (index > -1) {
+				String charset = contentType.substring(index + CHARSET_PARAMETER.length());
+				final int end = charset.indexOf(';');
+				if (end > -1) {
+					charset = charset.substring(0, end);
+				}
+				charset = charset.trim().replace("\"", "");
+				try {
+					return Charset.forName(charset);
+				} catch (IllegalArgumentException e) {
+					LOGGER.debug(() -> "Unsupported charset [" + contentType + "], using UTF-8", e);
+				}
+			}
+		}
+		return StandardCharsets.UTF_8;
+	}
+
+	/**
+	 * Encode given form data using the <code>application/x-www-form-urlencoded</code> format.
+	 * @param data Form data
+	 * @return Encoded form data
+	 */
+	private static String encodeForm(Map<String, List<String>> data) {
+		final StringBuilder sb = new StringBuilder();
+		if (data != null) {
+			for (Entry<String, List<String>> entry : data.entrySet()) {
+				for (String value : entry.getValue()) {
+					if (sb.length() > 0) {
+						sb.append('&');
+					}
+					sb.append(encodeFormValue(entry.getKey())).append('=').append(encodeFormValue(value));
+				}
+			}
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Encode given form field name or value, using the <code>+</code> sign for spaces.
+	 * @param value Value to encode
+	 * @return Encoded value
+	 */
+	private static String encodeFormValue(String value) {
+		try {
+			return URLEncoder.encode(value, "UTF-8");
+		} catch (UnsupportedEncodingException e) {
+			throw new HttpClientInvocationException(e);
+		}
+	}
+
+	/**
+	 * Encode given query parameter name or value.
+	 * @param value Value to encode
+	 * @return Encoded value
+	 */
+	private static String encodeQuery(String value) {
+		return encodeFormValue(value).replace("+", "%20");
+	}
+
+}
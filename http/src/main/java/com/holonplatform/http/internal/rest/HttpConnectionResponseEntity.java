@@ -0,0 +1,239 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.http.internal.rest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.core.property.PropertySet;
+import com.holonplatform.http.HttpHeaders;
+import com.holonplatform.http.exceptions.HttpEntityProcessingException;
+import com.holonplatform.http.internal.HttpLogger;
+import com.holonplatform.http.rest.ResponseEntity;
+import com.holonplatform.http.rest.ResponseType;
+
+/**
+ * {@link ResponseEntity} implementation backed by a {@link java.net.HttpURLConnection} response.
+ * <p>
+ * The response body is read from the connection stream only when required. When the payload is requested as an
+ * {@link InputStream}, the connection stream is returned as is, so the body is never buffered; otherwise the body is
+ * read once, buffered and the connection stream is closed.
+ * </p>
+ * <p>
+ * Supported payload types are {@link InputStream}, <code>byte[]</code>, {@link String} and {@link Void}. No object
+ * mapping is performed, so a JSON response body cannot be read as a Java bean or a
+ * {@link com.holonplatform.core.property.PropertyBox}: it must be read as a {@link String} or a stream and converted by
+ * the caller.
+ * </p>
+ * 
+ * @param <T> Response type
+ * 
+ * @since 5.2.2
+ */
+public class HttpConnectionResponseEntity<T> implements ResponseEntity<T> {
+
+	private final int statusCode;
+	private final Map<String, List<String>> headers;
+	private final ResponseType<T> type;
+	private final PropertySet<?> propertySet;
+
+	private InputStream body;
+	private byte[] buffer;
+
+	/**
+	 * Constructor.
+	 * @param statusCode Response status code
+	 * @param headers Response headers (not null)
+	 * @param body Response body stream, may be <code>null</code> if none
+	 * @param type Response payload type (not null)
+	 * @param propertySet Optional property set to use to read the payload
+	 */
+	public HttpConnectionResponseEntity(int statusCode, Map<String, List<String>> headers, InputStream body,
+			ResponseType<T> type, PropertySet<?> propertySet) {
+		super();
+		ObjectUtils.argumentNotNull(headers, "Response headers must be not null");
+		ObjectUtils.argumentNotNull(type, "Response type must be not null");
+		this.statusCode = statusCode;
+		this.headers = headers;
+		this.body = body;
+		this.type = type;
+		this.propertySet = propertySet;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.HttpResponse#getStatusCode()
+	 */
+	@Override
+	public int getStatusCode() {
+		return statusCode;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.messaging.MessageHeaders#getHeaders()
+	 */
+	@Override
+	public Map<String, List<String>> getHeaders() {
+		return headers;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.messaging.Message#getPayload()
+	 */
+	@Override
+	public Optional<T> getPayload() throws UnsupportedOperationException {
+		return readAs(type);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.messaging.Message#getPayloadType()
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public Class<? extends T> getPayloadType() throws UnsupportedOperationException {
+		return (Class<? extends T>) type.getType();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.ResponseEntity#as(java.lang.Class)
+	 */
+	@Override
+	public <E> Optional<E> as(Class<E> entityType) {
+		ObjectUtils.argumentNotNull(entityType, "Entity type must be not null");
+		return readAs(ResponseType.of(entityType));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.ResponseEntity#as(com.holonplatform.http.rest.ResponseType)
+	 */
+	@Override
+	public <E> Optional<E> as(ResponseType<E> entityType) {
+		return readAs(entityType);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.ResponseEntity#close()
+	 */
+	@Override
+	public synchronized void close() {
+		if (body != null) {
+			try {
+				body.close();
+			} catch (IOException e) {
+				HttpLogger.create().debug(() -> "Failed to close the response stream", e);
+			}
+			body = null;
+		}
+	}
+
+	/**
+	 * Read the response payload as given type.
+	 * @param <E> Payload type
+	 * @param type Response type (not null)
+	 * @return The response payload, empty if none
+	 */
+	protected <E> Optional<E> readAs(ResponseType<E> type) {
+		ObjectUtils.argumentNotNull(type, "Response type must be not null");
+		if (propertySet != null) {
+			return propertySet.execute(() -> readResponse(type));
+		}
+		return readResponse(type);
+	}
+
+	/**
+	 * Read the response payload as given type.
+	 * @param <E> Payload type
+	 * @param type Response type
+	 * @return The response payload, empty if none
+	 */
+	@SuppressWarnings("unchecked")
+	private synchronized <E> Optional<E> readResponse(ResponseType<E> type) {
+		final Type responseType = type.getType();
+		if (Void.class == responseType) {
+			return Optional.empty();
+		}
+		try {
+			if (InputStream.class == responseType) {
+				if (buffer != null) {
+					return (Optional<E>) Optional.of(new ByteArrayInputStream(buffer));
+				}
+				final InputStream stream = body;
+				body = null;
+				return (Optional<E>) Optional.ofNullable(stream);
+			}
+			if (byte[].class == responseType) {
+				return (Optional<E>) Optional.ofNullable(getBuffer());
+			}
+			if (String.class == responseType || CharSequence.class == responseType) {
+				final byte[] bytes = getBuffer();
+				return (Optional<E>) Optional.ofNullable((bytes != null) ? new String(bytes, getCharset()) : null);
+			}
+		} catch (IOException e) {
+			throw new HttpEntityProcessingException("Failed to read HTTP entity as [" + type + "]", e);
+		}
+		throw new HttpEntityProcessingException("Unsupported response entity type [" + type
+				+ "]: supported types are InputStream, byte[], String and Void, "
+				+ "Java beans and PropertyBox payloads must be converted by the caller");
+	}
+
+	/**
+	 * Get the response body bytes, reading and closing the body stream if not already done.
+	 * @return The response body bytes, <code>null</code> if the response has no body
+	 * @throws IOException If an error occurred reading the body stream
+	 */
+	private byte[] getBuffer() throws IOException {
+		if (buffer == null && body != null) {
+			try (InputStream stream = body) {
+				final ByteArrayOutputStream out = new ByteArrayOutputStream(
+						(int) Math.max(32, Math.min(getContentLength().orElse(0L), 1 << 20)));
+				final byte[] chunk = new byte[8192];
+				int read;
+				while ((read = stream.read(chunk)) >= 0) {
+					out.write(chunk, 0, read);
+				}
+				buffer = out.toByteArray();
+			} finally {
+				body = null;
+			}
+		}
+		return buffer;
+	}
+
+	/**
+	 * Get the charset declared by the response content type, if any, UTF-8 otherwise.
+	 * @return The response charset
+	 */
+	private Charset getCharset() {
+		return getHeaderValue(HttpHeaders.CONTENT_TYPE).map(HttpConnectionInvoker::getCharset)
+				.orElse(StandardCharsets.UTF_8);
+	}
+
+}
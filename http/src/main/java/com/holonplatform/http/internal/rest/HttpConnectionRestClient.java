@@ -0,0 +1,140 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.http.internal.rest;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.core.property.PropertySet;
+import com.holonplatform.http.HttpMethod;
+import com.holonplatform.http.rest.RequestEntity;
+import com.holonplatform.http.rest.ResponseEntity;
+import com.holonplatform.http.rest.ResponseType;
+import com.holonplatform.http.rest.RestClient;
+
+/**
+ * {@link RestClient} implementation which uses the JDK {@link java.net.HttpURLConnection} to perform the requests.
+ * <p>
+ * This client does not require any additional dependency. It is registered as a
+ * {@link com.holonplatform.http.rest.RestClientFactory} with the lowest priority, so it is returned by the
+ * {@link RestClient} <code>create(...)</code> methods only when no other implementation is available. Supported
+ * request and response payload types are the ones supported by {@link HttpConnectionInvoker} and
+ * {@link HttpConnectionResponseEntity}: no JSON conversion is performed, so Java beans and
+ * {@link com.holonplatform.core.property.PropertyBox} payloads are not supported.
+ * </p>
+ * 
+ * @since 5.2.2
+ */
+public class HttpConnectionRestClient extends AbstractRestClient {
+
+	private final HttpConnectionInvoker invoker;
+
+	/**
+	 * Constructor using a default {@link HttpConnectionInvoker}.
+	 */
+	public HttpConnectionRestClient() {
+		this(new HttpConnectionInvoker());
+	}
+
+	/**
+	 * Constructor.
+	 * @param invoker The invoker to use to perform the requests (not null)
+	 */
+	public HttpConnectionRestClient(HttpConnectionInvoker invoker) {
+		super();
+		ObjectUtils.argumentNotNull(invoker, "Invoker must be not null");
+		this.invoker = invoker;
+	}
+
+	/**
+	 * Get the invoker used to perform the requests, which can be used to configure the connection timeouts.
+	 * @return the invoker
+	 */
+	public HttpConnectionInvoker getInvoker() {
+		return invoker;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.internal.rest.Invoker#invoke(com.holonplatform.http.rest.RestClient.
+	 * RequestDefinition, com.holonplatform.http.HttpMethod, com.holonplatform.http.rest.RequestEntity,
+	 * com.holonplatform.http.rest.ResponseType, boolean)
+	 */
+	@Override
+	public <T, R> ResponseEntity<T> invoke(RequestDefinition requestDefinition, HttpMethod method,
+			RequestEntity<R> requestEntity, ResponseType<T> responseType, boolean onlySuccessfulStatusCode) {
+		return invoker.invoke(requestDefinition, method, requestEntity, responseType, onlySuccessfulStatusCode);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.internal.rest.Invoker#invoke(com.holonplatform.http.rest.RestClient.
+	 * RequestDefinition, java.net.URI, com.holonplatform.http.HttpMethod, com.holonplatform.http.rest.RequestEntity,
+	 * com.holonplatform.http.rest.ResponseType, boolean)
+	 */
+	@Override
+	public <T, R> ResponseEntity<T> invoke(RequestDefinition requestDefinition, URI requestURI, HttpMethod method,
+			RequestEntity<R> requestEntity, ResponseType<T> responseType, boolean onlySuccessfulStatusCode) {
+		return invoker.invoke(requestDefinition, requestURI, method, requestEntity, responseType,
+				onlySuccessfulStatusCode);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.internal.rest.Invoker#invoke(com.holonplatform.http.internal.rest.BoundRequest,
+	 * com.holonplatform.http.HttpMethod, com.holonplatform.http.rest.RequestEntity,
+	 * com.holonplatform.http.rest.ResponseType, boolean)
+	 */
+	@Override
+	public <T, R> ResponseEntity<T> invoke(BoundRequest request, HttpMethod method, RequestEntity<R> requestEntity,
+			ResponseType<T> responseType, boolean onlySuccessfulStatusCode) {
+		return invoker.invoke(request, method, requestEntity, responseType, onlySuccessfulStatusCode);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.internal.rest.Invoker#createResponse(int, java.util.Map, byte[],
+	 * com.holonplatform.http.rest.ResponseType, com.holonplatform.core.property.PropertySet)
+	 */
+	@Override
+	public <T> ResponseEntity<T> createResponse(int statusCode, Map<String, List<String>> headers, byte[] body,
+			ResponseType<T> responseType, PropertySet<?> propertySet) {
+		return new HttpConnectionResponseEntity<>(statusCode, headers, new ByteArrayInputStream(body), responseType,
+				propertySet);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.internal.rest.Invoker#isResponseCreationSupported()
+	 */
+	@Override
+	public boolean isResponseCreationSupported() {
+		return true;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.internal.rest.AbstractRestClient#buildDefinition()
+	 */
+	@Override
+	protected RequestDefinition buildDefinition() {
+		return new DefaultRequestDefinition(getRequestInvoker());
+	}
+
+}
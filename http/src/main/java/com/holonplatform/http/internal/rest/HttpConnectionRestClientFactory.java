@@ -0,0 +1,53 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.http.internal.rest;
+
+import javax.annotation.Priority;
+
+import com.holonplatform.http.exceptions.RestClientCreationException;
+import com.holonplatform.http.rest.RestClient;
+import com.holonplatform.http.rest.RestClientFactory;
+
+/**
+ * {@link RestClientFactory} to create {@link HttpConnectionRestClient} instances.
+ * <p>
+ * This factory has the lowest priority, so that any other available {@link RestClient} implementation is preferred.
+ * </p>
+ * 
+ * @since 5.2.2
+ */
+@Priority(RestClientFactory.DEFAULT_PRIORITY + 1000)
+public class HttpConnectionRestClientFactory implements RestClientFactory {
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.RestClientFactory#getRestClientImplementationClass()
+	 */
+	@Override
+	public Class<?> getRestClientImplementationClass() {
+		return HttpConnectionRestClient.class;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.RestClientFactory#create(java.lang.ClassLoader)
+	 */
+	@Override
+	public RestClient create(ClassLoader classLoader) throws RestClientCreationException {
+		return new HttpConnectionRestClient();
+	}
+
+}
@@ -15,12 +15,26 @@
  */
 package com.holonplatform.http.internal.rest;
 
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.core.property.PropertySet;
 import com.holonplatform.http.HttpMethod;
+import com.holonplatform.http.exceptions.HttpClientInvocationException;
+import com.holonplatform.http.exceptions.HttpEntityProcessingException;
 import com.holonplatform.http.exceptions.UnsuccessfulResponseException;
 import com.holonplatform.http.rest.RequestEntity;
 import com.holonplatform.http.rest.ResponseEntity;
 import com.holonplatform.http.rest.ResponseType;
 import com.holonplatform.http.rest.RestClient.RequestDefinition;
+import com.holonplatform.http.rest.RestClientOperations.RequestConfiguration;
 
 /**
  * Invoker to perform a client request in order to consume a response using a {@link RequestDefinition}.
@@ -42,4 +56,196 @@ public interface Invoker {
 	<T, R> ResponseEntity<T> invoke(RequestDefinition requestDefinition, HttpMethod method,
 			RequestEntity<R> requestEntity, ResponseType<T> responseType, boolean onlySuccessfulStatusCode);
 
+	/**
+	 * Invoke request using current given <code>request</code> definition, expecting a JSON array response payload, and
+	 * get the array elements as a lazy {@link Stream}.
+	 * <p>
+	 * The response payload is read incrementally: each array element is parsed and converted using
+	 * {@link #readElement(ResponseEntity, byte[], ResponseType)} only when it is consumed from the stream. The response
+	 * is closed when the returned stream is closed or when the end of the array is reached.
+	 * </p>
+	 * <p>
+	 * If the request definition provides a {@link PropertySet}, each element conversion is performed in the property set
+	 * context, to support {@link PropertyBox} type elements.
+	 * </p>
+	 * @param <T> Array element type
+	 * @param <R> Request entity type
+	 * @param requestDefinition Request definition
+	 * @param method Request method
+	 * @param requestEntity Request message payload
+	 * @param elementType Expected array element type (not null)
+	 * @return A lazy {@link Stream} of the response array elements, empty for an empty response payload
+	 * @throws UnsuccessfulResponseException If the response status code is not a <code>2xx</code> status code
+	 */
+	default <T, R> Stream<T> invokeForStream(RequestDefinition requestDefinition, HttpMethod method,
+			RequestEntity<R> requestEntity, ResponseType<T> elementType) {
+		ObjectUtils.argumentNotNull(elementType, "Element type must be not null");
+		return readStream(invoke(requestDefinition, method, requestEntity, ResponseType.of(InputStream.class), true),
+				requestDefinition.getPropertySet().orElse(null), elementType);
+	}
+
+	/**
+	 * Read the JSON array payload of given response as a lazy {@link Stream} of array elements, using
+	 * {@link #readElement(ResponseEntity, byte[], ResponseType)} to convert each element when it is consumed from the
+	 * stream. The response is closed when the returned stream is closed or when the end of the array is reached.
+	 * @param <T> Array element type
+	 * @param response The response to read
+	 * @param propertySet Optional property set to use to convert the elements
+	 * @param elementType Expected array element type
+	 * @return A lazy {@link Stream} of the response array elements, empty for an empty response payload
+	 * @since 5.2.2
+	 */
+	default <T> Stream<T> readStream(ResponseEntity<InputStream> response, PropertySet<?> propertySet,
+			ResponseType<T> elementType) {
+		if (response == null) {
+			throw new HttpClientInvocationException("The invoker [" + this + "] returned a null response");
+		}
+		final InputStream body;
+		try {
+			body = response.getPayload().orElse(null);
+		} catch (RuntimeException e) {
+			response.close();
+			throw new HttpClientInvocationException(e);
+		}
+		if (body == null) {
+			response.close();
+			return Stream.empty();
+		}
+		return JsonArrayReader.stream(body, response::close).map(element -> (propertySet != null)
+				? propertySet.execute(() -> readElement(response, element, elementType))
+				: readElement(response, element, elementType));
+	}
+
+	/**
+	 * Invoke request using given <code>request</code> definition and the request URI already built from it using
+	 * {@link HttpConnectionInvoker#buildRequestURI(RequestConfiguration)}, for example to compute a response cache key.
+	 * <p>
+	 * By default, the request URI is ignored and
+	 * {@link #invoke(RequestDefinition, HttpMethod, RequestEntity, ResponseType, boolean)} is used to perform the
+	 * request. Concrete implementations can override this method to avoid building the request URI again.
+	 * </p>
+	 * @param <T> Response type
+	 * @param <R> Request entity type
+	 * @param requestDefinition Request definition
+	 * @param requestURI The request URI built from the request definition
+	 * @param method Request method
+	 * @param requestEntity Request message payload
+	 * @param responseType Expected response payload type
+	 * @param onlySuccessfulStatusCode <code>true</code> to return only <code>2xx</code> status code response and throw
+	 *        an {@link UnsuccessfulResponseException} otherwise, <code>false</code> to return any status code responses
+	 * @return {@link ResponseEntity} object as a result of the request invocation
+	 * @since 5.2.2
+	 */
+	default <T, R> ResponseEntity<T> invoke(RequestDefinition requestDefinition, URI requestURI, HttpMethod method,
+			RequestEntity<R> requestEntity, ResponseType<T> responseType, boolean onlySuccessfulStatusCode) {
+		return invoke(requestDefinition, method, requestEntity, responseType, onlySuccessfulStatusCode);
+	}
+
+	/**
+	 * Invoke a request obtained from a prepared request, using given bound request.
+	 * <p>
+	 * By default, a new {@link RequestDefinition} is obtained using {@link BoundRequest#toRequestDefinition()} and
+	 * {@link #invoke(RequestDefinition, HttpMethod, RequestEntity, ResponseType, boolean)} is used to perform the
+	 * request. Concrete implementations can override this method to use the request URI already expanded by the bound
+	 * request.
+	 * </p>
+	 * @param <T> Response type
+	 * @param <R> Request entity type
+	 * @param request Bound request
+	 * @param method Request method
+	 * @param requestEntity Request message payload
+	 * @param responseType Expected response payload type
+	 * @param onlySuccessfulStatusCode <code>true</code> to return only <code>2xx</code> status code response and throw
+	 *        an {@link UnsuccessfulResponseException} otherwise, <code>false</code> to return any status code responses
+	 * @return {@link ResponseEntity} object as a result of the request invocation
+	 * @since 5.2.2
+	 */
+	default <T, R> ResponseEntity<T> invoke(BoundRequest request, HttpMethod method, RequestEntity<R> requestEntity,
+			ResponseType<T> responseType, boolean onlySuccessfulStatusCode) {
+		return invoke(request.toRequestDefinition(), method, requestEntity, responseType, onlySuccessfulStatusCode);
+	}
+
+	/**
+	 * Invoke a request obtained from a prepared request, using given bound request, expecting a JSON array response
+	 * payload, and get the array elements as a lazy {@link Stream}.
+	 * <p>
+	 * By default, the request is performed using
+	 * {@link #invoke(BoundRequest, HttpMethod, RequestEntity, ResponseType, boolean)} and the response payload is read
+	 * using {@link #readStream(ResponseEntity, PropertySet, ResponseType)}.
+	 * </p>
+	 * @param <T> Array element type
+	 * @param <R> Request entity type
+	 * @param request Bound request
+	 * @param method Request method
+	 * @param requestEntity Request message payload
+	 * @param elementType Expected array element type (not null)
+	 * @return A lazy {@link Stream} of the response array elements, empty for an empty response payload
+	 * @throws UnsuccessfulResponseException If the response status code is not a <code>2xx</code> status code
+	 * @since 5.2.2
+	 */
+	default <T, R> Stream<T> invokeForStream(BoundRequest request, HttpMethod method, RequestEntity<R> requestEntity,
+			ResponseType<T> elementType) {
+		ObjectUtils.argumentNotNull(elementType, "Element type must be not null");
+		return readStream(invoke(request, method, requestEntity, ResponseType.of(InputStream.class), true),
+				request.getPreparedRequest().getPropertySet().orElse(null), elementType);
+	}
+
+	/**
+	 * Convert a serialized JSON array element, obtained from given <code>response</code> payload, into given element
+	 * type.
+	 * <p>
+	 * By default, only the <code>byte[]</code> and {@link String} types are supported, returning the raw JSON element
+	 * content. Concrete implementations should override this method to provide JSON deserialization.
+	 * </p>
+	 * @param <T> Element type
+	 * @param response The response from which the element was read
+	 * @param element The UTF-8 encoded JSON element
+	 * @param elementType Expected element type
+	 * @return The converted element
+	 * @throws HttpEntityProcessingException If the element cannot be converted into given type
+	 */
+	@SuppressWarnings("unchecked")
+	default <T> T readElement(ResponseEntity<?> response, byte[] element, ResponseType<T> elementType) {
+		final Type type = elementType.getType();
+		if (byte[].class == type) {
+			return (T) element;
+		}
+		if (String.class == type || CharSequence.class == type) {
+			return (T) new String(element, StandardCharsets.UTF_8);
+		}
+		throw new HttpEntityProcessingException(
+				"Failed to read JSON array element as [" + elementType + "]: no JSON converter available");
+	}
+
+	/**
+	 * Create a {@link ResponseEntity} using given response data, for example to serve a response obtained from a
+	 * response cache. The response payload is converted into the expected response type using the same conversion
+	 * strategy of the responses returned by {@link #invoke(RequestDefinition, HttpMethod, RequestEntity, ResponseType,
+	 * boolean)}.
+	 * @param <T> Response type
+	 * @param statusCode Response status code
+	 * @param headers Response headers (not null)
+	 * @param body Response payload bytes (not null)
+	 * @param responseType Expected response payload type (not null)
+	 * @param propertySet Optional property set to use to read the payload
+	 * @return The response entity
+	 * @throws UnsupportedOperationException If this invoker does not support response entity creation
+	 * @see #isResponseCreationSupported()
+	 */
+	default <T> ResponseEntity<T> createResponse(int statusCode, Map<String, List<String>> headers, byte[] body,
+			ResponseType<T> responseType, PropertySet<?> propertySet) {
+		throw new UnsupportedOperationException("The invoker [" + this + "] does not support response creation");
+	}
+
+	/**
+	 * Get whether this invoker supports the {@link #createResponse(int, Map, byte[], ResponseType, PropertySet)}
+	 * method, which is required to serve the responses obtained from a response cache. Invokers which implement the
+	 * response creation must override this method to return <code>true</code>.
+	 * @return <code>true</code> if response creation is supported, <code>false</code> otherwise (default)
+	 * @since 5.2.2
+	 */
+	default boolean isResponseCreationSupported() {
+		return false;
+	}
+
 }
@@ -0,0 +1,290 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.http.internal.rest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.http.exceptions.HttpEntityProcessingException;
+import com.holonplatform.http.internal.HttpLogger;
+
+/**
+ * Incremental reader of a JSON array, which splits the array read from an {@link InputStream} into its serialized
+ * elements, one element at a time.
+ * <p>
+ * Only the array structure is parsed: each element is returned as the raw UTF-8 JSON bytes, to be deserialized by a
+ * suitable converter. Only the bytes of the current element are kept in memory, regardless of the array size.
+ * </p>
+ * <p>
+ * An empty stream or a <code>null</code> JSON literal is read as an empty array.
+ * </p>
+ * 
+ * @since 5.2.2
+ */
+public class JsonArrayReader implements Iterator<byte[]>, AutoCloseable {
+
+	private static final Logger LOGGER = HttpLogger.create();
+
+	private static final int BUFFER_SIZE = 8192;
+
+	private final InputStream inputStream;
+
+	private final Runnable closeHandler;
+
+	private final byte[] buffer = new byte[BUFFER_SIZE];
+	private int position = 0;
+	private int limit = 0;
+
+	private byte[] element = new byte[256];
+	private int elementLength = 0;
+
+	private boolean started = false;
+	private boolean endOfArray = false;
+	private boolean finished = false;
+	private boolean closed = false;
+
+	private byte[] next;
+
+	/**
+	 * Constructor.
+	 * @param inputStream JSON array input stream (not null)
+	 * @param closeHandler Optional handler to invoke when the reader is closed
+	 */
+	public JsonArrayReader(InputStream inputStream, Runnable closeHandler) {
+		super();
+		ObjectUtils.argumentNotNull(inputStream, "InputStream must be not null");
+		this.inputStream = inputStream;
+		this.closeHandler = closeHandler;
+	}
+
+	/**
+	 * Create a lazy {@link Stream} of the serialized elements of the JSON array read from given {@link InputStream}.
+	 * <p>
+	 * The input stream is closed, and the given <code>closeHandler</code> invoked, when the returned stream is closed or
+	 * when the end of the array is reached.
+	 * </p>
+	 * @param inputStream JSON array input stream (not null)
+	 * @param closeHandler Optional handler to invoke when the stream is closed
+	 * @return The JSON array elements stream
+	 */
+	public static Stream<byte[]> stream(InputStream inputStream, Runnable closeHandler) {
+		final JsonArrayReader reader = new JsonArrayReader(inputStream, closeHandler);
+		return StreamSupport
+				.stream(Spliterators.spliteratorUnknownSize(reader, Spliterator.ORDERED | Spliterator.NONNULL), false)
+				.onClose(reader::close);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.Iterator#hasNext()
+	 */
+	@Override
+	public boolean hasNext() {
+		if (next == null && !finished) {
+			try {
+				next = readNext();
+			} catch (IOException e) {
+				close();
+				throw new UncheckedIOException("Failed to read the JSON array", e);
+			} catch (RuntimeException e) {
+				close();
+				throw e;
+			}
+			if (next == null) {
+				finished = true;
+				close();
+			}
+		}
+		return next != null;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.Iterator#next()
+	 */
+	@Override
+	public byte[] next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		final byte[] current = next;
+		next = null;
+		return current;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.AutoCloseable#close()
+	 */
+	@Override
+	public void close() {
+		if (!closed) {
+			closed = true;
+			finished = true;
+			try {
+				inputStream.close();
+			} catch (IOException e) {
+				LOGGER.debug(() -> "Failed to close the JSON array input stream", e);
+			}
+			if (closeHandler != null) {
+				closeHandler.run();
+			}
+		}
+	}
+
+	/**
+	 * Read the next array element.
+	 * @return The next element bytes, or <code>null</code> if the end of the array was reached
+	 * @throws IOException If an I/O error occurred
+	 */
+	private byte[] readNext() throws IOException {
+		if (endOfArray) {
+			return null;
+		}
+		int c;
+		if (!started) {
+			started = true;
+			c = skipWhitespaces(read());
+			// UTF-8 BOM
+			if (c == 0xEF) {
+				read();
+				read();
+				c = skipWhitespaces(read());
+			}
+			if (c == -1) {
+				return null;
+			}
+			if (c == 'n') {
+				expect("ull");
+				if (skipWhitespaces(read()) != -1) {
+					throw new HttpEntityProcessingException("Invalid JSON: unexpected content after null value");
+				}
+				return null;
+			}
+			if (c != '[') {
+				throw new HttpEntityProcessingException(
+						"Invalid JSON: expected an array but found [" + (char) c + "] as first character");
+			}
+			c = skipWhitespaces(read());
+			if (c == ']') {
+				return null;
+			}
+		} else {
+			c = skipWhitespaces(read());
+		}
+		if (c == -1) {
+			throw new HttpEntityProcessingException("Invalid JSON: unexpected end of array");
+		}
+
+		elementLength = 0;
+		int depth = 0;
+		boolean string = false;
+		boolean escape = false;
+		while (true) {
+			if (c == -1) {
+				throw new HttpEntityProcessingException("Invalid JSON: unexpected end of array");
+			}
+			if (string) {
+				if (escape) {
+					escape = false;
+				} else if (c == '\\') {
+					escape = true;
+				} else if (c == '"') {
+					string = false;
+				}
+			} else if (c == '"') {
+				string = true;
+			} else if (c == '{' || c == '[') {
+				depth++;
+			} else if (c == '}' || c == ']') {
+				if (depth == 0) {
+					if (c == '}') {
+						throw new HttpEntityProcessingException("Invalid JSON: unexpected character [}]");
+					}
+					endOfArray = true;
+					break;
+				}
+				depth--;
+			} else if (c == ',' && depth == 0) {
+				break;
+			}
+			append(c);
+			c = read();
+		}
+
+		// trim trailing whitespaces
+		while (elementLength > 0 && isWhitespace(element[elementLength - 1])) {
+			elementLength--;
+		}
+		if (elementLength == 0) {
+			throw new HttpEntityProcessingException("Invalid JSON: empty array element");
+		}
+		return Arrays.copyOf(element, elementLength);
+	}
+
+	private void expect(String chars) throws IOException {
+		for (int i = 0; i < chars.length(); i++) {
+			if (read() != chars.charAt(i)) {
+				throw new HttpEntityProcessingException("Invalid JSON: expected an array");
+			}
+		}
+	}
+
+	private void append(int c) {
+		if (elementLength == element.length) {
+			element = Arrays.copyOf(element, element.length * 2);
+		}
+		element[elementLength++] = (byte) c;
+	}
+
+	private int skipWhitespaces(int c) throws IOException {
+		int ch = c;
+		while (ch != -1 && isWhitespace((byte) ch)) {
+			ch = read();
+		}
+		return ch;
+	}
+
+	private static boolean isWhitespace(byte b) {
+		return b == ' ' || b == '\t' || b == '\n' || b == '\r';
+	}
+
+	private int read() throws IOException {
+		if (position == limit) {
+			if (closed) {
+				return -1;
+			}
+			limit = inputStream.read(buffer, 0, buffer.length);
+			position = 0;
+			if (limit <= 0) {
+				limit = 0;
+				return -1;
+			}
+		}
+		return buffer[position++] & 0xFF;
+	}
+
+}
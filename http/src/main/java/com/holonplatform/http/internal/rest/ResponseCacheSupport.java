@@ -0,0 +1,435 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.http.internal.rest;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.http.CacheControl;
+import com.holonplatform.http.HttpHeaders;
+import com.holonplatform.http.HttpMethod;
+import com.holonplatform.http.internal.HttpLogger;
+import com.holonplatform.http.internal.HttpUtils;
+import com.holonplatform.http.rest.HttpResponseCache;
+import com.holonplatform.http.rest.HttpResponseCache.CachedResponse;
+import com.holonplatform.http.rest.RequestEntity;
+import com.holonplatform.http.rest.ResponseEntity;
+import com.holonplatform.http.rest.ResponseType;
+import com.holonplatform.http.rest.RestClientOperations.RequestConfiguration;
+
+/**
+ * Support class to use a {@link HttpResponseCache} with a REST client, implementing the HTTP caching rules.
+ * <p>
+ * Only <code>GET</code> requests without a request entity are cached, using the expanded request URI as cache key.
+ * The request URI is built once for each invocation, using {@link #getRequestURI(RequestConfiguration)}, and it is
+ * then used both as cache key and to perform the request.
+ * The response freshness lifetime is obtained from the <code>max-age</code> <code>Cache-Control</code> directive or
+ * from the <code>Expires</code> header, and no heuristic freshness is applied. Stale responses are revalidated using
+ * the <code>ETag</code> and <code>Last-Modified</code> validators, if available.
+ * </p>
+ * 
+ * @since 5.2.2
+ */
+public class ResponseCacheSupport {
+
+	private static final Logger LOGGER = HttpLogger.create();
+
+	/**
+	 * Status codes which are cacheable by default
+	 */
+	private static final Set<Integer> CACHEABLE_STATUS_CODES = new HashSet<>(
+			Arrays.asList(200, 203, 300, 301, 308, 404, 405, 410, 414, 501));
+
+	/**
+	 * Not modified status code
+	 */
+	private static final int NOT_MODIFIED = 304;
+
+	private final HttpResponseCache cache;
+
+	/**
+	 * Constructor.
+	 * @param cache The response cache (not null)
+	 */
+	public ResponseCacheSupport(HttpResponseCache cache) {
+		super();
+		ObjectUtils.argumentNotNull(cache, "Response cache must be not null");
+		this.cache = cache;
+	}
+
+	/**
+	 * Get the response cache.
+	 * @return the response cache
+	 */
+	public HttpResponseCache getCache() {
+		return cache;
+	}
+
+	/**
+	 * Build the request URI of given request definition, which is used as cache key. The request URI should be built
+	 * only once for each request invocation and then used both to access the cache and to perform the request.
+	 * @param requestDefinition Request definition
+	 * @return The request URI, or <code>null</code> if it cannot be built
+	 */
+	public URI getRequestURI(RequestConfiguration<?> requestDefinition) {
+		try {
+			return HttpConnectionInvoker.buildRequestURI(requestDefinition);
+		} catch (RuntimeException e) {
+			LOGGER.debug(() -> "Cannot build the request URI to use as response cache key", e);
+			return null;
+		}
+	}
+
+	/**
+	 * Get the cache key to use for given request URI.
+	 * @param requestURI Request URI
+	 * @return The cache key
+	 */
+	public static String getCacheKey(URI requestURI) {
+		return requestURI.toString();
+	}
+
+	/**
+	 * Checks whether given request can be served from the cache.
+	 * @param requestDefinition Request definition
+	 * @param method Request method
+	 * @param requestEntity Request entity
+	 * @param responseType Expected response type
+	 * @return <code>true</code> if the request is cacheable
+	 */
+	public boolean isCacheable(RequestConfiguration<?> requestDefinition, HttpMethod method,
+			RequestEntity<?> requestEntity, ResponseType<?> responseType) {
+		if (method != HttpMethod.GET || (requestEntity != null && requestEntity.getPayload().isPresent())) {
+			return false;
+		}
+		if (responseType == null || InputStream.class == responseType.getType()) {
+			return false;
+		}
+		final Map<String, String> headers = requestDefinition.getHeaders();
+		if (getRequestHeader(headers, HttpHeaders.IF_NONE_MATCH) != null
+				|| getRequestHeader(headers, HttpHeaders.IF_MODIFIED_SINCE) != null
+				|| getRequestHeader(headers, HttpHeaders.RANGE) != null) {
+			return false;
+		}
+		return !getCacheControl(getRequestHeader(headers, HttpHeaders.CACHE_CONTROL)).map(c -> c.isNoStore())
+				.orElse(false);
+	}
+
+	/**
+	 * Invalidate the cached response for given request URI, if the request method is not a safe method and the
+	 * response status code is a <code>2xx</code> or <code>3xx</code> status code.
+	 * @param requestURI Request URI
+	 * @param method Request method
+	 * @param statusCode Response status code
+	 */
+	public void invalidate(URI requestURI, HttpMethod method, int statusCode) {
+		if (method != null && !isSafe(method) && statusCode >= 200 && statusCode < 400) {
+			cache.invalidate(getCacheKey(requestURI));
+		}
+	}
+
+	/**
+	 * Lookup a cached response for given request.
+	 * @param key Cache key
+	 * @param requestDefinition Request definition
+	 * @return The cached response, fresh or stale, if available
+	 */
+	public Optional<CachedResponse> lookup(String key, RequestConfiguration<?> requestDefinition) {
+		return cache.get(key, requestDefinition.getHeaders());
+	}
+
+	/**
+	 * Checks whether given cached response can be returned without contacting the origin server.
+	 * @param requestDefinition Request definition
+	 * @param cached Cached response
+	 * @return <code>true</code> if the cached response is fresh and the request does not require a revalidation
+	 */
+	public boolean isUsable(RequestConfiguration<?> requestDefinition, CachedResponse cached) {
+		if (!cached.isFresh(System.currentTimeMillis())) {
+			return false;
+		}
+		final Optional<CacheControl> cacheControl = getCacheControl(
+				getRequestHeader(requestDefinition.getHeaders(), HttpHeaders.CACHE_CONTROL));
+		return !cacheControl.map(c -> c.isNoCache() || c.getMaxAge() == 0).orElse(false);
+	}
+
+	/**
+	 * Get the conditional request headers to use to revalidate given cached response.
+	 * @param cached Cached response
+	 * @return The conditional headers, empty if the cached response provides no validator
+	 */
+	public static Map<String, String> getConditionalHeaders(CachedResponse cached) {
+		final Map<String, String> headers = new HashMap<>(2);
+		getResponseHeader(cached.getHeaders(), HttpHeaders.ETAG)
+				.ifPresent(v -> headers.put(HttpHeaders.IF_NONE_MATCH, v));
+		getResponseHeader(cached.getHeaders(), HttpHeaders.LAST_MODIFIED)
+				.ifPresent(v -> headers.put(HttpHeaders.IF_MODIFIED_SINCE, v));
+		return headers;
+	}
+
+	/**
+	 * Update the cache using given response, obtained invoking the request with the given cache key.
+	 * <p>
+	 * If the response is a <code>304 Not Modified</code> response to a revalidation request, the <code>cached</code>
+	 * response is updated using the new response headers and returned. Otherwise, the response is stored in cache if
+	 * allowed. The responses to requests which carry an <code>Authorization</code> header are stored only if the
+	 * response explicitly allows it, i.e. using the <code>public</code>, <code>s-maxage</code> or
+	 * <code>must-revalidate</code> cache directives, since the cache key does not include the request credentials.
+	 * </p>
+	 * @param key Cache key
+	 * @param requestDefinition Request definition
+	 * @param response Response (not null)
+	 * @param cached The cached response which was revalidated, if any
+	 * @return The response to serve
+	 */
+	public CachedResponse update(String key, RequestConfiguration<?> requestDefinition, ResponseEntity<byte[]> response,
+			CachedResponse cached) {
+		final long now = System.currentTimeMillis();
+		if (response.getStatusCode() == NOT_MODIFIED && cached != null) {
+			final Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+			headers.putAll(cached.getHeaders());
+			response.getHeaders().forEach((n, v) -> {
+				// the cached payload is not replaced
+				if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(n)) {
+					headers.put(n, v);
+				}
+			});
+			final CachedResponse revalidated = new DefaultCachedResponse(cached.getStatusCode(), headers,
+					cached.getBody(), getExpirationTime(headers, now), cached.getVaryHeaders());
+			cache.revalidated(key, revalidated);
+			return revalidated;
+		}
+
+		final Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+		headers.putAll(response.getHeaders());
+		final byte[] body = response.getPayload().orElse(null);
+		final long expirationTime = getExpirationTime(headers, now);
+
+		final Map<String, String> varyHeaders = getVaryHeaders(requestDefinition.getHeaders(), headers);
+		final CachedResponse entry = new DefaultCachedResponse(response.getStatusCode(), headers, body, expirationTime,
+				varyHeaders);
+
+		if (varyHeaders != null && isStorable(entry, now) && isShareable(requestDefinition.getHeaders(), headers)) {
+			cache.put(key, entry);
+		} else {
+			cache.invalidate(key);
+		}
+		return entry;
+	}
+
+	/**
+	 * Copy the configuration of given <code>source</code> request definition into the <code>target</code> request
+	 * definition, adding given additional headers. The source request definition is not modified.
+	 * @param <R> Target request definition type
+	 * @param source Source request definition
+	 * @param target Target request definition
+	 * @param additionalHeaders Additional request headers
+	 * @return The target request definition
+	 */
+	public static <R extends RequestConfiguration<R>> R copy(RequestConfiguration<?> source, R target,
+			Map<String, String> additionalHeaders) {
+		source.getBaseRequestURI().ifPresent(u -> target.target(u));
+		source.getRequestPath().ifPresent(p -> target.path(p));
+		target.resolve(source.getTemplateParameters());
+		source.getQueryParameters().forEach((n, v) -> target.queryParameter(n, v));
+		target.getHeaders().putAll(source.getHeaders());
+		target.getHeaders().putAll(additionalHeaders);
+		source.getPropertySet().ifPresent(ps -> target.propertySet(ps));
+		return target;
+	}
+
+	/**
+	 * Checks whether given response can be stored in cache.
+	 * @param response Response
+	 * @param now Current time
+	 * @return <code>true</code> if the response is storable
+	 */
+	private static boolean isStorable(CachedResponse response, long now) {
+		if (!CACHEABLE_STATUS_CODES.contains(response.getStatusCode())) {
+			return false;
+		}
+		final Optional<CacheControl> cacheControl = getCacheControl(
+				getResponseHeader(response.getHeaders(), HttpHeaders.CACHE_CONTROL).orElse(null));
+		if (cacheControl.map(c -> c.isNoStore()).orElse(false)) {
+			return false;
+		}
+		return response.isFresh(now) || !getConditionalHeaders(response).isEmpty();
+	}
+
+	/**
+	 * Checks whether a response with given headers, obtained using a request with given headers, can be shared with
+	 * any other request with the same cache key. A response to a request which carries an <code>Authorization</code>
+	 * header is shareable only if the response <code>Cache-Control</code> header contains the <code>public</code>,
+	 * <code>s-maxage</code> or <code>must-revalidate</code> directives.
+	 * @param requestHeaders Request headers
+	 * @param responseHeaders Response headers
+	 * @return <code>true</code> if the response is shareable
+	 */
+	private static boolean isShareable(Map<String, String> requestHeaders, Map<String, List<String>> responseHeaders) {
+		if (getRequestHeader(requestHeaders, HttpHeaders.AUTHORIZATION) == null) {
+			return true;
+		}
+		final String value = getResponseHeader(responseHeaders, HttpHeaders.CACHE_CONTROL).orElse(null);
+		if (value == null) {
+			return false;
+		}
+		for (String directive : value.split(",")) {
+			final String name = directive.trim().toLowerCase(Locale.ENGLISH);
+			if ("public".equals(name) || "must-revalidate".equals(name) || name.startsWith("s-maxage")) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Get the freshness expiration time of a response with given headers.
+	 * @param headers Response headers
+	 * @param now Response time
+	 * @return Expiration time in milliseconds since the epoch, <code>now</code> if the response is already stale
+	 */
+	private static long getExpirationTime(Map<String, List<String>> headers, long now) {
+		final Optional<CacheControl> cacheControl = getCacheControl(
+				getResponseHeader(headers, HttpHeaders.CACHE_CONTROL).orElse(null));
+		if (cacheControl.isPresent()) {
+			if (cacheControl.get().isNoCache()) {
+				return now;
+			}
+			final long maxAge = cacheControl.get().getMaxAge();
+			if (maxAge >= 0) {
+				final long age = getResponseHeader(headers, HttpHeaders.AGE).map(ResponseCacheSupport::parseSeconds)
+						.orElse(0L);
+				return now + Math.max(0, maxAge - age) * 1000L;
+			}
+		}
+		final Date expires = getResponseHeader(headers, HttpHeaders.EXPIRES).map(HttpUtils::parseHeaderDate)
+				.orElse(null);
+		if (expires != null) {
+			final long date = getResponseHeader(headers, HttpHeaders.DATE).map(HttpUtils::parseHeaderDate)
+					.map(Date::getTime).orElse(now);
+			return now + Math.max(0, expires.getTime() - date);
+		}
+		// no explicit freshness lifetime, heuristic freshness is not supported
+		return now;
+	}
+
+	/**
+	 * Get the request header values listed in the response <code>Vary</code> header.
+	 * @param requestHeaders Request headers
+	 * @param responseHeaders Response headers
+	 * @return The request header values by lower case name, <code>null</code> if the response varies on any header
+	 */
+	private static Map<String, String> getVaryHeaders(Map<String, String> requestHeaders,
+			Map<String, List<String>> responseHeaders) {
+		final List<String> vary = responseHeaders.get(HttpHeaders.VARY);
+		if (vary == null || vary.isEmpty()) {
+			return Collections.emptyMap();
+		}
+		final Map<String, String> values = new HashMap<>(4);
+		for (String value : vary) {
+			for (String name : value.split(",")) {
+				final String header = name.trim();
+				if ("*".equals(header)) {
+					return null;
+				}
+				if (!header.isEmpty()) {
+					values.put(header.toLowerCase(Locale.ENGLISH), getRequestHeader(requestHeaders, header));
+				}
+			}
+		}
+		return values;
+	}
+
+	/**
+	 * Get a request header value, using a case insensitive header name lookup.
+	 * @param headers Request headers
+	 * @param name Header name
+	 * @return The header value, <code>null</code> if not present
+	 */
+	static String getRequestHeader(Map<String, String> headers, String name) {
+		if (headers == null || headers.isEmpty()) {
+			return null;
+		}
+		final String value = headers.get(name);
+		if (value != null) {
+			return value;
+		}
+		for (Entry<String, String> header : headers.entrySet()) {
+			if (name.equalsIgnoreCase(header.getKey())) {
+				return header.getValue();
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Get the first value of a response header.
+	 * @param headers Response headers, using case insensitive names
+	 * @param name Header name
+	 * @return The header value, if available
+	 */
+	private static Optional<String> getResponseHeader(Map<String, List<String>> headers, String name) {
+		final List<String> values = headers.get(name);
+		return (values == null || values.isEmpty()) ? Optional.empty() : Optional.ofNullable(values.get(0));
+	}
+
+	/**
+	 * Parse a <code>Cache-Control</code> header value, if not <code>null</code>.
+	 * @param value Header value
+	 * @return The parsed {@link CacheControl}, if available
+	 */
+	private static Optional<CacheControl> getCacheControl(String value) {
+		return (value != null) ? CacheControl.parse(value) : Optional.empty();
+	}
+
+	/**
+	 * Parse a delta seconds value.
+	 * @param value Value to parse
+	 * @return Parsed seconds, <code>0</code> if not valid
+	 */
+	private static long parseSeconds(String value) {
+		try {
+			return Math.max(0, Long.parseLong(value.trim()));
+		} catch (@SuppressWarnings("unused") NumberFormatException e) {
+			return 0;
+		}
+	}
+
+	/**
+	 * Checks whether given method is a safe method, which does not invalidate the cached responses.
+	 * @param method Request method
+	 * @return <code>true</code> if safe
+	 */
+	private static boolean isSafe(HttpMethod method) {
+		return method == HttpMethod.GET || method == HttpMethod.HEAD || method == HttpMethod.OPTIONS
+				|| method == HttpMethod.TRACE;
+	}
+
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.http.internal.rest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.http.exceptions.HttpClientInvocationException;
+
+/**
+ * A parsed URI template, using the <code>{name}</code> syntax to declare the template variables.
+ * <p>
+ * The template is parsed once and can be expanded many times. The literal template parts are used as they are, while
+ * the variable values are encoded as URI path values.
+ * </p>
+ * 
+ * @since 5.2.2
+ */
+public class UriTemplate {
+
+	private final String template;
+
+	/**
+	 * Literal parts, one more than the variables
+	 */
+	private final String[] literals;
+
+	/**
+	 * Variable names, in template order
+	 */
+	private final String[] variables;
+
+	/**
+	 * Distinct variable names, in template order
+	 */
+	private final List<String> variableNames;
+
+	/**
+	 * Constructor.
+	 * @param template Template
+	 * @param literals Literal parts
+	 * @param variables Variable names
+	 */
+	private UriTemplate(String template, String[] literals, String[] variables) {
+		super();
+		this.template = template;
+		this.literals = literals;
+		this.variables = variables;
+		final List<String> names = new ArrayList<>(variables.length);
+		for (String variable : variables) {
+			if (!names.contains(variable)) {
+				names.add(variable);
+			}
+		}
+		this.variableNames = Collections.unmodifiableList(names);
+	}
+
+	/**
+	 * Parse given URI template.
+	 * @param template The template to parse (not null)
+	 * @return The parsed template
+	 * @throws HttpClientInvocationException If the template is not valid
+	 */
+	public static UriTemplate parse(String template) {
+		ObjectUtils.argumentNotNull(template, "URI template must be not null");
+		final List<String> literals = new ArrayList<>(4);
+		final List<String> variables = new ArrayList<>(4);
+		int index = 0;
+		while (true) {
+			final int start = template.indexOf('{', index);
+			if (start < 0) {
+				literals.add(template.substring(index));
+				break;
+			}
+			final int end = template.indexOf('}', start);
+			if (end < 0) {
+				throw new HttpClientInvocationException("Invalid request URI template: " + template);
+			}
+			literals.add(template.substring(index, start));
+			variables.add(template.substring(start + 1, end));
+			index = end + 1;
+		}
+		return new UriTemplate(template, literals.toArray(new String[literals.size()]),
+				variables.toArray(new String[variables.size()]));
+	}
+
+	/**
+	 * Get the template.
+	 * @return the template
+	 */
+	public String getTemplate() {
+		return template;
+	}
+
+	/**
+	 * Get the distinct template variable names, in the order they are declared in the template.
+	 * @return the variable names, empty if none
+	 */
+	public List<String> getVariableNames() {
+		return variableNames;
+	}
+
+	/**
+	 * Checks whether the literal template parts contain given character.
+	 * @param c The character to look for
+	 * @return <code>true</code> if found
+	 */
+	public boolean containsLiteral(char c) {
+		for (String literal : literals) {
+			if (literal.indexOf(c) > -1) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Expand the template using given variable values, appending the result to given {@link StringBuilder}.
+	 * @param values Variable values, by name
+	 * @param sb The builder to which to append the expanded template
+	 * @return The builder
+	 * @throws HttpClientInvocationException If a variable value is missing
+	 */
+	public StringBuilder expand(Map<String, ?> values, StringBuilder sb) {
+		sb.append(literals[0]);
+		for (int i = 0; i < variables.length; i++) {
+			final Object value = values.get(variables[i]);
+			if (value == null) {
+				throw new HttpClientInvocationException(
+						"Missing value for URI template parameter [" + variables[i] + "]");
+			}
+			sb.append(encodePath(value.toString()));
+			sb.append(literals[i + 1]);
+		}
+		return sb;
+	}
+
+	/**
+	 * Encode given URI path value, escaping the characters not allowed in a URI path.
+	 * @param value Value to encode
+	 * @return Encoded value
+	 */
+	static String encodePath(String value) {
+		final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		final StringBuilder sb = new StringBuilder(bytes.length + 8);
+		for (byte b : bytes) {
+			final int c = b & 0xFF;
+			if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+					|| "-._~!$&'()*+,;=:@/".indexOf(c) > -1) {
+				sb.append((char) c);
+			} else {
+				sb.append('%').append(Character.toUpperCase(Character.forDigit(c >> 4, 16)))
+						.append(Character.toUpperCase(Character.forDigit(c & 0xF, 16)));
+			}
+		}
+		return sb.toString();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return template;
+	}
+
+}
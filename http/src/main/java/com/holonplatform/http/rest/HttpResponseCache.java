@@ -0,0 +1,252 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.http.rest;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.holonplatform.http.internal.rest.DefaultHttpResponseCache;
+
+/**
+ * A client side HTTP response cache, which can be used with a {@link RestClient} or an <code>AsyncRestClient</code>
+ * to avoid network round trips for responses which are still fresh and to revalidate stale responses using
+ * conditional requests.
+ * <p>
+ * Only <code>GET</code> requests are cached. The cached response freshness is computed from the
+ * <code>Cache-Control</code> <code>max-age</code> directive or from the <code>Expires</code> header. Stale responses which provide an
+ * <code>ETag</code> or a <code>Last-Modified</code> header are revalidated using the <code>If-None-Match</code> and
+ * <code>If-Modified-Since</code> request headers, and the cached payload is reused when the server replies with a
+ * <code>304 Not Modified</code> status. The <code>no-store</code> directive disables caching, while the
+ * <code>no-cache</code> directive always requires revalidation. The <code>Vary</code> response header is honored.
+ * </p>
+ * <p>
+ * The default implementation stores the responses in a bounded memory tier with LRU eviction and, optionally, in a
+ * disk tier backed by files, where the responses evicted from the memory tier are moved.
+ * </p>
+ * 
+ * @since 5.2.2
+ * 
+ * @see RestClientOperations#withResponseCache(HttpResponseCache)
+ */
+public interface HttpResponseCache {
+
+	/**
+	 * Default memory tier maximum size, in bytes
+	 */
+	public static final long DEFAULT_MAX_MEMORY_SIZE = 10 * 1024 * 1024;
+
+	/**
+	 * Default maximum size of a cacheable response payload, in bytes
+	 */
+	public static final long DEFAULT_MAX_ENTRY_SIZE = 1024 * 1024;
+
+	/**
+	 * Get the cached response bound to given key, if available and if it matches given request headers according to
+	 * the response <code>Vary</code> header. The returned response may be stale.
+	 * <p>
+	 * A <em>hit</em> is recorded if the response is available and fresh, a <em>miss</em> otherwise.
+	 * </p>
+	 * @param key Cache key, i.e. the full request URI (not null)
+	 * @param requestHeaders The request headers
+	 * @return The cached response, or an empty Optional if not available
+	 */
+	Optional<CachedResponse> get(String key, Map<String, String> requestHeaders);
+
+	/**
+	 * Cache given response, replacing any previously cached response bound to the same key.
+	 * @param key Cache key, i.e. the full request URI (not null)
+	 * @param response The response to cache (not null)
+	 */
+	void put(String key, CachedResponse response);
+
+	/**
+	 * Replace a stale cached response with given response, after a successful revalidation. A <em>revalidation</em>
+	 * is recorded.
+	 * @param key Cache key, i.e. the full request URI (not null)
+	 * @param response The revalidated response (not null)
+	 */
+	void revalidated(String key, CachedResponse response);
+
+	/**
+	 * Discard the cached response bound to given key, if any.
+	 * @param key Cache key, i.e. the full request URI
+	 */
+	void invalidate(String key);
+
+	/**
+	 * Discard all the cached responses.
+	 */
+	void invalidateAll();
+
+	/**
+	 * Get the number of cached responses.
+	 * @return Cache size
+	 */
+	int size();
+
+	/**
+	 * Get the cache statistics.
+	 * @return Cache statistics
+	 */
+	Statistics getStatistics();
+
+	/**
+	 * Create a new memory-only {@link HttpResponseCache} with default maximum sizes.
+	 * @return A new HttpResponseCache
+	 * @see #DEFAULT_MAX_MEMORY_SIZE
+	 * @see #DEFAULT_MAX_ENTRY_SIZE
+	 */
+	static HttpResponseCache create() {
+		return builder().build();
+	}
+
+	/**
+	 * Get a builder to create and configure a new {@link HttpResponseCache}.
+	 * @return HttpResponseCache builder
+	 */
+	static Builder builder() {
+		return new DefaultHttpResponseCache.DefaultBuilder();
+	}
+
+	/**
+	 * A cached HTTP response.
+	 */
+	public interface CachedResponse {
+
+		/**
+		 * Get the response status code.
+		 * @return the status code
+		 */
+		int getStatusCode();
+
+		/**
+		 * Get the response headers.
+		 * @return the response headers
+		 */
+		Map<String, List<String>> getHeaders();
+
+		/**
+		 * Get the response payload.
+		 * @return the response payload bytes, empty if none
+		 */
+		byte[] getBody();
+
+		/**
+		 * Get the time until which the response is fresh.
+		 * @return the expiration time, in milliseconds since the epoch
+		 */
+		long getExpirationTime();
+
+		/**
+		 * Get the values of the request headers listed in the response <code>Vary</code> header, at the time the
+		 * response was cached.
+		 * @return The <code>Vary</code> request header values, by lower case header name
+		 */
+		Map<String, String> getVaryHeaders();
+
+		/**
+		 * Get whether the response is fresh at given time.
+		 * @param time Time in milliseconds since the epoch
+		 * @return <code>true</code> if the response is fresh
+		 */
+		default boolean isFresh(long time) {
+			return time < getExpirationTime();
+		}
+
+	}
+
+	/**
+	 * Response cache statistics.
+	 */
+	public interface Statistics {
+
+		/**
+		 * Get the number of lookups which returned a fresh cached response.
+		 * @return Hit count
+		 */
+		long getHitCount();
+
+		/**
+		 * Get the number of lookups which did not return a fresh cached response.
+		 * @return Miss count
+		 */
+		long getMissCount();
+
+		/**
+		 * Get the number of stale responses successfully revalidated with a <code>304 Not Modified</code> response.
+		 * @return Revalidation count
+		 */
+		long getRevalidationCount();
+
+		/**
+		 * Get the number of responses evicted from the cache because its maximum size was reached.
+		 * @return Eviction count
+		 */
+		long getEvictionCount();
+
+		/**
+		 * Get the ratio of lookups which returned a fresh cached response.
+		 * @return Hit ratio, from <code>0</code> to <code>1</code>
+		 */
+		default double getHitRatio() {
+			final long lookups = getHitCount() + getMissCount();
+			return (lookups == 0) ? 0d : ((double) getHitCount()) / lookups;
+		}
+
+	}
+
+	/**
+	 * {@link HttpResponseCache} builder.
+	 */
+	public interface Builder {
+
+		/**
+		 * Set the maximum size of the memory tier, i.e. the maximum total size of the cached response payloads kept in
+		 * memory.
+		 * @param maxMemorySize Maximum size in bytes, must be greater than <code>0</code>
+		 * @return this
+		 */
+		Builder maxMemorySize(long maxMemorySize);
+
+		/**
+		 * Set the maximum size of a cacheable response payload. Larger responses are not cached.
+		 * @param maxEntrySize Maximum size in bytes, must be greater than <code>0</code>
+		 * @return this
+		 */
+		Builder maxEntrySize(long maxEntrySize);
+
+		/**
+		 * Enable the disk tier, using given directory to store the responses evicted from the memory tier as files. The
+		 * files left in the directory by a cache which is no longer in use are deleted when the disk tier is first
+		 * used.
+		 * @param directory The directory to use (not null). It is created if it does not exist.
+		 * @param maxDiskSize Maximum total size in bytes of the payloads stored on disk, must be greater than
+		 *        <code>0</code>
+		 * @return this
+		 */
+		Builder diskStore(Path directory, long maxDiskSize);
+
+		/**
+		 * Build the {@link HttpResponseCache}.
+		 * @return A new HttpResponseCache
+		 */
+		HttpResponseCache build();
+
+	}
+
+}
@@ -20,9 +20,15 @@ import java.io.InputStream;
 import java.net.URI;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import com.holonplatform.core.internal.utils.ClassUtils;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.core.property.Property;
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.core.property.PropertySet;
 import com.holonplatform.http.HttpMethod;
 import com.holonplatform.http.exceptions.HttpClientInvocationException;
 import com.holonplatform.http.exceptions.RestClientCreationException;
@@ -192,6 +198,60 @@ public interface RestClient extends RestClientOperations<RestClient, RequestDefi
 			return getForEntity(rt).orElse(Collections.emptyList());
 		}
 
+		/**
+		 * Convenience method to invoke the request using <code>GET</code> method and receive the elements of a JSON
+		 * array response payload as a lazy {@link Stream}.
+		 * <p>
+		 * Unlike {@link #getAsList(Class)}, the response payload is not materialized in memory: the array elements are
+		 * parsed and deserialized one at a time, as the stream is consumed. The returned stream holds the underlying
+		 * connection, so it should be closed after use, for example using a <code>try-with-resources</code> block. The
+		 * connection is also released when the end of the array is reached.
+		 * </p>
+		 * @param <T> Response array element type
+		 * @param responseType Expected response array element type
+		 * @return A lazy {@link Stream} of the response array elements, or an empty Stream if the response payload is
+		 *         empty
+		 * @throws HttpClientInvocationException Internal invocation failure (for example, an I/O error on communication
+		 *         channel or expected and actual payload type mismatch)
+		 * @throws UnsuccessfulResponseException In case the status code of the response returned by the server is not a
+		 *         successful type status code, i.e. it is not a <code>2xx</code> status code
+		 */
+		default <T> Stream<T> getAsStream(Class<T> responseType) {
+			return getAsStream(ResponseType.of(responseType));
+		}
+
+		/**
+		 * Convenience method to invoke the request using <code>GET</code> method and receive the elements of a JSON
+		 * array response payload as a lazy {@link Stream}, using a {@link ResponseType} to represent the array element
+		 * type.
+		 * <p>
+		 * The array elements are parsed and deserialized one at a time, as the stream is consumed. The returned stream
+		 * holds the underlying connection, so it should be closed after use.
+		 * </p>
+		 * <p>
+		 * The default implementation reads the whole array using {@link #getAsList(Class)}, so it is supported only
+		 * for simple (not parameterized) element types. The built-in client implementations override it to stream the
+		 * elements lazily.
+		 * </p>
+		 * @param <T> Response array element type
+		 * @param responseType Expected response array element type
+		 * @return A lazy {@link Stream} of the response array elements, or an empty Stream if the response payload is
+		 *         empty
+		 * @throws HttpClientInvocationException Internal invocation failure (for example, an I/O error on communication
+		 *         channel or expected and actual payload type mismatch)
+		 * @throws UnsuccessfulResponseException In case the status code of the response returned by the server is not a
+		 *         successful type status code, i.e. it is not a <code>2xx</code> status code
+		 */
+		@SuppressWarnings("unchecked")
+		default <T> Stream<T> getAsStream(ResponseType<T> responseType) {
+			ObjectUtils.argumentNotNull(responseType, "Response type must be not null");
+			if (!responseType.isSimpleType()) {
+				throw new UnsupportedOperationException(
+						"Parameterized array element types are not supported by this invocation: " + responseType);
+			}
+			return getAsList((Class<T>) responseType.getType()).stream();
+		}
+
 		// POST
 
 		/**
@@ -726,6 +786,143 @@ public interface RestClient extends RestClientOperations<RestClient, RequestDefi
 	 */
 	public interface RequestDefinition extends RequestConfiguration<RequestDefinition>, Invocation {
 
+		/**
+		 * Convenience method to invoke the request using <code>GET</code> method and receive the elements of a JSON
+		 * array response payload as a lazy {@link Stream} of {@link PropertyBox}, using given <code>properties</code>
+		 * as property set.
+		 * @param <P> Actual property type
+		 * @param properties The property set to use to deserialize the {@link PropertyBox} array elements
+		 * @return A lazy {@link Stream} of the response {@link PropertyBox} elements
+		 * @throws UnsuccessfulResponseException In case the status code of the response returned by the server is not a
+		 *         successful type status code, i.e. it is not a <code>2xx</code> status code
+		 * @see #getAsStream(Class)
+		 */
+		@SuppressWarnings("rawtypes")
+		default <P extends Property> Stream<PropertyBox> getAsStream(Iterable<P> properties) {
+			return propertySet(properties).getAsStream(PropertyBox.class);
+		}
+
+		/**
+		 * Convenience method to invoke the request using <code>GET</code> method and receive the elements of a JSON
+		 * array response payload as a lazy {@link Stream} of {@link PropertyBox}, using given <code>properties</code>
+		 * as property set.
+		 * @param <P> Actual property type
+		 * @param properties The property set to use to deserialize the {@link PropertyBox} array elements
+		 * @return A lazy {@link Stream} of the response {@link PropertyBox} elements
+		 * @throws UnsuccessfulResponseException In case the status code of the response returned by the server is not a
+		 *         successful type status code, i.e. it is not a <code>2xx</code> status code
+		 * @see #getAsStream(Class)
+		 */
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		default <P extends Property> Stream<PropertyBox> getAsStream(P... properties) {
+			return propertySet(properties).getAsStream(PropertyBox.class);
+		}
+
+		/**
+		 * Create a reusable {@link PreparedRequest} using the current configuration of this request definition.
+		 * <p>
+		 * The request URI template is parsed and the query parameters are encoded only once, and the target, the
+		 * headers and the property set are stored in immutable form. Any subsequent change to this request definition
+		 * does not affect the returned prepared request.
+		 * </p>
+		 * <p>
+		 * Prepared requests are an optional feature: by default, an {@link UnsupportedOperationException} is thrown.
+		 * </p>
+		 * @return A new {@link PreparedRequest}
+		 * @throws HttpClientInvocationException If the request target URI is missing or the request URI template is
+		 *         not valid
+		 * @throws UnsupportedOperationException If the request definition implementation does not support prepared
+		 *         requests
+		 * @since 5.2.2
+		 */
+		default PreparedRequest prepare() {
+			throw new UnsupportedOperationException(
+					"The request definition [" + getClass().getName() + "] does not support prepared requests");
+		}
+
+	}
+
+	/**
+	 * An immutable and thread-safe request configuration, which can be reused to perform many requests only binding
+	 * the URI template variable values for each invocation.
+	 * <p>
+	 * A prepared request is obtained using {@link RequestDefinition#prepare()} or {@link RestClient#prepare(String)}.
+	 * </p>
+	 * 
+	 * @since 5.2.2
+	 */
+	public interface PreparedRequest {
+
+		/**
+		 * Get the request target base URI.
+		 * @return the request target base URI
+		 */
+		URI getBaseRequestURI();
+
+		/**
+		 * Get the request URI template, i.e. the base URI and the path, which may contain template variables.
+		 * @return the request URI template
+		 */
+		String getRequestURI();
+
+		/**
+		 * Get the names of the URI template variables, in the order they are declared in the request URI template.
+		 * @return the template variable names, empty if none
+		 */
+		List<String> getTemplateVariables();
+
+		/**
+		 * Get the request headers.
+		 * @return the request headers, as an immutable map
+		 */
+		Map<String, String> getHeaders();
+
+		/**
+		 * Get the property set to use to deserialize any {@link PropertyBox} response type.
+		 * @return Optional property set
+		 */
+		Optional<PropertySet<?>> getPropertySet();
+
+		/**
+		 * Bind given values to the URI template variables, following the variables order returned by
+		 * {@link #getTemplateVariables()}, and obtain an {@link Invocation} to perform the request.
+		 * <p>
+		 * Any template variable value already resolved in the request definition used to create this prepared request
+		 * is used as default value.
+		 * </p>
+		 * @param values The template variable values
+		 * @return The request {@link Invocation}
+		 * @throws IllegalArgumentException If more values than the template variables are provided
+		 * @throws HttpClientInvocationException If a template variable value is missing
+		 */
+		Invocation bind(Object... values);
+
+		/**
+		 * Bind given values to the URI template variables, by variable name, and obtain an {@link Invocation} to
+		 * perform the request.
+		 * <p>
+		 * Any template variable value already resolved in the request definition used to create this prepared request
+		 * is used as default value.
+		 * </p>
+		 * @param values The template variable values, by name
+		 * @return The request {@link Invocation}
+		 * @throws HttpClientInvocationException If a template variable value is missing
+		 */
+		Invocation bind(Map<String, ?> values);
+
+	}
+
+	/**
+	 * Create a reusable {@link PreparedRequest} for given request path, using the default target and headers of this
+	 * client.
+	 * @param path The request path, which may contain URI template variables using the <code>{name}</code> syntax
+	 * @return A new {@link PreparedRequest}
+	 * @throws HttpClientInvocationException If a default target URI is not configured
+	 * @see RequestDefinition#prepare()
+	 * @since 5.2.2
+	 */
+	default PreparedRequest prepare(String path) {
+		return request().path(path).prepare();
 	}
 
 	// Builders
@@ -861,6 +861,36 @@ public interface RestClientOperations<C extends RestClientOperations<C, R>, R ex
 	 */
 	C clearDefaultHeaders();
 
+	/**
+	 * Set the {@link HttpResponseCache} to use to cache the responses of the <code>GET</code> requests, according to
+	 * the response <code>Cache-Control</code>, <code>Expires</code> and validator headers.
+	 * <p>
+	 * Fresh cached responses are returned without contacting the server, while stale responses are revalidated using
+	 * conditional requests when possible. Requests with a request entity and requests which expect an
+	 * {@link java.io.InputStream} response type are never cached.
+	 * </p>
+	 * <p>
+	 * Response caching is an optional operation: by default, an {@link UnsupportedOperationException} is thrown.
+	 * </p>
+	 * @param cache The response cache to use, <code>null</code> to disable response caching
+	 * @return The updated RestClient
+	 * @throws UnsupportedOperationException If the RestClient implementation does not support response caching
+	 * @since 5.2.2
+	 */
+	default C withResponseCache(HttpResponseCache cache) {
+		throw new UnsupportedOperationException(
+				"The RestClient [" + getClass().getName() + "] does not support response caching");
+	}
+
+	/**
+	 * Get the {@link HttpResponseCache} used to cache the responses, if configured.
+	 * @return Optional response cache
+	 * @since 5.2.2
+	 */
+	default Optional<HttpResponseCache> getResponseCache() {
+		return Optional.empty();
+	}
+
 	/**
 	 * Create a new request definition, to be used to configure request and invoke response.
 	 * <p>
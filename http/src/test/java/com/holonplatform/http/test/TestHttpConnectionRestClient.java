@@ -0,0 +1,475 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.http.test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.holonplatform.core.internal.utils.ConversionUtils;
+import com.holonplatform.core.streams.LimitedInputStream;
+import com.holonplatform.http.CacheControl;
+import com.holonplatform.http.HttpHeaders;
+import com.holonplatform.http.HttpMethod;
+import com.holonplatform.http.exceptions.HttpClientInvocationException;
+import com.holonplatform.http.exceptions.HttpEntityProcessingException;
+import com.holonplatform.http.exceptions.UnsuccessfulResponseException;
+import com.holonplatform.http.internal.rest.AbstractRestClient;
+import com.holonplatform.http.internal.rest.DefaultRequestDefinition;
+import com.holonplatform.http.internal.rest.HttpConnectionInvoker;
+import com.holonplatform.http.internal.rest.HttpConnectionRestClient;
+import com.holonplatform.http.rest.HttpResponseCache;
+import com.holonplatform.http.rest.RequestEntity;
+import com.holonplatform.http.rest.ResponseEntity;
+import com.holonplatform.http.rest.ResponseType;
+import com.holonplatform.http.rest.RestClient;
+import com.holonplatform.http.rest.RestClient.PreparedRequest;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+public class TestHttpConnectionRestClient {
+
+	private static HttpServer server;
+
+	private static String baseUri;
+
+	private static final AtomicInteger CACHED_COUNT = new AtomicInteger();
+	private static final AtomicInteger ETAG_COUNT = new AtomicInteger();
+	private static final AtomicInteger NOSTORE_COUNT = new AtomicInteger();
+	private static final AtomicInteger PUBLIC_COUNT = new AtomicInteger();
+
+	@BeforeAll
+	public static void startServer() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext("/echo", exchange -> {
+			final String query = exchange.getRequestURI().getRawQuery();
+			respond(exchange, 200, (exchange.getRequestURI().getRawPath() + ((query != null) ? "?" + query : ""))
+					.getBytes(StandardCharsets.UTF_8));
+		});
+		server.createContext("/body", exchange -> {
+			respond(exchange, 200, read(exchange.getRequestBody()));
+		});
+		server.createContext("/array", exchange -> {
+			respond(exchange, 200, ("[ {\"a\":1,\"b\":\"x,]}\"} , [1,[2]],\"s\\\"]\",null,3\n]")
+					.getBytes(StandardCharsets.UTF_8));
+		});
+		server.createContext("/large", exchange -> {
+			exchange.getResponseHeaders().add("Content-Type", "application/json");
+			exchange.sendResponseHeaders(200, 0);
+			try (OutputStream os = exchange.getResponseBody()) {
+				os.write('[');
+				for (int i = 0; i < 100000; i++) {
+					if (i > 0) {
+						os.write(',');
+					}
+					os.write(("{\"id\":" + i + "}").getBytes(StandardCharsets.UTF_8));
+				}
+				os.write(']');
+			}
+		});
+		server.createContext("/method", exchange -> {
+			final String override = exchange.getRequestHeaders().getFirst(HttpConnectionInvoker.METHOD_OVERRIDE_HEADER);
+			respond(exchange, 200, (exchange.getRequestMethod() + ((override != null) ? ":" + override : ""))
+					.getBytes(StandardCharsets.UTF_8));
+		});
+		server.createContext("/fail", exchange -> {
+			respond(exchange, 404, "missing".getBytes(StandardCharsets.UTF_8));
+		});
+		server.createContext("/cached", exchange -> {
+			CACHED_COUNT.incrementAndGet();
+			exchange.getResponseHeaders().add("Cache-Control", "max-age=60");
+			respond(exchange, 200, "cached".getBytes(StandardCharsets.UTF_8));
+		});
+		server.createContext("/etag", exchange -> {
+			ETAG_COUNT.incrementAndGet();
+			exchange.getResponseHeaders().add("Cache-Control", "no-cache");
+			exchange.getResponseHeaders().add("ETag", "\"v1\"");
+			if ("\"v1\"".equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+				exchange.sendResponseHeaders(304, -1);
+				exchange.close();
+			} else {
+				respond(exchange, 200, "etag".getBytes(StandardCharsets.UTF_8));
+			}
+		});
+		server.createContext("/nostore", exchange -> {
+			NOSTORE_COUNT.incrementAndGet();
+			exchange.getResponseHeaders().add("Cache-Control", "no-store");
+			respond(exchange, 200, "nostore".getBytes(StandardCharsets.UTF_8));
+		});
+		server.createContext("/public", exchange -> {
+			PUBLIC_COUNT.incrementAndGet();
+			exchange.getResponseHeaders().add("Cache-Control", "public, max-age=60");
+			respond(exchange, 200, "public".getBytes(StandardCharsets.UTF_8));
+		});
+		server.start();
+		baseUri = "http://localhost:" + server.getAddress().getPort();
+	}
+
+	@AfterAll
+	public static void stopServer() {
+		if (server != null) {
+			server.stop(0);
+		}
+	}
+
+	@Test
+	public void testFactory() {
+		assertTrue(RestClient.create(HttpConnectionRestClient.class.getName()) instanceof HttpConnectionRestClient);
+	}
+
+	@Test
+	public void testGet() {
+		final RestClient client = new HttpConnectionRestClient();
+
+		String value = client.request().target(baseUri).path("echo/{id}").resolve("id", "a b")
+				.queryParameter("q", "x y").getForEntity(String.class).orElse(null);
+		assertEquals("/echo/a%20b?q=x%20y", value);
+
+		ResponseEntity<String> response = client.request().target(baseUri).path("echo").get(String.class);
+		assertEquals(200, response.getStatusCode());
+		assertEquals("/echo", response.getPayload().orElse(null));
+		assertTrue(response.getContentLength().isPresent());
+	}
+
+	@Test
+	public void testPost() throws IOException {
+		final RestClient client = new HttpConnectionRestClient();
+
+		final byte[] data = new byte[20000];
+		for (int i = 0; i < data.length; i++) {
+			data[i] = (byte) i;
+		}
+
+		byte[] result = client.request().target(baseUri).path("body")
+				.postForEntity(RequestEntity.build("application/octet-stream", data), byte[].class).orElse(null);
+		assertArrayEquals(data, result);
+
+		result = client.request().target(baseUri).path("body")
+				.postForEntity(RequestEntity.build("application/octet-stream",
+						LimitedInputStream.create(new ByteArrayInputStream(data), 100)), byte[].class)
+				.orElse(null);
+		assertEquals(100, result.length);
+
+		result = client.request().target(baseUri).path("body")
+				.postForEntity(RequestEntity.build("application/octet-stream", new ByteArrayInputStream(data)),
+						byte[].class)
+				.orElse(null);
+		assertArrayEquals(data, result);
+
+		String text = client.request().target(baseUri).path("body").postForEntity(RequestEntity.text("test"),
+				String.class).orElse(null);
+		assertEquals("test", text);
+
+		text = client.request().target(baseUri).path("body")
+				.postForEntity(RequestEntity.form(RequestEntity.formBuilder().set("a", "1").set("b", "x y").build()),
+						String.class)
+				.orElse(null);
+		assertEquals("a=1&b=x+y", text);
+	}
+
+	@Test
+	public void testPatch() {
+		final HttpConnectionRestClient client = new HttpConnectionRestClient();
+
+		assertThrows(HttpClientInvocationException.class, () -> client.request().target(baseUri).path("method")
+				.patchForEntity(RequestEntity.text("test"), String.class));
+
+		client.getInvoker().setPatchMethodOverride(true);
+		assertEquals("POST:PATCH", client.request().target(baseUri).path("method")
+				.patchForEntity(RequestEntity.text("test"), String.class).orElse(null));
+		assertEquals("PUT", client.request().target(baseUri).path("method")
+				.putForEntity(RequestEntity.text("test"), String.class).orElse(null));
+	}
+
+	@Test
+	public void testStream() throws IOException {
+		final RestClient client = new HttpConnectionRestClient();
+		try (InputStream is = client.request().target(baseUri).path("echo").getForStream()) {
+			assertEquals("/echo", new String(ConversionUtils.convertInputStreamToBytes(is), StandardCharsets.UTF_8));
+		}
+	}
+
+	@Test
+	public void testJsonArrayStream() {
+		final RestClient client = new HttpConnectionRestClient();
+
+		List<String> elements;
+		try (Stream<String> stream = client.request().target(baseUri).path("array").getAsStream(String.class)) {
+			elements = stream.collect(Collectors.toList());
+		}
+		assertEquals(Arrays.asList("{\"a\":1,\"b\":\"x,]}\"}", "[1,[2]]", "\"s\\\"]\"", "null", "3"), elements);
+
+		try (Stream<byte[]> stream = client.request().target(baseUri).path("large").getAsStream(byte[].class)) {
+			assertEquals(100000L, stream.count());
+		}
+
+		try (Stream<String> stream = client.request().target(baseUri).path("large").getAsStream(String.class)) {
+			assertEquals("{\"id\":0}", stream.findFirst().orElse(null));
+		}
+
+		try (Stream<Integer> stream = client.request().target(baseUri).path("array").getAsStream(Integer.class)) {
+			assertThrows(HttpEntityProcessingException.class, () -> stream.findFirst());
+		}
+
+		assertThrows(HttpEntityProcessingException.class,
+				() -> client.request().target(baseUri).path("echo").getAsStream(String.class).count());
+
+		assertThrows(UnsuccessfulResponseException.class,
+				() -> client.request().target(baseUri).path("fail").getAsStream(String.class));
+	}
+
+	@Test
+	public void testUnsuccessful() {
+		final RestClient client = new HttpConnectionRestClient();
+
+		ResponseEntity<String> response = client.request().target(baseUri).path("fail").get(String.class);
+		assertEquals(404, response.getStatusCode());
+		assertEquals("missing", response.getPayload().orElse(null));
+
+		UnsuccessfulResponseException ex = assertThrows(UnsuccessfulResponseException.class,
+				() -> client.request().target(baseUri).path("fail").getForEntity(String.class));
+		assertEquals(404, ex.getStatusCode());
+		assertEquals("missing", ex.getResponse().as(String.class).orElse(null));
+	}
+
+	@Test
+	public void testPreparedRequest() {
+		final RestClient client = new HttpConnectionRestClient().defaultTarget(URI.create(baseUri));
+
+		final PreparedRequest prepared = client.request().path("echo/{a}/{b}").queryParameter("q", "x y").prepare();
+		assertEquals(Arrays.asList("a", "b"), prepared.getTemplateVariables());
+		assertEquals(baseUri + "/echo/{a}/{b}", prepared.getRequestURI());
+
+		assertEquals("/echo/1/a%20b?q=x%20y", prepared.bind(1, "a b").getForEntity(String.class).orElse(null));
+		assertEquals("/echo/2/c?q=x%20y", prepared.bind(2, "c").getForEntity(String.class).orElse(null));
+
+		final Map<String, Object> values = new HashMap<>();
+		values.put("a", "x");
+		values.put("b", "y");
+		assertEquals("/echo/x/y?q=x%20y", prepared.bind(values).getForEntity(String.class).orElse(null));
+
+		// defaults
+		final PreparedRequest resolved = client.request().path("echo/{a}/{b}").resolve("a", "r").prepare();
+		assertEquals("/echo/r/z", resolved.bind(Collections.singletonMap("b", "z")).getForEntity(String.class)
+				.orElse(null));
+
+		assertEquals("/echo", client.prepare("echo").bind().getForEntity(String.class).orElse(null));
+
+		assertThrows(HttpClientInvocationException.class, () -> prepared.bind(1));
+		assertThrows(IllegalArgumentException.class, () -> prepared.bind(1, 2, 3));
+		assertThrows(UnsupportedOperationException.class, () -> prepared.getHeaders().put("x", "y"));
+
+		// streamed
+		try (Stream<String> stream = client.prepare("array").bind().getAsStream(String.class)) {
+			assertEquals(5, stream.count());
+		}
+	}
+
+	@Test
+	public void testPreparedRequestCache() {
+		final HttpResponseCache cache = HttpResponseCache.create();
+		final RestClient client = new HttpConnectionRestClient().defaultTarget(URI.create(baseUri))
+				.withResponseCache(cache);
+
+		final PreparedRequest prepared = client.prepare("{path}");
+		final int cached = CACHED_COUNT.get();
+		assertEquals("cached", prepared.bind("cached").getForEntity(String.class).orElse(null));
+		assertEquals("cached", prepared.bind("cached").getForEntity(String.class).orElse(null));
+		assertEquals(cached + 1, CACHED_COUNT.get());
+		assertEquals(1, cache.getStatistics().getHitCount());
+
+		assertEquals("/echo", prepared.bind("echo").getForEntity(String.class).orElse(null));
+		try (Stream<String> stream = prepared.bind("array").getAsStream(String.class)) {
+			assertEquals(5, stream.count());
+		}
+	}
+
+	@Test
+	public void testResponseCache() {
+		final HttpResponseCache cache = HttpResponseCache.create();
+		final RestClient client = new HttpConnectionRestClient().withResponseCache(cache);
+		assertTrue(client.getResponseCache().isPresent());
+
+		final int cached = CACHED_COUNT.get();
+		assertEquals("cached", client.request().target(baseUri).path("cached").getForEntity(String.class).orElse(null));
+		assertEquals("cached", client.request().target(baseUri).path("cached").getForEntity(String.class).orElse(null));
+		ResponseEntity<String> response = client.request().target(baseUri).path("cached").get(String.class);
+		assertEquals(200, response.getStatusCode());
+		assertEquals("cached", response.getPayload().orElse(null));
+		assertEquals(cached + 1, CACHED_COUNT.get());
+		assertEquals(2, cache.getStatistics().getHitCount());
+
+		// request no-cache
+		assertEquals("cached", client.request().target(baseUri).path("cached")
+				.cacheControl(CacheControl.builder().noCache(true).build()).getForEntity(String.class).orElse(null));
+		assertEquals(cached + 2, CACHED_COUNT.get());
+
+		// invalidation
+		client.request().target(baseUri).path("cached").post(RequestEntity.text("x"));
+		assertEquals(cached + 3, CACHED_COUNT.get());
+		client.request().target(baseUri).path("cached").getForEntity(String.class);
+		assertEquals(cached + 4, CACHED_COUNT.get());
+
+		// revalidation
+		final int etag = ETAG_COUNT.get();
+		assertEquals("etag", client.request().target(baseUri).path("etag").getForEntity(String.class).orElse(null));
+		assertEquals("etag", client.request().target(baseUri).path("etag").getForEntity(String.class).orElse(null));
+		assertEquals(etag + 2, ETAG_COUNT.get());
+		assertEquals(1, cache.getStatistics().getRevalidationCount());
+
+		// not storable
+		final int nostore = NOSTORE_COUNT.get();
+		final int size = cache.size();
+		assertEquals("nostore",
+				client.request().target(baseUri).path("nostore").getForEntity(String.class).orElse(null));
+		assertEquals("nostore",
+				client.request().target(baseUri).path("nostore").getForEntity(String.class).orElse(null));
+		assertEquals(nostore + 2, NOSTORE_COUNT.get());
+		assertEquals(size, cache.size());
+
+		cache.invalidateAll();
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	public void testResponseCacheAuthorization() {
+		final HttpResponseCache cache = HttpResponseCache.create();
+		final RestClient client = new HttpConnectionRestClient().withResponseCache(cache);
+
+		// not shareable
+		final int cached = CACHED_COUNT.get();
+		assertEquals("cached", client.request().target(baseUri).path("cached")
+				.header(HttpHeaders.AUTHORIZATION, "Bearer a").getForEntity(String.class).orElse(null));
+		assertEquals("cached", client.request().target(baseUri).path("cached")
+				.header(HttpHeaders.AUTHORIZATION, "Bearer b").getForEntity(String.class).orElse(null));
+		assertEquals(cached + 2, CACHED_COUNT.get());
+		assertEquals(0, cache.size());
+
+		// public
+		final int shared = PUBLIC_COUNT.get();
+		assertEquals("public", client.request().target(baseUri).path("public")
+				.header(HttpHeaders.AUTHORIZATION, "Bearer a").getForEntity(String.class).orElse(null));
+		assertEquals("public", client.request().target(baseUri).path("public")
+				.header(HttpHeaders.AUTHORIZATION, "Bearer b").getForEntity(String.class).orElse(null));
+		assertEquals(shared + 1, PUBLIC_COUNT.get());
+		assertEquals(1, cache.size());
+	}
+
+	@Test
+	public void testResponseCacheNotSupported() {
+		final RestClient client = new AbstractRestClient() {
+
+			@Override
+			public <T, R> ResponseEntity<T> invoke(RequestDefinition requestDefinition, HttpMethod method,
+					RequestEntity<R> requestEntity, ResponseType<T> responseType, boolean onlySuccessfulStatusCode) {
+				throw new UnsupportedOperationException();
+			}
+
+			@Override
+			protected RequestDefinition buildDefinition() {
+				return new DefaultRequestDefinition(getRequestInvoker());
+			}
+
+		};
+		assertThrows(UnsupportedOperationException.class, () -> client.withResponseCache(HttpResponseCache.create()));
+		assertFalse(client.getResponseCache().isPresent());
+		client.withResponseCache(null);
+	}
+
+	@Test
+	public void testResponseCacheDiskStore() throws IOException {
+		final Path directory = Files.createTempDirectory("holon-cache");
+		try {
+			// files left by previous caches
+			final Path orphan = Files.write(directory.resolve("holon-orphan_1.cache"), new byte[] { 1 });
+			final Path staleLock = Files.write(directory.resolve("holon-stale.lock"), new byte[0]);
+			final Path stale = Files.write(directory.resolve("holon-stale_1.cache"), new byte[] { 1 });
+
+			final HttpResponseCache cache = HttpResponseCache.builder().maxMemorySize(16).diskStore(directory, 1024)
+					.build();
+			final RestClient client = new HttpConnectionRestClient().withResponseCache(cache);
+
+			for (int i = 0; i < 4; i++) {
+				client.request().target(baseUri).path("cached").queryParameter("i", i).getForEntity(String.class);
+			}
+			assertEquals(4, cache.size());
+			assertFalse(Files.exists(orphan));
+			assertFalse(Files.exists(staleLock));
+			assertFalse(Files.exists(stale));
+
+			final int cached = CACHED_COUNT.get();
+			for (int i = 0; i < 4; i++) {
+				assertEquals("cached", client.request().target(baseUri).path("cached").queryParameter("i", i)
+						.getForEntity(String.class).orElse(null));
+			}
+			assertEquals(cached, CACHED_COUNT.get());
+			assertEquals(4, cache.getStatistics().getHitCount());
+			assertEquals(0, cache.getStatistics().getEvictionCount());
+
+			cache.invalidateAll();
+			assertEquals(0, cache.size());
+		} finally {
+			try (Stream<Path> files = Files.list(directory)) {
+				files.forEach(f -> f.toFile().delete());
+			}
+			Files.delete(directory);
+		}
+	}
+
+	private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+		exchange.getResponseHeaders().add("Content-Type", "text/plain; charset=UTF-8");
+		exchange.sendResponseHeaders(status, body.length);
+		try (OutputStream os = exchange.getResponseBody()) {
+			os.write(body);
+		}
+	}
+
+	private static byte[] read(InputStream is) throws IOException {
+		final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		final byte[] buffer = new byte[4096];
+		int n;
+		while ((n = is.read(buffer)) != -1) {
+			bos.write(buffer, 0, n);
+		}
+		return bos.toByteArray();
+	}
+
+}
@@ -15,26 +15,46 @@
  */
 package com.holonplatform.spring.internal.rest;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
+import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.client.ClientHttpRequest;
 import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.client.ResponseErrorHandler;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.core.property.PropertySet;
 import com.holonplatform.http.HttpMethod;
 import com.holonplatform.http.HttpStatus;
 import com.holonplatform.http.MediaType;
 import com.holonplatform.http.exceptions.HttpClientInvocationException;
+import com.holonplatform.http.exceptions.HttpEntityProcessingException;
 import com.holonplatform.http.exceptions.UnsuccessfulResponseException;
 import com.holonplatform.http.internal.HttpUtils;
 import com.holonplatform.http.internal.rest.AbstractRestClient;
+import com.holonplatform.http.internal.rest.BoundRequest;
 import com.holonplatform.http.internal.rest.DefaultRequestDefinition;
+import com.holonplatform.http.internal.rest.JsonArrayReader;
 import com.holonplatform.http.rest.RequestEntity;
 import com.holonplatform.http.rest.ResponseEntity;
 import com.holonplatform.http.rest.ResponseType;
@@ -87,34 +107,79 @@ public class RestTemplateRestClient extends AbstractRestClient implements Spring
 	public <T, R> ResponseEntity<T> invoke(RequestDefinition requestDefinition, HttpMethod method,
 			RequestEntity<R> requestEntity, ResponseType<T> responseType, boolean onlySuccessfulStatusCode) {
 
-		// URI
-		final UriComponentsBuilder builder = UriComponentsBuilder.fromUriString(requestDefinition.getRequestURI());
-		// query parameters
-		requestDefinition.getQueryParameters().forEach((n, v) -> builder.queryParam(n, v));
-		// template parameters
-		final String uri = builder.buildAndExpand(requestDefinition.getTemplateParameters()).toUriString();
+		// method
+		final org.springframework.http.HttpMethod requestMethod = getRequestMethod(method);
 
-		// headers
-		HttpHeaders headers = new HttpHeaders();
-		requestDefinition.getHeaders().forEach((n, v) -> headers.add(n, v));
+		// URI
+		final String uri = getRequestURI(requestDefinition);
 
 		// Entity
-		HttpEntity<?> entity = new HttpEntity<>(getRequestPayload(requestEntity), headers);
+		final HttpEntity<?> entity = new HttpEntity<>(getRequestPayload(requestEntity),
+				getHeaders(requestDefinition.getHeaders()));
+
+		return getResponse(() -> invoke(uri, requestMethod, entity, responseType),
+				requestDefinition.getPropertySet().orElse(null), responseType, onlySuccessfulStatusCode);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.internal.rest.Invoker#invoke(com.holonplatform.http.rest.RestClient.
+	 * RequestDefinition, java.net.URI, com.holonplatform.http.HttpMethod, com.holonplatform.http.rest.RequestEntity,
+	 * com.holonplatform.http.rest.ResponseType, boolean)
+	 */
+	@Override
+	public <T, R> ResponseEntity<T> invoke(RequestDefinition requestDefinition, URI requestURI, HttpMethod method,
+			RequestEntity<R> requestEntity, ResponseType<T> responseType, boolean onlySuccessfulStatusCode) {
 
 		// method
-		org.springframework.http.HttpMethod requestMethod = org.springframework.http.HttpMethod
-				.resolve(method.getMethodName());
-		if (requestMethod == null) {
-			throw new RestClientException("Unsupported HTTP method: " + method.getMethodName());
-		}
+		final org.springframework.http.HttpMethod requestMethod = getRequestMethod(method);
+
+		// the URI is already expanded and encoded
+		final HttpEntity<?> entity = new HttpEntity<>(getRequestPayload(requestEntity),
+				getHeaders(requestDefinition.getHeaders()));
+
+		return getResponse(() -> invoke(requestURI, requestMethod, entity, responseType),
+				requestDefinition.getPropertySet().orElse(null), responseType, onlySuccessfulStatusCode);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.internal.rest.Invoker#invoke(com.holonplatform.http.internal.rest.BoundRequest,
+	 * com.holonplatform.http.HttpMethod, com.holonplatform.http.rest.RequestEntity,
+	 * com.holonplatform.http.rest.ResponseType, boolean)
+	 */
+	@Override
+	public <T, R> ResponseEntity<T> invoke(BoundRequest request, HttpMethod method, RequestEntity<R> requestEntity,
+			ResponseType<T> responseType, boolean onlySuccessfulStatusCode) {
+
+		// method
+		final org.springframework.http.HttpMethod requestMethod = getRequestMethod(method);
+
+		// prepared request: the URI is already expanded and encoded and the headers are built only once
+		final HttpEntity<?> entity = new HttpEntity<>(getRequestPayload(requestEntity), getHeaders(request));
+
+		return getResponse(() -> invoke(request.getURI(), requestMethod, entity, responseType),
+				request.getPreparedRequest().getPropertySet().orElse(null), responseType, onlySuccessfulStatusCode);
+	}
+
+	/**
+	 * Perform the request exchange and build the response entity.
+	 * @param <T> Response type
+	 * @param exchange Request exchange
+	 * @param propertySet Optional property set
+	 * @param responseType Expected response payload type
+	 * @param onlySuccessfulStatusCode Whether to accept only <code>2xx</code> status code responses
+	 * @return The response entity
+	 */
+	private <T> ResponseEntity<T> getResponse(Supplier<org.springframework.http.ResponseEntity<Resource>> exchange,
+			PropertySet<?> propertySet, ResponseType<T> responseType, boolean onlySuccessfulStatusCode) {
 
 		// get response, checking propertySet
 		final org.springframework.http.ResponseEntity<Resource> response;
-		if (requestDefinition.getPropertySet().isPresent()) {
-			response = requestDefinition.getPropertySet().get()
-					.execute(() -> invoke(uri, requestMethod, entity, responseType));
+		if (propertySet != null) {
+			response = propertySet.execute(exchange::get);
 		} else {
-			response = invoke(uri, requestMethod, entity, responseType);
+			response = exchange.get();
 		}
 
 		// check error status code
@@ -122,11 +187,123 @@ public class RestTemplateRestClient extends AbstractRestClient implements Spring
 
 		if (onlySuccessfulStatusCode && !HttpStatus.isSuccessStatusCode(statusCode)) {
 			throw new UnsuccessfulResponseException(new SpringResponseEntity<>(response, ResponseType.of(byte[].class),
-					getRestTemplate().getMessageConverters(), requestDefinition.getPropertySet().orElse(null)));
+					getRestTemplate().getMessageConverters(), propertySet));
 		}
 
 		return new SpringResponseEntity<>(response, responseType, getRestTemplate().getMessageConverters(),
-				requestDefinition.getPropertySet().orElse(null));
+				propertySet);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.internal.rest.Invoker#invokeForStream(com.holonplatform.http.rest.RestClient.
+	 * RequestDefinition, com.holonplatform.http.HttpMethod, com.holonplatform.http.rest.RequestEntity,
+	 * com.holonplatform.http.rest.ResponseType)
+	 */
+	@Override
+	public <T, R> Stream<T> invokeForStream(RequestDefinition requestDefinition, HttpMethod method,
+			RequestEntity<R> requestEntity, ResponseType<T> elementType) {
+		final URI uri = getRestTemplate().getUriTemplateHandler().expand(getRequestURI(requestDefinition));
+		final HttpEntity<?> entity = new HttpEntity<>(getRequestPayload(requestEntity),
+				getHeaders(requestDefinition.getHeaders()));
+		return stream(uri, getRequestMethod(method), entity, requestDefinition.getPropertySet().orElse(null),
+				elementType);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.internal.rest.Invoker#invokeForStream(com.holonplatform.http.internal.rest.
+	 * BoundRequest, com.holonplatform.http.HttpMethod, com.holonplatform.http.rest.RequestEntity,
+	 * com.holonplatform.http.rest.ResponseType)
+	 */
+	@Override
+	public <T, R> Stream<T> invokeForStream(BoundRequest request, HttpMethod method, RequestEntity<R> requestEntity,
+			ResponseType<T> elementType) {
+		final HttpEntity<?> entity = new HttpEntity<>(getRequestPayload(requestEntity), getHeaders(request));
+		return stream(request.getURI(), getRequestMethod(method), entity,
+				request.getPreparedRequest().getPropertySet().orElse(null), elementType);
+	}
+
+	/**
+	 * Execute a request and get the elements of the JSON array response payload as a lazy {@link Stream}.
+	 * @param <T> Element type
+	 * @param uri Request URI
+	 * @param requestMethod Request method
+	 * @param entity Request entity
+	 * @param propertySet Optional property set
+	 * @param elementType Expected array element type
+	 * @return A lazy {@link Stream} of the response array elements
+	 */
+	private <T> Stream<T> stream(URI uri, org.springframework.http.HttpMethod requestMethod, HttpEntity<?> entity,
+			PropertySet<?> propertySet, ResponseType<T> elementType) {
+		ObjectUtils.argumentNotNull(elementType, "Element type must be not null");
+
+		// the element converter is resolved only once
+		final ElementReader<T> reader = new ElementReader<>(elementType, getRestTemplate().getMessageConverters());
+
+		// execute the request, leaving the response open: the response body is read as the stream is consumed
+		final Supplier<ClientHttpResponse> execution = () -> execute(uri, requestMethod, entity);
+		final ClientHttpResponse response = (propertySet != null) ? propertySet.execute(execution::get)
+				: execution.get();
+
+		final InputStream body;
+		try {
+			final int statusCode = response.getRawStatusCode();
+			if (!HttpStatus.isSuccessStatusCode(statusCode)) {
+				throw new UnsuccessfulResponseException(createResponse(statusCode, response.getHeaders(),
+						StreamUtils.copyToByteArray(response.getBody()), ResponseType.of(byte[].class),
+						propertySet));
+			}
+			body = response.getBody();
+		} catch (IOException e) {
+			response.close();
+			throw new HttpClientInvocationException(e);
+		} catch (RuntimeException e) {
+			response.close();
+			throw e;
+		}
+		if (body == null) {
+			response.close();
+			return Stream.empty();
+		}
+		return JsonArrayReader.stream(body, response::close).map(element -> (propertySet != null)
+				? propertySet.execute(() -> reader.read(element))
+				: reader.read(element));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.internal.rest.Invoker#readElement(com.holonplatform.http.rest.ResponseEntity,
+	 * byte[], com.holonplatform.http.rest.ResponseType)
+	 */
+	@Override
+	public <T> T readElement(ResponseEntity<?> response, byte[] element, ResponseType<T> elementType) {
+		return new ElementReader<>(elementType, getRestTemplate().getMessageConverters()).read(element);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.internal.rest.Invoker#createResponse(int, java.util.Map, byte[],
+	 * com.holonplatform.http.rest.ResponseType, com.holonplatform.core.property.PropertySet)
+	 */
+	@Override
+	public <T> ResponseEntity<T> createResponse(int statusCode, Map<String, List<String>> headers, byte[] body,
+			ResponseType<T> responseType, PropertySet<?> propertySet) {
+		final HttpHeaders responseHeaders = new HttpHeaders();
+		responseHeaders.putAll(headers);
+		return new SpringResponseEntity<>(
+				new org.springframework.http.ResponseEntity<Resource>(new ByteArrayResource(body), responseHeaders,
+						org.springframework.http.HttpStatus.valueOf(statusCode)),
+				responseType, getRestTemplate().getMessageConverters(), propertySet);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.internal.rest.Invoker#isResponseCreationSupported()
+	 */
+	@Override
+	public boolean isResponseCreationSupported() {
+		return true;
 	}
 
 	/*
@@ -135,7 +312,7 @@ public class RestTemplateRestClient extends AbstractRestClient implements Spring
 	 */
 	@Override
 	protected RequestDefinition buildDefinition() {
-		return new DefaultRequestDefinition(this);
+		return new DefaultRequestDefinition(getRequestInvoker());
 	}
 
 	/**
@@ -156,6 +333,96 @@ public class RestTemplateRestClient extends AbstractRestClient implements Spring
 		}
 	}
 
+	/**
+	 * Invoke for a response using an already expanded and encoded request URI
+	 * @param <T> Response payload type
+	 * @param uri Request URI
+	 * @param requestMethod Method
+	 * @param request Request entity
+	 * @param responseType Expected response payload type
+	 * @return Response entity
+	 */
+	protected <T> org.springframework.http.ResponseEntity<Resource> invoke(URI uri,
+			org.springframework.http.HttpMethod requestMethod, HttpEntity<?> request, ResponseType<T> responseType) {
+		try {
+			return getRestTemplate().exchange(uri, requestMethod, request, Resource.class);
+		} catch (Exception e) {
+			throw new HttpClientInvocationException(e);
+		}
+	}
+
+	/**
+	 * Execute a request using the {@link RestTemplate} request factory and request callback, without closing the
+	 * response.
+	 * @param uri Request URI
+	 * @param requestMethod Method
+	 * @param request Request entity
+	 * @return The open response
+	 */
+	private ClientHttpResponse execute(URI uri, org.springframework.http.HttpMethod requestMethod,
+			HttpEntity<?> request) {
+		try {
+			final ClientHttpRequest clientRequest = getRestTemplate().getRequestFactory().createRequest(uri,
+					requestMethod);
+			getRestTemplate().httpEntityCallback(request).doWithRequest(clientRequest);
+			return clientRequest.execute();
+		} catch (Exception e) {
+			throw new HttpClientInvocationException(e);
+		}
+	}
+
+	/**
+	 * Get the Spring request method which corresponds to given method.
+	 * @param method Request method
+	 * @return Spring request method
+	 * @throws RestClientException If the method is not supported
+	 */
+	private static org.springframework.http.HttpMethod getRequestMethod(HttpMethod method) {
+		final org.springframework.http.HttpMethod requestMethod = org.springframework.http.HttpMethod
+				.resolve(method.getMethodName());
+		if (requestMethod == null) {
+			throw new RestClientException("Unsupported HTTP method: " + method.getMethodName());
+		}
+		return requestMethod;
+	}
+
+	/**
+	 * Build the request URI, with the query and template parameters, from given request definition.
+	 * @param requestDefinition Request definition
+	 * @return Request URI
+	 */
+	private static String getRequestURI(RequestDefinition requestDefinition) {
+		final UriComponentsBuilder builder = UriComponentsBuilder.fromUriString(requestDefinition.getRequestURI());
+		// query parameters
+		requestDefinition.getQueryParameters().forEach((n, v) -> builder.queryParam(n, v));
+		// template parameters
+		return builder.buildAndExpand(requestDefinition.getTemplateParameters()).toUriString();
+	}
+
+	/**
+	 * Build the Spring request headers from given request definition headers
+	 * @param requestHeaders Request headers
+	 * @return Spring request headers
+	 */
+	private static HttpHeaders getHeaders(Map<String, String> requestHeaders) {
+		final HttpHeaders headers = new HttpHeaders();
+		requestHeaders.forEach((n, v) -> headers.add(n, v));
+		return headers;
+	}
+
+	/**
+	 * Get the read-only Spring request headers of given bound request, built only once for its prepared request.
+	 * @param request Bound request
+	 * @return Spring request headers
+	 */
+	private static HttpHeaders getHeaders(BoundRequest request) {
+		return request.getPreparedRequest()
+				.getClientData(p -> HttpHeaders.readOnlyHttpHeaders(getHeaders(p.getHeaders())));
+	}
+
+	private static final org.springframework.http.MediaType JSON_UTF8_MEDIA_TYPE = new org.springframework.http.MediaType(
+			org.springframework.http.MediaType.APPLICATION_JSON, StandardCharsets.UTF_8);
+
 	private static final String APPLICATION_FORM_URLENCODED_MEDIA_TYPE = MediaType.APPLICATION_FORM_URLENCODED
 			.toString();
 
@@ -174,4 +441,68 @@ public class RestTemplateRestClient extends AbstractRestClient implements Spring
 		return null;
 	}
 
+	/**
+	 * Reads JSON array elements using the first {@link HttpMessageConverter} able to read the element type.
+	 * @param <T> Element type
+	 */
+	private static final class ElementReader<T> {
+
+		private static final HttpHeaders HEADERS = HttpHeaders.readOnlyHttpHeaders(jsonHeaders());
+
+		private final ResponseType<T> elementType;
+		private final Type type;
+		private final Class<?> rawType;
+		private final HttpMessageConverter<?> converter;
+
+		ElementReader(ResponseType<T> elementType, List<HttpMessageConverter<?>> converters) {
+			super();
+			this.elementType = elementType;
+			this.type = elementType.getType();
+			this.rawType = (type instanceof Class) ? (Class<?>) type : null;
+			this.converter = converters.stream().filter(this::canRead).findFirst()
+					.orElseThrow(() -> new HttpEntityProcessingException("Failed to read JSON array element as ["
+							+ elementType + "]: no message converter available"));
+		}
+
+		private boolean canRead(HttpMessageConverter<?> messageConverter) {
+			if (messageConverter instanceof GenericHttpMessageConverter) {
+				return ((GenericHttpMessageConverter<?>) messageConverter).canRead(type, null, JSON_UTF8_MEDIA_TYPE);
+			}
+			return rawType != null && messageConverter.canRead(rawType, JSON_UTF8_MEDIA_TYPE);
+		}
+
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		T read(byte[] element) {
+			final HttpInputMessage message = new HttpInputMessage() {
+
+				@Override
+				public InputStream getBody() throws IOException {
+					return new ByteArrayInputStream(element);
+				}
+
+				@Override
+				public HttpHeaders getHeaders() {
+					return HEADERS;
+				}
+
+			};
+			try {
+				if (converter instanceof GenericHttpMessageConverter) {
+					return (T) ((GenericHttpMessageConverter<?>) converter).read(type, null, message);
+				}
+				return (T) ((HttpMessageConverter) converter).read(rawType, message);
+			} catch (Exception e) {
+				throw new HttpEntityProcessingException("Failed to read JSON array element as [" + elementType + "]",
+						e);
+			}
+		}
+
+		private static HttpHeaders jsonHeaders() {
+			final HttpHeaders headers = new HttpHeaders();
+			headers.setContentType(JSON_UTF8_MEDIA_TYPE);
+			return headers;
+		}
+
+	}
+
 }
@@ -26,6 +26,8 @@ import java.io.OutputStream;
 import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.ws.rs.Consumes;
 import javax.ws.rs.FormParam;
@@ -61,6 +63,7 @@ import com.holonplatform.http.exceptions.UnsuccessfulResponseException;
 import com.holonplatform.http.rest.RequestEntity;
 import com.holonplatform.http.rest.ResponseEntity;
 import com.holonplatform.http.rest.RestClient;
+import com.holonplatform.http.rest.RestClient.PreparedRequest;
 import com.holonplatform.spring.EnableBeanContext;
 import com.holonplatform.spring.SpringRestClient;
 import com.holonplatform.test.JerseyTest5;
@@ -322,6 +325,12 @@ public class TestRestClient extends JerseyTest5 {
 		assertNotNull(td);
 		assertEquals(2, tds.size());
 
+		try (Stream<TestData> stream = client.request().path("test").path("data").getAsStream(TestData.class)) {
+			List<TestData> streamed = stream.collect(Collectors.toList());
+			assertEquals(2, streamed.size());
+			assertEquals(tds.get(0).getCode(), streamed.get(0).getCode());
+		}
+
 		ResponseEntity<?> rspe = client.request().path("test").path("data/{id}").resolve("id", 1).get(TestData.class);
 		assertEquals(TestData.class, rspe.getPayloadType());
 
@@ -341,6 +350,20 @@ public class TestRestClient extends JerseyTest5 {
 		assertEquals(HttpStatus.OK, rsp.getStatus());
 	}
 
+	@Test
+	public void testPreparedRequest() {
+		final RestClient client = SpringRestClient.create(restTemplate).defaultTarget(getBaseUri());
+
+		final PreparedRequest prepared = client.prepare("test/data/{id}");
+		assertEquals(1, prepared.getTemplateVariables().size());
+
+		for (int i = 1; i <= 2; i++) {
+			TestData td = prepared.bind(i).getForEntity(TestData.class).orElse(null);
+			assertNotNull(td);
+			assertEquals(i, td.getCode());
+		}
+	}
+
 	@Test
 	public void testFactory() {
 